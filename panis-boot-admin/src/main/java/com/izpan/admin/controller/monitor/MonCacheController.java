@@ -3,6 +3,7 @@ package com.izpan.admin.controller.monitor;
 import cn.dev33.satoken.annotation.SaCheckPermission;
 import com.izpan.common.api.Result;
 import com.izpan.modules.monitor.domain.vo.MonCacheRedisVO;
+import com.izpan.modules.monitor.domain.vo.MonCacheStatsVO;
 import com.izpan.modules.monitor.facade.IMonCacheFacade;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,6 +13,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 /**
  * 系统服务监控
  *
@@ -35,4 +38,11 @@ public class MonCacheController {
     public Result<MonCacheRedisVO> getRedisInfo() {
         return Result.data(monCacheFacade.redisInfo());
     }
+
+    @GetMapping("/stats")
+    @SaCheckPermission("mon:cache:redis")
+    @Operation(operationId = "2", summary = "获取二级缓存统计信息")
+    public Result<List<MonCacheStatsVO>> getCacheStats() {
+        return Result.data(monCacheFacade.cacheStats());
+    }
 }
@@ -32,12 +32,17 @@ import com.izpan.modules.monitor.facade.IMonFileFacade;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * 文件管理 Controller 控制层
  *
@@ -106,4 +111,19 @@ public class MonFileController {
         return Result.data(monFileFacade.preview(id));
     }
 
+    @GetMapping("/preview")
+    @SaCheckPermission("mon:file:preview")
+    @Operation(operationId = "9", summary = "批量获取文件外链链接")
+    public Result<Map<Long, String>> batchPreview(@Parameter(description = "ID 集合") @RequestParam("ids") List<Long> ids) {
+        return Result.data(monFileFacade.batchPreview(ids));
+    }
+
+    @GetMapping("/download/{id}")
+    @SaCheckPermission("mon:file:preview")
+    @Operation(operationId = "8", summary = "下载文件")
+    public void download(@Parameter(description = "ID") @PathVariable("id") Long id,
+                         HttpServletRequest request, HttpServletResponse response) {
+        monFileFacade.download(id, request, response);
+    }
+
 }
\ No newline at end of file
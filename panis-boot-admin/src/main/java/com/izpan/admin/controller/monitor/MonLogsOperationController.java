@@ -9,6 +9,7 @@ import com.izpan.modules.monitor.domain.dto.logs.operation.MonLogsOperationDelet
 import com.izpan.modules.monitor.domain.dto.logs.operation.MonLogsOperationSearchDTO;
 import com.izpan.modules.monitor.domain.dto.logs.operation.MonLogsOperationUpdateDTO;
 import com.izpan.modules.monitor.domain.vo.MonLogsOperationVO;
+import com.izpan.modules.monitor.domain.vo.MonLogsWriterStatsVO;
 import com.izpan.modules.monitor.facade.IMonLogsOperationFacade;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -72,4 +73,11 @@ public class MonLogsOperationController {
         return Result.status(monLogsOperationFacade.batchDelete(monLogsOperationDeleteDTO));
     }
 
+    @GetMapping("/writer_stats")
+    @SaCheckPermission("mon:logs:operation:page")
+    @Operation(operationId = "6", summary = "获取日志异步写入器统计信息")
+    public Result<MonLogsWriterStatsVO> writerStats() {
+        return Result.data(monLogsOperationFacade.writerStats());
+    }
+
 }
@@ -2,6 +2,7 @@ package com.izpan.admin.controller.monitor;
 
 import cn.dev33.satoken.annotation.SaCheckPermission;
 import com.izpan.common.api.Result;
+import com.izpan.modules.monitor.domain.vo.MonSystemHistoryVO;
 import com.izpan.modules.monitor.domain.vo.MonSystemVO;
 import com.izpan.modules.monitor.facade.IMonSystemFacade;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,6 +13,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 /**
  * 系统服务监控 Controller 控制层
  *
@@ -36,4 +39,11 @@ public class MonSystemController {
     public Result<MonSystemVO> getServerInfo() {
         return Result.data(monSystemFacade.getServerInfo());
     }
+
+    @GetMapping("/history")
+    @SaCheckPermission("mon:system:info")
+    @Operation(operationId = "2", summary = "获取系统服务器监控历史采样")
+    public Result<List<MonSystemHistoryVO>> getHistory() {
+        return Result.data(monSystemFacade.getHistory());
+    }
 }
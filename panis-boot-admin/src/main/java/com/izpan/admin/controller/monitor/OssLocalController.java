@@ -0,0 +1,94 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.admin.controller.monitor;
+
+import cn.dev33.satoken.annotation.SaIgnore;
+import com.izpan.common.exception.BizException;
+import com.izpan.starter.oss.service.local.LocalService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 本地对象存储 Controller 控制层
+ * <p>
+ * 提供本地存储外链链接的访问，通过链接签名校验，无需登录
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.admin.controller.monitor.OssLocalController
+ * @CreateTime 2026-01-08 - 09:40:16
+ */
+
+@SaIgnore
+@RestController
+@Tag(name = "本地对象存储")
+@RequiredArgsConstructor
+@RequestMapping("oss/local")
+@ConditionalOnProperty(value = "oss.name", havingValue = "local")
+public class OssLocalController {
+
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+    @NonNull
+    private LocalService localService;
+
+    @GetMapping("/{bucketName}/**")
+    @Operation(operationId = "1", summary = "获取本地存储对象")
+    public void get(@Parameter(description = "存储桶名称") @PathVariable("bucketName") String bucketName,
+                    @Parameter(description = "过期时间戳") @RequestParam("expires") long expires,
+                    @Parameter(description = "签名") @RequestParam("signature") String signature,
+                    HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = URL_PATH_HELPER.getPathWithinApplication(request);
+        String fileName = StringUtils.substringAfter(path, "/oss/local/" + bucketName + "/");
+        if (!localService.verify(bucketName, fileName, expires, signature)) {
+            throw new BizException("外链链接无效或已过期");
+        }
+        Path file = localService.resolve(bucketName, fileName);
+        if (!Files.isRegularFile(file)) {
+            throw new BizException("文件不存在");
+        }
+        String name = StringUtils.defaultIfEmpty(StringUtils.substringAfterLast(fileName, "/"), fileName);
+        MediaType mediaType = MediaTypeFactory.getMediaType(name).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        response.setContentType(mediaType.toString());
+        response.setContentLengthLong(Files.size(file));
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.inline().filename(name, StandardCharsets.UTF_8).build().toString());
+        localService.getObject(bucketName, fileName, 0, -1, response.getOutputStream());
+    }
+}
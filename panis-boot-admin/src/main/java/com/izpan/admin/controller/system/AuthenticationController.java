@@ -1,11 +1,11 @@
 package com.izpan.admin.controller.system;
 
 import cn.dev33.satoken.annotation.SaCheckPermission;
+import com.fasterxml.jackson.databind.util.RawValue;
 import com.izpan.common.api.Result;
-import com.izpan.infrastructure.holder.GlobalUserHolder;
+import com.izpan.modules.system.cache.UserRouteCache;
 import com.izpan.modules.system.domain.dto.LoginFormDTO;
 import com.izpan.modules.system.domain.dto.RefreshTokenDTO;
-import com.izpan.modules.system.domain.dto.menu.SysUserRouteVO;
 import com.izpan.modules.system.domain.dto.user.SysUserUpdateCurrentInfoDTO;
 import com.izpan.modules.system.domain.vo.SysUserVO;
 import com.izpan.modules.system.facade.IAuthenticationFacade;
@@ -14,8 +14,12 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 /**
@@ -70,8 +74,17 @@ public class AuthenticationController {
     @GetMapping("/user_route")
     @SaCheckPermission("auth:userRoute")
     @Operation(operationId = "12", summary = "获取当前用户的权限路由")
-    public Result<SysUserRouteVO> queryUserRoute() {
-        return Result.data(authenticationFacade.queryUserRouteWithUserId(GlobalUserHolder.getUserId()));
+    public ResponseEntity<Result<RawValue>> queryUserRoute(WebRequest webRequest) {
+        UserRouteCache.Route route = authenticationFacade.queryCurrentUserRoute();
+        // 路由未变化时返回 304，不输出响应体
+        if (webRequest.checkNotModified(route.etag())) {
+            return null;
+        }
+        // 缓存的路由数据原样写入 data，外层 Result 每次新建
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(route.etag())
+                .body(Result.data(new RawValue(new String(route.payload(), StandardCharsets.UTF_8))));
     }
 
 }
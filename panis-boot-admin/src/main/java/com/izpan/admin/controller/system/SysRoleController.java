@@ -5,7 +5,6 @@ import com.izpan.common.api.Result;
 import com.izpan.common.domain.Options;
 import com.izpan.infrastructure.page.PageQuery;
 import com.izpan.infrastructure.page.RPage;
-import com.izpan.infrastructure.util.GsonUtil;
 import com.izpan.modules.system.domain.dto.role.SysRoleAddDTO;
 import com.izpan.modules.system.domain.dto.role.SysRoleDeleteDTO;
 import com.izpan.modules.system.domain.dto.role.SysRoleSearchDTO;
@@ -13,7 +12,7 @@ import com.izpan.modules.system.domain.dto.role.SysRoleUpdateDTO;
 import com.izpan.modules.system.domain.vo.SysRoleExportVO;
 import com.izpan.modules.system.domain.vo.SysRoleVO;
 import com.izpan.modules.system.facade.ISysRoleFacade;
-import com.izpan.starter.excel.listener.DataListener;
+import com.izpan.starter.excel.listener.BatchDataListener;
 import com.izpan.starter.excel.util.ExcelUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -24,10 +23,12 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 角色管理 Controller 控制层
@@ -45,6 +46,16 @@ import java.util.List;
 @RequestMapping("/sys_role")
 public class SysRoleController {
 
+    /**
+     * 导出时每页加载的角色数量
+     */
+    private static final int EXPORT_PAGE_SIZE = 500;
+
+    /**
+     * 导入时每批写入的条数
+     */
+    private static final int IMPORT_BATCH_SIZE = 1000;
+
     @NonNull
     private ISysRoleFacade sysRoleFacade;
 
@@ -95,21 +106,43 @@ public class SysRoleController {
     @SaCheckPermission("sys:role:export")
     @Operation(operationId = "7", summary = "导出角色管理信息")
     public void export(HttpServletResponse response) {
-        List<SysRoleExportVO> sysRoleExportVOList = sysRoleFacade.queryAllExportRoleList();
-        ExcelUtil.export(SysRoleExportVO.class).data(sysRoleExportVOList).toResponse(response);
+        ExcelUtil.export(SysRoleExportVO.class)
+                .pages(EXPORT_PAGE_SIZE, pageNo -> sysRoleFacade.listExportRolePage(pageNo, EXPORT_PAGE_SIZE))
+                .toResponse(response);
     }
 
     @SneakyThrows
     @PostMapping("/import")
     @SaCheckPermission("sys:role:import")
     @Operation(operationId = "7", summary = "导入角色管理信息")
-    public Result<List<SysRoleVO>> importData(@Parameter(description = "文件对象") @RequestParam("file") MultipartFile file) {
-        // 创建监听器实例并保存引用
-        DataListener<SysRoleExportVO> listener = new DataListener<>();
+    public Result<BatchDataListener.ImportResult> importData(@Parameter(description = "文件对象") @RequestParam("file") MultipartFile file) {
+        // 分批校验写入，内存中只保留一个批次
+        AtomicLong imported = new AtomicLong();
+        BatchDataListener<SysRoleExportVO> listener = new BatchDataListener<SysRoleExportVO>(IMPORT_BATCH_SIZE,
+                rows -> imported.addAndGet(sysRoleFacade.importRoles(rows)))
+                .validator(SysRoleController::validateImportRow);
         ExcelUtil.read(SysRoleExportVO.class)
                 .listener(listener)
                 .fromInputStream(file.getInputStream());
-        log.info("导入的数据: {}", GsonUtil.toJson(listener.getRows()));
-        return Result.success();
+        BatchDataListener.ImportResult result = listener.result();
+        log.info("角色导入完成, 读取[{}]行, 新增[{}]行, 已存在跳过[{}]行, 失败[{}]行", result.totalRows(), imported.get(),
+                result.successRows() - imported.get(), result.failedRows());
+        return Result.data(result);
+    }
+
+    /**
+     * 校验导入的角色数据行
+     *
+     * @param row 角色数据行
+     * @return 错误信息，校验通过返回 null
+     */
+    private static String validateImportRow(SysRoleExportVO row) {
+        if (StringUtils.isBlank(row.getRoleName())) {
+            return "角色名称不能为空";
+        }
+        if (StringUtils.isBlank(row.getRoleCode())) {
+            return "角色编码不能为空";
+        }
+        return null;
     }
-}
+}
\ No newline at end of file
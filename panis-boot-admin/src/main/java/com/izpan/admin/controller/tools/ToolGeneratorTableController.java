@@ -39,6 +39,8 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * 代码生成表管理 Controller 控制层
  *
@@ -97,7 +99,15 @@ public class ToolGeneratorTableController {
     @SaCheckPermission("tools:generator:table:zip")
     @Operation(operationId = "6", summary = "代码生成压缩包")
     public void zipCodeGenerate(HttpServletResponse response, @Parameter(description = "ID") @PathVariable("id") Long tableId) {
-        byte[] bytes = toolGeneratorTableFacade.zipCodeGenerate(tableId);
-        DownloadUtil.binary(response, bytes, "generated-code.zip");
+        DownloadUtil.stream(response, "generated-code.zip",
+                outputStream -> toolGeneratorTableFacade.zipCodeGenerate(List.of(tableId), outputStream));
+    }
+
+    @PostMapping("/zip")
+    @SaCheckPermission("tools:generator:table:zip")
+    @Operation(operationId = "7", summary = "批量代码生成压缩包")
+    public void batchZipCodeGenerate(HttpServletResponse response, @Parameter(description = "ID 集合") @RequestBody List<Long> tableIds) {
+        DownloadUtil.stream(response, "generated-code.zip",
+                outputStream -> toolGeneratorTableFacade.zipCodeGenerate(tableIds, outputStream));
     }
 }
\ No newline at end of file
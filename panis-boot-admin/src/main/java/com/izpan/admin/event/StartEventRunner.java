@@ -24,6 +24,7 @@ import com.izpan.common.constants.SystemCacheConstant;
 import com.izpan.common.pool.StringPools;
 import com.izpan.infrastructure.util.RedisUtil;
 import com.izpan.modules.system.facade.ISysDictItemFacade;
+import com.izpan.modules.system.facade.ISysOrgUnitsFacade;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.core.env.Environment;
@@ -49,9 +50,12 @@ public class StartEventRunner implements CommandLineRunner {
 
     private final ISysDictItemFacade sysDictItemFacade;
 
-    public StartEventRunner(Environment environment, ISysDictItemFacade sysDictItemFacade) {
+    private final ISysOrgUnitsFacade sysOrgUnitsFacade;
+
+    public StartEventRunner(Environment environment, ISysDictItemFacade sysDictItemFacade, ISysOrgUnitsFacade sysOrgUnitsFacade) {
         this.environment = environment;
         this.sysDictItemFacade = sysDictItemFacade;
+        this.sysOrgUnitsFacade = sysOrgUnitsFacade;
     }
 
     @Override
@@ -70,5 +74,10 @@ public class StartEventRunner implements CommandLineRunner {
         // 加载数据字典数据
         sysDictItemFacade.loadDictItemToCache();
         log.info("加载数据字典数据完成，共计耗时：{}ms", System.currentTimeMillis() - loadDictItemStartTime);
+
+        long initOrgClosureStartTime = System.currentTimeMillis();
+        // 回填组织闭包表（表结构见 sql/upgrade，闭包表为空时执行）
+        int closureCount = sysOrgUnitsFacade.initOrgClosure();
+        log.info("初始化组织闭包表完成，回填关系：{}条，共计耗时：{}ms", closureCount, System.currentTimeMillis() - initOrgClosureStartTime);
     }
 }
@@ -32,6 +32,8 @@ public class SystemCacheConstant implements Serializable {
 
     private static final String REFRESH_TOKEN = "refresh_token";
 
+    private static final String ROLES = "roles";
+
     // 用户路由
     public static final String SYSTEM_USER_ROUTE = SYSTEM + ":user:route";
 
@@ -76,15 +78,15 @@ public class SystemCacheConstant implements Serializable {
     }
 
     /**
-     * 用户路由缓存 Key
+     * 用户路由缓存 Key，拥有相同角色集合的用户共享同一份路由
      *
-     * @param userId 用户 ID
-     * @return {@linkplain String} system:user:route::userId
+     * @param roleSetHash 排序后角色 ID 集合及其缓存版本号的哈希值
+     * @return {@linkplain String} system:user:route:roles::roleSetHash
      * @author payne.zhuang
-     * @CreateTime 2024-04-22 09:25
+     * @CreateTime 2025-12-29 - 09:12:40
      */
-    public static String userRouteKey(Long userId) {
-        return SYSTEM_USER_ROUTE + StringPools.DOUBLE_COLON + userId;
+    public static String userRouteKey(String roleSetHash) {
+        return SYSTEM_USER_ROUTE + StringPools.COLON + ROLES + StringPools.DOUBLE_COLON + roleSetHash;
     }
 
     // ====================== 用户管理 End ======================
@@ -98,39 +100,69 @@ public class SystemCacheConstant implements Serializable {
     /**
      * 角色权限列表缓存 Key
      *
-     * @param roleId 角色 ID
-     * @return {@linkplain String} system:role:permission:list:roleId
+     * @param roleCacheKey 带版本号的角色缓存 Key，格式为 roleId:v全局版本号.角色版本号
+     * @return {@linkplain String} system:role:permission:list::roleCacheKey
      * @author payne.zhuang
      * @CreateTime 2024-04-20 20:59
      */
-    public static String rolePermissionListKey(Long roleId) {
-        return SYSTEM_ROLE_PERMISSION_LIST + StringPools.DOUBLE_COLON + roleId;
+    public static String rolePermissionListKey(String roleCacheKey) {
+        return SYSTEM_ROLE_PERMISSION_LIST + StringPools.DOUBLE_COLON + roleCacheKey;
     }
 
     /**
      * 角色权限资源缓存 Key
      *
-     * @param roleId 角色 ID
-     * @return {@linkplain String} system:role:permission:resources:roleId
+     * @param roleCacheKey 带版本号的角色缓存 Key，格式为 roleId:v全局版本号.角色版本号
+     * @return {@linkplain String} system:role:permission:resources::roleCacheKey
      * @author payne.zhuang
      * @CreateTime 2024-04-20 20:59
      */
-    public static String rolePermissionResourcesKey(Long roleId) {
-        return SYSTEM_ROLE_PERMISSION_RESOURCES + StringPools.DOUBLE_COLON + roleId;
+    public static String rolePermissionResourcesKey(String roleCacheKey) {
+        return SYSTEM_ROLE_PERMISSION_RESOURCES + StringPools.DOUBLE_COLON + roleCacheKey;
     }
 
     /**
      * 角色菜单列表缓存 Key
      *
-     * @param roleId 角色 ID
-     * @return {@linkplain String} system:role:menu:list:roleId
+     * @param roleCacheKey 带版本号的角色缓存 Key，格式为 roleId:v全局版本号.角色版本号
+     * @return {@linkplain String} system:role:menu:list::roleCacheKey
      * @author payne.zhuang
      * @CreateTime 2024-04-20 20:59
      */
-    public static String roleMenuListKey(Long roleId) {
-        return SYSTEM_ROLE_MENU_LIST + StringPools.DOUBLE_COLON + roleId;
+    public static String roleMenuListKey(String roleCacheKey) {
+        return SYSTEM_ROLE_MENU_LIST + StringPools.DOUBLE_COLON + roleCacheKey;
+    }
+
+    public static final String SYSTEM_RBAC_VERSION = SYSTEM + ":rbac:version";
+
+    /**
+     * 角色权限缓存全局版本号 Key，菜单、按钮权限定义变更时递增
+     *
+     * @return {@linkplain String} system:rbac:version
+     * @author payne.zhuang
+     * @CreateTime 2025-12-30 - 09:10:22
+     */
+    public static String rbacVersionKey() {
+        return SYSTEM_RBAC_VERSION;
+    }
+
+    /**
+     * 角色缓存版本号 Key，角色的菜单、按钮权限分配变更时递增
+     *
+     * @param roleId 角色 ID
+     * @return {@linkplain String} system:rbac:version:role::roleId
+     * @author payne.zhuang
+     * @CreateTime 2025-12-30 - 09:11:05
+     */
+    public static String rbacRoleVersionKey(Long roleId) {
+        return SYSTEM_RBAC_VERSION + StringPools.COLON + "role" + StringPools.DOUBLE_COLON + roleId;
     }
 
+    /**
+     * 角色权限缓存版本号变更广播频道，各节点据此更新本地版本号
+     */
+    public static final String SYSTEM_RBAC_VERSION_CHANNEL = SYSTEM_RBAC_VERSION + ":changed";
+
     // ====================== 角色权限 End ======================
 
     // ====================== 数据字典 Begin ======================
@@ -184,6 +216,34 @@ public class SystemCacheConstant implements Serializable {
         return SYSTEM_DATA_SCOPE + StringPools.DOUBLE_COLON + permissionCode;
     }
 
+    public static final String SYSTEM_DATA_SCOPE_USER = SYSTEM + ":data:scope:user";
+
+    /**
+     * 用户数据权限计算结果缓存 Key（Hash 结构，field 为权限编码）
+     *
+     * @param userId 用户 ID
+     * @return {@link String } system:data:scope:user::userId
+     * @author payne.zhuang
+     * @CreateTime 2025-12-22 - 10:12:31
+     */
+    public static String dataScopeUserKey(Long userId) {
+        return SYSTEM_DATA_SCOPE_USER + StringPools.DOUBLE_COLON + userId;
+    }
+
+    /**
+     * 用户数据权限计算结果失效广播频道，各节点据此清理本地缓存
+     */
+    public static final String SYSTEM_DATA_SCOPE_USER_CHANNEL = SYSTEM_DATA_SCOPE_USER + ":evict";
+
     // ====================== 数据权限 注解 End ======================
 
+    // ====================== 二级缓存 Begin ======================
+
+    /**
+     * 二级缓存本地失效广播频道
+     */
+    public static final String SYSTEM_CACHE_EVICT_CHANNEL = SYSTEM + ":cache:evict";
+
+    // ====================== 二级缓存 End ======================
+
 }
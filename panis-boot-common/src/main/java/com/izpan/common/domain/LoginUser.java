@@ -1,10 +1,9 @@
 package com.izpan.common.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -12,16 +11,18 @@ import java.util.Set;
 
 /**
  * 登录用户
+ * <p>
+ * 不可变对象，仅通过 builder 构建，Session 反序列化同样经由 builder 完成
+ * </p>
  *
  * @Author payne.zhuang <paynezhuang@gmail.com>
  * @ProjectName panis-boot
  * @ClassName com.izpan.infrastructure.domain.LoginUser
  * @CreateTime 2023/7/18 - 12:47
  */
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
+@Value
+@Builder(toBuilder = true)
+@Jacksonized
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class LoginUser implements Serializable {
 
@@ -73,4 +74,19 @@ public class LoginUser implements Serializable {
      */
     private Set<Long> orgIds;
 
+    /**
+     * 创建只读快照，集合属性转换为不可变集合，用于请求内共享
+     *
+     * @return {@link LoginUser} 登录用户快照
+     * @author payne.zhuang
+     * @CreateTime 2025-12-25 - 14:05:47
+     */
+    public LoginUser snapshot() {
+        return toBuilder()
+                .roleIds(roleIds != null ? Set.copyOf(roleIds) : Set.of())
+                .roleCodes(roleCodes != null ? Set.copyOf(roleCodes) : Set.of())
+                .orgIds(orgIds != null ? Set.copyOf(orgIds) : Set.of())
+                .build();
+    }
+
 }
@@ -0,0 +1,77 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.infrastructure.cache;
+
+import java.time.Duration;
+
+/**
+ * 二级缓存加载策略
+ * <p>
+ * 1. leaseTimeout：大于 0 时，L2 未命中后先获取 Redis 租约，同一 Key 在集群内只有一个节点回源，
+ * 其他节点在租约时间内轮询 L2 等待结果，超时后自行回源 <br>
+ * 2. earlyRefreshBeta：大于 0 时，按 XFetch 算法在 L2 过期前概率性地提前后台刷新，
+ * 越接近过期、回源耗时越长，提前刷新的概率越大，值越大越激进，通常取 1.0
+ * </p>
+ *
+ * @param leaseTimeout     回源租约时长，{@link Duration#ZERO} 表示不使用租约
+ * @param earlyRefreshBeta 提前刷新系数，0 表示不提前刷新
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.infrastructure.cache.CacheLoadPolicy
+ * @CreateTime 2026-01-03 - 09:12:08
+ */
+public record CacheLoadPolicy(Duration leaseTimeout, double earlyRefreshBeta) {
+
+    /**
+     * 不使用租约，不提前刷新
+     */
+    public static final CacheLoadPolicy NONE = new CacheLoadPolicy(Duration.ZERO, 0);
+
+    /**
+     * 创建二级缓存加载策略
+     *
+     * @param leaseTimeout     回源租约时长
+     * @param earlyRefreshBeta 提前刷新系数
+     * @return {@link CacheLoadPolicy} 二级缓存加载策略
+     * @author payne.zhuang
+     * @CreateTime 2026-01-03 - 09:13:26
+     */
+    public static CacheLoadPolicy of(Duration leaseTimeout, double earlyRefreshBeta) {
+        return new CacheLoadPolicy(leaseTimeout, earlyRefreshBeta);
+    }
+
+    /**
+     * 是否使用回源租约
+     *
+     * @return true 使用
+     */
+    public boolean leaseEnabled() {
+        return leaseTimeout != null && leaseTimeout.isPositive();
+    }
+
+    /**
+     * 是否提前刷新
+     *
+     * @return true 提前刷新
+     */
+    public boolean earlyRefreshEnabled() {
+        return earlyRefreshBeta > 0;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.infrastructure.cache;
+
+import java.time.Duration;
+
+/**
+ * 二级缓存 L1 本地缓存配置
+ *
+ * @param maximumSize      最大条目数
+ * @param expireAfterWrite 写入后过期时间
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.infrastructure.cache.LocalCacheSpec
+ * @CreateTime 2026-01-02 - 09:10:52
+ */
+public record LocalCacheSpec(long maximumSize, Duration expireAfterWrite) {
+
+    /**
+     * 创建 L1 本地缓存配置
+     *
+     * @param maximumSize      最大条目数
+     * @param expireAfterWrite 写入后过期时间
+     * @return {@link LocalCacheSpec} L1 本地缓存配置
+     * @author payne.zhuang
+     * @CreateTime 2026-01-02 - 09:11:30
+     */
+    public static LocalCacheSpec of(long maximumSize, Duration expireAfterWrite) {
+        return new LocalCacheSpec(maximumSize, expireAfterWrite);
+    }
+}
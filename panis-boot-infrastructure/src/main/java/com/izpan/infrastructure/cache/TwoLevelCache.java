@@ -0,0 +1,602 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.izpan.common.pool.StringPools;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 二级缓存
+ * <p>
+ * L1 为进程内 Caffeine 缓存，L2 为原有的 Redis 缓存：<br>
+ * 1. 读取先查 L1，未命中再查 L2 并回填 L1，L1 命中时无网络往返及反序列化 <br>
+ * 2. 写入、删除、清空同时作用于两级，并通过 {@link TwoLevelCacheManager} 广播使其他节点的 L1 失效 <br>
+ * 3. L1 条目数及过期时间按缓存名称单独配置，过期时间兜底广播丢失时的不一致窗口
+ * </p>
+ * <p>
+ * 防击穿（需 {@code @Cacheable(sync = true)}，即走 {@link #get(Object, Callable)}）：<br>
+ * 1. 本节点内同一 Key 只有一个线程回源，其余线程等待同一结果；加载在 L1 之外进行，等待租约时不占用 L1 的锁 <br>
+ * 2. 按 {@link CacheLoadPolicy} 可选使用 Redis 租约，集群内同一 Key 只有一个节点回源 <br>
+ * 3. 按 {@link CacheLoadPolicy} 可选在 L2 过期前概率性提前后台刷新，热点 Key 不会同时过期
+ * </p>
+ * <p>
+ * 回源结果写入前后均校验加载期间该 Key 未被写入、删除或清空，已失效时不写入，写入期间失效时撤销 L2 写入，
+ * 避免回源前读取的旧值覆盖失效操作
+ * </p>
+ * <p>
+ * L1 直接持有反序列化后的对象，调用方不应修改缓存返回的对象
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.infrastructure.cache.TwoLevelCache
+ * @CreateTime 2026-01-02 - 09:14:36
+ */
+@Slf4j
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    /**
+     * 等待其他节点回源时轮询 L2 的间隔
+     */
+    private static final long LEASE_POLL_MILLIS = 50L;
+
+    /**
+     * 尚无回源耗时统计时，提前刷新使用的默认回源耗时
+     */
+    private static final double DEFAULT_LOAD_MILLIS = 50D;
+
+    /**
+     * 仅当租约仍属于自己时删除
+     */
+    private static final RedisScript<Long> RELEASE_LEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+
+    private static final ThreadFactory REFRESH_THREAD_FACTORY = Thread.ofVirtual().name("cache-refresh-", 0).factory();
+
+    private final String name;
+
+    /**
+     * L1 本地缓存，Key 统一转换为字符串，与广播消息中的 Key 保持一致
+     */
+    private final com.github.benmanes.caffeine.cache.Cache<String, LocalEntry> localCache;
+
+    /**
+     * L2 Redis 缓存
+     */
+    private final Cache redisCache;
+
+    private final CacheLoadPolicy loadPolicy;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final TwoLevelCacheManager cacheManager;
+
+    /**
+     * 正在同步加载的 Key，同一 Key 的其他线程等待同一结果；Key 失效时移除，加载结果不再写入缓存
+     */
+    private final ConcurrentMap<String, CompletableFuture<Loaded>> loadingEntries = new ConcurrentHashMap<>();
+
+    /**
+     * 正在后台提前刷新的 Key 及本次刷新标识；Key 失效时移除，刷新结果不再写入缓存
+     */
+    private final ConcurrentMap<String, Object> refreshingKeys = new ConcurrentHashMap<>();
+
+    /**
+     * L1 命中次数，每次读取只按最终结果计数一次（L1 命中、L2 命中或未命中）
+     */
+    private final LongAdder localHitCount = new LongAdder();
+
+    /**
+     * L2 命中次数
+     */
+    private final LongAdder remoteHitCount = new LongAdder();
+
+    /**
+     * 两级均未命中次数
+     */
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * L2 读取次数，仅统计 L1 未命中时的 Redis 读取
+     */
+    private final LongAdder remoteLoadCount = new LongAdder();
+
+    /**
+     * L2 读取总耗时（纳秒）
+     */
+    private final LongAdder remoteLoadNanos = new LongAdder();
+
+    /**
+     * 数据源加载次数，仅统计 {@link #get(Object, Callable)} 方式的加载
+     */
+    private final LongAdder sourceLoadCount = new LongAdder();
+
+    /**
+     * 数据源加载总耗时（纳秒）
+     */
+    private final LongAdder sourceLoadNanos = new LongAdder();
+
+    TwoLevelCache(String name, Cache redisCache, LocalCacheSpec spec, CacheLoadPolicy loadPolicy,
+                  StringRedisTemplate stringRedisTemplate, TwoLevelCacheManager cacheManager) {
+        super(false);
+        this.name = name;
+        this.redisCache = redisCache;
+        this.loadPolicy = loadPolicy;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.cacheManager = cacheManager;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(spec.maximumSize())
+                .expireAfterWrite(spec.expireAfterWrite())
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return localCache;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = localKey(key);
+        LocalEntry entry = localCache.getIfPresent(localKey);
+        if (entry != null) {
+            record(Outcome.LOCAL_HIT);
+            return entry.value();
+        }
+        Object value = lookupRemote(key);
+        record(value == null ? Outcome.MISS : Outcome.REMOTE_HIT);
+        if (value != null) {
+            localCache.put(localKey, new LocalEntry(value, remoteExpireAt(localKey)));
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        LocalEntry entry = localCache.getIfPresent(localKey);
+        if (entry != null) {
+            record(Outcome.LOCAL_HIT);
+        } else {
+            Loaded loaded = loadShared(key, localKey, valueLoader);
+            record(loaded.outcome());
+            entry = loaded.entry();
+        }
+        if (entry == null) {
+            return null;
+        }
+        refreshEarlyIfNeeded(key, localKey, entry, valueLoader);
+        return (T) fromStoreValue(entry.value());
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        cancelLoading(localKey(key));
+        redisCache.put(key, value);
+        localCache.put(localKey(key), new LocalEntry(value, expireAt(key, value)));
+        cacheManager.publishEvict(name, localKey(key));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        cancelLoading(localKey(key));
+        ValueWrapper existing = redisCache.putIfAbsent(key, value);
+        localCache.invalidate(localKey(key));
+        cacheManager.publishEvict(name, localKey(key));
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        cancelLoading(localKey(key));
+        redisCache.evict(key);
+        localCache.invalidate(localKey(key));
+        cacheManager.publishEvict(name, localKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        cancelLoading(localKey(key));
+        boolean present = redisCache.evictIfPresent(key);
+        localCache.invalidate(localKey(key));
+        cacheManager.publishEvict(name, localKey(key));
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        cancelLoading(null);
+        redisCache.clear();
+        localCache.invalidateAll();
+        cacheManager.publishClear(name);
+    }
+
+    /**
+     * 失效本节点 L1，收到其他节点广播时调用
+     *
+     * @param localKey L1 Key，为 null 时清空
+     * @author payne.zhuang
+     * @CreateTime 2026-01-02 - 09:25:18
+     */
+    void evictLocal(String localKey) {
+        cancelLoading(localKey);
+        if (localKey == null) {
+            localCache.invalidateAll();
+        } else {
+            localCache.invalidate(localKey);
+        }
+    }
+
+    /**
+     * 获取缓存统计信息
+     *
+     * @return {@link Statistics} 缓存统计信息
+     * @author payne.zhuang
+     * @CreateTime 2026-01-02 - 09:27:40
+     */
+    public Statistics statistics() {
+        long localHits = localHitCount.sum();
+        long remoteHits = remoteHitCount.sum();
+        long misses = missCount.sum();
+        long requests = localHits + remoteHits + misses;
+        long remoteLoads = remoteLoadCount.sum();
+        long sourceLoads = sourceLoadCount.sum();
+        return new Statistics(name,
+                localCache.estimatedSize(),
+                localHits,
+                remoteHits,
+                misses,
+                requests == 0 ? 0 : (double) localHits / requests,
+                requests == 0 ? 0 : (double) (localHits + remoteHits) / requests,
+                remoteLoads == 0 ? 0 : toMillis(remoteLoadNanos.sum()) / remoteLoads,
+                sourceLoads,
+                sourceLoads == 0 ? 0 : toMillis(sourceLoadNanos.sum()) / sourceLoads);
+    }
+
+    /**
+     * 本节点内同一 Key 只由一个线程加载，其余线程在 L1 之外等待同一结果，并按同一结果计数
+     */
+    private Loaded loadShared(Object key, String localKey, Callable<?> valueLoader) {
+        CompletableFuture<Loaded> future = new CompletableFuture<>();
+        CompletableFuture<Loaded> loading = loadingEntries.putIfAbsent(localKey, future);
+        if (loading != null) {
+            return join(loading);
+        }
+        try {
+            // 等待期间其他线程可能已完成加载
+            LocalEntry entry = localCache.getIfPresent(localKey);
+            Loaded loaded = entry != null ? new Loaded(entry, Outcome.LOCAL_HIT)
+                    : loadEntry(key, localKey, valueLoader, () -> loadingEntries.get(localKey) == future);
+            future.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loadingEntries.remove(localKey, future);
+        }
+    }
+
+    /**
+     * L1 未命中时加载：先查 L2，未命中再回源，按策略使用 Redis 租约保证集群内只有一个节点回源
+     */
+    private Loaded loadEntry(Object key, String localKey, Callable<?> valueLoader, BooleanSupplier current) {
+        Object value = lookupRemote(key);
+        if (value != null) {
+            return new Loaded(cacheLocal(localKey, new LocalEntry(value, remoteExpireAt(localKey)), current), Outcome.REMOTE_HIT);
+        }
+        if (!loadPolicy.leaseEnabled()) {
+            return new Loaded(loadFromSource(key, localKey, valueLoader, current), Outcome.MISS);
+        }
+        String leaseToken = tryAcquireLease(localKey);
+        if (leaseToken == null) {
+            value = awaitRemote(key);
+            if (value != null) {
+                return new Loaded(cacheLocal(localKey, new LocalEntry(value, remoteExpireAt(localKey)), current), Outcome.REMOTE_HIT);
+            }
+            // 等待超时，持有租约的节点可能已失败，自行回源
+            return new Loaded(loadFromSource(key, localKey, valueLoader, current), Outcome.MISS);
+        }
+        try {
+            return new Loaded(loadFromSource(key, localKey, valueLoader, current), Outcome.MISS);
+        } finally {
+            releaseLease(localKey, leaseToken);
+        }
+    }
+
+    /**
+     * 回源加载并写入两级缓存，加载期间 Key 已失效时只返回结果不写入
+     */
+    private LocalEntry loadFromSource(Object key, String localKey, Callable<?> valueLoader, BooleanSupplier current) {
+        Object value;
+        long start = System.nanoTime();
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            sourceLoadCount.increment();
+            sourceLoadNanos.add(System.nanoTime() - start);
+        }
+        if (value == null) {
+            return null;
+        }
+        LocalEntry entry = new LocalEntry(value, expireAt(key, value));
+        if (!current.getAsBoolean()) {
+            return entry;
+        }
+        redisCache.put(key, value);
+        if (!current.getAsBoolean()) {
+            // 写入 L2 期间 Key 被失效，撤销本次写入，由下次读取重新加载
+            redisCache.evict(key);
+            return entry;
+        }
+        return cacheLocal(localKey, entry, current);
+    }
+
+    /**
+     * 写入 L1，与失效操作在同一 Key 上互斥，Key 已失效时保留现有条目
+     */
+    private LocalEntry cacheLocal(String localKey, LocalEntry entry, BooleanSupplier current) {
+        localCache.asMap().compute(localKey, (k, existing) -> current.getAsBoolean() ? entry : existing);
+        return entry;
+    }
+
+    /**
+     * 标记 Key 正在进行的加载、刷新已失效，须在修改两级缓存之前调用
+     *
+     * @param localKey L1 Key，为 null 时标记全部
+     */
+    private void cancelLoading(String localKey) {
+        if (localKey == null) {
+            loadingEntries.clear();
+            refreshingKeys.clear();
+        } else {
+            loadingEntries.remove(localKey);
+            refreshingKeys.remove(localKey);
+        }
+    }
+
+    /**
+     * XFetch 提前刷新：now - delta * beta * ln(random) >= expireAt 时后台刷新，同一 Key 同时只有一个刷新任务
+     */
+    private void refreshEarlyIfNeeded(Object key, String localKey, LocalEntry entry, Callable<?> valueLoader) {
+        if (!loadPolicy.earlyRefreshEnabled() || entry.expireAtMillis() == Long.MAX_VALUE) {
+            return;
+        }
+        long loads = sourceLoadCount.sum();
+        double deltaMillis = loads == 0 ? DEFAULT_LOAD_MILLIS : toMillis(sourceLoadNanos.sum()) / loads;
+        double gap = -deltaMillis * loadPolicy.earlyRefreshBeta() * Math.log(ThreadLocalRandom.current().nextDouble());
+        if (System.currentTimeMillis() + gap < entry.expireAtMillis()) {
+            return;
+        }
+        // 刷新标识在回源前记录，回源期间 Key 被失效时不写入刷新结果
+        Object refreshToken = new Object();
+        if (refreshingKeys.putIfAbsent(localKey, refreshToken) != null) {
+            return;
+        }
+        REFRESH_THREAD_FACTORY.newThread(() -> refresh(key, localKey, valueLoader, refreshToken)).start();
+    }
+
+    private void refresh(Object key, String localKey, Callable<?> valueLoader, Object refreshToken) {
+        BooleanSupplier current = () -> refreshingKeys.get(localKey) == refreshToken;
+        String leaseToken = null;
+        try {
+            if (loadPolicy.leaseEnabled()) {
+                leaseToken = tryAcquireLease(localKey);
+                if (leaseToken == null) {
+                    // 其他节点正在回源或刷新
+                    return;
+                }
+            }
+            LocalEntry entry = loadFromSource(key, localKey, valueLoader, current);
+            if (entry != null && current.getAsBoolean()) {
+                cacheManager.publishEvict(name, localKey);
+                log.debug("[Cache] {} Key={} 已提前刷新", name, localKey);
+            }
+        } catch (Exception e) {
+            log.warn("[Cache] {} Key={} 提前刷新失败: {}", name, localKey, e.getMessage());
+        } finally {
+            if (leaseToken != null) {
+                releaseLease(localKey, leaseToken);
+            }
+            refreshingKeys.remove(localKey, refreshToken);
+        }
+    }
+
+    private String tryAcquireLease(String localKey) {
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = stringRedisTemplate.opsForValue()
+                .setIfAbsent(leaseKey(localKey), token, loadPolicy.leaseTimeout());
+        return Boolean.TRUE.equals(acquired) ? token : null;
+    }
+
+    private void releaseLease(String localKey, String token) {
+        try {
+            stringRedisTemplate.execute(RELEASE_LEASE_SCRIPT, List.of(leaseKey(localKey)), token);
+        } catch (Exception e) {
+            // 释放失败时租约到期自动失效
+            log.warn("[Cache] {} Key={} 释放回源租约失败: {}", name, localKey, e.getMessage());
+        }
+    }
+
+    /**
+     * 租约时间内轮询 L2，等待持有租约的节点回源写入
+     */
+    private Object awaitRemote(Object key) {
+        long deadline = System.nanoTime() + loadPolicy.leaseTimeout().toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(LEASE_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            ValueWrapper wrapper = redisCache.get(key);
+            if (wrapper != null && wrapper.get() != null) {
+                return wrapper.get();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 回源写入时的 L2 过期时间点，未开启提前刷新或无过期时间时返回 Long.MAX_VALUE
+     */
+    private long expireAt(Object key, Object value) {
+        if (!loadPolicy.earlyRefreshEnabled() || !(redisCache instanceof RedisCache cache)) {
+            return Long.MAX_VALUE;
+        }
+        Duration ttl = cache.getCacheConfiguration().getTtlFunction().getTimeToLive(key, value);
+        return ttl == null || !ttl.isPositive() ? Long.MAX_VALUE : System.currentTimeMillis() + ttl.toMillis();
+    }
+
+    /**
+     * 从 L2 读取时的过期时间点，仅开启提前刷新时查询 PTTL
+     */
+    private long remoteExpireAt(String localKey) {
+        if (!loadPolicy.earlyRefreshEnabled()) {
+            return Long.MAX_VALUE;
+        }
+        Long ttlMillis = stringRedisTemplate.getExpire(redisKey(localKey), TimeUnit.MILLISECONDS);
+        return ttlMillis == null || ttlMillis <= 0 ? Long.MAX_VALUE : System.currentTimeMillis() + ttlMillis;
+    }
+
+    /**
+     * L2 Redis Key，与 RedisCacheManager 默认前缀规则一致：缓存名称::Key
+     */
+    private String redisKey(String localKey) {
+        return name + StringPools.DOUBLE_COLON + localKey;
+    }
+
+    private String leaseKey(String localKey) {
+        return redisKey(localKey) + StringPools.COLON + "lease";
+    }
+
+    private Object lookupRemote(Object key) {
+        long start = System.nanoTime();
+        ValueWrapper wrapper = redisCache.get(key);
+        remoteLoadNanos.add(System.nanoTime() - start);
+        remoteLoadCount.increment();
+        return wrapper == null ? null : wrapper.get();
+    }
+
+    private void record(Outcome outcome) {
+        switch (outcome) {
+            case LOCAL_HIT -> localHitCount.increment();
+            case REMOTE_HIT -> remoteHitCount.increment();
+            case MISS -> missCount.increment();
+        }
+    }
+
+    private static Loaded join(CompletableFuture<Loaded> loading) {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private static double toMillis(long nanos) {
+        return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * L1 缓存条目
+     *
+     * @param value          缓存值
+     * @param expireAtMillis L2 过期时间点（毫秒时间戳），用于提前刷新，未知时为 Long.MAX_VALUE
+     */
+    private record LocalEntry(Object value, long expireAtMillis) {
+    }
+
+    /**
+     * 一次读取的结果
+     */
+    private enum Outcome {
+        LOCAL_HIT, REMOTE_HIT, MISS
+    }
+
+    /**
+     * L1 未命中时的加载结果
+     *
+     * @param entry   L1 缓存条目，数据源返回 null 时为 null
+     * @param outcome 读取结果，等待同一加载的线程按相同结果计数
+     */
+    private record Loaded(LocalEntry entry, Outcome outcome) {
+    }
+
+    /**
+     * 缓存统计信息
+     *
+     * @param name                缓存名称
+     * @param localSize           L1 条目数（估算）
+     * @param localHitCount       L1 命中次数
+     * @param remoteHitCount      L2 命中次数
+     * @param missCount           两级均未命中次数
+     * @param localHitRatio       L1 命中率
+     * @param hitRatio            整体命中率
+     * @param remoteLoadAvgMillis L1 未命中时读取 Redis 的平均耗时（毫秒）
+     * @param sourceLoadCount     数据源加载次数
+     * @param sourceLoadAvgMillis 数据源加载平均耗时（毫秒）
+     */
+    public record Statistics(String name, long localSize, long localHitCount, long remoteHitCount, long missCount,
+                             double localHitRatio, double hitRatio, double remoteLoadAvgMillis,
+                             long sourceLoadCount, double sourceLoadAvgMillis) {
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.infrastructure.cache;
+
+import com.izpan.common.constants.SystemCacheConstant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 二级缓存管理器
+ * <p>
+ * 在 {@link RedisCacheManager} 之前为每个缓存名称增加 L1 本地缓存（{@link TwoLevelCache}）：<br>
+ * 1. L1 配置、加载策略（{@link CacheLoadPolicy}）按缓存名称指定，未指定的使用默认配置 <br>
+ * 2. 写入、删除、清空时通过 Redis 发布订阅广播到 {@link SystemCacheConstant#SYSTEM_CACHE_EVICT_CHANNEL}，
+ * 其他节点收到后只失效本地 L1，L2 由发起节点直接修改 <br>
+ * 3. 广播为尽力而为，订阅断开期间丢失的消息由 L1 过期时间兜底
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.infrastructure.cache.TwoLevelCacheManager
+ * @CreateTime 2026-01-02 - 09:32:15
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+    private static final String SEPARATOR = "\n";
+
+    private final RedisCacheManager redisCacheManager;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final LocalCacheSpec defaultLocalSpec;
+
+    private final Map<String, LocalCacheSpec> localSpecs;
+
+    private final CacheLoadPolicy defaultLoadPolicy;
+
+    private final Map<String, CacheLoadPolicy> loadPolicies;
+
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * 当前节点标识，用于忽略自己发出的广播
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public TwoLevelCacheManager(RedisCacheManager redisCacheManager, StringRedisTemplate stringRedisTemplate,
+                                LocalCacheSpec defaultLocalSpec, Map<String, LocalCacheSpec> localSpecs,
+                                CacheLoadPolicy defaultLoadPolicy, Map<String, CacheLoadPolicy> loadPolicies) {
+        this.redisCacheManager = redisCacheManager;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.defaultLocalSpec = defaultLocalSpec;
+        this.localSpecs = Map.copyOf(localSpecs);
+        this.defaultLoadPolicy = defaultLoadPolicy;
+        this.loadPolicies = Map.copyOf(loadPolicies);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoLevelCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache redisCache = redisCacheManager.getCache(cacheName);
+            return redisCache == null ? null
+                    : new TwoLevelCache(cacheName, redisCache,
+                    localSpecs.getOrDefault(cacheName, defaultLocalSpec),
+                    loadPolicies.getOrDefault(cacheName, defaultLoadPolicy),
+                    stringRedisTemplate, this);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return List.copyOf(caches.keySet());
+    }
+
+    /**
+     * 获取全部已创建缓存的统计信息
+     *
+     * @return {@link List} 缓存统计信息
+     * @author payne.zhuang
+     * @CreateTime 2026-01-02 - 09:36:42
+     */
+    public List<TwoLevelCache.Statistics> statistics() {
+        return caches.values().stream().map(TwoLevelCache::statistics).toList();
+    }
+
+    /**
+     * 广播失效其他节点的 L1 Key
+     *
+     * @param cacheName 缓存名称
+     * @param localKey  L1 Key
+     * @author payne.zhuang
+     * @CreateTime 2026-01-02 - 09:38:05
+     */
+    void publishEvict(String cacheName, String localKey) {
+        publish(nodeId + SEPARATOR + cacheName + SEPARATOR + localKey);
+    }
+
+    /**
+     * 广播清空其他节点的 L1
+     *
+     * @param cacheName 缓存名称
+     * @author payne.zhuang
+     * @CreateTime 2026-01-02 - 09:38:40
+     */
+    void publishClear(String cacheName) {
+        publish(nodeId + SEPARATOR + cacheName);
+    }
+
+    private void publish(String message) {
+        try {
+            stringRedisTemplate.convertAndSend(SystemCacheConstant.SYSTEM_CACHE_EVICT_CHANNEL, message);
+        } catch (Exception e) {
+            // 广播失败不影响本节点缓存操作，其他节点由 L1 过期时间兜底
+            log.warn("[Cache] 二级缓存失效广播失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 处理其他节点的失效广播，格式：节点标识\n缓存名称[\nKey]，无 Key 时清空
+     *
+     * @param message 广播消息
+     * @param pattern 订阅频道
+     * @author payne.zhuang
+     * @CreateTime 2026-01-02 - 09:40:22
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache != null) {
+            cache.evictLocal(parts.length == 3 ? parts[2] : null);
+        }
+    }
+}
@@ -1,24 +1,34 @@
 package com.izpan.infrastructure.config;
 
 import com.izpan.common.constants.SystemCacheConstant;
+import com.izpan.infrastructure.cache.CacheLoadPolicy;
+import com.izpan.infrastructure.cache.LocalCacheSpec;
+import com.izpan.infrastructure.cache.TwoLevelCacheManager;
 import com.izpan.infrastructure.factory.ObjectMapperFactory;
+import com.izpan.infrastructure.serializer.CompressingRedisSerializer;
+import com.izpan.starter.common.config.CompressProperties;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.CacheManager;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -33,26 +43,28 @@ import java.util.Map;
 @Slf4j
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CompressProperties.class)
 public class RedisConfiguration {
 
     @Bean
-    public <T> RedisTemplate<String, T> redisTemplate(RedisConnectionFactory redisConnectionFactory) {
+    public <T> RedisTemplate<String, T> redisTemplate(RedisConnectionFactory redisConnectionFactory,
+                                                      CompressProperties compressProperties) {
         RedisTemplate<String, T> template = new RedisTemplate<>();
 
         template.setConnectionFactory(redisConnectionFactory);
 
         StringRedisSerializer stringRedisSerializer = new StringRedisSerializer();
-        // 使用 GenericJackson2JsonRedisSerializer 替换默认的 JdkSerializationRedisSerializer 来序列化和反序列化 redis 的 value 值
-        GenericJackson2JsonRedisSerializer genericJackson2JsonRedisSerializer = redisSerializer();
+        // 使用 GenericJackson2JsonRedisSerializer 替换默认的 JdkSerializationRedisSerializer 来序列化和反序列化 redis 的 value 值，按 compress.redis 配置压缩后写入
+        RedisSerializer<Object> valueRedisSerializer = compressingRedisSerializer(compressProperties.getRedis());
 
         // key 采用 String 的序列化方式
         template.setKeySerializer(stringRedisSerializer);
         // hash 的 key 也采用 String 的序列化方式
         template.setHashKeySerializer(stringRedisSerializer);
         // value 序列化方式采用 jackson
-        template.setValueSerializer(genericJackson2JsonRedisSerializer);
+        template.setValueSerializer(valueRedisSerializer);
         // hash  序列化方式采用 jackson
-        template.setHashValueSerializer(genericJackson2JsonRedisSerializer);
+        template.setHashValueSerializer(valueRedisSerializer);
 
         // 初始化 RedisTemplate 对象
         template.afterPropertiesSet();
@@ -60,52 +72,115 @@ public class RedisConfiguration {
     }
 
     @Bean
-    public CacheManager cacheManager(LettuceConnectionFactory redisConnectionFactory) {
-        // 初始化一个 RedisCacheWriter
-        RedisCacheWriter redisCacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(redisConnectionFactory);
+    public TwoLevelCacheManager cacheManager(LettuceConnectionFactory redisConnectionFactory, StringRedisTemplate stringRedisTemplate,
+                                             CompressProperties compressProperties) {
+        // 初始化一个 RedisCacheWriter，clear 时使用 SCAN 分批删除，避免 KEYS 阻塞
+        RedisCacheWriter redisCacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(redisConnectionFactory, BatchStrategies.scan(1000));
 
         // 生成一个默认配置，通过config对象即可对缓存进行自定义配置，如过期时间等
         RedisCacheConfiguration defaultCacheConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(redisSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(compressingRedisSerializer(compressProperties.getCache())))
                 // 不缓存空置
                 .disableCachingNullValues()
                 // 设置缓存过期时间
                 .entryTtl(Duration.ofMinutes(60));
 
         // 对每个缓存空间应用不同的配置
-        Map<String, RedisCacheConfiguration> customRedisConfigMap = getRedisCacheConfigurationMap(defaultCacheConfig);
+        Map<String, RedisCacheConfiguration> customRedisConfigMap = getRedisCacheConfigurationMap(defaultCacheConfig, compressProperties);
 
         // 创建 RedisCacheManager 对象
-        RedisCacheManager build = RedisCacheManager.builder(redisCacheWriter)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisCacheWriter)
                 .cacheDefaults(defaultCacheConfig)
                 .withInitialCacheConfigurations(customRedisConfigMap)
                 .build();
+        redisCacheManager.initializeCaches();
 
-        log.info("Initializing CacheManager RedisCacheManager Start success.");
+        // 在 Redis 缓存之前增加本地 L1 缓存
+        TwoLevelCacheManager build = new TwoLevelCacheManager(redisCacheManager, stringRedisTemplate,
+                LocalCacheSpec.of(1_000, Duration.ofMinutes(1)), getLocalCacheSpecMap(),
+                CacheLoadPolicy.NONE, getCacheLoadPolicyMap());
+
+        log.info("Initializing CacheManager TwoLevelCacheManager Start success.");
         return build;
     }
 
     /**
-     * 自定义的 key 缓存时间
+     * 订阅二级缓存失效广播，失效本节点 L1
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheEvictListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                     TwoLevelCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(SystemCacheConstant.SYSTEM_CACHE_EVICT_CHANNEL));
+        return container;
+    }
+
+    /**
+     * 自定义的 key 缓存时间及压缩配置
      *
      * @param defaultCacheConfig 默认缓存配置
+     * @param compressProperties 压缩配置，compress.caches 中指定的缓存使用各自的压缩配置
      * @return {@linkplain Map} 指定的Key默认缓存时间
      * @author payne.zhuang
      * @CreateTime 2024-04-20 22:12
      */
-    private Map<String, RedisCacheConfiguration> getRedisCacheConfigurationMap(RedisCacheConfiguration defaultCacheConfig) {
+    private Map<String, RedisCacheConfiguration> getRedisCacheConfigurationMap(RedisCacheConfiguration defaultCacheConfig,
+                                                                               CompressProperties compressProperties) {
+        // 缓存用户角色权限 30 天
+        Map<String, Duration> ttlMap = Map.of(
+                SystemCacheConstant.SYSTEM_ROLE_MENU_LIST, Duration.ofDays(30),
+                SystemCacheConstant.SYSTEM_ROLE_PERMISSION_LIST, Duration.ofDays(30),
+                SystemCacheConstant.SYSTEM_ROLE_PERMISSION_RESOURCES, Duration.ofDays(30)
+        );
+        Map<String, RedisCacheConfiguration> configMap = new HashMap<>();
+        ttlMap.forEach((cacheName, ttl) -> configMap.put(cacheName, defaultCacheConfig.entryTtl(ttl)));
+        compressProperties.getCaches().forEach((cacheName, spec) -> configMap.put(cacheName,
+                configMap.getOrDefault(cacheName, defaultCacheConfig)
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(compressingRedisSerializer(spec)))));
+        return configMap;
+    }
+
+    /**
+     * 自定义的 L1 本地缓存配置，未指定的缓存使用默认配置（1000 条，1 分钟）
+     *
+     * @return {@linkplain Map} 指定缓存的 L1 配置
+     * @author payne.zhuang
+     * @CreateTime 2026-01-02 - 09:48:26
+     */
+    private Map<String, LocalCacheSpec> getLocalCacheSpecMap() {
         return Map.of(
-                // 缓存用户路由 15 天
-                SystemCacheConstant.SYSTEM_USER_ROUTE, defaultCacheConfig.entryTtl(Duration.ofDays(15)),
-                // 缓存用户角色权限 30 天
-                SystemCacheConstant.SYSTEM_ROLE_MENU_LIST, defaultCacheConfig.entryTtl(Duration.ofDays(30)),
-                SystemCacheConstant.SYSTEM_ROLE_PERMISSION_LIST, defaultCacheConfig.entryTtl(Duration.ofDays(30)),
-                SystemCacheConstant.SYSTEM_ROLE_PERMISSION_RESOURCES, defaultCacheConfig.entryTtl(Duration.ofDays(30))
+                // 角色菜单、权限 Key 中包含版本号，变更后切换到新 Key，L1 可以保留较长时间
+                SystemCacheConstant.SYSTEM_ROLE_MENU_LIST, LocalCacheSpec.of(5_000, Duration.ofMinutes(30)),
+                SystemCacheConstant.SYSTEM_ROLE_PERMISSION_LIST, LocalCacheSpec.of(5_000, Duration.ofMinutes(30)),
+                SystemCacheConstant.SYSTEM_ROLE_PERMISSION_RESOURCES, LocalCacheSpec.of(5_000, Duration.ofMinutes(30)),
+                // 数据权限配置按权限码失效，依赖广播，L1 保持较短时间
+                SystemCacheConstant.SYSTEM_DATA_SCOPE, LocalCacheSpec.of(2_000, Duration.ofMinutes(5))
         );
     }
 
 
+    /**
+     * 自定义的缓存加载策略，热点缓存回源时使用集群租约并在过期前提前刷新，未指定的缓存不使用
+     * <p>
+     * 需配合 {@code @Cacheable(sync = true)} 使用
+     * </p>
+     *
+     * @return {@linkplain Map} 指定缓存的加载策略
+     * @author payne.zhuang
+     * @CreateTime 2026-01-03 - 09:40:15
+     */
+    private Map<String, CacheLoadPolicy> getCacheLoadPolicyMap() {
+        CacheLoadPolicy hotCachePolicy = CacheLoadPolicy.of(Duration.ofSeconds(3), 1.0);
+        return Map.of(
+                SystemCacheConstant.SYSTEM_ROLE_MENU_LIST, hotCachePolicy,
+                SystemCacheConstant.SYSTEM_ROLE_PERMISSION_LIST, hotCachePolicy,
+                SystemCacheConstant.SYSTEM_ROLE_PERMISSION_RESOURCES, hotCachePolicy,
+                SystemCacheConstant.SYSTEM_DATA_SCOPE, hotCachePolicy
+        );
+    }
+
     /**
      * 创建 RedisSerializer 对象，使用 Jackson 序列化器
      *
@@ -118,4 +193,15 @@ public class RedisConfiguration {
         return new GenericJackson2JsonRedisSerializer(ObjectMapperFactory.getCustomObjectMapper());
     }
 
-}
\ No newline at end of file
+    /**
+     * 创建压缩 RedisSerializer 对象，按压缩配置写入，兼容读取未压缩的 JSON
+     *
+     * @param spec 压缩配置
+     * @return {@link RedisSerializer} 对象
+     * @author payne.zhuang
+     * @CreateTime 2026-01-04 - 09:40:52
+     */
+    private RedisSerializer<Object> compressingRedisSerializer(CompressProperties.Spec spec) {
+        return new CompressingRedisSerializer(redisSerializer(), spec);
+    }
+}
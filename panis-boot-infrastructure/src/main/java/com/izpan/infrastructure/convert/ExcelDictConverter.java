@@ -25,24 +25,24 @@ import cn.idev.excel.metadata.GlobalConfiguration;
 import cn.idev.excel.metadata.data.ReadCellData;
 import cn.idev.excel.metadata.data.WriteCellData;
 import cn.idev.excel.metadata.property.ExcelContentProperty;
-import com.izpan.common.constants.SystemCacheConstant;
-import com.izpan.common.domain.DictItem;
 import com.izpan.common.pool.StringPools;
 import com.izpan.infrastructure.annotation.DictMapping;
 import com.izpan.infrastructure.holder.ContextHolder;
-import com.izpan.infrastructure.util.RedisUtil;
+import com.izpan.infrastructure.holder.DictIndexHolder;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 通用数据字典转换器
  * 根据字段上的@DictField注解进行字典转换
  * 支持Excel导入导出时进行字典值与显示文本的相互转换
+ * 字典项从本地索引 {@link DictIndexHolder} 哈希查找，不再逐个单元格访问 Redis
  *
  * @Author payne.zhuang <paynezhuang@gmail.com>
  * @ProjectName panis-boot
@@ -52,6 +52,11 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ExcelDictConverter implements Converter<Object> {
 
+    /**
+     * 字段 → 字典编码（无注解时为空字符串），每列仅解析一次注解
+     */
+    private static final Map<Field, String> DICT_CODE_CACHE = new ConcurrentHashMap<>();
+
     /**
      * 指定支持的Excel单元格数据类型
      *
@@ -131,40 +136,26 @@ public class ExcelDictConverter implements Converter<Object> {
             return StringUtils.EMPTY;
         }
 
-        // 获取字段上的DictField注解
-        DictMapping annotation = contentProperty.getField().getAnnotation(DictMapping.class);
-        if (null == annotation) {
-            // 没有注解则直接返回原值
-            return value;
-        }
-
-        // 获取注解中的字典编码
-        String dictCode = annotation.value();
-        if (StringUtils.isBlank(dictCode)) {
-            // 字典编码为空时记录警告日志
-            log.warn("字段 [{}] 的字典注解缺少有效的字典编码", contentProperty.getField().getName());
+        // 获取字段对应的字典编码，每列仅解析一次注解
+        Field field = contentProperty.getField();
+        String dictCode = DICT_CODE_CACHE.computeIfAbsent(field, ExcelDictConverter::resolveDictCode);
+        if (dictCode.isEmpty()) {
+            // 没有注解或字典编码为空则直接返回原值
             return value;
         }
 
         try {
-            // 从缓存中获取字典项
-            String dictKey = SystemCacheConstant.dictItemKey(dictCode);
-            List<DictItem> dictItems = RedisUtil.getList(dictKey, DictItem.class);
-
-            // 检查字典项是否为空
-            if (dictItems == null || dictItems.isEmpty()) {
-                log.warn("字典编码 [{}] 未找到对应的字典项数据", dictCode);
+            // 从本地字典索引中获取字典项
+            DictIndexHolder.DictCodeIndex dictIndex = DictIndexHolder.get(dictCode);
+            if (dictIndex.isEmpty()) {
                 return value;
             }
 
-            // 解析输入值为列表（支持多值，以逗号分隔）
-            List<String> valueList = StringUtils.isBlank(value) ?
-                    Collections.emptyList() : Arrays.asList(value.split(StringPools.COMMA));
-
             // 根据操作类型选择不同的转换方法
+            String language = ContextHolder.language();
             String result = isExport
-                    ? convertValuesToLabels(valueList, dictItems) // 导出：值→标签
-                    : convertLabelsToValues(valueList, dictItems); // 导入：标签→值
+                    ? convertValuesToLabels(value, dictIndex, language) // 导出：值→标签
+                    : convertLabelsToValues(value, dictIndex, language); // 导入：标签→值
 
             // 如果转换结果为空，则返回原值
             return StringUtils.isNotBlank(result) ? result : value;
@@ -172,83 +163,69 @@ public class ExcelDictConverter implements Converter<Object> {
         } catch (Exception e) {
             // 异常处理，记录详细信息并返回原值
             String operation = isExport ? "导出" : "导入";
-            String fieldName = contentProperty.getField().getName();
 
             log.error("Excel{}过程中字典转换异常 - 字段: [{}], 字典编码: [{}], 原始值: [{}], 原因: {}",
-                    operation, fieldName, dictCode, value, e.getMessage());
+                    operation, field.getName(), dictCode, value, e.getMessage());
 
             return value;
         }
     }
 
     /**
-     * 将字典值列表转换为对应的显示标签文本
-     * 用于Excel导出时将数据库存储的值转换为用户可读的文本
+     * 解析字段上的字典注解，获取字典编码
      *
-     * @param values    字典值列表
-     * @param dictItems 字典项列表
-     * @return 标签文本，多个标签用逗号分隔
+     * @param field 字段
+     * @return 字典编码，没有注解或编码为空时返回空字符串
      */
-    private String convertValuesToLabels(List<String> values, List<DictItem> dictItems) {
-        // 将每个值转换为对应的标签，找不到对应标签时保留原值
-        return values.stream()
-                .map(val -> dictItems.stream()
-                        // 根据值匹配字典项
-                        .filter(item -> item.getValue().equals(val))
-                        // 根据当前语言选择返回英文或中文标签
-                        .map(this::getLocalizedLabel)
-                        .findFirst()
-                        // 找不到对应标签时保留原值
-                        .orElse(val))
-                // 使用逗号连接所有标签
-                .collect(Collectors.joining(StringPools.COMMA));
+    private static String resolveDictCode(Field field) {
+        DictMapping annotation = field.getAnnotation(DictMapping.class);
+        if (null == annotation) {
+            return StringUtils.EMPTY;
+        }
+        if (StringUtils.isBlank(annotation.value())) {
+            // 字典编码为空时记录警告日志
+            log.warn("字段 [{}] 的字典注解缺少有效的字典编码", field.getName());
+            return StringUtils.EMPTY;
+        }
+        return annotation.value();
     }
 
     /**
-     * 将显示标签文本转换为对应的字典值
-     * 用于Excel导入时将用户输入的文本转换为数据库存储的值
+     * 将字典值转换为对应的显示标签文本
+     * 用于Excel导出时将数据库存储的值转换为用户可读的文本
      *
-     * @param labels    标签列表
-     * @param dictItems 字典项列表
-     * @return 字典值字符串，多个值用逗号分隔
+     * @param value     字典值，多个值以逗号分隔
+     * @param dictIndex 字典索引
+     * @param language  当前语言
+     * @return 标签文本，多个标签用逗号分隔
      */
-    private String convertLabelsToValues(List<String> labels, List<DictItem> dictItems) {
-
-        // 将每个标签转换为对应的值，找不到对应值时保留原始标签
-        return labels.stream()
-                .map(label -> dictItems.stream()
-                        // 根据当前语言和标签匹配字典项
-                        .filter(item -> {
-                            String itemLabel = getLocalizedLabel(item);
-                            // 不区分大小写匹配，并去除标签两端空格
-                            return StringUtils.equalsIgnoreCase(itemLabel, label.trim());
-                        })
-                        // 获取匹配字典项的值
-                        .map(DictItem::getValue)
-                        .findFirst()
-                        // 找不到对应值时保留原始标签
-                        .orElse(label))
-                // 使用逗号连接所有值
-                .collect(Collectors.joining(StringPools.COMMA));
+    private String convertValuesToLabels(String value, DictIndexHolder.DictCodeIndex dictIndex, String language) {
+        // 单值时直接查找，找不到对应标签时保留原值
+        if (!value.contains(StringPools.COMMA)) {
+            return Objects.requireNonNullElse(dictIndex.label(value, language), value);
+        }
+        StringJoiner joiner = new StringJoiner(StringPools.COMMA);
+        for (String val : value.split(StringPools.COMMA)) {
+            joiner.add(Objects.requireNonNullElse(dictIndex.label(val, language), val));
+        }
+        return joiner.toString();
     }
 
     /**
-     * 根据当前系统语言获取对应的字典项标签
+     * 将显示标签文本转换为对应的字典值
+     * 用于Excel导入时将用户输入的文本转换为数据库存储的值
      *
-     * @param dictItem 字典项
-     * @return 当前语言环境下的标签文本
+     * @param value     标签文本，多个标签以逗号分隔
+     * @param dictIndex 字典索引
+     * @param language  当前语言
+     * @return 字典值字符串，多个值用逗号分隔
      */
-    private String getLocalizedLabel(DictItem dictItem) {
-        String language = ContextHolder.language();
-
-        // 根据语言代码返回对应的标签
-        return switch (language) {
-            case StringPools.EN_US -> dictItem.getEnUS();
-            case StringPools.ZH_CN -> dictItem.getZhCN();
-            // 可以在此扩展更多语言支持
-            // ...
-            // 默认返回中文，或者根据项目需求设置默认语言
-            default -> dictItem.getZhCN();
-        };
+    private String convertLabelsToValues(String value, DictIndexHolder.DictCodeIndex dictIndex, String language) {
+        // 不区分大小写匹配，找不到对应值时保留原始标签
+        StringJoiner joiner = new StringJoiner(StringPools.COMMA);
+        for (String label : value.split(StringPools.COMMA)) {
+            joiner.add(Objects.requireNonNullElse(dictIndex.value(label, language), label));
+        }
+        return joiner.toString();
     }
 }
\ No newline at end of file
@@ -28,18 +28,14 @@ public class MybatisPlusMetaObjectHandler implements MetaObjectHandler {
     public static final String UPDATE_USER_ID = "updateUserId";
     public static final String UPDATE_TIME = "updateTime";
 
+    /**
+     * 插入填充，按字段严格填充，已预先赋值的字段不覆盖（如异步写入时在请求线程中填充的创建人）
+     */
     @Override
     public void insertFill(MetaObject metaObject) {
-        LoginUser loginUser = GlobalUserHolder.getUser();
-        if (metaObject.hasGetter(CREATE_USER)) {
-            setFieldValByName(CREATE_USER, loginUser.getRealName(), metaObject);
-        }
-        if (metaObject.hasGetter(CREATE_USER_ID)) {
-            setFieldValByName(CREATE_USER_ID, loginUser.getId(), metaObject);
-        }
-        if (metaObject.hasGetter(CREATE_TIME)) {
-            setFieldValByName(CREATE_TIME, LocalDateTime.now(), metaObject);
-        }
+        this.strictInsertFill(metaObject, CREATE_USER, () -> GlobalUserHolder.getUser().getRealName(), String.class);
+        this.strictInsertFill(metaObject, CREATE_USER_ID, GlobalUserHolder::getUserId, Long.class);
+        this.strictInsertFill(metaObject, CREATE_TIME, LocalDateTime::now, LocalDateTime.class);
     }
 
     @Override
@@ -0,0 +1,269 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.infrastructure.holder;
+
+import com.izpan.common.constants.SystemCacheConstant;
+import com.izpan.common.domain.DictItem;
+import com.izpan.common.pool.StringPools;
+import com.izpan.infrastructure.util.RedisUtil;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * 数据字典本地索引持有者
+ * <p>
+ * 按字典编码维护不可变的 值→标签、标签→值 哈希索引（按语言区分），供 Excel 字典转换等高频查询使用：<br>
+ * 1. 由字典项加载缓存时整体或按编码构建，通过原子替换整个索引发布，读取无锁 <br>
+ * 2. 本地未命中或超过刷新间隔时从 Redis 回源重建该编码，兜底集群其他节点修改字典的场景 <br>
+ * 3. Redis 缓存设有过期时间，过期后由注册的回源逻辑从数据库重新加载该编码
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.infrastructure.holder.DictIndexHolder
+ * @CreateTime 2025-12-27 - 09:36:20
+ */
+@Slf4j
+@UtilityClass
+public class DictIndexHolder {
+
+    /**
+     * 单个字典编码的本地索引刷新间隔
+     */
+    private static final long REFRESH_INTERVAL_NANOS = Duration.ofMinutes(5).toNanos();
+
+    /**
+     * 字典编码 → 字典索引
+     */
+    private static final AtomicReference<Map<String, DictCodeIndex>> INDEX = new AtomicReference<>(Map.of());
+
+    /**
+     * Redis 未命中时的回源逻辑，按字典编码从数据库重新加载并写入缓存，由字典项服务注册
+     */
+    private static volatile Consumer<String> missLoader;
+
+    /**
+     * 注册 Redis 未命中时的回源逻辑，回源逻辑需通过 {@link #replace} 或 {@link #remove} 发布加载结果
+     *
+     * @param loader 按字典编码重新加载缓存的逻辑
+     * @author payne.zhuang
+     * @CreateTime 2026-10-17 - 13:05:22
+     */
+    public static void registerMissLoader(Consumer<String> loader) {
+        missLoader = loader;
+    }
+
+    /**
+     * 获取字典索引，本地未命中或已过刷新间隔时从 Redis 回源
+     *
+     * @param dictCode 字典编码
+     * @return {@link DictCodeIndex} 字典索引，字典不存在时返回空索引（同样缓存，避免逐次回源）
+     * @author payne.zhuang
+     * @CreateTime 2025-12-27 - 09:41:05
+     */
+    public static DictCodeIndex get(String dictCode) {
+        DictCodeIndex index = INDEX.get().get(dictCode);
+        if (index != null && System.nanoTime() - index.builtAt < REFRESH_INTERVAL_NANOS) {
+            return index;
+        }
+        List<DictItem> dictItems = RedisUtil.getList(SystemCacheConstant.dictItemKey(dictCode), DictItem.class);
+        Consumer<String> loader = missLoader;
+        if (dictItems.isEmpty() && loader != null && dictCode != null && !dictCode.isBlank()) {
+            // Redis 缓存已过期或被清理，从数据库重新加载，加载结果已发布到本地索引
+            loader.accept(dictCode);
+            DictCodeIndex loaded = INDEX.get().get(dictCode);
+            if (loaded != null && loaded != index) {
+                return loaded;
+            }
+        }
+        if (dictItems.isEmpty()) {
+            log.warn("字典编码 [{}] 未找到对应的字典项数据", dictCode);
+        }
+        index = DictCodeIndex.of(dictItems);
+        publish(Map.of(dictCode, index), false);
+        return index;
+    }
+
+    /**
+     * 全量替换字典索引
+     *
+     * @param dictItemsMap 字典编码 → 已排序的字典项
+     * @author payne.zhuang
+     * @CreateTime 2025-12-27 - 09:44:38
+     */
+    public static void replaceAll(Map<String, List<DictItem>> dictItemsMap) {
+        publish(build(dictItemsMap), true);
+    }
+
+    /**
+     * 按字典编码替换字典索引
+     *
+     * @param dictItemsMap 字典编码 → 已排序的字典项
+     * @author payne.zhuang
+     * @CreateTime 2025-12-27 - 09:45:52
+     */
+    public static void replace(Map<String, List<DictItem>> dictItemsMap) {
+        publish(build(dictItemsMap), false);
+    }
+
+    /**
+     * 移除字典索引
+     *
+     * @param dictCodes 字典编码集合
+     * @author payne.zhuang
+     * @CreateTime 2025-12-27 - 09:46:40
+     */
+    public static void remove(Collection<String> dictCodes) {
+        INDEX.updateAndGet(current -> {
+            Map<String, DictCodeIndex> next = new HashMap<>(current);
+            dictCodes.forEach(next::remove);
+            return Map.copyOf(next);
+        });
+    }
+
+    private static Map<String, DictCodeIndex> build(Map<String, List<DictItem>> dictItemsMap) {
+        Map<String, DictCodeIndex> indexMap = HashMap.newHashMap(dictItemsMap.size());
+        dictItemsMap.forEach((dictCode, dictItems) -> indexMap.put(dictCode, DictCodeIndex.of(dictItems)));
+        return indexMap;
+    }
+
+    private static void publish(Map<String, DictCodeIndex> indexMap, boolean replaceAll) {
+        INDEX.updateAndGet(current -> {
+            if (replaceAll) {
+                return Map.copyOf(indexMap);
+            }
+            Map<String, DictCodeIndex> next = new HashMap<>(current);
+            next.putAll(indexMap);
+            return Map.copyOf(next);
+        });
+    }
+
+    /**
+     * 单个字典编码的不可变索引
+     */
+    public static final class DictCodeIndex {
+
+        /**
+         * 值 → 中文标签
+         */
+        private final Map<String, String> zhCNLabels;
+
+        /**
+         * 值 → 英文标签
+         */
+        private final Map<String, String> enUSLabels;
+
+        /**
+         * 中文标签（小写）→ 值
+         */
+        private final Map<String, String> zhCNValues;
+
+        /**
+         * 英文标签（小写）→ 值
+         */
+        private final Map<String, String> enUSValues;
+
+        /**
+         * 构建时间，用于判断是否需要回源刷新
+         */
+        private final long builtAt;
+
+        private DictCodeIndex(List<DictItem> dictItems) {
+            Map<String, String> zhLabels = HashMap.newHashMap(dictItems.size());
+            Map<String, String> enLabels = HashMap.newHashMap(dictItems.size());
+            Map<String, String> zhValues = HashMap.newHashMap(dictItems.size());
+            Map<String, String> enValues = HashMap.newHashMap(dictItems.size());
+            // 按排序顺序写入，同值/同标签取第一个，与线性查找结果一致
+            for (DictItem item : dictItems) {
+                String value = item.getValue();
+                if (value == null) {
+                    continue;
+                }
+                putIfPresent(zhLabels, value, item.getZhCN());
+                putIfPresent(enLabels, value, item.getEnUS());
+                if (item.getZhCN() != null) {
+                    zhValues.putIfAbsent(normalizeLabel(item.getZhCN()), value);
+                }
+                if (item.getEnUS() != null) {
+                    enValues.putIfAbsent(normalizeLabel(item.getEnUS()), value);
+                }
+            }
+            this.zhCNLabels = Map.copyOf(zhLabels);
+            this.enUSLabels = Map.copyOf(enLabels);
+            this.zhCNValues = Map.copyOf(zhValues);
+            this.enUSValues = Map.copyOf(enValues);
+            this.builtAt = System.nanoTime();
+        }
+
+        private static DictCodeIndex of(List<DictItem> dictItems) {
+            return new DictCodeIndex(dictItems);
+        }
+
+        /**
+         * 是否为空索引（字典不存在或无字典项）
+         *
+         * @return true 空索引
+         */
+        public boolean isEmpty() {
+            return zhCNLabels.isEmpty() && enUSLabels.isEmpty();
+        }
+
+        /**
+         * 字典值转标签
+         *
+         * @param value    字典值
+         * @param language 语言，为空时默认中文
+         * @return 标签，不存在时返回 null
+         */
+        public String label(String value, String language) {
+            return (StringPools.EN_US.equals(language) ? enUSLabels : zhCNLabels).get(value);
+        }
+
+        /**
+         * 标签转字典值，不区分大小写并忽略两端空格
+         *
+         * @param label    标签
+         * @param language 语言，为空时默认中文
+         * @return 字典值，不存在时返回 null
+         */
+        public String value(String label, String language) {
+            return (StringPools.EN_US.equals(language) ? enUSValues : zhCNValues).get(normalizeLabel(label));
+        }
+
+        private static void putIfPresent(Map<String, String> map, String key, String value) {
+            if (value != null) {
+                map.putIfAbsent(key, value);
+            }
+        }
+
+        private static String normalizeLabel(String label) {
+            return label.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -5,11 +5,21 @@ import cn.dev33.satoken.exception.NotWebContextException;
 import cn.dev33.satoken.stp.StpUtil;
 import com.izpan.common.domain.LoginUser;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 全局用户
+ * <p>
+ * 登录用户在每个请求内仅从 Session 读取一次，只读快照保存在请求属性中，随请求结束释放，
+ * 请求属性经由 RequestContextHolder（ThreadLocal）定位，仅在处理请求的线程上可见，请求结束即解绑，
+ * 虚拟线程同理按请求绑定；请求内另起的线程（含虚拟线程）不会继承快照，将回退为读取 Session；
+ * 写入 Session 或退出登录后需调用 {@link #clearUser()} 重新读取。
+ * 非请求上下文（如定时任务）不缓存，保持原有读取逻辑
+ * </p>
  *
  * @Author payne.zhuang <paynezhuang@gmail.com>
  * @ProjectName panis-boot
@@ -19,6 +29,21 @@ import java.util.Set;
 @Component
 public class GlobalUserHolder {
 
+    /**
+     * Session 中登录用户的 Key
+     */
+    public static final String SESSION_USER_KEY = "user";
+
+    /**
+     * 请求属性：登录用户快照
+     */
+    private static final String REQUEST_USER_ATTRIBUTE = GlobalUserHolder.class.getName() + ".USER";
+
+    /**
+     * 请求属性：Session 读取次数
+     */
+    private static final String REQUEST_SESSION_READS_ATTRIBUTE = GlobalUserHolder.class.getName() + ".SESSION_READS";
+
     private GlobalUserHolder() {
 
     }
@@ -31,13 +56,77 @@ public class GlobalUserHolder {
      * @CreateTime 2023-07-21 21:55
      */
     public static LoginUser getUser() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return loadUser();
+        }
+        if (attributes.getAttribute(REQUEST_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof LoginUser loginUser) {
+            return loginUser;
+        }
+        countSessionRead(attributes);
+        LoginUser loginUser = loadUser();
+        // 未登录时返回的系统用户不缓存，避免同一请求内登录后仍获取到系统用户
+        if (loginUser != null && !Long.valueOf(-1L).equals(loginUser.getId())) {
+            attributes.setAttribute(REQUEST_USER_ATTRIBUTE, loginUser, RequestAttributes.SCOPE_REQUEST);
+        }
+        return loginUser;
+    }
+
+    /**
+     * 清除当前请求的登录用户快照，写入 Session 或退出登录后调用
+     *
+     * @author payne.zhuang
+     * @CreateTime 2025-12-25 - 14:12:36
+     */
+    public static void clearUser() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.removeAttribute(REQUEST_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * 获取当前请求的 Session 读取次数
+     *
+     * @return 读取次数，非请求上下文返回 0
+     * @author payne.zhuang
+     * @CreateTime 2025-12-25 - 14:14:02
+     */
+    public static int getSessionReadCount() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null && attributes.getAttribute(REQUEST_SESSION_READS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof AtomicInteger counter) {
+            return counter.get();
+        }
+        return 0;
+    }
+
+    /**
+     * 从 Session 读取登录用户
+     *
+     * @return {@link LoginUser} 登录用户只读快照，未登录时返回系统用户
+     */
+    private static LoginUser loadUser() {
         try {
-            return (LoginUser) StpUtil.getSession().get("user");
+            LoginUser loginUser = (LoginUser) StpUtil.getSession().get(SESSION_USER_KEY);
+            return loginUser != null ? loginUser.snapshot() : null;
         } catch (NotLoginException | NotWebContextException exception) {
             return LoginUser.builder().id(-1L).realName("系统用户").build();
         }
     }
 
+    /**
+     * 累计当前请求的 Session 读取次数
+     *
+     * @param attributes 请求属性
+     */
+    private static void countSessionRead(RequestAttributes attributes) {
+        if (attributes.getAttribute(REQUEST_SESSION_READS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof AtomicInteger counter) {
+            counter.incrementAndGet();
+        } else {
+            attributes.setAttribute(REQUEST_SESSION_READS_ATTRIBUTE, new AtomicInteger(1), RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
     /**
      * 获取登录用户 ID
      *
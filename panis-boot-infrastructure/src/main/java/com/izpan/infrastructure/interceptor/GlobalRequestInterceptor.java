@@ -21,6 +21,7 @@ package com.izpan.infrastructure.interceptor;
 
 import com.izpan.common.constants.RequestConstant;
 import com.izpan.infrastructure.holder.ContextHolder;
+import com.izpan.infrastructure.holder.GlobalUserHolder;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
@@ -61,5 +62,8 @@ public class GlobalRequestInterceptor implements HandlerInterceptor {
     public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler, Exception ex) {
         // 请求的整个流程处理完成后进行拦截逻辑的处理
         ContextHolder.clearLanguage();
+        if (log.isDebugEnabled()) {
+            log.debug("[GlobalUser] uri={} - 请求内 Session 读取次数={}", request.getRequestURI(), GlobalUserHolder.getSessionReadCount());
+        }
     }
 }
@@ -0,0 +1,72 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.infrastructure.serializer;
+
+import com.izpan.starter.common.config.CompressProperties;
+import com.izpan.starter.common.util.CompressUtil;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * 压缩 Redis 序列化器
+ * <p>
+ * 包装一个值序列化器，按 {@link CompressProperties.Spec} 配置的算法与阈值压缩后写入：<br>
+ * 1. 小于阈值或关闭压缩时不压缩，与被包装序列化器的结果完全一致 <br>
+ * 2. 读取时根据压缩数据头判断是否需要解压，已存在的未压缩 JSON 数据可直接读取，切换序列化器无需清理缓存
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.infrastructure.serializer.CompressingRedisSerializer
+ * @CreateTime 2026-01-04 - 09:32:08
+ */
+public class CompressingRedisSerializer implements RedisSerializer<Object> {
+
+    private final RedisSerializer<Object> delegate;
+
+    /**
+     * 压缩配置
+     */
+    private final CompressProperties.Spec spec;
+
+    public CompressingRedisSerializer(RedisSerializer<Object> delegate, CompressProperties.Spec spec) {
+        this.delegate = delegate;
+        this.spec = spec;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        return spec.compress(delegate.serialize(value));
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        try {
+            return delegate.deserialize(CompressUtil.decompress(bytes));
+        } catch (IllegalStateException e) {
+            throw new SerializationException("Could not decompress redis value", e);
+        }
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return delegate.getTargetType();
+    }
+}
@@ -19,11 +19,18 @@
 
 package com.izpan.infrastructure.util;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.function.Consumer;
 
 /**
  * 下载工具类
@@ -41,6 +48,16 @@ public class DownloadUtil {
 
     }
 
+    private static final String BYTES_UNIT = "bytes";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     /**
      * 下载文件
      *
@@ -61,4 +78,210 @@ public class DownloadUtil {
             log.error("下载文件失败：", e);
         }
     }
+
+    /**
+     * 下载文件，由调用方直接写入响应输出流，无需在内存中保存完整文件
+     * <p>
+     * 写入过程中抛出异常且响应尚未提交时重置响应，交由全局异常处理返回错误信息
+     * </p>
+     *
+     * @param response 响应
+     * @param fileName 文件名
+     * @param writer   写入逻辑，不应关闭输出流
+     * @author payne.zhuang
+     * @CreateTime 2026-01-06 - 09:36:40
+     */
+    public static void stream(HttpServletResponse response, String fileName, Consumer<OutputStream> writer) {
+        try {
+            response.setHeader("Content-Disposition", "attachment; filename=" + URLEncoder.encode(fileName, StandardCharsets.UTF_8));
+            response.setContentType("application/octet-stream; charset=UTF-8");
+            OutputStream outputStream = response.getOutputStream();
+            writer.accept(outputStream);
+            outputStream.flush();
+        } catch (IOException e) {
+            log.error("下载文件失败：", e);
+        } catch (RuntimeException e) {
+            if (!response.isCommitted()) {
+                response.reset();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 下载文件，支持断点续传及条件请求
+     * <p>
+     * 1. If-None-Match / If-Modified-Since 命中时返回 304，不写出内容 <br>
+     * 2. 单个 Range 返回 206 及对应范围，If-Range 不匹配或多个范围时返回完整内容，范围无效时返回 416 <br>
+     * 3. 内容由调用方按范围写出，写出前已设置 Content-Length
+     * </p>
+     *
+     * @param request      请求
+     * @param response     响应
+     * @param fileName     文件名
+     * @param size         文件大小
+     * @param etag         实体标签，含双引号
+     * @param lastModified 最后修改时间戳（毫秒）
+     * @param writer       按范围写出逻辑，不应关闭输出流
+     * @author payne.zhuang
+     * @CreateTime 2026-01-10 - 09:30:18
+     */
+    public static void range(HttpServletRequest request, HttpServletResponse response, String fileName,
+                             long size, String etag, long lastModified, RangeWriter writer) {
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, BYTES_UNIT);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        if (notModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        long[] range = ifRange(request, etag, lastModified) ? parseRange(request.getHeader(HttpHeaders.RANGE), size) : null;
+        if (range != null && range.length == 0) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES_UNIT + " */" + size);
+            return;
+        }
+        long offset = range == null ? 0 : range[0];
+        long length = range == null ? size : range[1] - range[0] + 1;
+        try {
+            response.setHeader("Content-Disposition", "attachment; filename=" + URLEncoder.encode(fileName, StandardCharsets.UTF_8));
+            response.setContentType("application/octet-stream");
+            response.setContentLengthLong(length);
+            if (range != null) {
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES_UNIT + " " + range[0] + "-" + range[1] + "/" + size);
+            }
+            if (length > 0) {
+                OutputStream outputStream = response.getOutputStream();
+                writer.write(offset, length, outputStream);
+                outputStream.flush();
+            }
+        } catch (IOException e) {
+            log.warn("下载文件中断：{}", e.getMessage());
+        } catch (RuntimeException e) {
+            // 已开始写出内容时无法再返回错误信息，多为客户端断开连接
+            if (response.isCommitted()) {
+                log.warn("下载文件中断：{}", e.getMessage());
+                return;
+            }
+            response.reset();
+            throw e;
+        }
+    }
+
+    /**
+     * 使用 Tomcat sendfile 由内核直接将文件范围发送到网络连接，不经过用户态缓冲区
+     * <p>
+     * 返回 true 时由容器在请求处理完成后发送文件内容，调用方不能再写出内容；需提前设置 Content-Length
+     * </p>
+     *
+     * @param request 请求
+     * @param file    文件路径
+     * @param offset  起始位置
+     * @param length  长度
+     * @return {@link boolean} 容器是否支持 sendfile
+     * @author payne.zhuang
+     * @CreateTime 2026-01-10 - 09:34:52
+     */
+    public static boolean sendfile(HttpServletRequest request, Path file, long offset, long length) {
+        if (!Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            return false;
+        }
+        request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_START, offset);
+        request.setAttribute(SENDFILE_END, offset + length);
+        return true;
+    }
+
+    /**
+     * 判断 If-None-Match / If-Modified-Since 是否命中，If-None-Match 存在时忽略 If-Modified-Since
+     */
+    private static boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String tag : ifNoneMatch.split(",")) {
+                String value = StringUtils.removeStart(tag.trim(), "W/");
+                if ("*".equals(value) || value.equals(StringUtils.removeStart(etag, "W/"))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /**
+     * 判断 If-Range 是否满足，不满足时忽略 Range 返回完整内容
+     */
+    private static boolean ifRange(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.trim().startsWith("\"") || ifRange.trim().startsWith("W/")) {
+            // If-Range 要求强比较
+            return ifRange.trim().equals(etag) && !etag.startsWith("W/");
+        }
+        long date = dateHeader(request, HttpHeaders.IF_RANGE);
+        return date >= 0 && lastModified / 1000 == date / 1000;
+    }
+
+    /**
+     * 解析单个字节范围
+     *
+     * @return 无 Range、格式无效或多个范围时返回 null（返回完整内容）；范围无法满足时返回空数组；否则返回 [起始, 结束]（含）
+     */
+    private static long[] parseRange(String header, long size) {
+        if (header == null || !header.startsWith(BYTES_UNIT + "=") || header.contains(",")) {
+            return null;
+        }
+        String spec = header.substring(BYTES_UNIT.length() + 1).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // 后缀范围：bytes=-500 为最后 500 字节
+                long suffix = Long.parseLong(last);
+                return suffix <= 0 || size == 0 ? new long[0] : new long[]{Math.max(0, size - suffix), size - 1};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+            if (!last.isEmpty() && Long.parseLong(last) < start) {
+                return null;
+            }
+            return start >= size ? new long[0] : new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 按范围写出文件内容
+     */
+    @FunctionalInterface
+    public interface RangeWriter {
+
+        /**
+         * 写出文件指定范围
+         *
+         * @param offset 起始位置
+         * @param length 长度
+         * @param stream 输出流，不应关闭
+         * @throws IOException 写出异常
+         */
+        void write(long offset, long length, OutputStream stream) throws IOException;
+    }
 }
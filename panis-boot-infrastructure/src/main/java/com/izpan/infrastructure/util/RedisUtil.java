@@ -1,5 +1,6 @@
 package com.izpan.infrastructure.util;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.connection.RedisConnection;
@@ -7,12 +8,16 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisKeyCommands;
 import org.springframework.data.redis.connection.RedisServerCommands;
 import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -34,6 +39,8 @@ public class RedisUtil {
     private static final String DEL_SET_LOG = "[Redis][Set] 删除缓存:{} {}";
     private static final String DEL_LIST_LOG = "[Redis][List] 删除缓存:{} {}";
     private static final String UPDATE_LIST_LOG = "[Redis][List] 修改缓存:{} {}";
+    // UNLINK 每条命令包含的 key 数量
+    private static final int UNLINK_CHUNK_SIZE = 500;
 
     static {
         redisTemplate = SpringUtil.getBean("redisTemplate");
@@ -60,13 +67,16 @@ public class RedisUtil {
     }
 
     /**
-     * 普通缓存批量放入
+     * 普通缓存批量放入（MSET），已存在的 key 会被覆盖
      *
      * @param keyAndValue 键值对
      */
     public static void multiSet(Map<String, Object> keyAndValue) {
+        if (keyAndValue == null || keyAndValue.isEmpty()) {
+            return;
+        }
         try {
-            redisTemplate.opsForValue().multiSetIfAbsent(keyAndValue);
+            redisTemplate.opsForValue().multiSet(keyAndValue);
         } catch (IllegalArgumentException e) {
             log.error(e.getMessage(), e);
         }
@@ -204,6 +214,25 @@ public class RedisUtil {
         log.info(DEL_LIST_LOG, delete, Arrays.toString(keys.toArray()));
     }
 
+    /**
+     * 批量异步删除缓存，按批拆分为多条 UNLINK 命令并通过管道一次提交，避免大量 key 阻塞 Redis
+     *
+     * @param keys 集合 Keys
+     */
+    public static void unlink(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return;
+        }
+        List<List<String>> chunks = Lists.partition(List.copyOf(keys), UNLINK_CHUNK_SIZE);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            chunks.forEach(chunk -> connection.keyCommands().unlink(chunk.stream()
+                    .map(key -> key.getBytes(StandardCharsets.UTF_8))
+                    .toArray(byte[][]::new)));
+            return null;
+        });
+        log.info("[Redis][Key] 异步删除缓存:{} 个", keys.size());
+    }
+
     /**
      * 普通缓存获取
      *
@@ -703,6 +732,45 @@ public class RedisUtil {
         return 0L;
     }
 
+    // ============================= batch ============================
+
+    /**
+     * 批量放入缓存并设置过期时间，通过管道一次提交，已存在的 key 会被覆盖
+     *
+     * @param keyAndValue 键值对
+     * @param time        时间(秒) time要大于0 如果time小于等于0 将设置无限期
+     */
+    public static void multiSetAndTime(Map<String, Object> keyAndValue, long time) {
+        if (keyAndValue == null || keyAndValue.isEmpty()) {
+            return;
+        }
+        if (time <= 0) {
+            multiSet(keyAndValue);
+            return;
+        }
+        try {
+            executePipelined(operations -> keyAndValue.forEach((key, value) ->
+                    operations.opsForValue().set(key, value, time, TimeUnit.SECONDS)));
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 通过管道执行多条命令，命令使用 RedisTemplate 的序列化方式
+     *
+     * @param commands 命令
+     */
+    private static void executePipelined(Consumer<RedisOperations> commands) {
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public Object execute(RedisOperations operations) {
+                commands.accept(operations);
+                return null;
+            }
+        });
+    }
+
     /**
      * 获取 Redis 信息
      *
@@ -0,0 +1,166 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.infrastructure.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 二级缓存测试，L2 使用内存缓存代替 Redis，失效广播只记录不发送
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.infrastructure.cache.TwoLevelCacheTest
+ * @CreateTime 2026-10-17 - 16:05:12
+ */
+class TwoLevelCacheTest {
+
+    private static final int CONCURRENCY = 500;
+
+    private ConcurrentMapCache remoteCache;
+
+    private List<String> published;
+
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remoteCache = new ConcurrentMapCache("test", false);
+        published = new CopyOnWriteArrayList<>();
+        StringRedisTemplate stringRedisTemplate = new StringRedisTemplate() {
+            @Override
+            public Long convertAndSend(String channel, Object message) {
+                published.add(String.valueOf(message));
+                return 0L;
+            }
+        };
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(null, stringRedisTemplate,
+                LocalCacheSpec.of(1_000, Duration.ofMinutes(1)), Map.of(), CacheLoadPolicy.NONE, Map.of());
+        cache = new TwoLevelCache("test", remoteCache, LocalCacheSpec.of(1_000, Duration.ofMinutes(1)),
+                CacheLoadPolicy.NONE, stringRedisTemplate, cacheManager);
+    }
+
+    @Test
+    void concurrentGettersShareOneSourceLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> results = new CopyOnWriteArrayList<>();
+            for (int i = 0; i < CONCURRENCY; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get("hot", () -> {
+                        loads.incrementAndGet();
+                        TimeUnit.MILLISECONDS.sleep(100);
+                        return "value";
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<String> result : results) {
+                assertEquals("value", result.get(10, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals("value", remoteCache.get("hot", String.class));
+        TwoLevelCache.Statistics statistics = cache.statistics();
+        assertEquals(1, statistics.sourceLoadCount());
+        // 每次读取只计数一次
+        assertEquals(CONCURRENCY, statistics.localHitCount() + statistics.remoteHitCount() + statistics.missCount());
+    }
+
+    @Test
+    void evictDuringLoadDoesNotWriteStaleValue() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> stale = executor.submit(() -> cache.get("key", () -> {
+                loading.countDown();
+                release.await();
+                return "stale";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            cache.evict("key");
+            release.countDown();
+
+            // 加载结果仍返回给调用方，但不写入任一级缓存
+            assertEquals("stale", stale.get(5, TimeUnit.SECONDS));
+        }
+        assertNull(remoteCache.get("key"));
+        assertEquals("fresh", cache.get("key", () -> "fresh"));
+        assertEquals("fresh", remoteCache.get("key", String.class));
+        assertTrue(published.stream().anyMatch(message -> message.endsWith("\ntest\nkey")));
+    }
+
+    @Test
+    void slowLoadDoesNotBlockOtherKeys() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> slow = executor.submit(() -> cache.get("slow", () -> {
+                loading.countDown();
+                release.await();
+                return "slow";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            Future<String> other = executor.submit(() -> cache.get("other", () -> "other"));
+            assertEquals("other", other.get(1, TimeUnit.SECONDS));
+            cache.put("another", "another");
+            assertEquals("another", cache.get("another", String.class));
+
+            release.countDown();
+            assertEquals("slow", slow.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void remoteHitIsCountedOnce() {
+        remoteCache.put("remote", "value");
+
+        assertEquals("value", cache.get("remote", () -> "source"));
+        assertEquals("value", cache.get("remote", () -> "source"));
+        assertNull(cache.get("absent"));
+
+        TwoLevelCache.Statistics statistics = cache.statistics();
+        assertEquals(1, statistics.localHitCount());
+        assertEquals(1, statistics.remoteHitCount());
+        assertEquals(1, statistics.missCount());
+        assertEquals(0, statistics.sourceLoadCount());
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.infrastructure.serializer;
+
+import com.izpan.starter.common.config.CompressProperties;
+import com.izpan.starter.common.util.CompressUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 压缩 Redis 序列化器测试，校验阈值前后的写入格式、旧数据兼容与损坏数据的处理
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.infrastructure.serializer.CompressingRedisSerializerTest
+ * @CreateTime 2026-10-17 - 19:06:22
+ */
+class CompressingRedisSerializerTest {
+
+    private final RedisSerializer<Object> json = new GenericJackson2JsonRedisSerializer();
+
+    private final CompressingRedisSerializer serializer = new CompressingRedisSerializer(json, spec(1024));
+
+    @Test
+    void belowThresholdIsPlainJson() {
+        Map<String, Object> value = value(10);
+
+        byte[] bytes = serializer.serialize(value);
+
+        assertTrue(bytes.length < 1024);
+        assertArrayEquals(json.serialize(value), bytes);
+        assertEquals(value, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void aboveThresholdIsCompressedAndRoundTrips() {
+        Map<String, Object> value = value(500);
+        byte[] plain = json.serialize(value);
+
+        byte[] bytes = serializer.serialize(value);
+
+        assertTrue(plain.length >= 1024);
+        assertTrue(CompressUtil.isCompressed(bytes));
+        assertTrue(bytes.length < plain.length, bytes.length + " >= " + plain.length);
+        assertEquals(value, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void disabledCodecNeverCompresses() {
+        CompressingRedisSerializer none = new CompressingRedisSerializer(json, CompressProperties.Spec.none());
+        Map<String, Object> value = value(500);
+
+        assertArrayEquals(json.serialize(value), none.serialize(value));
+    }
+
+    @Test
+    void legacyUncompressedJsonIsReadable() {
+        // 启用压缩前写入的值，长度超过阈值也按原 JSON 读取
+        Map<String, Object> value = value(500);
+
+        assertEquals(value, serializer.deserialize(json.serialize(value)));
+        assertEquals(value, new CompressingRedisSerializer(json, CompressProperties.Spec.none()).deserialize(serializer.serialize(value)));
+    }
+
+    @Test
+    void corruptPayloadAfterHeaderIsRejected() {
+        byte[] bytes = serializer.serialize(value(500));
+        byte[] corrupt = bytes.clone();
+        Arrays.fill(corrupt, 4, corrupt.length, (byte) 0xFF);
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(corrupt));
+    }
+
+    @Test
+    void truncatedPayloadIsRejected() {
+        byte[] bytes = serializer.serialize(value(500));
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(Arrays.copyOf(bytes, bytes.length / 2)));
+    }
+
+    @Test
+    void partialHeaderIsTreatedAsPlainBytes() {
+        // 只有部分压缩数据头时不解压，交给 JSON 反序列化报错
+        byte[] partial = {0x00, 'P', 'Z'};
+
+        assertFalse(CompressUtil.isCompressed(partial));
+        assertThrows(SerializationException.class, () -> serializer.deserialize(partial));
+    }
+
+    @Test
+    void nullValuesPassThrough() {
+        assertEquals(0, serializer.serialize(null).length);
+        assertNull(serializer.deserialize(null));
+    }
+
+    private static CompressProperties.Spec spec(long thresholdBytes) {
+        CompressProperties.Spec spec = new CompressProperties.Spec();
+        spec.setThreshold(DataSize.ofBytes(thresholdBytes));
+        return spec;
+    }
+
+    private static Map<String, Object> value(int entries) {
+        Map<String, Object> value = new LinkedHashMap<>();
+        for (int i = 0; i < entries; i++) {
+            value.put("permission" + i, "sys:resource:" + i);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.infrastructure.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Redis 工具类批量操作测试，RedisTemplate 替换为只记录命令的实现
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.infrastructure.util.RedisUtilTest
+ * @CreateTime 2026-10-17 - 18:47:30
+ */
+class RedisUtilTest {
+
+    /**
+     * RedisUtil 在类初始化时从容器获取 redisTemplate，整个测试共用同一个实例
+     */
+    private static final RecordingRedisTemplate TEMPLATE = new RecordingRedisTemplate();
+
+    static {
+        try {
+            StaticApplicationContext context = new StaticApplicationContext();
+            context.getBeanFactory().registerSingleton("redisTemplate", TEMPLATE);
+            Constructor<SpringUtil> constructor = SpringUtil.class.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            constructor.newInstance().setApplicationContext(context);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        TEMPLATE.commands.clear();
+        TEMPLATE.pipelines = 0;
+    }
+
+    @Test
+    void multiSetAndTimePipelinesOneSetExPerKey() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("dict:a", List.of("1"));
+        values.put("dict:b", List.of("2"));
+
+        RedisUtil.multiSetAndTime(values, 60);
+
+        assertEquals(1, TEMPLATE.pipelines);
+        assertEquals(List.of("SET dict:a [1] EX 60", "SET dict:b [2] EX 60"), TEMPLATE.commands);
+    }
+
+    @Test
+    void multiSetAndTimeWithoutExpireUsesMset() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("dict:a", "1");
+        values.put("dict:b", "2");
+
+        RedisUtil.multiSetAndTime(values, 0);
+
+        assertEquals(0, TEMPLATE.pipelines);
+        assertEquals(List.of("MSET {dict:a=1, dict:b=2}"), TEMPLATE.commands);
+    }
+
+    @Test
+    void emptyBatchesIssueNoCommands() {
+        RedisUtil.multiSet(Map.of());
+        RedisUtil.multiSetAndTime(null, 60);
+        RedisUtil.unlink(List.of());
+
+        assertEquals(0, TEMPLATE.pipelines);
+        assertTrue(TEMPLATE.commands.isEmpty());
+    }
+
+    @Test
+    void unlinkSplitsKeysIntoChunksInOnePipeline() {
+        List<String> keys = IntStream.range(0, 1_201).mapToObj(i -> "key:" + i).toList();
+
+        RedisUtil.unlink(keys);
+
+        assertEquals(1, TEMPLATE.pipelines);
+        assertEquals(List.of("UNLINK 500 key:0..key:499", "UNLINK 500 key:500..key:999", "UNLINK 201 key:1000..key:1200"),
+                TEMPLATE.commands);
+    }
+
+    /**
+     * 记录命令的 RedisTemplate，管道内外的命令按执行顺序记录
+     */
+    private static final class RecordingRedisTemplate extends RedisTemplate<String, Object> {
+
+        private final List<String> commands = new ArrayList<>();
+
+        private int pipelines;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public ValueOperations<String, Object> opsForValue() {
+            return (ValueOperations<String, Object>) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{ValueOperations.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "multiSet" -> commands.add("MSET " + args[0]);
+                            case "set" -> commands.add("SET %s %s EX %d".formatted(args[0], args[1],
+                                    ((TimeUnit) args[3]).toSeconds((Long) args[2])));
+                            default -> throw new UnsupportedOperationException(method.getName());
+                        }
+                        return null;
+                    });
+        }
+
+        @Override
+        public List<Object> executePipelined(SessionCallback<?> session) {
+            pipelines++;
+            session.execute(this);
+            return List.of();
+        }
+
+        @Override
+        public List<Object> executePipelined(RedisCallback<?> action) {
+            pipelines++;
+            RedisKeyCommands keyCommands = (RedisKeyCommands) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{RedisKeyCommands.class}, (proxy, method, args) -> {
+                        byte[][] keys = (byte[][]) args[0];
+                        commands.add("UNLINK %d %s..%s".formatted(keys.length, new String(keys[0], StandardCharsets.UTF_8),
+                                new String(keys[keys.length - 1], StandardCharsets.UTF_8)));
+                        return null;
+                    });
+            RedisConnection connection = (RedisConnection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{RedisConnection.class}, (proxy, method, args) -> {
+                        if ("keyCommands".equals(method.getName())) {
+                            return keyCommands;
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    });
+            action.doInRedis(connection);
+            return List.of();
+        }
+    }
+}
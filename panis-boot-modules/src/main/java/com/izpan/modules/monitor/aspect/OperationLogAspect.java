@@ -2,19 +2,22 @@ package com.izpan.modules.monitor.aspect;
 
 import cn.dev33.satoken.annotation.SaCheckPermission;
 import cn.hutool.extra.servlet.JakartaServletUtil;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
 import com.google.common.collect.Lists;
 import com.izpan.common.constants.RequestConstant;
+import com.izpan.common.domain.LoginUser;
 import com.izpan.common.exception.BizException;
 import com.izpan.common.util.CglibUtil;
 import com.izpan.common.util.IPUtil;
 import com.izpan.infrastructure.annotation.RepeatSubmit;
+import com.izpan.infrastructure.domain.BaseEntity;
 import com.izpan.infrastructure.holder.DataScopeHolder;
+import com.izpan.infrastructure.holder.GlobalUserHolder;
 import com.izpan.infrastructure.util.GsonUtil;
-import com.izpan.infrastructure.util.RedisUtil;
-import com.izpan.modules.monitor.domain.dto.logs.exception.MonLogsErrorAddDTO;
 import com.izpan.modules.monitor.domain.dto.logs.operation.MonLogsOperationAddDTO;
-import com.izpan.modules.monitor.facade.IMonLogsErrorFacade;
-import com.izpan.modules.monitor.facade.IMonLogsOperationFacade;
+import com.izpan.modules.monitor.domain.entity.MonLogsError;
+import com.izpan.modules.monitor.domain.entity.MonLogsOperation;
+import com.izpan.modules.monitor.writer.OperationLogWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.annotation.Resource;
 import jakarta.servlet.ServletRequest;
@@ -31,9 +34,7 @@ import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
@@ -64,10 +65,10 @@ public class OperationLogAspect {
     private final ThreadLocal<Long> startTime = new ThreadLocal<>();
 
     @Resource
-    private IMonLogsOperationFacade monLogsOperationFacade;
+    private OperationLogWriter operationLogWriter;
 
     @Resource
-    private IMonLogsErrorFacade monLogsErrorFacade;
+    private RepeatSubmitGuard repeatSubmitGuard;
 
     /**
      * 定义切入点
@@ -144,33 +145,17 @@ public class OperationLogAspect {
         }
 
         // -1 则代表不需要防重复提交
-        if (interval == -1) return;
-        String repeatSubmitKey = generateKey(params);
-        if (RedisUtil.exists(repeatSubmitKey)) {
+        if (interval <= 0) return;
+        // 提交人：已登录为用户 ID，未登录（如登录接口）为客户端 IP
+        Long userId = GlobalUserHolder.getUserId();
+        String subject = userId == null || userId == -1L ? ip : String.valueOf(userId);
+        String method = ms.getDeclaringType().getSimpleName() + "." + ms.getName();
+        if (!repeatSubmitGuard.tryAcquire(subject, method, params, interval)) {
             throw new BizException(message);
         }
-        RedisUtil.set(repeatSubmitKey, params, interval);
         // ================= 防重复提交 End =================
     }
 
-    /**
-     * 生成key
-     *
-     * @param params params 参数
-     * @return {@link String } MD5 key
-     * @author payne.zhuang
-     * @CreateTime 2024-12-02 - 14:37:54
-     */
-    private String generateKey(String params) throws NoSuchAlgorithmException {
-        MessageDigest md = MessageDigest.getInstance("MD5");
-        byte[] hash = md.digest(params.getBytes(StandardCharsets.UTF_8));
-        StringBuilder hexString = new StringBuilder();
-        for (byte b : hash) {
-            hexString.append(String.format("%02X", b));
-        }
-        return "repeat_submit:%s".formatted(hexString.toString().toLowerCase());
-    }
-
     /**
      * 后置操作
      */
@@ -181,7 +166,8 @@ public class OperationLogAspect {
             MonLogsOperationAddDTO addDTO = logsOperationAddDTO.get();
             if (ObjectUtils.isNotEmpty(addDTO)) {
                 addDTO.setUseTime(System.currentTimeMillis() - startTime.get());
-                monLogsOperationFacade.add(addDTO);
+                MonLogsOperation monLogsOperation = CglibUtil.convertObj(addDTO, MonLogsOperation::new);
+                operationLogWriter.write(fillCreateInfo(monLogsOperation));
             }
         } finally {
             remove();
@@ -197,20 +183,37 @@ public class OperationLogAspect {
         try {
             MonLogsOperationAddDTO addDTO = logsOperationAddDTO.get();
             if (ObjectUtils.isNotEmpty(addDTO)) {
-                MonLogsErrorAddDTO logsErrorAddDTO = CglibUtil.convertObj(addDTO, MonLogsErrorAddDTO::new);
+                MonLogsError monLogsError = CglibUtil.convertObj(addDTO, MonLogsError::new);
                 StackTraceElement stackTraceElement = exception.getStackTrace()[0];
-                logsErrorAddDTO.setLine(stackTraceElement.getLineNumber());
-                logsErrorAddDTO.setExceptionMessage(exception.getMessage());
-                logsErrorAddDTO.setExceptionClass(stackTraceElement.getClassName());
-                logsErrorAddDTO.setStackTrace(Matcher.quoteReplacement(Arrays.toString(exception.getStackTrace())));
-                logsErrorAddDTO.setUseTime(System.currentTimeMillis() - startTime.get());
-                monLogsErrorFacade.add(logsErrorAddDTO);
+                monLogsError.setLine(stackTraceElement.getLineNumber());
+                monLogsError.setExceptionMessage(exception.getMessage());
+                monLogsError.setExceptionClass(stackTraceElement.getClassName());
+                monLogsError.setStackTrace(Matcher.quoteReplacement(Arrays.toString(exception.getStackTrace())));
+                monLogsError.setUseTime(System.currentTimeMillis() - startTime.get());
+                operationLogWriter.write(fillCreateInfo(monLogsError));
             }
         } finally {
             remove();
         }
     }
 
+    /**
+     * 在请求线程中填充 ID、创建人及创建时间，异步写入线程无登录上下文
+     *
+     * @param entity 日志实体
+     * @return {@link BaseEntity} 填充后的日志实体
+     * @author payne.zhuang
+     * @CreateTime 2025-12-25 - 10:42:36
+     */
+    private <T extends BaseEntity> T fillCreateInfo(T entity) {
+        LoginUser loginUser = GlobalUserHolder.getUser();
+        entity.setId(IdWorker.getId());
+        entity.setCreateUser(loginUser.getRealName());
+        entity.setCreateUserId(loginUser.getId());
+        entity.setCreateTime(LocalDateTime.now());
+        return entity;
+    }
+
     private void remove() {
         logsOperationAddDTO.remove();
         startTime.remove();
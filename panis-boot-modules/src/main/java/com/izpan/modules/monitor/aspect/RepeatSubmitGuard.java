@@ -0,0 +1,103 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.modules.monitor.aspect;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.google.common.hash.Hashing;
+import com.izpan.common.pool.StringPools;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * 防重复提交校验
+ * <p>
+ * 按 提交人 + 方法签名 + 参数哈希 生成 Key，判断与占位在一次原子操作内完成，并发的相同提交只有一个能通过：<br>
+ * 1. 本地预过滤：短窗口内同一节点的相同提交通过 {@code putIfAbsent} 直接拒绝，双击等情况无需访问 Redis，
+ * 每个条目的窗口取本地窗口与提交间隔的较小值，不会拒绝间隔之后的正常提交 <br>
+ * 2. 集群校验：通过 SET NX PX 一次往返完成判断与占位，不存在先查后写的竞态
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.modules.monitor.aspect.RepeatSubmitGuard
+ * @CreateTime 2026-01-07 - 09:16:42
+ */
+@Component
+@EnableConfigurationProperties(RepeatSubmitProperties.class)
+public class RepeatSubmitGuard {
+
+    private static final String KEY_PREFIX = "repeat_submit:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 本地预过滤窗口，未开启时为 null
+     */
+    private final Duration localWindow;
+
+    /**
+     * 本地预过滤，值为该条目的窗口，未开启时为 null
+     */
+    private final Cache<String, Duration> localCache;
+
+    public RepeatSubmitGuard(RepeatSubmitProperties properties, StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        Duration window = properties.getLocalWindow();
+        this.localWindow = window == null || window.isZero() || window.isNegative() ? null : window;
+        this.localCache = localWindow == null ? null
+                : Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaximumSize())
+                .expireAfter(Expiry.creating((String key, Duration entryWindow) -> entryWindow))
+                .build();
+    }
+
+    /**
+     * 尝试占用提交许可，间隔时间内相同的提交只有第一次能够成功
+     *
+     * @param subject  提交人标识
+     * @param method   方法签名
+     * @param params   请求参数
+     * @param interval 间隔时间（秒）
+     * @return true 首次提交，false 重复提交
+     * @author payne.zhuang
+     * @CreateTime 2026-01-07 - 09:21:05
+     */
+    public boolean tryAcquire(String subject, String method, String params, int interval) {
+        String key = KEY_PREFIX + subject + StringPools.COLON + method + StringPools.COLON
+                + Hashing.murmur3_128().hashString(params, StandardCharsets.UTF_8);
+        Duration intervalDuration = Duration.ofSeconds(interval);
+        if (localCache != null && intervalDuration.isPositive()
+                && localCache.asMap().putIfAbsent(key, min(localWindow, intervalDuration)) != null) {
+            return false;
+        }
+        return Boolean.TRUE.equals(stringRedisTemplate.opsForValue()
+                .setIfAbsent(key, StringPools.ONE, intervalDuration));
+    }
+
+    private static Duration min(Duration first, Duration second) {
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.modules.monitor.aspect;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 防重复提交配置属性
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.modules.monitor.aspect.RepeatSubmitProperties
+ * @CreateTime 2026-01-07 - 09:10:26
+ */
+@Data
+@ConfigurationProperties(prefix = "repeat-submit")
+public class RepeatSubmitProperties {
+
+    /**
+     * 本地预过滤窗口，窗口内同一节点的相同提交直接拒绝，不访问 Redis；为 0 时关闭本地预过滤
+     * <p>
+     * 每次提交的窗口取该值与 {@code @RepeatSubmit} 间隔的较小值，不会拒绝间隔之后的正常提交
+     */
+    private Duration localWindow = Duration.ofSeconds(1);
+
+    /**
+     * 本地预过滤最大条目数
+     */
+    private long localMaximumSize = 10_000L;
+}
@@ -0,0 +1,143 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.modules.monitor.cache;
+
+import com.izpan.common.exception.BizException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.ObjectUtils;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 文件内容哈希锁
+ * <p>
+ * 相同内容的文件共用一个存储对象，复用判断与删除判断需按内容哈希互斥，避免复用正在被删除的存储对象：<br>
+ * 1. 按内容哈希排序后逐个 SET NX PX 加锁，多个哈希同时加锁时不会相互死锁 <br>
+ * 2. 存在事务时锁在事务结束后释放，提交后执行的存储对象删除仍在锁内完成；无事务时执行结束后释放 <br>
+ * 3. 锁带有租约，持有节点异常退出时到期自动释放
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.modules.monitor.cache.FileContentLock
+ * @CreateTime 2026-10-17 - 14:20:36
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FileContentLock {
+
+    private static final String KEY_PREFIX = "monitor:file:content:lock:";
+
+    /**
+     * 锁租约时长
+     */
+    private static final Duration LEASE_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * 等待加锁的最长时间
+     */
+    private static final Duration WAIT_TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * 加锁重试间隔（毫秒）
+     */
+    private static final long RETRY_INTERVAL_MILLIS = 50L;
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 锁定内容哈希后执行，存在事务时锁在事务结束后释放
+     *
+     * @param contentHashes 文件内容哈希集合，空值忽略
+     * @param action        执行逻辑
+     * @return 执行结果
+     * @author payne.zhuang
+     * @CreateTime 2026-10-17 - 14:24:12
+     */
+    public <T> T execute(Collection<String> contentHashes, Supplier<T> action) {
+        List<String> keys = contentHashes.stream().filter(ObjectUtils::isNotEmpty)
+                .distinct().sorted().map(contentHash -> KEY_PREFIX + contentHash).toList();
+        String token = UUID.randomUUID().toString();
+        acquire(keys, token);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    release(keys, token);
+                }
+            });
+            return action.get();
+        }
+        try {
+            return action.get();
+        } finally {
+            release(keys, token);
+        }
+    }
+
+    private void acquire(List<String> keys, String token) {
+        long deadline = System.nanoTime() + WAIT_TIMEOUT.toNanos();
+        for (int i = 0; i < keys.size(); i++) {
+            while (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(keys.get(i), token, LEASE_TIMEOUT))) {
+                if (System.nanoTime() - deadline >= 0 || !sleep()) {
+                    release(keys.subList(0, i), token);
+                    throw new BizException("文件正在处理中，请稍后重试");
+                }
+            }
+        }
+    }
+
+    private void release(List<String> keys, String token) {
+        for (String key : keys) {
+            try {
+                stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(key), token);
+            } catch (Exception e) {
+                // 释放失败时租约到期自动失效
+                log.warn("[MonFile] Key={} 释放内容哈希锁失败: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    private static boolean sleep() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(RETRY_INTERVAL_MILLIS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.modules.monitor.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.izpan.starter.oss.config.OssProperties;
+import com.izpan.starter.oss.manage.OssManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 文件外链链接本地缓存
+ * <p>
+ * 外链链接（预签名 URL）在有效期内可重复使用，按 文件路径 + 有效期 缓存，避免每次预览都重新签名：<br>
+ * 1. 条目在有效期的 90% 时过期，之后的访问重新签名，返回的链接至少还有 10% 的有效期 <br>
+ * 2. 有效期过短（小于 {@link #MIN_CACHE_EXPIRY} 秒）时不缓存，直接签名 <br>
+ * 3. 文件删除后调用 {@link #invalidate(Collection)} 移除对应条目
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.modules.monitor.cache.FilePreviewCache
+ * @CreateTime 2026-01-11 - 09:15:26
+ */
+@Component
+public class FilePreviewCache {
+
+    /**
+     * 本地缓存最大条目数
+     */
+    private static final long LOCAL_MAXIMUM_SIZE = 10_000L;
+
+    /**
+     * 最小缓存有效期（秒）
+     */
+    private static final int MIN_CACHE_EXPIRY = 10;
+
+    private final OssManager ossManager;
+
+    private final OssProperties ossProperties;
+
+    private final LoadingCache<Key, String> localCache;
+
+    @Autowired
+    public FilePreviewCache(OssManager ossManager, OssProperties ossProperties) {
+        this(ossManager, ossProperties, Ticker.systemTicker());
+    }
+
+    /**
+     * 指定缓存时钟构造，用于校验条目过期
+     *
+     * @param ossManager    OSS 管理器
+     * @param ossProperties OSS 配置
+     * @param ticker        缓存时钟
+     * @author payne.zhuang
+     * @CreateTime 2026-10-17 - 20:24:16
+     */
+    FilePreviewCache(OssManager ossManager, OssProperties ossProperties, Ticker ticker) {
+        this.ossManager = ossManager;
+        this.ossProperties = ossProperties;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(LOCAL_MAXIMUM_SIZE)
+                .expireAfter(Expiry.creating((Key key, String url) -> Duration.ofSeconds(key.expiry()).multipliedBy(9).dividedBy(10)))
+                .ticker(ticker)
+                .build(this::sign);
+    }
+
+    /**
+     * 获取文件外链链接，使用默认有效期
+     *
+     * @param path 文件路径
+     * @return {@link String} 外链链接
+     * @author payne.zhuang
+     * @CreateTime 2026-01-11 - 09:18:40
+     */
+    public String get(String path) {
+        Key key = new Key(path, ossProperties.getExpiry());
+        return key.expiry() < MIN_CACHE_EXPIRY ? sign(key) : localCache.get(key);
+    }
+
+    /**
+     * 批量获取文件外链链接，使用默认有效期，未命中的逐个签名
+     *
+     * @param paths 文件路径集合
+     * @return {@link Map} 文件路径 - 外链链接
+     * @author payne.zhuang
+     * @CreateTime 2026-01-11 - 09:20:12
+     */
+    public Map<String, String> getAll(Collection<String> paths) {
+        if (CollectionUtils.isEmpty(paths)) {
+            return Map.of();
+        }
+        int expiry = ossProperties.getExpiry();
+        if (expiry < MIN_CACHE_EXPIRY) {
+            return paths.stream().distinct().collect(Collectors.toMap(Function.identity(), path -> sign(new Key(path, expiry))));
+        }
+        Map<Key, String> urls = localCache.getAll(paths.stream().map(path -> new Key(path, expiry)).toList());
+        return urls.entrySet().stream().collect(Collectors.toMap(entry -> entry.getKey().path(), Map.Entry::getValue));
+    }
+
+    /**
+     * 移除文件外链链接缓存
+     *
+     * @param paths 文件路径集合
+     * @author payne.zhuang
+     * @CreateTime 2026-01-11 - 09:22:31
+     */
+    public void invalidate(Collection<String> paths) {
+        if (CollectionUtils.isEmpty(paths)) {
+            return;
+        }
+        int expiry = ossProperties.getExpiry();
+        localCache.invalidateAll(paths.stream().map(path -> new Key(path, expiry)).toList());
+    }
+
+    private String sign(Key key) {
+        return ossManager.service().preview(key.path(), key.expiry());
+    }
+
+    /**
+     * 缓存 Key
+     *
+     * @param path   文件路径
+     * @param expiry 有效期（秒）
+     */
+    private record Key(String path, int expiry) {
+    }
+}
@@ -97,6 +97,11 @@ public class MonFile extends BaseEntity {
      */
     private String uuid;
 
+    /**
+     * 文件内容 SHA-256，内容相同的文件共用同一个存储对象
+     */
+    private String contentHash;
+
     /**
      * 文件类型
      */
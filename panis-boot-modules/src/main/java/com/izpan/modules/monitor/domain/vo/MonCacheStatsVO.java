@@ -0,0 +1,52 @@
+package com.izpan.modules.monitor.domain.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * 系统缓存统计 VO 对象
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.modules.monitor.domain.vo.MonCacheStatsVO
+ * @CreateTime 2026-01-02 - 10:05:17
+ */
+
+@Data
+@Builder
+@Schema(name = "MonCacheStatsVO", description = "系统缓存统计 VO 对象")
+public class MonCacheStatsVO {
+
+    @Schema(description = "缓存名称")
+    private String name;
+
+    @Schema(description = "本地缓存条目数")
+    private long localSize;
+
+    @Schema(description = "本地缓存命中次数")
+    private long localHitCount;
+
+    @Schema(description = "Redis 命中次数")
+    private long remoteHitCount;
+
+    @Schema(description = "未命中次数")
+    private long missCount;
+
+    @Schema(description = "本地缓存命中率(%)")
+    private BigDecimal localHitRatio;
+
+    @Schema(description = "整体命中率(%)")
+    private BigDecimal hitRatio;
+
+    @Schema(description = "Redis 读取平均耗时(ms)")
+    private BigDecimal remoteLoadAvgMillis;
+
+    @Schema(description = "数据源加载次数")
+    private long sourceLoadCount;
+
+    @Schema(description = "数据源加载平均耗时(ms)")
+    private BigDecimal sourceLoadAvgMillis;
+}
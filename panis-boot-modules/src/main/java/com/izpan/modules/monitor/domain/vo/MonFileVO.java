@@ -78,6 +78,9 @@ public class MonFileVO extends BaseVO {
     @Schema(description = "文件UUID")
     private String uuid;
 
+    @Schema(description = "文件内容哈希")
+    private String contentHash;
+
     @Schema(description = "文件类型")
     private String contentType;
 
@@ -0,0 +1,58 @@
+package com.izpan.modules.monitor.domain.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * 日志异步写入器统计 VO 对象
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.modules.monitor.domain.vo.MonLogsWriterStatsVO
+ * @CreateTime 2026-10-17 - 15:12:40
+ */
+
+@Data
+@Builder
+@Schema(name = "MonLogsWriterStatsVO", description = "日志异步写入器统计 VO 对象")
+public class MonLogsWriterStatsVO {
+
+    @Schema(description = "当前队列深度")
+    private int queueDepth;
+
+    @Schema(description = "队列容量")
+    private int queueCapacity;
+
+    @Schema(description = "队列使用率(%)")
+    private BigDecimal queueUsage;
+
+    @Schema(description = "累计入队数")
+    private long enqueuedCount;
+
+    @Schema(description = "累计因队列满丢弃数")
+    private long droppedCount;
+
+    @Schema(description = "累计因采样丢弃数")
+    private long sampledCount;
+
+    @Schema(description = "累计写入成功数")
+    private long flushedCount;
+
+    @Schema(description = "累计写入失败数")
+    private long failedCount;
+
+    @Schema(description = "累计批量写入次数")
+    private long flushBatchCount;
+
+    @Schema(description = "批量写入平均耗时(ms)")
+    private BigDecimal flushAvgMillis;
+
+    @Schema(description = "最近一次批量写入耗时(ms)")
+    private long flushLastMillis;
+
+    @Schema(description = "最大批量写入耗时(ms)")
+    private long flushMaxMillis;
+}
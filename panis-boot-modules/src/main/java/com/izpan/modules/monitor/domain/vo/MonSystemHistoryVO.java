@@ -0,0 +1,49 @@
+package com.izpan.modules.monitor.domain.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 系统服务监控历史采样点 VO
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.modules.monitor.domain.vo.MonSystemHistoryVO
+ * @CreateTime 2026-01-05 - 09:20:44
+ */
+@Data
+@Builder
+@Schema(name = "MonSystemHistoryVO", description = "系统服务监控历史采样点 VO 对象")
+public class MonSystemHistoryVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -4418803125786932560L;
+
+    @Schema(description = "采样时间戳（毫秒）")
+    private long timestamp;
+
+    @Schema(description = "CPU使用率")
+    private double cpuUsedPercent;
+
+    @Schema(description = "内存使用率")
+    private double memoryUsedRate;
+
+    @Schema(description = "JVM内存使用率")
+    private double jvmMemoryUsageRate;
+
+    @Schema(description = "网络接收速率（字节/秒）")
+    private long receiveBytesPerSecond;
+
+    @Schema(description = "网络发送速率（字节/秒）")
+    private long sendBytesPerSecond;
+
+    @Schema(description = "磁盘读取速率（字节/秒）")
+    private long readBytesPerSecond;
+
+    @Schema(description = "磁盘写入速率（字节/秒）")
+    private long writeBytesPerSecond;
+}
@@ -24,6 +24,9 @@ public class MonSystemVO implements Serializable {
     @Serial
     private static final long serialVersionUID = 6911476596639057720L;
 
+    @Schema(description = "采样时间")
+    private String sampleTime;
+
     @Schema(description = "操作系统信息")
     private OperatingSystemVO operatingSystem;
 
@@ -36,6 +39,12 @@ public class MonSystemVO implements Serializable {
     @Schema(description = "JVM信息")
     private JvmVO jvm;
 
+    @Schema(description = "网络信息")
+    private NetworkVO network;
+
+    @Schema(description = "磁盘读写信息")
+    private DiskIoVO diskIo;
+
     @Schema(description = "系统进程")
     private transient List<OSProcessVO> processes;
 
@@ -100,6 +109,15 @@ public class MonSystemVO implements Serializable {
 
         @Schema(description = "闲置率")
         private double idlePercent;
+
+        @Schema(description = "IO等待率")
+        private double ioWaitPercent;
+
+        @Schema(description = "总使用率")
+        private double usedPercent;
+
+        @Schema(description = "各逻辑核心使用率")
+        private transient List<Double> coreUsedPercents;
     }
 
     @Data
@@ -175,6 +193,48 @@ public class MonSystemVO implements Serializable {
 
     }
 
+    @Data
+    @Builder
+    @Schema(name = "NetworkVO", description = "网络信息 VO 对象")
+    public static class NetworkVO implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 3180245126354813907L;
+
+        @Schema(description = "接收速率")
+        private String receiveRate;
+
+        @Schema(description = "发送速率")
+        private String sendRate;
+
+        @Schema(description = "接收速率（字节/秒）")
+        private long receiveBytesPerSecond;
+
+        @Schema(description = "发送速率（字节/秒）")
+        private long sendBytesPerSecond;
+    }
+
+    @Data
+    @Builder
+    @Schema(name = "DiskIoVO", description = "磁盘读写信息 VO 对象")
+    public static class DiskIoVO implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = -7620113905247853166L;
+
+        @Schema(description = "读取速率")
+        private String readRate;
+
+        @Schema(description = "写入速率")
+        private String writeRate;
+
+        @Schema(description = "读取速率（字节/秒）")
+        private long readBytesPerSecond;
+
+        @Schema(description = "写入速率（字节/秒）")
+        private long writeBytesPerSecond;
+    }
+
     @Data
     @Builder
     @Schema(name = "OSProcessVO", description = "系统进程 VO 对象")
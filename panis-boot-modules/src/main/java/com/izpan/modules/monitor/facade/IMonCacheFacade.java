@@ -1,6 +1,9 @@
 package com.izpan.modules.monitor.facade;
 
 import com.izpan.modules.monitor.domain.vo.MonCacheRedisVO;
+import com.izpan.modules.monitor.domain.vo.MonCacheStatsVO;
+
+import java.util.List;
 
 /**
  * 缓存服务监控 门面接口层
@@ -20,4 +23,13 @@ public interface IMonCacheFacade {
      * @CreateTime 2024-05-04 17:15
      */
     MonCacheRedisVO redisInfo();
+
+    /**
+     * 获取二级缓存统计信息
+     *
+     * @return {@link List} 各缓存名称的命中率及加载耗时
+     * @author payne.zhuang
+     * @CreateTime 2026-01-02 - 10:08:34
+     */
+    List<MonCacheStatsVO> cacheStats();
 }
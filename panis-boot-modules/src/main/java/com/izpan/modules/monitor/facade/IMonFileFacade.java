@@ -26,8 +26,13 @@ import com.izpan.modules.monitor.domain.dto.file.MonFileDeleteDTO;
 import com.izpan.modules.monitor.domain.dto.file.MonFileSearchDTO;
 import com.izpan.modules.monitor.domain.dto.file.MonFileUpdateDTO;
 import com.izpan.modules.monitor.domain.vo.MonFileVO;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * 文件管理 门面接口层
  *
@@ -109,4 +114,25 @@ public interface IMonFileFacade {
      * @CreateTime 2024-11-26 - 22:08:25
      */
     String preview(Long id);
+
+    /**
+     * 批量获取文件外链链接
+     *
+     * @param ids ID 集合
+     * @return {@link Map } ID - 文件外链链接，不存在的 ID 不包含在内
+     * @author payne.zhuang
+     * @CreateTime 2026-01-11 - 09:30:48
+     */
+    Map<Long, String> batchPreview(List<Long> ids);
+
+    /**
+     * 下载文件，支持 Range 断点续传及 If-None-Match / If-Modified-Since 条件请求
+     *
+     * @param id       ID
+     * @param request  请求
+     * @param response 响应
+     * @author payne.zhuang
+     * @CreateTime 2026-01-10 - 09:48:40
+     */
+    void download(Long id, HttpServletRequest request, HttpServletResponse response);
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import com.izpan.modules.monitor.domain.dto.logs.operation.MonLogsOperationDelet
 import com.izpan.modules.monitor.domain.dto.logs.operation.MonLogsOperationSearchDTO;
 import com.izpan.modules.monitor.domain.dto.logs.operation.MonLogsOperationUpdateDTO;
 import com.izpan.modules.monitor.domain.vo.MonLogsOperationVO;
+import com.izpan.modules.monitor.domain.vo.MonLogsWriterStatsVO;
 
 /**
  * 操作日志 门面接口层
@@ -70,4 +71,13 @@ public interface IMonLogsOperationFacade {
      */
     boolean batchDelete(MonLogsOperationDeleteDTO monLogsOperationDeleteDTO);
 
+    /**
+     * 获取日志异步写入器统计信息
+     *
+     * @return {@link MonLogsWriterStatsVO} 队列深度及批量写入耗时
+     * @author payne.zhuang
+     * @CreateTime 2026-10-17 - 15:14:06
+     */
+    MonLogsWriterStatsVO writerStats();
+
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.izpan.modules.monitor.facade;
 
+import com.izpan.modules.monitor.domain.vo.MonSystemHistoryVO;
 import com.izpan.modules.monitor.domain.vo.MonSystemVO;
 
+import java.util.List;
+
 /**
  * 系统服务监控 门面接口层
  *
@@ -13,11 +16,20 @@ import com.izpan.modules.monitor.domain.vo.MonSystemVO;
 public interface IMonSystemFacade {
 
     /**
-     * 获取服务器信息
+     * 获取服务器信息，返回后台采样的最新快照
      *
      * @return {@linkplain MonSystemVO} 服务器信息
      * @author payne.zhuang
      * @CreateTime 2024-05-01 23:39
      */
     MonSystemVO getServerInfo();
+
+    /**
+     * 获取服务器监控历史采样点
+     *
+     * @return {@linkplain List<MonSystemHistoryVO>} 历史采样点，按采样时间升序
+     * @author payne.zhuang
+     * @CreateTime 2026-01-05 - 10:02:36
+     */
+    List<MonSystemHistoryVO> getHistory();
 }
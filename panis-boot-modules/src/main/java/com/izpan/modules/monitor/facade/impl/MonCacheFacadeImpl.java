@@ -2,15 +2,22 @@ package com.izpan.modules.monitor.facade.impl;
 
 import com.google.common.collect.Lists;
 import com.izpan.common.pool.StringPools;
+import com.izpan.infrastructure.cache.TwoLevelCache;
+import com.izpan.infrastructure.cache.TwoLevelCacheManager;
 import com.izpan.infrastructure.util.RedisUtil;
 import com.izpan.modules.monitor.domain.vo.MonCacheRedisVO;
+import com.izpan.modules.monitor.domain.vo.MonCacheStatsVO;
 import com.izpan.modules.monitor.facade.IMonCacheFacade;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import oshi.util.FormatUtil;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Properties;
 
@@ -24,7 +31,12 @@ import java.util.Properties;
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class MonCacheFacadeImpl implements IMonCacheFacade {
+
+    @NonNull
+    private CacheManager cacheManager;
+
     @Override
     public MonCacheRedisVO redisInfo() {
         Properties redisInfo = RedisUtil.getRedisInfo(null);
@@ -85,4 +97,30 @@ public class MonCacheFacadeImpl implements IMonCacheFacade {
         redisVO.setCommandStats(commandVOS);
         return redisVO;
     }
+
+    @Override
+    public List<MonCacheStatsVO> cacheStats() {
+        if (!(cacheManager instanceof TwoLevelCacheManager twoLevelCacheManager)) {
+            return List.of();
+        }
+        return twoLevelCacheManager.statistics().stream()
+                .sorted(Comparator.comparing(TwoLevelCache.Statistics::name))
+                .map(stats -> MonCacheStatsVO.builder()
+                        .name(stats.name())
+                        .localSize(stats.localSize())
+                        .localHitCount(stats.localHitCount())
+                        .remoteHitCount(stats.remoteHitCount())
+                        .missCount(stats.missCount())
+                        .localHitRatio(percentage(stats.localHitRatio()))
+                        .hitRatio(percentage(stats.hitRatio()))
+                        .remoteLoadAvgMillis(BigDecimal.valueOf(stats.remoteLoadAvgMillis()).setScale(3, RoundingMode.HALF_UP))
+                        .sourceLoadCount(stats.sourceLoadCount())
+                        .sourceLoadAvgMillis(BigDecimal.valueOf(stats.sourceLoadAvgMillis()).setScale(3, RoundingMode.HALF_UP))
+                        .build())
+                .toList();
+    }
+
+    private static BigDecimal percentage(double ratio) {
+        return BigDecimal.valueOf(ratio * 100).setScale(2, RoundingMode.HALF_UP);
+    }
 }
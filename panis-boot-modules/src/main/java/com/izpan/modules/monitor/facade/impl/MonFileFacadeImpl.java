@@ -32,12 +32,17 @@ import com.izpan.modules.monitor.domain.entity.MonFile;
 import com.izpan.modules.monitor.domain.vo.MonFileVO;
 import com.izpan.modules.monitor.facade.IMonFileFacade;
 import com.izpan.modules.monitor.service.IMonFileService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * 文件管理 门面接口实现层
  *
@@ -97,4 +102,14 @@ public class MonFileFacadeImpl implements IMonFileFacade {
     public String preview(Long id) {
         return monFileService.preview(id);
     }
+
+    @Override
+    public Map<Long, String> batchPreview(List<Long> ids) {
+        return monFileService.batchPreview(ids);
+    }
+
+    @Override
+    public void download(Long id, HttpServletRequest request, HttpServletResponse response) {
+        monFileService.download(id, request, response);
+    }
 }
\ No newline at end of file
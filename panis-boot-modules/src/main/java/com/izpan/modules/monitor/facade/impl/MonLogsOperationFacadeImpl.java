@@ -11,12 +11,17 @@ import com.izpan.modules.monitor.domain.dto.logs.operation.MonLogsOperationSearc
 import com.izpan.modules.monitor.domain.dto.logs.operation.MonLogsOperationUpdateDTO;
 import com.izpan.modules.monitor.domain.entity.MonLogsOperation;
 import com.izpan.modules.monitor.domain.vo.MonLogsOperationVO;
+import com.izpan.modules.monitor.domain.vo.MonLogsWriterStatsVO;
 import com.izpan.modules.monitor.facade.IMonLogsOperationFacade;
 import com.izpan.modules.monitor.service.IMonLogsOperationService;
+import com.izpan.modules.monitor.writer.OperationLogWriter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
 /**
  * 操作日志 门面接口实现层
  *
@@ -33,6 +38,9 @@ public class MonLogsOperationFacadeImpl implements IMonLogsOperationFacade {
     @NonNull
     private IMonLogsOperationService monLogsOperationService;
 
+    @NonNull
+    private OperationLogWriter operationLogWriter;
+
     @Override
     public RPage<MonLogsOperationVO> listMonLogsOperationPage(PageQuery pageQuery, MonLogsOperationSearchDTO monLogsOperationSearchDTO) {
         MonLogsOperationBO monLogsOperationBO = CglibUtil.convertObj(monLogsOperationSearchDTO, MonLogsOperationBO::new);
@@ -64,4 +72,24 @@ public class MonLogsOperationFacadeImpl implements IMonLogsOperationFacade {
         return monLogsOperationService.removeBatchByIds(monLogsOperationBO.getIds(), true);
     }
 
+    @Override
+    public MonLogsWriterStatsVO writerStats() {
+        OperationLogWriter.Metrics metrics = operationLogWriter.metrics();
+        double usage = metrics.queueCapacity() == 0 ? 0 : (double) metrics.queueDepth() / metrics.queueCapacity();
+        return MonLogsWriterStatsVO.builder()
+                .queueDepth(metrics.queueDepth())
+                .queueCapacity(metrics.queueCapacity())
+                .queueUsage(BigDecimal.valueOf(usage * 100).setScale(2, RoundingMode.HALF_UP))
+                .enqueuedCount(metrics.enqueued())
+                .droppedCount(metrics.dropped())
+                .sampledCount(metrics.sampled())
+                .flushedCount(metrics.flushed())
+                .failedCount(metrics.failed())
+                .flushBatchCount(metrics.flushBatches())
+                .flushAvgMillis(BigDecimal.valueOf(metrics.avgFlushMillis()).setScale(3, RoundingMode.HALF_UP))
+                .flushLastMillis(metrics.lastFlushMillis())
+                .flushMaxMillis(metrics.maxFlushMillis())
+                .build();
+    }
+
 }
\ No newline at end of file
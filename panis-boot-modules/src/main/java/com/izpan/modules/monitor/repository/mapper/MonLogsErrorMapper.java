@@ -2,6 +2,9 @@ package com.izpan.modules.monitor.repository.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.izpan.modules.monitor.domain.entity.MonLogsError;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 错误异常日志 Mapper 接口层
@@ -14,4 +17,13 @@ import com.izpan.modules.monitor.domain.entity.MonLogsError;
 
 public interface MonLogsErrorMapper extends BaseMapper<MonLogsError> {
 
+    /**
+     * 多行 INSERT 批量写入错误异常日志，ID 及创建人、创建时间需预先填充
+     *
+     * @param list 错误异常日志列表
+     * @return 写入行数
+     * @author payne.zhuang
+     * @CreateTime 2025-12-25 - 10:35:12
+     */
+    int insertBatch(@Param("list") List<MonLogsError> list);
 }
@@ -0,0 +1,588 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.modules.monitor.sampler;
+
+import cn.hutool.core.date.DatePattern;
+import com.izpan.modules.monitor.domain.vo.MonSystemHistoryVO;
+import com.izpan.modules.monitor.domain.vo.MonSystemVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import oshi.SystemInfo;
+import oshi.hardware.*;
+import oshi.software.os.OSProcess;
+import oshi.software.os.OperatingSystem;
+import oshi.util.FormatUtil;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.RuntimeMXBean;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 系统服务监控采样器
+ * <p>
+ * 长期持有 OSHI 对象，由独立线程按固定间隔采样并发布快照，监控接口直接返回最新快照，不再每次请求遍历 /proc：<br>
+ * 1. CPU 总使用率、各核心使用率、网络及磁盘速率均基于相邻两次采样的差值计算，反映采样间隔内的实际负载 <br>
+ * 2. 遍历全部进程、文件系统开销较大，按 processInterval 刷新，进程 CPU 占用同样基于两次刷新之间的差值 <br>
+ * 3. 每次采样追加一个历史采样点到固定容量的环形缓冲区，供趋势图使用
+ * </p>
+ * <p>
+ * 快照及历史采样点发布后不再修改，可被请求线程并发读取；其余采样状态只由采样线程访问
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.modules.monitor.sampler.SystemMetricsSampler
+ * @CreateTime 2026-01-05 - 09:35:18
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(SystemMetricsSamplerProperties.class)
+public class SystemMetricsSampler implements SmartLifecycle {
+
+    /**
+     * 采样线程名称
+     */
+    private static final String THREAD_NAME = "system-metrics-sampler";
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter
+            .ofPattern(DatePattern.NORM_DATETIME_PATTERN).withZone(ZoneId.systemDefault());
+
+    private final SystemMetricsSamplerProperties properties;
+
+    private final SystemInfo systemInfo = new SystemInfo();
+
+    /**
+     * 历史采样点环形缓冲区
+     */
+    private final MonSystemHistoryVO[] history;
+
+    private final RateCounter networkCounter = new RateCounter();
+
+    private final RateCounter diskCounter = new RateCounter();
+
+    private int historyNext;
+
+    private int historyCount;
+
+    private volatile MonSystemVO latest;
+
+    private volatile boolean running;
+
+    private ScheduledExecutorService executor;
+
+    private long sampleCount;
+
+    private long[] previousTicks;
+
+    private long[][] previousProcessorTicks;
+
+    private Map<Integer, OSProcess> previousProcesses = Map.of();
+
+    private List<NetworkIF> networkIFs = List.of();
+
+    private List<HWDiskStore> diskStores = List.of();
+
+    private List<MonSystemVO.OSProcessVO> processes = List.of();
+
+    private List<MonSystemVO.OSFileStoreVO> fileStores = List.of();
+
+    public SystemMetricsSampler(SystemMetricsSamplerProperties properties) {
+        this.properties = properties;
+        this.history = new MonSystemHistoryVO[Math.max(1, properties.getHistorySize())];
+    }
+
+    /**
+     * 获取最新快照
+     *
+     * @return {@link MonSystemVO} 最新快照
+     * @author payne.zhuang
+     * @CreateTime 2026-01-05 - 09:38:40
+     */
+    public MonSystemVO latest() {
+        return latest;
+    }
+
+    /**
+     * 获取历史采样点，按采样时间升序
+     *
+     * @return {@link List<MonSystemHistoryVO>} 历史采样点
+     * @author payne.zhuang
+     * @CreateTime 2026-01-05 - 09:39:52
+     */
+    public synchronized List<MonSystemHistoryVO> history() {
+        List<MonSystemHistoryVO> points = new ArrayList<>(historyCount);
+        int start = historyNext - historyCount + history.length;
+        for (int i = 0; i < historyCount; i++) {
+            points.add(history[(start + i) % history.length]);
+        }
+        return points;
+    }
+
+    @Override
+    public void start() {
+        HardwareAbstractionLayer hardware = systemInfo.getHardware();
+        networkIFs = hardware.getNetworkIFs(false);
+        diskStores = hardware.getDiskStores();
+        // 同步完成首次采样，启动后即可返回快照，首次 CPU 使用率为开机以来的平均值
+        sample();
+        long interval = properties.getSampleInterval().toMillis();
+        executor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name(THREAD_NAME).daemon(true).factory());
+        executor.scheduleAtFixedRate(this::sample, interval, interval, TimeUnit.MILLISECONDS);
+        running = true;
+        log.info("[SystemMonitor] 采样器已启动, 间隔={}ms, 进程刷新间隔={}ms, 历史容量={}", interval,
+                properties.getProcessInterval().toMillis(), history.length);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 采样一次并发布快照，异常时保留上一次快照
+     *
+     * @author payne.zhuang
+     * @CreateTime 2026-01-05 - 09:42:15
+     */
+    private void sample() {
+        try {
+            HardwareAbstractionLayer hardware = systemInfo.getHardware();
+            OperatingSystem operatingSystem = systemInfo.getOperatingSystem();
+            long processEvery = Math.max(1, properties.getProcessInterval().toMillis() / properties.getSampleInterval().toMillis());
+            if (sampleCount++ % processEvery == 0) {
+                processes = getProcessesList(operatingSystem);
+                fileStores = getFileStoresList(operatingSystem);
+            }
+            long timestamp = System.currentTimeMillis();
+            MonSystemVO.CentralProcessorVO centralProcessor = getCentralProcessorVO(hardware.getProcessor());
+            MonSystemVO.GlobalMemoryVO globalMemory = getGlobalMemoryVO(hardware);
+            MonSystemVO.JvmVO jvm = getJvmVO();
+            MonSystemVO.NetworkVO network = getNetworkVO();
+            MonSystemVO.DiskIoVO diskIo = getDiskIoVO();
+            latest = MonSystemVO.builder()
+                    .sampleTime(DATE_TIME_FORMATTER.format(Instant.ofEpochMilli(timestamp)))
+                    .operatingSystem(getOperatingSystemVO(operatingSystem, hardware.getComputerSystem()))
+                    .centralProcessor(centralProcessor)
+                    .globalMemory(globalMemory)
+                    .jvm(jvm)
+                    .network(network)
+                    .diskIo(diskIo)
+                    .processes(processes)
+                    .fileStores(fileStores)
+                    .build();
+            appendHistory(MonSystemHistoryVO.builder()
+                    .timestamp(timestamp)
+                    .cpuUsedPercent(centralProcessor.getUsedPercent())
+                    .memoryUsedRate(globalMemory.getMemoryUsedRate())
+                    .jvmMemoryUsageRate(jvm.getMemoryUsageRate())
+                    .receiveBytesPerSecond(network.getReceiveBytesPerSecond())
+                    .sendBytesPerSecond(network.getSendBytesPerSecond())
+                    .readBytesPerSecond(diskIo.getReadBytesPerSecond())
+                    .writeBytesPerSecond(diskIo.getWriteBytesPerSecond())
+                    .build());
+        } catch (RuntimeException e) {
+            log.warn("[SystemMonitor] 系统信息采样失败", e);
+        }
+    }
+
+    private synchronized void appendHistory(MonSystemHistoryVO point) {
+        history[historyNext] = point;
+        historyNext = (historyNext + 1) % history.length;
+        historyCount = Math.min(historyCount + 1, history.length);
+    }
+
+    /**
+     * 构建操作系统信息视图对象
+     *
+     * @param operatingSystem 操作系统对象
+     * @param computerSystem  计算机系统对象
+     * @return {@linkplain MonSystemVO.OperatingSystemVO} 操作系统信息视图对象
+     * @author payne.zhuang
+     * @CreateTime 2024-05-01 22:52
+     */
+    private MonSystemVO.OperatingSystemVO getOperatingSystemVO(OperatingSystem operatingSystem, ComputerSystem computerSystem) {
+        Properties props = System.getProperties();
+        // 构建并返回操作系统信息视图对象
+        return MonSystemVO.OperatingSystemVO.builder()
+                // 设置操作系统名称
+                .name(props.getProperty("os.name"))
+                // 设置操作系统架构
+                .arch(props.getProperty("os.arch"))
+                // 设置系统启动时间，格式化为人类可读的时间格式
+                .systemBootTime(DATE_TIME_FORMATTER.format(Instant.ofEpochSecond(operatingSystem.getSystemBootTime())))
+                // 设置系统运行时间，转换为易于理解的时间格式（如：天、小时、分钟）
+                .systemUptime(FormatUtil.formatElapsedSecs(operatingSystem.getSystemUptime()))
+                // 设置计算机系统主板制造商的信息
+                .manufacturer(computerSystem.getBaseboard().getManufacturer())
+                .build();
+    }
+
+    /**
+     * 构建中央处理器信息视图对象，使用率基于与上一次采样的时钟周期差值计算
+     *
+     * @param processor 中央处理器对象
+     * @return {@linkplain MonSystemVO.CentralProcessorVO} 中央处理器信息视图对象
+     * @author payne.zhuang
+     * @CreateTime 2024-05-01 22:52
+     */
+    private MonSystemVO.CentralProcessorVO getCentralProcessorVO(CentralProcessor processor) {
+        CentralProcessor.ProcessorIdentifier identifier = processor.getProcessorIdentifier();
+        // 获取系统CPU负载
+        double[] loadAverage = processor.getSystemLoadAverage(3);
+        // 获取两次采样之间的CPU时钟周期
+        long[] ticks = processor.getSystemCpuLoadTicks();
+        long[] delta = delta(ticks, previousTicks);
+        previousTicks = ticks;
+        long[][] processorTicks = processor.getProcessorCpuLoadTicks();
+        List<Double> coreUsedPercents = new ArrayList<>(processorTicks.length);
+        for (int i = 0; i < processorTicks.length; i++) {
+            long[] previous = previousProcessorTicks != null && i < previousProcessorTicks.length ? previousProcessorTicks[i] : null;
+            coreUsedPercents.add(usedPercent(delta(processorTicks[i], previous)));
+        }
+        previousProcessorTicks = processorTicks;
+
+        long totalCpu = Arrays.stream(delta).sum();
+        // 获取处理器信息并构建中央处理器视图对象
+        return MonSystemVO.CentralProcessorVO.builder()
+                // 设置处理器的名称
+                .name(identifier.getName())
+                // 设置处理器的标识符
+                .identifier(identifier.getIdentifier())
+                // 设置处理器的供应商频率，并格式化为易读的频率表示（如GHz）
+                .vendorFreq(FormatUtil.formatHertz(identifier.getVendorFreq()))
+                // 设置物理处理器的数量
+                .physicalProcessorCount(processor.getPhysicalProcessorCount())
+                // 设置逻辑处理器的数量
+                .logicalProcessorCount(processor.getLogicalProcessorCount())
+                // 设置系统平均负载
+                .systemLoadAverage(loadAverage.length == 0 ? 0L : Math.round(loadAverage[0]))
+                // 设置用户使用率
+                .userPercent(percent(delta[CentralProcessor.TickType.USER.getIndex()], totalCpu))
+                // 设置系统使用率
+                .systemPercent(percent(delta[CentralProcessor.TickType.SYSTEM.getIndex()], totalCpu))
+                // 设置闲置率
+                .idlePercent(percent(delta[CentralProcessor.TickType.IDLE.getIndex()], totalCpu))
+                // 设置IO等待率
+                .ioWaitPercent(percent(delta[CentralProcessor.TickType.IOWAIT.getIndex()], totalCpu))
+                // 设置总使用率
+                .usedPercent(usedPercent(delta))
+                // 设置各逻辑核心使用率
+                .coreUsedPercents(coreUsedPercents)
+                .build();
+    }
+
+    /**
+     * 构建全局内存信息视图对象
+     *
+     * @param hardware 硬件抽象层对象
+     * @return {@linkplain MonSystemVO.GlobalMemoryVO} 全局内存信息视图对象
+     * @author payne.zhuang
+     * @CreateTime 2024-05-01 22:52
+     */
+    private MonSystemVO.GlobalMemoryVO getGlobalMemoryVO(HardwareAbstractionLayer hardware) {
+        // 获取硬件的全局内存信息
+        GlobalMemory memory = hardware.getMemory();
+        // 获取虚拟内存信息
+        VirtualMemory virtualMemory = memory.getVirtualMemory();
+        // 获取总内存量
+        long totalMemory = memory.getTotal();
+        // 获取可用内存量
+        long availableMemory = memory.getAvailable();
+        // 计算已用内存量
+        long usedMemory = totalMemory - availableMemory;
+        // 获取总交换区大小
+        long totalSwap = virtualMemory.getSwapTotal();
+        // 获取已用交换区大小
+        long usedSwap = virtualMemory.getSwapUsed();
+        // 计算空闲交换区大小
+        long freeSwap = totalSwap - usedSwap;
+        // 计算内存使用率
+        long memoryUsedRate = (usedMemory * 100) / totalMemory;
+        // 计算交换区使用率
+        long swapUsedRate = (totalSwap != 0) ? (usedSwap * 100) / totalSwap : 0;
+        // 构建并返回全局内存信息视图对象
+        return MonSystemVO.GlobalMemoryVO.builder()
+                // 设置总内存
+                .total(FormatUtil.formatBytes(totalMemory))
+                // 设置已用内存
+                .used(FormatUtil.formatBytes(usedMemory))
+                // 设置可用内存
+                .available(FormatUtil.formatBytes(availableMemory))
+                // 设置总交换区大小
+                .swapTotal(FormatUtil.formatBytes(totalSwap))
+                // 设置已用交换区大小
+                .swapUsed(FormatUtil.formatBytes(usedSwap))
+                // 设置空闲交换区大小
+                .swapFree(FormatUtil.formatBytes(freeSwap))
+                // 设置内存使用率
+                .memoryUsedRate(memoryUsedRate)
+                // 设置交换区使用率
+                .swapUsedRate(swapUsedRate)
+                .build();
+    }
+
+    /**
+     * 构建Java虚拟机信息视图对象
+     *
+     * @return {@linkplain MonSystemVO.JvmVO} Java虚拟机信息视图对象
+     * @author payne.zhuang
+     * @CreateTime 2024-05-01 22:53
+     */
+    private MonSystemVO.JvmVO getJvmVO() {
+        // 获取Java虚拟机运行时和内存使用信息
+        RuntimeMXBean runtimeMXBean = ManagementFactory.getRuntimeMXBean();
+        MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+        // 获取堆内存使用信息
+        long heapMemoryUsed = memoryMXBean.getHeapMemoryUsage().getUsed();
+        long heapMemoryMax = memoryMXBean.getHeapMemoryUsage().getMax();
+        // 计算内存使用率
+        double memoryUsageRate = Math.round(((double) heapMemoryUsed / heapMemoryMax) * 100);
+        // 构建并返回Java虚拟机信息视图对象
+        return MonSystemVO.JvmVO.builder()
+                // 设置Java虚拟机的名称
+                .vmName(runtimeMXBean.getVmName())
+                // 设置Java虚拟机的运行时间，并格式化为易于理解的时间格式（如：天、小时、分钟）
+                .uptime(FormatUtil.formatElapsedSecs(runtimeMXBean.getUptime() / 1000))
+                // 设置Java虚拟机的版本
+                .vmVersion(runtimeMXBean.getVmVersion())
+                // 设置Java虚拟机的供应商
+                .vmVendor(runtimeMXBean.getVmVendor())
+                // 设置Java虚拟机的启动时间，转换为ISO-8601日期时间格式
+                .startTime(DATE_TIME_FORMATTER.format(Instant.ofEpochMilli(runtimeMXBean.getStartTime())))
+                // 设置Java虚拟机启动时的输入参数列表
+                .inputArguments(runtimeMXBean.getInputArguments().toString())
+                // 设置堆内存的当前使用量，并格式化为易于阅读的大小表示（如MB、GB）
+                .heapMemoryUsed(FormatUtil.formatBytes(heapMemoryUsed))
+                // 设置堆内存的最大可用量，并格式化为易于阅读的大小表示（如MB、GB）
+                .heapMemoryMax(FormatUtil.formatBytes(heapMemoryMax))
+                // 设置内存使用率
+                .memoryUsageRate(memoryUsageRate)
+                // 设置非堆内存的当前使用量，并格式化为易于阅读的大小表示（如MB、GB）
+                .nonHeapMemoryUsed(FormatUtil.formatBytes(memoryMXBean.getNonHeapMemoryUsage().getUsed()))
+                .build();
+    }
+
+    /**
+     * 构建网络信息视图对象，汇总全部非本地网卡，速率基于与上一次采样的字节数差值计算
+     *
+     * @return {@linkplain MonSystemVO.NetworkVO} 网络信息视图对象
+     * @author payne.zhuang
+     * @CreateTime 2026-01-05 - 09:48:27
+     */
+    private MonSystemVO.NetworkVO getNetworkVO() {
+        long received = 0;
+        long sent = 0;
+        for (NetworkIF networkIF : networkIFs) {
+            networkIF.updateAttributes();
+            received += networkIF.getBytesRecv();
+            sent += networkIF.getBytesSent();
+        }
+        Rates rates = networkCounter.update(received, sent, System.nanoTime());
+        return MonSystemVO.NetworkVO.builder()
+                .receiveRate(FormatUtil.formatBytes(rates.first()) + "/s")
+                .sendRate(FormatUtil.formatBytes(rates.second()) + "/s")
+                .receiveBytesPerSecond(rates.first())
+                .sendBytesPerSecond(rates.second())
+                .build();
+    }
+
+    /**
+     * 构建磁盘读写信息视图对象，汇总全部磁盘，速率基于与上一次采样的字节数差值计算
+     *
+     * @return {@linkplain MonSystemVO.DiskIoVO} 磁盘读写信息视图对象
+     * @author payne.zhuang
+     * @CreateTime 2026-01-05 - 09:50:03
+     */
+    private MonSystemVO.DiskIoVO getDiskIoVO() {
+        long read = 0;
+        long written = 0;
+        for (HWDiskStore diskStore : diskStores) {
+            diskStore.updateAttributes();
+            read += diskStore.getReadBytes();
+            written += diskStore.getWriteBytes();
+        }
+        Rates rates = diskCounter.update(read, written, System.nanoTime());
+        return MonSystemVO.DiskIoVO.builder()
+                .readRate(FormatUtil.formatBytes(rates.first()) + "/s")
+                .writeRate(FormatUtil.formatBytes(rates.second()) + "/s")
+                .readBytesPerSecond(rates.first())
+                .writeBytesPerSecond(rates.second())
+                .build();
+    }
+
+    /**
+     * 获取并构建 CPU 占用最高的进程信息视图对象列表，CPU 占用基于与上一次刷新的差值计算
+     *
+     * @param operatingSystem 操作系统对象
+     * @return {@linkplain List <MonSystemVO.OSProcessVO>} 操作系统进程信息视图对象列表
+     * @author payne.zhuang
+     * @CreateTime 2024-05-01 22:53
+     */
+    private List<MonSystemVO.OSProcessVO> getProcessesList(OperatingSystem operatingSystem) {
+        List<OSProcess> current = operatingSystem.getProcesses(null, null, 0);
+        Map<Integer, OSProcess> previous = previousProcesses;
+        previousProcesses = current.stream()
+                .collect(Collectors.toMap(OSProcess::getProcessID, Function.identity(), (first, second) -> first));
+        // 构建并返回进程信息视图对象列表
+        return current.stream()
+                .map(process -> new ProcessLoad(process, process.getProcessCpuLoadBetweenTicks(previous.get(process.getProcessID()))))
+                .sorted(Comparator.comparingDouble(ProcessLoad::load).reversed())
+                .limit(properties.getProcessLimit())
+                .map(processLoad -> MonSystemVO.OSProcessVO.builder()
+                        // 设置进程ID
+                        .processID(processLoad.process().getProcessID())
+                        // 设置进程名称
+                        .name(processLoad.process().getName())
+                        // 计算进程CPU负载百分比
+                        .cpuLoad(Math.round(processLoad.load() * 100))
+                        .build())
+                .toList();
+    }
+
+    /**
+     * 获取并构建文件存储信息视图对象列表。
+     *
+     * @param operatingSystem 操作系统对象
+     * @return {@linkplain List<MonSystemVO.OSFileStoreVO>} 文件存储信息视图对象列表
+     * @author payne.zhuang
+     * @CreateTime 2024-05-01 22:53
+     */
+    private List<MonSystemVO.OSFileStoreVO> getFileStoresList(OperatingSystem operatingSystem) {
+        // 获取文件存储信息并构建文件存储信息视图对象列表
+        return operatingSystem.getFileSystem().getFileStores().stream().map(fs -> MonSystemVO.OSFileStoreVO.builder()
+                // 设置文件存储的名称
+                .name(fs.getName())
+                // 设置文件存储的类型
+                .type(fs.getType())
+                // 挂载点
+                .mount(fs.getMount())
+                // 计算总空间大小，并格式化为易读的形式
+                .totalSpace(FormatUtil.formatBytesDecimal(fs.getTotalSpace()))
+                // 计算可用空间大小，并格式化为易读的形式
+                .usableSpace(FormatUtil.formatBytesDecimal(fs.getUsableSpace()))
+                // 计算已用空间大小，并格式化为易读的形式
+                .usedSpace(FormatUtil.formatBytesDecimal(fs.getTotalSpace() - fs.getUsableSpace()))
+                // 计算已用空间的百分比，并格式化为字符串
+                .usedPercentage(Math.round(((double) (fs.getTotalSpace() - fs.getUsableSpace()) / (double) fs.getTotalSpace()) * 100))
+                .build()).toList();
+    }
+
+    /**
+     * 计算两次采样之间的时钟周期差值，无上一次采样时返回当前值
+     */
+    private static long[] delta(long[] current, long[] previous) {
+        boolean comparable = previous != null && previous.length == current.length;
+        long[] delta = new long[current.length];
+        for (int i = 0; i < current.length; i++) {
+            delta[i] = Math.max(0, current[i] - (comparable ? previous[i] : 0));
+        }
+        return delta;
+    }
+
+    /**
+     * 计算使用率，闲置及 IO 等待时间不计入
+     */
+    private static double usedPercent(long[] delta) {
+        long total = Arrays.stream(delta).sum();
+        long idle = delta[CentralProcessor.TickType.IDLE.getIndex()] + delta[CentralProcessor.TickType.IOWAIT.getIndex()];
+        return percent(total - idle, total);
+    }
+
+    private static double percent(long part, long total) {
+        return total == 0 ? 0 : Math.round(100.0 * part / total);
+    }
+
+    /**
+     * 进程及其 CPU 占用
+     *
+     * @param process 进程
+     * @param load    两次刷新之间的 CPU 占用
+     */
+    private record ProcessLoad(OSProcess process, double load) {
+    }
+
+    /**
+     * 速率
+     *
+     * @param first  第一个计数器的每秒增量
+     * @param second 第二个计数器的每秒增量
+     */
+    private record Rates(long first, long second) {
+
+        private static final Rates ZERO = new Rates(0, 0);
+    }
+
+    /**
+     * 累计计数器速率计算，只由采样线程访问
+     */
+    private static final class RateCounter {
+
+        private boolean initialized;
+
+        private long previousFirst;
+
+        private long previousSecond;
+
+        private long previousNanos;
+
+        private Rates update(long first, long second, long nanos) {
+            long elapsed = nanos - previousNanos;
+            Rates rates = initialized && elapsed > 0
+                    ? new Rates(perSecond(first - previousFirst, elapsed), perSecond(second - previousSecond, elapsed))
+                    : Rates.ZERO;
+            initialized = true;
+            previousFirst = first;
+            previousSecond = second;
+            previousNanos = nanos;
+            return rates;
+        }
+
+        /**
+         * 计数器重置（如网卡重启）时差值为负，按 0 处理
+         */
+        private static long perSecond(long delta, long elapsedNanos) {
+            return delta <= 0 ? 0 : Math.round(delta * 1e9 / elapsedNanos);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.modules.monitor.sampler;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 系统服务监控采样配置属性
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.modules.monitor.sampler.SystemMetricsSamplerProperties
+ * @CreateTime 2026-01-05 - 09:12:30
+ */
+@Data
+@ConfigurationProperties(prefix = "system-monitor")
+public class SystemMetricsSamplerProperties {
+
+    /**
+     * 采样间隔，CPU 使用率、网络及磁盘速率均为相邻两次采样之间的平均值
+     */
+    private Duration sampleInterval = Duration.ofSeconds(5);
+
+    /**
+     * 进程及文件系统的刷新间隔，需要遍历全部进程，间隔不宜过短
+     */
+    private Duration processInterval = Duration.ofSeconds(30);
+
+    /**
+     * 保留的历史采样点数量，默认 5 秒间隔下为最近 1 小时
+     */
+    private int historySize = 720;
+
+    /**
+     * 展示的 CPU 占用最高的进程数量
+     */
+    private int processLimit = 6;
+}
@@ -24,9 +24,12 @@ import com.baomidou.mybatisplus.extension.service.IService;
 import com.izpan.infrastructure.page.PageQuery;
 import com.izpan.modules.monitor.domain.bo.MonFileBO;
 import com.izpan.modules.monitor.domain.entity.MonFile;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 文件管理 Service 服务接口层
@@ -70,6 +73,27 @@ public interface IMonFileService extends IService<MonFile> {
      */
     String preview(Long id);
 
+    /**
+     * 批量获取文件外链链接
+     *
+     * @param ids ID 集合
+     * @return {@link Map } ID - 文件外链链接，不存在的 ID 不包含在内
+     * @author payne.zhuang
+     * @CreateTime 2026-01-11 - 09:30:05
+     */
+    Map<Long, String> batchPreview(List<Long> ids);
+
+    /**
+     * 下载文件，支持 Range 断点续传及 If-None-Match / If-Modified-Since 条件请求
+     *
+     * @param id       ID
+     * @param request  请求
+     * @param response 响应
+     * @author payne.zhuang
+     * @CreateTime 2026-01-10 - 09:48:12
+     */
+    void download(Long id, HttpServletRequest request, HttpServletResponse response);
+
     /**
      * 同步删除 OSS 文件
      *
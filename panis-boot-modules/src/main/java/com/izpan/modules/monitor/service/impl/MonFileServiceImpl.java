@@ -22,9 +22,15 @@ package com.izpan.modules.monitor.service.impl;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingInputStream;
+import com.izpan.common.exception.BizException;
 import com.izpan.common.util.LongUtil;
 import com.izpan.infrastructure.enums.FileCategoryEnum;
 import com.izpan.infrastructure.page.PageQuery;
+import com.izpan.infrastructure.util.DownloadUtil;
+import com.izpan.modules.monitor.cache.FileContentLock;
+import com.izpan.modules.monitor.cache.FilePreviewCache;
 import com.izpan.modules.monitor.domain.bo.MonFileBO;
 import com.izpan.modules.monitor.domain.entity.MonFile;
 import com.izpan.modules.monitor.repository.mapper.MonFileMapper;
@@ -32,16 +38,35 @@ import com.izpan.modules.monitor.service.IMonFileService;
 import com.izpan.starter.common.util.FileUtil;
 import com.izpan.starter.oss.config.OssProperties;
 import com.izpan.starter.oss.domain.OssFile;
+import com.izpan.starter.oss.domain.OssFileStat;
+import com.izpan.starter.oss.enums.OssEnum;
+import com.izpan.starter.oss.exception.OSSException;
 import com.izpan.starter.oss.manage.OssManager;
+import com.izpan.starter.oss.service.OssService;
+import com.izpan.starter.oss.service.local.LocalService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ObjectUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.CollectionUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
 
 /**
  * 文件管理 Service 服务接口实现层
@@ -52,16 +77,28 @@ import java.util.List;
  * @CreateTime 2024-11-20 - 17:16:20
  */
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class MonFileServiceImpl extends ServiceImpl<MonFileMapper, MonFile> implements IMonFileService {
 
+    /**
+     * 单次批量获取外链链接的最大数量
+     */
+    private static final int MAX_BATCH_PREVIEW = 500;
+
     @NonNull
     private OssManager ossManager;
 
     @NonNull
     private OssProperties properties;
 
+    @NonNull
+    private FilePreviewCache filePreviewCache;
+
+    @NonNull
+    private FileContentLock fileContentLock;
+
     @Override
     public IPage<MonFile> listMonFilePage(PageQuery pageQuery, MonFileBO monFileBO) {
         LambdaQueryWrapper<MonFile> queryWrapper = new LambdaQueryWrapper<MonFile>()
@@ -76,33 +113,209 @@ public class MonFileServiceImpl extends ServiceImpl<MonFileMapper, MonFile> impl
     @Override
     @SneakyThrows
     public boolean putFile(MultipartFile file) {
-        // 上传文件
-        OssFile ossFile = ossManager.service().putFile(file.getOriginalFilename(), file.getInputStream());
-        // 保存文件信息
-        MonFile monFile = of(file, ossFile);
-        return super.save(monFile);
+        // 先计算内容哈希，已存在相同内容的文件时只保存文件信息，不再上传
+        String contentHash = contentHash(file);
+        // 复用判断与文件信息保存在内容哈希锁内完成，与删除互斥，不会复用正在被删除的存储对象；返回 null 表示没有可复用的存储对象
+        Boolean reused = fileContentLock.execute(List.of(contentHash), () -> {
+            MonFile existing = findByContentHash(contentHash, file.getSize());
+            if (existing == null) {
+                return null;
+            }
+            log.debug("[MonFile] 文件内容已存在, 复用存储对象={}", existing.getPath());
+            return save(file, OssFile.builder()
+                    .name(file.getOriginalFilename())
+                    .path(existing.getPath())
+                    .uuid(existing.getUuid())
+                    .location(existing.getLocation())
+                    .contentType(existing.getContentType())
+                    .build(), contentHash);
+        });
+        if (reused != null) {
+            return reused;
+        }
+        // 新上传的存储对象路径唯一，保存前不会被其他文件记录引用或删除，上传无需持有锁
+        OssFile ossFile;
+        try (InputStream stream = file.getInputStream()) {
+            ossFile = ossManager.service().putFile(file.getOriginalFilename(), stream, file.getSize());
+        }
+        return save(file, ossFile, contentHash);
     }
 
     @Override
     public String preview(Long id) {
         MonFile monFile = super.getById(id);
-        return ossManager.service().preview(monFile.getPath());
+        return filePreviewCache.get(monFile.getPath());
+    }
+
+    @Override
+    public Map<Long, String> batchPreview(List<Long> ids) {
+        if (CollectionUtils.isEmpty(ids)) {
+            return Map.of();
+        }
+        if (ids.size() > MAX_BATCH_PREVIEW) {
+            throw new BizException("单次最多获取 %d 个文件外链链接".formatted(MAX_BATCH_PREVIEW));
+        }
+        // 一次查询全部文件路径，外链链接优先从缓存获取
+        LambdaQueryWrapper<MonFile> queryWrapper = new LambdaQueryWrapper<MonFile>()
+                .select(MonFile::getId, MonFile::getPath)
+                .in(MonFile::getId, ids);
+        List<MonFile> monFiles = baseMapper.selectList(queryWrapper);
+        Map<String, String> urls = filePreviewCache.getAll(monFiles.stream().map(MonFile::getPath).toList());
+        Map<Long, String> previews = new LinkedHashMap<>(monFiles.size());
+        monFiles.forEach(monFile -> previews.put(monFile.getId(), urls.get(monFile.getPath())));
+        return previews;
+    }
+
+    @Override
+    public void download(Long id, HttpServletRequest request, HttpServletResponse response) {
+        MonFile monFile = super.getById(id);
+        if (monFile == null) {
+            throw new BizException("文件不存在");
+        }
+        OssService service = ossManager.service();
+        OssFileStat stat = service.stat(monFile.getPath());
+        DownloadUtil.range(request, response, monFile.getName(), stat.getSize(), stat.getEtag(), stat.getLastModified(),
+                (offset, length, stream) -> {
+                    // 本地存储优先交由容器 sendfile 发送，不经过用户态缓冲区
+                    if (service instanceof LocalService localService && DownloadUtil.sendfile(request,
+                            localService.resolve(properties.getBucketName(), monFile.getPath()), offset, length)) {
+                        return;
+                    }
+                    service.getObject(monFile.getPath(), offset, length, stream);
+                });
     }
 
     @Override
     public boolean removeBatchByIds(Collection<?> list) {
-        syncDeleteWithOSS(LongUtil.toLongList(list));
-        return super.removeBatchByIds(list, true);
+        return syncDeleteWithOSS(LongUtil.toLongList(list), () -> super.removeBatchByIds(list, true));
     }
 
     @Override
     public void syncDeleteWithOSS(List<Long> ids) {
-        if (Boolean.FALSE.equals(properties.getSyncDelete())) return;
+        syncDeleteWithOSS(ids, () -> true);
+    }
+
+    /**
+     * 删除文件记录并同步删除不再被引用的存储对象
+     * <p>
+     * 引用判断、删除文件记录在内容哈希锁内完成，存储对象在事务提交后、锁释放前删除，
+     * 与上传复用互斥，不会删除刚被复用的存储对象，并发删除同一内容的文件时也不会遗漏存储对象
+     * </p>
+     *
+     * @param ids           IDs 集合
+     * @param removeRecords 删除文件记录
+     * @return {@link Boolean} 删除文件记录结果
+     * @author payne.zhuang
+     * @CreateTime 2026-10-17 - 14:36:28
+     */
+    private boolean syncDeleteWithOSS(List<Long> ids, BooleanSupplier removeRecords) {
+        if (Boolean.FALSE.equals(properties.getSyncDelete()) || CollectionUtils.isEmpty(ids)) {
+            return removeRecords.getAsBoolean();
+        }
         // 如果 oss 需要同步删除，则进行查询文件路径，再进行删除动作
-        LambdaQueryWrapper<MonFile> queryWrapper = new LambdaQueryWrapper<MonFile>().in(MonFile::getId, ids);
+        LambdaQueryWrapper<MonFile> queryWrapper = new LambdaQueryWrapper<MonFile>()
+                .select(MonFile::getId, MonFile::getPath, MonFile::getContentHash)
+                .in(MonFile::getId, ids);
         List<MonFile> monFiles = baseMapper.selectList(queryWrapper);
-        List<String> filePaths = monFiles.stream().map(MonFile::getPath).toList();
-        ossManager.service().removeFiles(filePaths);
+        Set<String> contentHashes = monFiles.stream().map(MonFile::getContentHash)
+                .filter(ObjectUtils::isNotEmpty).collect(Collectors.toSet());
+        return fileContentLock.execute(contentHashes, () -> {
+            boolean removed = removeRecords.getAsBoolean();
+            // 存储对象仍被其他文件记录引用时不删除，最后一个引用删除时才删除存储对象
+            Set<String> referencedPaths = contentHashes.isEmpty() ? Set.of() : baseMapper.selectList(new LambdaQueryWrapper<MonFile>()
+                            .select(MonFile::getPath)
+                            .in(MonFile::getContentHash, contentHashes)
+                            .notIn(MonFile::getId, ids))
+                    .stream().map(MonFile::getPath).collect(Collectors.toSet());
+            List<String> filePaths = monFiles.stream().map(MonFile::getPath)
+                    .filter(path -> !referencedPaths.contains(path)).distinct().toList();
+            if (!filePaths.isEmpty()) {
+                afterCommit(() -> {
+                    ossManager.service().removeFiles(filePaths);
+                    filePreviewCache.invalidate(filePaths);
+                });
+            }
+            return removed;
+        });
+    }
+
+    /**
+     * 在当前事务提交后执行，无事务时立即执行
+     *
+     * @param action 执行逻辑
+     * @author payne.zhuang
+     * @CreateTime 2026-10-17 - 14:38:05
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * 计算文件内容 SHA-256，流式读取，不在内存中保存完整文件
+     *
+     * @param file 文件
+     * @return {@link String } 文件内容 SHA-256
+     * @author payne.zhuang
+     * @CreateTime 2026-01-12 - 09:24:36
+     */
+    private String contentHash(MultipartFile file) throws IOException {
+        try (HashingInputStream stream = new HashingInputStream(Hashing.sha256(), file.getInputStream())) {
+            stream.transferTo(OutputStream.nullOutputStream());
+            return stream.hash().toString();
+        }
+    }
+
+    /**
+     * 根据内容哈希查找当前存储位置中可复用的文件，存储对象已不存在时视为未找到
+     *
+     * @param contentHash 文件内容 SHA-256
+     * @param length      文件大小
+     * @return {@link MonFile } 可复用的文件，未找到时返回 null
+     * @author payne.zhuang
+     * @CreateTime 2026-01-12 - 09:27:12
+     */
+    private MonFile findByContentHash(String contentHash, long length) {
+        LambdaQueryWrapper<MonFile> queryWrapper = new LambdaQueryWrapper<MonFile>()
+                .eq(MonFile::getContentHash, contentHash)
+                .eq(MonFile::getLength, length)
+                .eq(MonFile::getLocation, OssEnum.code(properties.getName()))
+                .last("limit 1");
+        MonFile existing = baseMapper.selectOne(queryWrapper);
+        if (existing == null) {
+            return null;
+        }
+        try {
+            ossManager.service().stat(existing.getPath());
+            return existing;
+        } catch (OSSException e) {
+            log.warn("[MonFile] 存储对象已不存在, 重新上传, path={}", existing.getPath());
+            return null;
+        }
+    }
+
+    /**
+     * 保存文件信息
+     *
+     * @param file        文件
+     * @param ossFile     OSS 文件
+     * @param contentHash 文件内容 SHA-256
+     * @return {@link Boolean} 保存结果
+     * @author payne.zhuang
+     * @CreateTime 2026-10-17 - 14:31:47
+     */
+    private boolean save(MultipartFile file, OssFile ossFile, String contentHash) {
+        MonFile monFile = of(file, ossFile);
+        monFile.setContentHash(contentHash);
+        return super.save(monFile);
     }
 
     /**
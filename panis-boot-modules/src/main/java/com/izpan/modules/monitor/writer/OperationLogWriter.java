@@ -0,0 +1,390 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.modules.monitor.writer;
+
+import com.izpan.infrastructure.domain.BaseEntity;
+import com.izpan.infrastructure.util.TimerUtil;
+import com.izpan.modules.monitor.domain.entity.MonLogsError;
+import com.izpan.modules.monitor.domain.entity.MonLogsOperation;
+import com.izpan.modules.monitor.repository.mapper.MonLogsErrorMapper;
+import com.izpan.modules.monitor.repository.mapper.MonLogsOperationMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 操作/错误异常日志异步批量写入器
+ * <p>
+ * 请求线程只负责入队，由独立的写入线程批量落库：<br>
+ * 1. 队列为无锁的 {@link ConcurrentLinkedQueue}，容量由原子计数器约束，满时按 {@link OperationLogWriterProperties.OverflowPolicy} 处理 <br>
+ * 2. 写入线程攒满 batchSize 或等待 linger 后，按日志类型以多行 INSERT 批量写入 <br>
+ * 3. 应用停止时（晚于 Web 服务器优雅停机）写完队列中剩余日志，停止后的日志同步写入
+ * </p>
+ * <p>
+ * 写入线程无登录上下文，创建人、创建时间需在入队前由调用方填充
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.modules.monitor.writer.OperationLogWriter
+ * @CreateTime 2025-12-25 - 10:20:08
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(OperationLogWriterProperties.class)
+public class OperationLogWriter implements SmartLifecycle {
+
+    /**
+     * 写入线程名称
+     */
+    private static final String THREAD_NAME = "operation-log-writer";
+
+    /**
+     * 生命周期阶段，晚于 Web 服务器优雅停机（DEFAULT_PHASE - 1024）停止，保证在途请求的日志已入队
+     */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    /**
+     * BLOCK 策略下每次让出 CPU 的时间
+     */
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    /**
+     * DROP_OLDEST 策略下的最大重试次数，写入线程已取走日志但尚未释放位置时短暂自旋，超过后丢弃当前日志
+     */
+    private static final int DROP_OLDEST_MAX_RETRIES = 8;
+
+    private final OperationLogWriterProperties properties;
+
+    private final MonLogsOperationMapper monLogsOperationMapper;
+
+    private final MonLogsErrorMapper monLogsErrorMapper;
+
+    /**
+     * 日志队列
+     */
+    private final ConcurrentLinkedQueue<BaseEntity> queue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 队列深度（含已占位尚未入队的日志）
+     */
+    private final AtomicInteger depth = new AtomicInteger();
+
+    private final LongAdder enqueuedCount = new LongAdder();
+
+    private final LongAdder droppedCount = new LongAdder();
+
+    private final LongAdder sampledCount = new LongAdder();
+
+    private final LongAdder flushedCount = new LongAdder();
+
+    private final LongAdder failedCount = new LongAdder();
+
+    private final LongAdder flushBatchCount = new LongAdder();
+
+    private final LongAdder totalFlushMillis = new LongAdder();
+
+    private final AtomicLong lastFlushMillis = new AtomicLong();
+
+    private final AtomicLong maxFlushMillis = new AtomicLong();
+
+    private volatile boolean running;
+
+    private volatile Thread writerThread;
+
+    /**
+     * 写入日志，写入器未运行时同步写入
+     *
+     * @param entity 操作日志 {@link MonLogsOperation} 或错误异常日志 {@link MonLogsError}
+     * @author payne.zhuang
+     * @CreateTime 2025-12-25 - 10:26:31
+     */
+    public void write(BaseEntity entity) {
+        if (!running) {
+            flush(List.of(entity));
+            return;
+        }
+        if (!admit(entity)) {
+            return;
+        }
+        queue.offer(entity);
+        enqueuedCount.increment();
+        if (depth.get() >= properties.getBatchSize()) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    /**
+     * 获取写入指标快照
+     *
+     * @return {@link Metrics} 指标快照
+     * @author payne.zhuang
+     * @CreateTime 2025-12-25 - 10:28:54
+     */
+    public Metrics metrics() {
+        return new Metrics(depth.get(), properties.getQueueCapacity(), enqueuedCount.sum(), droppedCount.sum(),
+                sampledCount.sum(), flushedCount.sum(), failedCount.sum(), flushBatchCount.sum(),
+                totalFlushMillis.sum(), lastFlushMillis.get(), maxFlushMillis.get());
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writerThread = Thread.ofPlatform().name(THREAD_NAME).daemon(true).start(this::drainLoop);
+        log.info("[OperationLog] 异步写入器已启动, 容量={}, 批量={}, 等待={}ms, 溢出策略={}", properties.getQueueCapacity(),
+                properties.getBatchSize(), properties.getLinger().toMillis(), properties.getOverflowPolicy());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writerThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(properties.getShutdownTimeout().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // 写入线程超时或停止后才入队的日志由当前线程写完
+        List<BaseEntity> batch = new ArrayList<>(properties.getBatchSize());
+        while (drainTo(batch) > 0) {
+            flush(batch);
+            batch.clear();
+        }
+        log.info("[OperationLog] 异步写入器已停止, 指标={}", metrics());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * 写入线程主循环：未攒满一批时等待 linger，停止后写完剩余日志再退出
+     */
+    private void drainLoop() {
+        long lingerNanos = properties.getLinger().toNanos();
+        List<BaseEntity> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            if (running && depth.get() < properties.getBatchSize()) {
+                LockSupport.parkNanos(this, lingerNanos);
+            }
+            if (drainTo(batch) > 0) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 从队列取出至多 batchSize 条日志
+     *
+     * @param batch 批次容器
+     * @return 取出数量
+     */
+    private int drainTo(List<BaseEntity> batch) {
+        int batchSize = properties.getBatchSize();
+        BaseEntity entity;
+        while (batch.size() < batchSize && (entity = queue.poll()) != null) {
+            depth.decrementAndGet();
+            batch.add(entity);
+        }
+        return batch.size();
+    }
+
+    /**
+     * 按溢出策略判断日志能否入队，能入队时占用一个队列位置
+     *
+     * @param entity 日志
+     * @return true 可入队，false 已丢弃
+     */
+    private boolean admit(BaseEntity entity) {
+        return switch (properties.getOverflowPolicy()) {
+            case BLOCK -> reserveOrBlock();
+            case DROP_OLDEST -> reserveOrDropOldest();
+            case SAMPLE -> reserveOrSample(entity);
+        };
+    }
+
+    /**
+     * 阻塞等待空位，超时后丢弃
+     */
+    private boolean reserveOrBlock() {
+        long deadline = System.nanoTime() + properties.getBlockTimeout().toNanos();
+        while (!tryReserve()) {
+            if (System.nanoTime() - deadline >= 0) {
+                droppedCount.increment();
+                return false;
+            }
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * 丢弃最早的日志并复用其队列位置
+     */
+    private boolean reserveOrDropOldest() {
+        for (int retry = 0; retry < DROP_OLDEST_MAX_RETRIES; retry++) {
+            if (tryReserve()) {
+                return true;
+            }
+            if (queue.poll() != null) {
+                droppedCount.increment();
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+        droppedCount.increment();
+        return false;
+    }
+
+    /**
+     * 达到水位后按比例采样操作日志，队列满时丢弃
+     */
+    private boolean reserveOrSample(BaseEntity entity) {
+        int watermark = (int) (properties.getQueueCapacity() * properties.getSampleWatermark());
+        if (!(entity instanceof MonLogsError) && depth.get() >= watermark
+                && ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()) {
+            sampledCount.increment();
+            return false;
+        }
+        if (tryReserve()) {
+            return true;
+        }
+        droppedCount.increment();
+        return false;
+    }
+
+    /**
+     * 尝试占用一个队列位置
+     *
+     * @return true 占用成功，false 队列已满
+     */
+    private boolean tryReserve() {
+        int capacity = properties.getQueueCapacity();
+        int current;
+        do {
+            current = depth.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!depth.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * 按日志类型批量写入
+     *
+     * @param batch 日志批次
+     */
+    private void flush(List<BaseEntity> batch) {
+        TimerUtil.Timer timer = TimerUtil.start();
+        List<MonLogsOperation> operations = new ArrayList<>(batch.size());
+        List<MonLogsError> errors = new ArrayList<>();
+        for (BaseEntity entity : batch) {
+            if (entity instanceof MonLogsError error) {
+                errors.add(error);
+            } else if (entity instanceof MonLogsOperation operation) {
+                operations.add(operation);
+            }
+        }
+        insertBatch(operations, monLogsOperationMapper::insertBatch);
+        insertBatch(errors, monLogsErrorMapper::insertBatch);
+
+        long duration = timer.duration();
+        flushBatchCount.increment();
+        totalFlushMillis.add(duration);
+        lastFlushMillis.set(duration);
+        maxFlushMillis.accumulateAndGet(duration, Math::max);
+        log.debug("[OperationLog] 批量写入完成, 操作日志={}, 异常日志={}, 耗时={}ms, 队列深度={}",
+                operations.size(), errors.size(), duration, depth.get());
+    }
+
+    /**
+     * 批量写入单一类型的日志，失败时记录并丢弃该批次
+     *
+     * @param entities 日志列表
+     * @param inserter 批量写入方法
+     */
+    private <T extends BaseEntity> void insertBatch(List<T> entities, Consumer<List<T>> inserter) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        try {
+            inserter.accept(entities);
+            flushedCount.add(entities.size());
+        } catch (Exception e) {
+            failedCount.add(entities.size());
+            log.error("[OperationLog] 批量写入失败, 数量={}, 错误={}", entities.size(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 写入指标快照
+     *
+     * @param queueDepth       当前队列深度
+     * @param queueCapacity    队列容量
+     * @param enqueued         累计入队数
+     * @param dropped          累计因队列满丢弃数
+     * @param sampled          累计因采样丢弃数
+     * @param flushed          累计写入成功数
+     * @param failed           累计写入失败数
+     * @param flushBatches     累计批量写入次数
+     * @param totalFlushMillis 累计批量写入耗时（毫秒）
+     * @param lastFlushMillis  最近一次批量写入耗时（毫秒）
+     * @param maxFlushMillis   最大批量写入耗时（毫秒）
+     */
+    public record Metrics(int queueDepth, int queueCapacity, long enqueued, long dropped, long sampled,
+                          long flushed, long failed, long flushBatches, long totalFlushMillis,
+                          long lastFlushMillis, long maxFlushMillis) {
+
+        /**
+         * 批量写入平均耗时（毫秒），尚未写入时为 0
+         *
+         * @return 平均耗时
+         */
+        public double avgFlushMillis() {
+            return flushBatches == 0 ? 0 : (double) totalFlushMillis / flushBatches;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.modules.monitor.writer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 操作/错误异常日志异步写入配置属性
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.modules.monitor.writer.OperationLogWriterProperties
+ * @CreateTime 2025-12-25 - 10:12:40
+ */
+@Data
+@ConfigurationProperties(prefix = "operation-log")
+public class OperationLogWriterProperties {
+
+    /**
+     * 队列容量，超过后按 overflowPolicy 处理
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * 单次批量写入的最大条数
+     */
+    private int batchSize = 200;
+
+    /**
+     * 未攒满一批时的最长等待时间
+     */
+    private Duration linger = Duration.ofMillis(500);
+
+    /**
+     * 队列满时的处理策略
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    /**
+     * BLOCK 策略下请求线程的最长等待时间，超时后丢弃
+     */
+    private Duration blockTimeout = Duration.ofMillis(100);
+
+    /**
+     * SAMPLE 策略下队列深度达到水位后操作日志的采样率，异常日志不参与采样
+     */
+    private double sampleRate = 0.1;
+
+    /**
+     * SAMPLE 策略开始采样的队列水位（占容量的比例）
+     */
+    private double sampleWatermark = 0.8;
+
+    /**
+     * 应用停止时等待队列写完的最长时间
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    /**
+     * 队列满时的处理策略
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * 阻塞请求线程直到有空位或超时
+         */
+        BLOCK,
+
+        /**
+         * 丢弃队列中最早的日志
+         */
+        DROP_OLDEST,
+
+        /**
+         * 达到水位后按比例采样操作日志，队列满时丢弃
+         */
+        SAMPLE
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.modules.system.cache;
+
+import cn.dev33.satoken.util.SaFoxUtil;
+import com.izpan.common.pool.StringPools;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 编译后的用户权限集合
+ * <p>
+ * 多个角色的权限资源合并去重后编译为不可变的查找结构，权限校验不再逐条遍历：<br>
+ * 1. 全部权限编码放入哈希集合，精确匹配 O(1) <br>
+ * 2. 仅以 * 结尾的通配权限（如 sys:user:*）放入前缀树，匹配耗时只与被校验权限编码长度相关 <br>
+ * 3. 其余通配权限（* 出现在中间）数量极少，保留 Sa-Token 原有的模糊匹配逻辑
+ * </p>
+ * <p>
+ * 本身实现 {@link List}，可直接作为 {@code StpInterface#getPermissionList} 的返回值，
+ * 配合 {@link PermissionSetCache} 注册的匹配策略生效
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.modules.system.cache.CompiledPermissionSet
+ * @CreateTime 2025-12-31 - 09:20:05
+ */
+public final class CompiledPermissionSet extends AbstractList<String> {
+
+    private static final String WILDCARD = StringPools.ASTERISK;
+
+    /**
+     * 去重后的全部权限编码，保持原有顺序
+     */
+    private final String[] permissions;
+
+    /**
+     * 全部权限编码，用于精确匹配
+     */
+    private final Set<String> exact;
+
+    /**
+     * 以 * 结尾的通配权限前缀树
+     */
+    private final Node prefixRoot;
+
+    /**
+     * 其他通配权限
+     */
+    private final String[] patterns;
+
+    private CompiledPermissionSet(Collection<String> permissions) {
+        Set<String> distinct = new LinkedHashSet<>(permissions);
+        distinct.remove(null);
+        List<String> patternList = new ArrayList<>();
+        Node root = new Node();
+        for (String permission : distinct) {
+            int wildcard = permission.indexOf(WILDCARD);
+            if (wildcard < 0) {
+                continue;
+            }
+            if (wildcard == permission.length() - 1) {
+                root.insert(permission, wildcard);
+            } else {
+                patternList.add(permission);
+            }
+        }
+        this.permissions = distinct.toArray(String[]::new);
+        this.exact = Set.copyOf(distinct);
+        this.prefixRoot = root;
+        this.patterns = patternList.toArray(String[]::new);
+    }
+
+    /**
+     * 编译权限集合
+     *
+     * @param permissions 权限资源集合，可包含重复项
+     * @return {@link CompiledPermissionSet} 编译后的权限集合
+     * @author payne.zhuang
+     * @CreateTime 2025-12-31 - 09:24:18
+     */
+    public static CompiledPermissionSet compile(Collection<String> permissions) {
+        return new CompiledPermissionSet(permissions);
+    }
+
+    /**
+     * 判断是否拥有指定权限，语义与 Sa-Token 默认的 list.contains + 模糊匹配一致
+     *
+     * @param permission 被校验的权限编码
+     * @return true 拥有，false 未拥有
+     * @author payne.zhuang
+     * @CreateTime 2025-12-31 - 09:26:41
+     */
+    public boolean has(String permission) {
+        if (permission == null) {
+            return false;
+        }
+        if (exact.contains(permission) || prefixRoot.matchesPrefixOf(permission)) {
+            return true;
+        }
+        for (String pattern : patterns) {
+            if (SaFoxUtil.vagueMatch(pattern, permission)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String get(int index) {
+        return permissions[index];
+    }
+
+    @Override
+    public int size() {
+        return permissions.length;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof String permission && exact.contains(permission);
+    }
+
+    /**
+     * 前缀树节点，构建完成后不再修改
+     */
+    private static final class Node {
+
+        private final Map<Character, Node> children = new HashMap<>();
+
+        /**
+         * 是否为某个通配权限前缀的结尾
+         */
+        private boolean terminal;
+
+        private void insert(String permission, int length) {
+            Node node = this;
+            for (int i = 0; i < length; i++) {
+                node = node.children.computeIfAbsent(permission.charAt(i), c -> new Node());
+            }
+            node.terminal = true;
+        }
+
+        private boolean matchesPrefixOf(String permission) {
+            Node node = this;
+            for (int i = 0; ; i++) {
+                if (node.terminal) {
+                    return true;
+                }
+                if (i == permission.length()) {
+                    return false;
+                }
+                node = node.children.get(permission.charAt(i));
+                if (node == null) {
+                    return false;
+                }
+            }
+        }
+    }
+}
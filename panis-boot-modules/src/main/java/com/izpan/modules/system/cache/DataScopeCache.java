@@ -0,0 +1,340 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.modules.system.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.izpan.common.constants.SystemCacheConstant;
+import com.izpan.common.pool.StringPools;
+import com.izpan.infrastructure.util.RedisUtil;
+import com.izpan.starter.database.mybatis.plus.domain.DataScope;
+import com.izpan.starter.database.mybatis.plus.template.DataScopeConditionPlan;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 数据权限计算结果二级缓存
+ * <p>
+ * 按 (用户 ID, 权限编码) 缓存已解析的 {@link DataScope}（权限类型、用户 ID 集合、未绑定变量的自定义条件及其编译计划）： <br>
+ * 1. L1：进程内 Caffeine 缓存，命中时仅为一次哈希查找 <br>
+ * 2. L2：Redis Hash（key 为用户，field 为权限编码），供集群节点共享及重启后预热 <br>
+ * 3. 失效由 {@link com.izpan.infrastructure.event.DataScopeCacheInvalidateEvent} 事件精确驱动，
+ * 本节点清理两级缓存后通过 {@link SystemCacheConstant#SYSTEM_DATA_SCOPE_USER_CHANNEL} 广播，其他节点收到后清理 L1；
+ * L1 设置较短过期时间，兜底订阅断开期间丢失的广播
+ * </p>
+ * <p>
+ * 回源加载前登记加载标识，失效时先撤销匹配的加载标识再清理缓存，加载期间发生失效时只返回结果不回填
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.modules.system.cache.DataScopeCache
+ * @CreateTime 2025-12-22 - 10:20:16
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DataScopeCache implements MessageListener, InitializingBean {
+
+    /**
+     * L1 本地缓存最大条目数
+     */
+    private static final long LOCAL_MAXIMUM_SIZE = 10_000L;
+
+    /**
+     * L1 本地缓存过期时间
+     */
+    private static final Duration LOCAL_EXPIRE = Duration.ofMinutes(5);
+
+    /**
+     * L2 Redis 缓存过期时间（秒），与数据权限配置缓存保持一致为 60 分钟
+     */
+    private static final long REDIS_EXPIRE_SECONDS = Duration.ofMinutes(60).toSeconds();
+
+    private static final String SEPARATOR = "\n";
+
+    /**
+     * 广播类型：按用户 ID 失效
+     */
+    private static final String EVICT_USER = "U";
+
+    /**
+     * 广播类型：按权限编码失效
+     */
+    private static final String EVICT_PERMISSION = "P";
+
+    /**
+     * 广播类型：全部失效
+     */
+    private static final String EVICT_ALL = "A";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    /**
+     * L1 本地缓存
+     */
+    private final Cache<CacheKey, DataScope> localCache = Caffeine.newBuilder()
+            .maximumSize(LOCAL_MAXIMUM_SIZE)
+            .expireAfterWrite(LOCAL_EXPIRE)
+            .build();
+
+    /**
+     * 正在回源加载的 Key 及其加载标识，失效时移除，加载完成后标识不一致则不回填
+     */
+    private final ConcurrentMap<CacheKey, Object> loadingTokens = new ConcurrentHashMap<>();
+
+    /**
+     * 当前节点标识，用于忽略自己发出的广播
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * 订阅失效广播
+     *
+     * @author payne.zhuang
+     * @CreateTime 2026-10-17 - 15:10:26
+     */
+    @Override
+    public void afterPropertiesSet() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(SystemCacheConstant.SYSTEM_DATA_SCOPE_USER_CHANNEL));
+    }
+
+    /**
+     * 获取数据权限，依次查找 L1、L2，均未命中时调用 loader 计算并回填
+     * <p>
+     * loader 返回 null 时不缓存，用于异常降级等不应缓存的场景
+     * </p>
+     *
+     * @param userId         用户 ID
+     * @param permissionCode 权限编码
+     * @param loader         数据权限计算逻辑
+     * @return {@link DataScope} 数据权限，可能为 null
+     * @author payne.zhuang
+     * @CreateTime 2025-12-22 - 10:26:42
+     */
+    public DataScope get(Long userId, String permissionCode, Supplier<DataScope> loader) {
+        CacheKey cacheKey = new CacheKey(userId, permissionCode);
+        DataScope dataScope = localCache.getIfPresent(cacheKey);
+        if (dataScope != null) {
+            return dataScope;
+        }
+
+        Object token = new Object();
+        loadingTokens.put(cacheKey, token);
+        try {
+            return load(cacheKey, () -> loadingTokens.get(cacheKey) == token, loader);
+        } finally {
+            loadingTokens.remove(cacheKey, token);
+        }
+    }
+
+    /**
+     * 依次从 L2、loader 加载并回填，加载期间 Key 已失效时只返回结果不回填
+     *
+     * @param cacheKey 缓存 Key
+     * @param current  加载标识是否仍有效
+     * @param loader   数据权限计算逻辑
+     * @return {@link DataScope} 数据权限，可能为 null
+     * @author payne.zhuang
+     * @CreateTime 2026-10-17 - 15:14:52
+     */
+    private DataScope load(CacheKey cacheKey, BooleanSupplier current, Supplier<DataScope> loader) {
+        String redisKey = SystemCacheConstant.dataScopeUserKey(cacheKey.userId());
+        if (RedisUtil.hmGet(redisKey, cacheKey.permissionCode()) instanceof DataScope redisDataScope) {
+            log.debug("[DataScope] 用户ID={} 权限码={} - L2 缓存命中", cacheKey.userId(), cacheKey.permissionCode());
+            return cacheLocal(cacheKey, withConditionPlan(redisDataScope), current);
+        }
+
+        DataScope dataScope = loader.get();
+        if (dataScope == null || !current.getAsBoolean()) {
+            return dataScope;
+        }
+        RedisUtil.hmSetAndTime(redisKey, cacheKey.permissionCode(), dataScope, REDIS_EXPIRE_SECONDS);
+        if (!current.getAsBoolean()) {
+            // 写入 L2 期间 Key 被失效，撤销本次写入，由下次读取重新计算
+            RedisUtil.hmDel(redisKey, cacheKey.permissionCode());
+            return dataScope;
+        }
+        return cacheLocal(cacheKey, withConditionPlan(dataScope), current);
+    }
+
+    /**
+     * 写入 L1，与失效操作在同一 Key 上互斥，Key 已失效时保留现有条目
+     */
+    private DataScope cacheLocal(CacheKey cacheKey, DataScope dataScope, BooleanSupplier current) {
+        localCache.asMap().compute(cacheKey, (key, existing) -> current.getAsBoolean() ? dataScope : existing);
+        return dataScope;
+    }
+
+    /**
+     * 补全自定义条件编译计划
+     * <p>
+     * 编译计划不参与序列化，从 Redis 加载的对象需在放入 L1 前编译，
+     * 放入 L1 的对象为共享只读对象，此后不再修改
+     * </p>
+     *
+     * @param dataScope 数据权限
+     * @return {@link DataScope} 含编译计划的数据权限
+     * @author payne.zhuang
+     * @CreateTime 2026-10-17 - 10:12:36
+     */
+    private static DataScope withConditionPlan(DataScope dataScope) {
+        if (CollectionUtils.isEmpty(dataScope.getCustomConditions()) || dataScope.getCustomConditionPlan() != null) {
+            return dataScope;
+        }
+        return dataScope.toBuilder()
+                .customConditionPlan(DataScopeConditionPlan.compile(dataScope.getCustomConditions()))
+                .build();
+    }
+
+    /**
+     * 按用户 ID 清理缓存
+     *
+     * @param userIds 用户 ID 集合
+     * @author payne.zhuang
+     * @CreateTime 2025-12-22 - 10:31:05
+     */
+    public void evictByUserIds(Collection<Long> userIds) {
+        if (CollectionUtils.isEmpty(userIds)) {
+            return;
+        }
+        Set<Long> userIdSet = Set.copyOf(userIds);
+        evictLocal(key -> userIdSet.contains(key.userId()));
+        RedisUtil.unlink(userIdSet.stream().map(SystemCacheConstant::dataScopeUserKey).toList());
+        publish(EVICT_USER, userIdSet.stream().map(String::valueOf).collect(Collectors.joining(SEPARATOR)));
+    }
+
+    /**
+     * 按权限编码清理缓存
+     *
+     * @param permissionCodes 权限编码集合
+     * @author payne.zhuang
+     * @CreateTime 2025-12-22 - 10:33:47
+     */
+    public void evictByPermissionCodes(Collection<String> permissionCodes) {
+        if (CollectionUtils.isEmpty(permissionCodes)) {
+            return;
+        }
+        Set<String> permissionCodeSet = Set.copyOf(permissionCodes);
+        evictLocal(key -> permissionCodeSet.contains(key.permissionCode()));
+        Object[] fields = permissionCodeSet.toArray();
+        scanUserKeys().forEach(redisKey -> RedisUtil.hmDel(redisKey, fields));
+        publish(EVICT_PERMISSION, String.join(SEPARATOR, permissionCodeSet));
+    }
+
+    /**
+     * 清理全部缓存
+     *
+     * @author payne.zhuang
+     * @CreateTime 2025-12-22 - 10:35:19
+     */
+    public void evictAll() {
+        evictLocal(key -> true);
+        Set<String> redisKeys = scanUserKeys();
+        if (!redisKeys.isEmpty()) {
+            RedisUtil.unlink(redisKeys);
+        }
+        publish(EVICT_ALL, null);
+    }
+
+    /**
+     * 处理其他节点的失效广播，格式：节点标识\n类型[\n用户 ID 或权限编码...]
+     *
+     * @param message 广播消息
+     * @param pattern 订阅频道
+     * @author payne.zhuang
+     * @CreateTime 2026-10-17 - 15:20:38
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] lines = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR);
+        if (lines.length < 2 || nodeId.equals(lines[0])) {
+            return;
+        }
+        Set<String> values = Set.copyOf(Arrays.asList(lines).subList(2, lines.length));
+        switch (lines[1]) {
+            case EVICT_USER -> evictLocal(key -> values.contains(String.valueOf(key.userId())));
+            case EVICT_PERMISSION -> evictLocal(key -> values.contains(key.permissionCode()));
+            case EVICT_ALL -> evictLocal(key -> true);
+            default -> log.warn("[DataScope] 未知的失效广播类型: {}", lines[1]);
+        }
+    }
+
+    /**
+     * 清理本节点 L1，先撤销匹配的加载标识，正在进行的加载不再回填
+     *
+     * @param predicate 匹配条件
+     */
+    private void evictLocal(Predicate<CacheKey> predicate) {
+        loadingTokens.keySet().removeIf(predicate);
+        localCache.asMap().keySet().removeIf(predicate);
+    }
+
+    private void publish(String type, String values) {
+        String message = nodeId + SEPARATOR + type + (values == null ? "" : SEPARATOR + values);
+        try {
+            stringRedisTemplate.convertAndSend(SystemCacheConstant.SYSTEM_DATA_SCOPE_USER_CHANNEL, message);
+        } catch (Exception e) {
+            // 广播失败不影响本节点，其他节点由 L1 过期时间兜底
+            log.warn("[DataScope] 数据权限缓存失效广播失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 扫描所有用户数据权限缓存 Key
+     *
+     * @return {@link Set} 缓存 Key 集合
+     */
+    private Set<String> scanUserKeys() {
+        return RedisUtil.getKeysByPrefix(SystemCacheConstant.SYSTEM_DATA_SCOPE_USER + StringPools.DOUBLE_COLON + StringPools.ASTERISK);
+    }
+
+    /**
+     * L1 缓存 Key
+     *
+     * @param userId         用户 ID
+     * @param permissionCode 权限编码
+     */
+    private record CacheKey(Long userId, String permissionCode) {
+    }
+}
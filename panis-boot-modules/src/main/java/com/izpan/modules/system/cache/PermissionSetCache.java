@@ -0,0 +1,134 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.modules.system.cache;
+
+import cn.dev33.satoken.fun.strategy.SaHasElementFunction;
+import cn.dev33.satoken.strategy.SaStrategy;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 用户权限集合本地缓存
+ * <p>
+ * 按排序后的角色 ID 集合缓存 {@link CompiledPermissionSet}，拥有相同角色的用户共享同一份：<br>
+ * 1. 条目记录编译时的 {@link RbacCacheVersion} 版本签名，本地版本号未发生变更且在校验间隔内时直接返回 <br>
+ * 2. 超过校验间隔或版本号发生变更（含其他节点广播）时，按本地版本号重新计算签名，一致则续期，不一致则重新编译 <br>
+ * 3. 其他节点修改角色权限后，收到广播即生效，广播丢失时由本地版本号过期时间兜底
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.modules.system.cache.PermissionSetCache
+ * @CreateTime 2025-12-31 - 09:35:27
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PermissionSetCache implements InitializingBean {
+
+    /**
+     * 本地缓存最大条目数（角色组合数）
+     */
+    private static final long LOCAL_MAXIMUM_SIZE = 10_000L;
+
+    /**
+     * 本地缓存未访问过期时间
+     */
+    private static final Duration LOCAL_EXPIRE = Duration.ofMinutes(30);
+
+    /**
+     * 版本签名校验间隔
+     */
+    private static final long REVALIDATE_INTERVAL_NANOS = Duration.ofSeconds(5).toNanos();
+
+    private final RbacCacheVersion rbacCacheVersion;
+
+    private final Cache<List<Long>, Entry> localCache = Caffeine.newBuilder()
+            .maximumSize(LOCAL_MAXIMUM_SIZE)
+            .expireAfterAccess(LOCAL_EXPIRE)
+            .build();
+
+    /**
+     * 注册 Sa-Token 权限匹配策略，权限列表为 {@link CompiledPermissionSet} 时走编译后的查找结构，否则沿用默认策略
+     *
+     * @author payne.zhuang
+     * @CreateTime 2025-12-31 - 09:38:12
+     */
+    @Override
+    public void afterPropertiesSet() {
+        SaHasElementFunction defaultHasElement = SaStrategy.instance.hasElement;
+        SaStrategy.instance.setHasElement((list, element) -> list instanceof CompiledPermissionSet permissionSet
+                ? permissionSet.has(element)
+                : defaultHasElement.apply(list, element));
+    }
+
+    /**
+     * 获取角色集合编译后的权限集合
+     *
+     * @param roleIds 角色 ID 集合
+     * @param loader  单个角色的权限资源加载逻辑
+     * @return {@link CompiledPermissionSet} 编译后的权限集合
+     * @author payne.zhuang
+     * @CreateTime 2025-12-31 - 09:41:50
+     */
+    public CompiledPermissionSet get(Collection<Long> roleIds, Function<Long, List<String>> loader) {
+        List<Long> sortedRoleIds = roleIds.stream().distinct().sorted().toList();
+        Entry entry = localCache.getIfPresent(sortedRoleIds);
+        long now = System.nanoTime();
+        long epoch = rbacCacheVersion.localEpoch();
+        if (entry != null && entry.epoch() == epoch && now - entry.checkedAt() < REVALIDATE_INTERVAL_NANOS) {
+            return entry.permissions();
+        }
+
+        String signature = rbacCacheVersion.roleSetSignature(sortedRoleIds);
+        CompiledPermissionSet permissions;
+        if (entry != null && entry.signature().equals(signature)) {
+            permissions = entry.permissions();
+        } else {
+            List<String> resources = new ArrayList<>();
+            sortedRoleIds.forEach(roleId -> resources.addAll(loader.apply(roleId)));
+            permissions = CompiledPermissionSet.compile(resources);
+            log.debug("[Permission] 角色={} 权限集合已编译, 版本={}, 权限数={}", sortedRoleIds, signature, permissions.size());
+        }
+        localCache.put(sortedRoleIds, new Entry(permissions, signature, epoch, now));
+        return permissions;
+    }
+
+    /**
+     * 缓存条目
+     *
+     * @param permissions 编译后的权限集合
+     * @param signature   编译时的角色集合版本签名
+     * @param epoch       校验时的本节点版本号递增次数
+     * @param checkedAt   最近一次校验签名的时间
+     */
+    private record Entry(CompiledPermissionSet permissions, String signature, long epoch, long checkedAt) {
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.modules.system.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.izpan.common.constants.SystemCacheConstant;
+import com.izpan.common.pool.StringPools;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.CollectionUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 角色权限（RBAC）缓存版本号
+ * <p>
+ * 角色菜单、角色权限、用户路由等缓存 Key 中嵌入版本号，失效时只需递增版本号，旧版本的缓存不再被访问，由 TTL 自然过期：<br>
+ * 1. 全局版本号：菜单、按钮权限定义变更时递增，所有角色的缓存一并失效 <br>
+ * 2. 角色版本号：角色的菜单、按钮权限分配变更时递增，只失效该角色相关缓存
+ * </p>
+ * <p>
+ * 版本号在本地缓存，读取缓存 Key 时不访问 Redis：本节点递增后直接更新，
+ * 并通过 {@link SystemCacheConstant#SYSTEM_RBAC_VERSION_CHANNEL} 广播新版本号，其他节点收到后更新；
+ * 本地版本号设置较短过期时间，兜底订阅断开期间丢失的广播
+ * </p>
+ * <p>
+ * 版本号 Key 不设置过期时间，避免版本号归零后命中仍未过期的旧缓存
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.modules.system.cache.RbacCacheVersion
+ * @CreateTime 2025-12-30 - 09:18:33
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RbacCacheVersion implements MessageListener, InitializingBean {
+
+    /**
+     * 本地版本号最大条目数（角色数 + 1）
+     */
+    private static final long LOCAL_MAXIMUM_SIZE = 10_000L;
+
+    /**
+     * 本地版本号过期时间，过期后重新从 Redis 读取
+     */
+    private static final Duration LOCAL_EXPIRE = Duration.ofSeconds(30);
+
+    private static final String SEPARATOR = "\n";
+
+    private static final String VERSION_SEPARATOR = "=";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    /**
+     * 本地版本号，Key 为版本号 Redis Key
+     */
+    private final Cache<String, Long> localVersions = Caffeine.newBuilder()
+            .maximumSize(LOCAL_MAXIMUM_SIZE)
+            .expireAfterWrite(LOCAL_EXPIRE)
+            .build();
+
+    /**
+     * 当前节点标识，用于忽略自己发出的广播
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * 本节点版本号变更次数（含其他节点广播），供本地缓存判断是否发生过失效而无需访问 Redis
+     */
+    private final AtomicLong localEpoch = new AtomicLong();
+
+    /**
+     * 订阅版本号变更广播
+     *
+     * @author payne.zhuang
+     * @CreateTime 2026-10-17 - 11:24:05
+     */
+    @Override
+    public void afterPropertiesSet() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(SystemCacheConstant.SYSTEM_RBAC_VERSION_CHANNEL));
+    }
+
+    /**
+     * 获取带版本号的角色缓存 Key，供 {@code @Cacheable} 的 key 表达式及手动写缓存使用
+     *
+     * @param roleId 角色 ID
+     * @return {@link String} roleId:v全局版本号.角色版本号
+     * @author payne.zhuang
+     * @CreateTime 2025-12-30 - 09:22:16
+     */
+    public String roleCacheKey(Long roleId) {
+        String versionKey = SystemCacheConstant.rbacVersionKey();
+        String roleVersionKey = SystemCacheConstant.rbacRoleVersionKey(roleId);
+        Map<String, Long> versions = versions(List.of(versionKey, roleVersionKey));
+        return roleId + ":v" + versions.get(versionKey) + StringPools.DOT + versions.get(roleVersionKey);
+    }
+
+    /**
+     * 获取角色集合的版本签名，本地未缓存的版本号一次批量读取
+     *
+     * @param roleIds 已排序去重的角色 ID 集合
+     * @return {@link String} v全局版本号|角色ID.角色版本号,...
+     * @author payne.zhuang
+     * @CreateTime 2025-12-30 - 09:24:40
+     */
+    public String roleSetSignature(List<Long> roleIds) {
+        List<String> keys = new ArrayList<>(roleIds.size() + 1);
+        keys.add(SystemCacheConstant.rbacVersionKey());
+        roleIds.forEach(roleId -> keys.add(SystemCacheConstant.rbacRoleVersionKey(roleId)));
+        Map<String, Long> versions = versions(keys);
+        StringBuilder signature = new StringBuilder("v").append(versions.get(keys.get(0))).append('|');
+        for (int i = 0; i < roleIds.size(); i++) {
+            if (i > 0) {
+                signature.append(StringPools.COMMA);
+            }
+            signature.append(roleIds.get(i)).append(StringPools.DOT).append(versions.get(keys.get(i + 1)));
+        }
+        return signature.toString();
+    }
+
+    /**
+     * 获取本节点版本号变更次数
+     *
+     * @return 本节点版本号变更次数
+     * @author payne.zhuang
+     * @CreateTime 2025-12-31 - 09:12:40
+     */
+    public long localEpoch() {
+        return localEpoch.get();
+    }
+
+    /**
+     * 递增角色版本号，使角色相关缓存失效，多个角色时通过管道一次提交
+     * <p>
+     * 存在事务时在提交后递增，避免并发读取在提交前将旧数据写入新版本 Key 并保留至 TTL 过期
+     * </p>
+     *
+     * @param roleIds 角色 ID 集合
+     * @author payne.zhuang
+     * @CreateTime 2025-12-30 - 09:27:12
+     */
+    public void bumpRoles(Collection<Long> roleIds) {
+        if (CollectionUtils.isEmpty(roleIds)) {
+            return;
+        }
+        Set<Long> roleIdSet = Set.copyOf(roleIds);
+        afterCommit(() -> incrementRoles(roleIdSet));
+    }
+
+    /**
+     * 递增全局版本号，使全部角色相关缓存失效，存在事务时在提交后递增
+     *
+     * @author payne.zhuang
+     * @CreateTime 2025-12-30 - 09:28:35
+     */
+    public void bumpAll() {
+        afterCommit(this::incrementAll);
+    }
+
+    /**
+     * 在当前事务提交后执行，无事务时立即执行
+     * <p>
+     * 按注册顺序执行，版本号递增后写入新版本缓存时应在 {@link #bumpRoles} 之后注册
+     * </p>
+     *
+     * @param action 执行逻辑
+     * @author payne.zhuang
+     * @CreateTime 2026-10-17 - 11:02:18
+     */
+    public void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void incrementRoles(Set<Long> roleIds) {
+        List<String> keys = roleIds.stream().map(SystemCacheConstant::rbacRoleVersionKey).toList();
+        List<Long> versions;
+        if (keys.size() == 1) {
+            versions = List.of(stringRedisTemplate.opsForValue().increment(keys.get(0)));
+        } else {
+            versions = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                keys.forEach(key -> connection.stringCommands().incr(key.getBytes(StandardCharsets.UTF_8)));
+                return null;
+            }).stream().map(version -> (Long) version).toList();
+        }
+        Map<String, Long> changed = new LinkedHashMap<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            changed.put(keys.get(i), versions.get(i));
+        }
+        applyVersions(changed);
+        publish(changed);
+        log.debug("[RBAC] 角色缓存版本号已递增, 角色={}", roleIds);
+    }
+
+    private void incrementAll() {
+        Long version = stringRedisTemplate.opsForValue().increment(SystemCacheConstant.rbacVersionKey());
+        Map<String, Long> changed = Map.of(SystemCacheConstant.rbacVersionKey(), version);
+        applyVersions(changed);
+        publish(changed);
+        log.debug("[RBAC] 全局缓存版本号已递增, 版本={}", version);
+    }
+
+    /**
+     * 处理其他节点的版本号变更广播，格式：节点标识\n版本号Key=版本号[\n版本号Key=版本号...]
+     *
+     * @param message 广播消息
+     * @param pattern 订阅频道
+     * @author payne.zhuang
+     * @CreateTime 2026-10-17 - 11:31:47
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] lines = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR);
+        if (lines.length < 2 || nodeId.equals(lines[0])) {
+            return;
+        }
+        Map<String, Long> changed = new HashMap<>(lines.length);
+        for (int i = 1; i < lines.length; i++) {
+            int index = lines[i].lastIndexOf(VERSION_SEPARATOR);
+            if (index > 0) {
+                changed.put(lines[i].substring(0, index), Long.valueOf(lines[i].substring(index + 1)));
+            }
+        }
+        applyVersions(changed);
+    }
+
+    /**
+     * 批量获取版本号，本地未缓存的通过一次 MGET 读取
+     *
+     * @param keys 版本号 Key 集合
+     * @return {@link Map} 版本号 Key 与版本号，不存在的版本号为 0
+     */
+    private Map<String, Long> versions(List<String> keys) {
+        Map<String, Long> versions = new HashMap<>(localVersions.getAllPresent(keys));
+        if (versions.size() == keys.size()) {
+            return versions;
+        }
+        List<String> missingKeys = keys.stream().filter(key -> !versions.containsKey(key)).toList();
+        List<String> loaded = stringRedisTemplate.opsForValue().multiGet(missingKeys);
+        for (int i = 0; i < missingKeys.size(); i++) {
+            String value = loaded == null ? null : loaded.get(i);
+            long version = value == null ? 0L : Long.parseLong(value);
+            // 与并发到达的广播取较大值，避免读取到的旧值覆盖新版本号
+            versions.put(missingKeys.get(i), localVersions.asMap().merge(missingKeys.get(i), version, Math::max));
+        }
+        return versions;
+    }
+
+    /**
+     * 更新本地版本号，只增不减
+     *
+     * @param changed 变更的版本号
+     */
+    private void applyVersions(Map<String, Long> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        changed.forEach((key, version) -> localVersions.asMap().merge(key, version, Math::max));
+        localEpoch.incrementAndGet();
+    }
+
+    private void publish(Map<String, Long> changed) {
+        StringBuilder message = new StringBuilder(nodeId);
+        changed.forEach((key, version) -> message.append(SEPARATOR).append(key).append(VERSION_SEPARATOR).append(version));
+        try {
+            stringRedisTemplate.convertAndSend(SystemCacheConstant.SYSTEM_RBAC_VERSION_CHANNEL, message.toString());
+        } catch (Exception e) {
+            // 广播失败不影响本节点，其他节点由本地版本号过期时间兜底
+            log.warn("[RBAC] 缓存版本号变更广播失败: {}", e.getMessage());
+        }
+    }
+}
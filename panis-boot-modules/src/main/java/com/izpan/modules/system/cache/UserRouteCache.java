@@ -0,0 +1,131 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.modules.system.cache;
+
+import com.google.common.hash.Hashing;
+import com.izpan.common.constants.SystemCacheConstant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 用户路由缓存
+ * <p>
+ * 用户路由只由角色集合决定，按排序后角色 ID 集合及其缓存版本号的哈希值缓存，拥有相同角色的用户共享同一份：<br>
+ * 1. 缓存值为已序列化的路由数据 JSON 字节及其 ETag，存放于 Redis Hash，读写均直接操作字节，无需序列化/反序列化 <br>
+ * 2. 仅缓存路由数据，不含响应外层（时间戳等），ETag 只随路由内容变化，响应时再包装为新的 Result <br>
+ * 3. Key 中包含 {@link RbacCacheVersion} 版本号，角色菜单/权限变更递增版本号后自动切换到新 Key，旧路由由 TTL 过期
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.modules.system.cache.UserRouteCache
+ * @CreateTime 2025-12-29 - 09:20:18
+ */
+@Component
+@RequiredArgsConstructor
+public class UserRouteCache {
+
+    /**
+     * 缓存过期时间（秒）
+     */
+    private static final long EXPIRE_SECONDS = Duration.ofDays(15).toSeconds();
+
+    private static final byte[] ETAG_FIELD = "etag".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] PAYLOAD_FIELD = "payload".getBytes(StandardCharsets.UTF_8);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final RbacCacheVersion rbacCacheVersion;
+
+    /**
+     * 计算角色集合哈希值，与角色 ID 顺序无关，包含当前缓存版本号
+     *
+     * @param roleIds 角色 ID 集合
+     * @return {@link String} 角色集合哈希值
+     * @author payne.zhuang
+     * @CreateTime 2025-12-29 - 09:24:51
+     */
+    public String roleSetHash(Collection<Long> roleIds) {
+        List<Long> sortedRoleIds = roleIds.stream().distinct().sorted().toList();
+        String signature = rbacCacheVersion.roleSetSignature(sortedRoleIds);
+        return Hashing.murmur3_128().hashString(signature, StandardCharsets.UTF_8).toString();
+    }
+
+    /**
+     * 获取缓存的用户路由
+     *
+     * @param roleSetHash 角色集合哈希值
+     * @return {@link Route} 用户路由，未命中时返回 null
+     * @author payne.zhuang
+     * @CreateTime 2025-12-29 - 09:26:37
+     */
+    public Route get(String roleSetHash) {
+        byte[] key = raw(SystemCacheConstant.userRouteKey(roleSetHash));
+        List<byte[]> values = stringRedisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                connection.hashCommands().hMGet(key, ETAG_FIELD, PAYLOAD_FIELD));
+        if (CollectionUtils.isEmpty(values) || values.size() < 2 || values.get(0) == null || values.get(1) == null) {
+            return null;
+        }
+        return new Route(new String(values.get(0), StandardCharsets.UTF_8), values.get(1));
+    }
+
+    /**
+     * 缓存用户路由
+     *
+     * @param roleSetHash 角色集合哈希值
+     * @param payload     已序列化的路由数据 JSON 字节
+     * @return {@link Route} 用户路由
+     * @author payne.zhuang
+     * @CreateTime 2025-12-29 - 09:29:05
+     */
+    public Route put(String roleSetHash, byte[] payload) {
+        String etag = "\"" + Hashing.murmur3_128().hashBytes(payload) + "\"";
+        byte[] key = raw(SystemCacheConstant.userRouteKey(roleSetHash));
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.hashCommands().hMSet(key, Map.of(ETAG_FIELD, raw(etag), PAYLOAD_FIELD, payload));
+            connection.keyCommands().expire(key, EXPIRE_SECONDS);
+            return null;
+        });
+        return new Route(etag, payload);
+    }
+
+    private static byte[] raw(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 用户路由
+     *
+     * @param etag    响应 ETag（强校验，含双引号），仅由路由数据计算
+     * @param payload 已序列化的路由数据 JSON 字节，不含响应外层
+     */
+    public record Route(String etag, byte[] payload) {
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.modules.system.domain.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 组织/部门/子部门闭包表 Entity 实体类
+ * <p>
+ * 每个组织与其自身及全部祖先各有一行记录，自身行 depth 为 0，
+ * 查询下级组织时按 ancestor_id 走主键索引，无需再解析 ancestors 字段
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.modules.system.domain.entity.SysOrgClosure
+ * @CreateTime 2025-12-26 - 09:18:42
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SysOrgClosure implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 4371915462301528746L;
+
+    /**
+     * 祖先组织ID
+     */
+    private Long ancestorId;
+
+    /**
+     * 后代组织ID
+     */
+    private Long descendantId;
+
+    /**
+     * 层级距离（0 为自身）
+     */
+    private Integer depth;
+}
@@ -1,7 +1,7 @@
 package com.izpan.modules.system.facade;
 
+import com.izpan.modules.system.cache.UserRouteCache;
 import com.izpan.modules.system.domain.dto.LoginFormDTO;
-import com.izpan.modules.system.domain.dto.menu.SysUserRouteVO;
 import com.izpan.modules.system.domain.dto.user.SysUserUpdateCurrentInfoDTO;
 import com.izpan.modules.system.domain.vo.SysUserVO;
 
@@ -66,11 +66,11 @@ public interface IAuthenticationFacade {
     SysUserVO updateCurrentUserInfo(SysUserUpdateCurrentInfoDTO currentInfoDTO);
 
     /**
-     * 获取用户路由
+     * 获取当前用户路由，按角色集合共享缓存
      *
-     * @return {@link SysUserRouteVO} 用户路由信息
+     * @return {@link UserRouteCache.Route} 已序列化的用户路由数据及其 ETag
      * @author payne.zhuang
-     * @CreateTime 2024-02-04 22:07
+     * @CreateTime 2025-12-29 - 09:40:12
      */
-    SysUserRouteVO queryUserRouteWithUserId(Long userId);
+    UserRouteCache.Route queryCurrentUserRoute();
 }
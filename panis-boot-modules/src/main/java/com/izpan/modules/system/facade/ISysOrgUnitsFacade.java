@@ -101,4 +101,13 @@ public interface ISysOrgUnitsFacade {
      */
     List<SysOrgUnitsTreeVO> queryAllOrgUnitsListConvertToTree();
 
+    /**
+     * 初始化组织闭包表，闭包表为空时按 ancestors 字段一次性回填
+     *
+     * @return 回填的闭包关系数量
+     * @author payne.zhuang
+     * @CreateTime 2025-12-26 - 10:14:27
+     */
+    int initOrgClosure();
+
 }
\ No newline at end of file
@@ -84,11 +84,23 @@ public interface ISysRoleFacade {
     List<Options<Long>> queryAllRoleListConvertOptions();
 
     /**
-     * 获取所有角色信息集合
+     * 按页获取导出角色信息集合，供流式导出逐页加载
      *
+     * @param pageNo   页码，从 1 开始
+     * @param pageSize 每页条数
      * @return {@link List }<{@link SysRoleExportVO }> 角色集合
      * @author payne.zhuang
-     * @CreateTime 2025-04-05 - 12:28:51
+     * @CreateTime 2025-12-26 - 14:34:51
+     */
+    List<SysRoleExportVO> listExportRolePage(int pageNo, int pageSize);
+
+    /**
+     * 批量导入角色，供 Excel 分批导入逐批写入
+     *
+     * @param roles 导入的角色集合
+     * @return 实际写入条数，已存在的角色编码跳过
+     * @author payne.zhuang
+     * @CreateTime 2025-12-28 - 10:38:27
      */
-    List<SysRoleExportVO> queryAllExportRoleList();
+    int importRoles(List<SysRoleExportVO> roles);
 }
\ No newline at end of file
@@ -1,9 +1,9 @@
 package com.izpan.modules.system.facade.impl;
 
 import cn.dev33.satoken.stp.StpUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Lists;
 import com.izpan.common.api.ResultCode;
-import com.izpan.common.constants.SystemCacheConstant;
 import com.izpan.common.domain.KVPairs;
 import com.izpan.common.exception.BizException;
 import com.izpan.common.exception.RouteException;
@@ -11,7 +11,7 @@ import com.izpan.common.pool.StringPools;
 import com.izpan.common.util.CglibUtil;
 import com.izpan.infrastructure.holder.GlobalUserHolder;
 import com.izpan.infrastructure.util.GsonUtil;
-import com.izpan.infrastructure.util.RedisUtil;
+import com.izpan.modules.system.cache.UserRouteCache;
 import com.izpan.modules.system.domain.bo.SysMenuBO;
 import com.izpan.modules.system.domain.bo.SysPermissionBO;
 import com.izpan.modules.system.domain.bo.SysUserBO;
@@ -27,7 +27,7 @@ import com.izpan.modules.system.service.ISysUserService;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -56,22 +56,27 @@ public class AuthenticationFacadeImpl implements IAuthenticationFacade {
     @NonNull
     private ISysUserService sysUserService;
 
+    @NonNull
+    private UserRouteCache userRouteCache;
+
+    @NonNull
+    private ObjectMapper objectMapper;
+
     /**
      * 初始化菜单路由
      *
      * @param parentId          父级菜单ID
-     * @param sysMenus          菜单列表
+     * @param childrenMenuMap   父级菜单ID对应的子菜单 Map 结构
      * @param menuPermissionMap 菜单对应的权限按钮 Map 结构
      * @return {@link SysUserRouteVO.Route} 路由对象列表
      * @author payne.zhuang
      * @CreateTime 2024-02-04 23:42
      */
-    private static List<SysUserRouteVO.Route> initMenuRoute(Long parentId, Set<SysMenuBO> sysMenus,
+    private static List<SysUserRouteVO.Route> initMenuRoute(Long parentId, Map<Long, List<SysMenuBO>> childrenMenuMap,
                                                             Map<Long, List<String>> menuPermissionMap) {
         // 根据 parentId 获取菜单列表
-        List<SysMenuBO> parentMenuList = sysMenus.stream()
-                .filter(item -> item.getParentId().equals(parentId)).toList();
-        List<SysUserRouteVO.Route> routes = Lists.newArrayList();
+        List<SysMenuBO> parentMenuList = childrenMenuMap.getOrDefault(parentId, List.of());
+        List<SysUserRouteVO.Route> routes = Lists.newArrayListWithCapacity(parentMenuList.size());
         parentMenuList.forEach(menu -> {
             // 路由元数据
             SysUserRouteVO.Meta routeMeta = SysUserRouteVO.Meta.builder()
@@ -83,7 +88,7 @@ public class AuthenticationFacadeImpl implements IAuthenticationFacade {
                     .multiTab(StringPools.Y.equals(menu.getMultiTab()))
                     .fixedIndexInTab(menu.getFixedIndexInTab())
                     .href(menu.getHref())
-                    .query(GsonUtil.fromJsonList(menu.getQuery(), KVPairs.class))
+                    .query(StringUtils.isBlank(menu.getQuery()) ? null : GsonUtil.fromJsonList(menu.getQuery(), KVPairs.class))
                     .permissions(menuPermissionMap.getOrDefault(menu.getId(), Lists.newArrayList()))
                     .build();
             if (menu.getIconType().equals(StringPools.TWO)) {
@@ -102,7 +107,7 @@ public class AuthenticationFacadeImpl implements IAuthenticationFacade {
                     .component(menu.getComponent().replace(StringPools.HASH, StringPools.DOLLAR))
                     .props(props)
                     .meta(routeMeta)
-                    .children(initMenuRoute(menu.getId(), sysMenus, menuPermissionMap))
+                    .children(initMenuRoute(menu.getId(), childrenMenuMap, menuPermissionMap))
                     .build();
             // 添加到路由列表
             routes.add(route);
@@ -121,8 +126,8 @@ public class AuthenticationFacadeImpl implements IAuthenticationFacade {
 
     @Override
     public boolean logout() {
-        RedisUtil.del(SystemCacheConstant.userRouteKey(GlobalUserHolder.getUserId()));
         StpUtil.logout();
+        GlobalUserHolder.clearUser();
         return true;
     }
 
@@ -149,31 +154,52 @@ public class AuthenticationFacadeImpl implements IAuthenticationFacade {
     }
 
     @Override
-    @Cacheable(value = SystemCacheConstant.SYSTEM_USER_ROUTE, key = "#userId")
-    public SysUserRouteVO queryUserRouteWithUserId(Long userId) {
+    public UserRouteCache.Route queryCurrentUserRoute() {
+        Set<Long> currentUserRoleIds = GlobalUserHolder.getRoleIds();
+        String roleSetHash = userRouteCache.roleSetHash(currentUserRoleIds);
+        UserRouteCache.Route route = userRouteCache.get(roleSetHash);
+        if (route != null) {
+            return route;
+        }
         try {
-            Set<Long> currentUserRoleIds = GlobalUserHolder.getRoleIds();
-            // 获取当前用户的菜单列表以及权限按钮列表
-            Set<SysMenuBO> sysMenuBOS = currentUserRoleIds.stream()
-                    .flatMap(roleId -> sysRoleMenuService.queryMenuListWithRoleId(roleId).stream())
-                    .collect(Collectors.toSet());
-            Set<SysPermissionBO> sysPermissionBOS = currentUserRoleIds.stream()
-                    .flatMap(roleId -> sysRolePermissionService.queryPermissionListWithRoleId(roleId).stream())
-                    .collect(Collectors.toSet());
-            // 将权限集合分组成菜单对应按钮集合
-            Map<Long, List<String>> menuPermissionMap = transform(sysPermissionBOS);
-            // 返回路由对象
-            return SysUserRouteVO.builder()
-                    .home("home")
-                    // 组装路由集合
-                    .routes(initMenuRoute(0L, sysMenuBOS, menuPermissionMap))
-                    .build();
+            // 仅缓存路由数据，响应外层由调用方每次重新包装
+            byte[] payload = objectMapper.writeValueAsBytes(buildUserRoute(currentUserRoleIds));
+            return userRouteCache.put(roleSetHash, payload);
         } catch (Exception exception) {
             log.error(exception.getMessage());
             throw new RouteException(ResultCode.USER_ROUTE_ERROR.getCode(), ResultCode.USER_ROUTE_ERROR.getValue());
         }
     }
 
+    /**
+     * 根据角色集合构建用户路由
+     *
+     * @param roleIds 角色 ID 集合
+     * @return {@link SysUserRouteVO} 用户路由信息
+     * @author payne.zhuang
+     * @CreateTime 2025-12-29 - 09:46:27
+     */
+    private SysUserRouteVO buildUserRoute(Set<Long> roleIds) {
+        // 获取角色的菜单列表以及权限按钮列表
+        Set<SysMenuBO> sysMenuBOS = roleIds.stream()
+                .flatMap(roleId -> sysRoleMenuService.queryMenuListWithRoleId(roleId).stream())
+                .collect(Collectors.toSet());
+        Set<SysPermissionBO> sysPermissionBOS = roleIds.stream()
+                .flatMap(roleId -> sysRolePermissionService.queryPermissionListWithRoleId(roleId).stream())
+                .collect(Collectors.toSet());
+        // 将权限集合分组成菜单对应按钮集合
+        Map<Long, List<String>> menuPermissionMap = transform(sysPermissionBOS);
+        // 按父级菜单ID建立索引，一次遍历完成分组
+        Map<Long, List<SysMenuBO>> childrenMenuMap = sysMenuBOS.stream()
+                .collect(Collectors.groupingBy(SysMenuBO::getParentId));
+        // 返回路由对象
+        return SysUserRouteVO.builder()
+                .home("home")
+                // 组装路由集合
+                .routes(initMenuRoute(0L, childrenMenuMap, menuPermissionMap))
+                .build();
+    }
+
     /**
      * 将权限集合分组成菜单对应按钮集合
      *
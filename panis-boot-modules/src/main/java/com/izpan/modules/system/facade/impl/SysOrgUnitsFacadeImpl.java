@@ -22,6 +22,7 @@ package com.izpan.modules.system.facade.impl;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.izpan.common.pool.StringPools;
 import com.izpan.common.util.CglibUtil;
+import com.izpan.infrastructure.event.DataScopeCacheInvalidateEvent;
 import com.izpan.infrastructure.page.PageQuery;
 import com.izpan.infrastructure.page.RPage;
 import com.izpan.modules.system.domain.bo.SysOrgUnitsBO;
@@ -36,6 +37,7 @@ import com.izpan.modules.system.facade.ISysOrgUnitsFacade;
 import com.izpan.modules.system.service.ISysOrgUnitsService;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
@@ -62,6 +64,9 @@ public class SysOrgUnitsFacadeImpl implements ISysOrgUnitsFacade {
     @NonNull
     private ISysOrgUnitsService sysOrgUnitsService;
 
+    @NonNull
+    private ApplicationEventPublisher applicationEventPublisher;
+
     /**
      * 初始化组织单位子单位
      *
@@ -125,21 +130,26 @@ public class SysOrgUnitsFacadeImpl implements ISysOrgUnitsFacade {
     @Transactional
     public boolean add(SysOrgUnitsAddDTO sysOrgUnitsAddDTO) {
         SysOrgUnitsBO sysOrgUnitsBO = CglibUtil.convertObj(sysOrgUnitsAddDTO, SysOrgUnitsBO::new);
-        return sysOrgUnitsService.save(sysOrgUnitsBO);
+        return sysOrgUnitsService.add(sysOrgUnitsBO);
     }
 
     @Override
     @Transactional
     public boolean update(SysOrgUnitsUpdateDTO sysOrgUnitsUpdateDTO) {
         SysOrgUnitsBO sysOrgUnitsBO = CglibUtil.convertObj(sysOrgUnitsUpdateDTO, SysOrgUnitsBO::new);
-        return sysOrgUnitsService.updateById(sysOrgUnitsBO);
+        boolean result = sysOrgUnitsService.update(sysOrgUnitsBO);
+        // 组织层级变更会影响下级组织数据权限范围，事务提交后清理全部数据权限缓存
+        applicationEventPublisher.publishEvent(DataScopeCacheInvalidateEvent.forAll(this, "组织单位变更"));
+        return result;
     }
 
     @Override
     @Transactional
     public boolean batchDelete(SysOrgUnitsDeleteDTO sysOrgUnitsDeleteDTO) {
         SysOrgUnitsBO sysOrgUnitsBO = CglibUtil.convertObj(sysOrgUnitsDeleteDTO, SysOrgUnitsBO::new);
-        return sysOrgUnitsService.removeBatchByIds(sysOrgUnitsBO.getIds(), true);
+        boolean result = sysOrgUnitsService.batchDelete(sysOrgUnitsBO.getIds());
+        applicationEventPublisher.publishEvent(DataScopeCacheInvalidateEvent.forAll(this, "组织单位删除"));
+        return result;
     }
 
     @Override
@@ -153,4 +163,9 @@ public class SysOrgUnitsFacadeImpl implements ISysOrgUnitsFacade {
         return initOrgUnitsChild(0L, orgUnitsMap);
     }
 
+    @Override
+    public int initOrgClosure() {
+        return sysOrgUnitsService.initOrgClosure();
+    }
+
 }
\ No newline at end of file
@@ -84,8 +84,15 @@ public class SysRoleFacadeImpl implements ISysRoleFacade {
     }
 
     @Override
-    public List<SysRoleExportVO> queryAllExportRoleList() {
-        List<SysRoleBO> allRole = sysRoleService.queryAllRoleList();
-        return CglibUtil.convertList(allRole, SysRoleExportVO::new);
+    public List<SysRoleExportVO> listExportRolePage(int pageNo, int pageSize) {
+        List<SysRoleBO> roles = sysRoleService.queryRoleListPage(pageNo, pageSize);
+        return CglibUtil.convertList(roles, SysRoleExportVO::new);
+    }
+
+    @Override
+    @Transactional
+    public int importRoles(List<SysRoleExportVO> roles) {
+        List<SysRoleBO> sysRoleBOS = CglibUtil.convertList(roles, SysRoleBO::new);
+        return sysRoleService.importRoles(sysRoleBOS);
     }
 }
\ No newline at end of file
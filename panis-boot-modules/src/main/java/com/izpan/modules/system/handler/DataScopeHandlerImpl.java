@@ -21,23 +21,21 @@ package com.izpan.modules.system.handler;
 
 import com.baomidou.mybatisplus.core.plugins.IgnoreStrategy;
 import com.baomidou.mybatisplus.core.plugins.InterceptorIgnoreHelper;
-import com.google.common.reflect.TypeToken;
-import com.google.gson.Gson;
-import com.izpan.common.pool.StringPools;
 import com.izpan.common.util.CollectionUtil;
-import com.izpan.infrastructure.context.DataScopeConditionContext;
 import com.izpan.infrastructure.holder.DataScopeHolder;
 import com.izpan.infrastructure.holder.GlobalUserHolder;
 import com.izpan.infrastructure.util.GsonUtil;
 import com.izpan.infrastructure.util.TimerUtil;
+import com.izpan.modules.system.cache.DataScopeCache;
 import com.izpan.modules.system.domain.bo.SysRoleDataScopeQueryBO;
 import com.izpan.modules.system.service.ISysDataScopeService;
+import com.izpan.starter.database.mybatis.plus.config.DataScopeProperties;
 import com.izpan.starter.database.mybatis.plus.domain.DataScope;
 import com.izpan.starter.database.mybatis.plus.domain.DataScopeCondition;
+import com.izpan.starter.database.mybatis.plus.domain.DataScopeSqlFragment;
 import com.izpan.starter.database.mybatis.plus.enums.DataScopeTypeEnum;
-import com.izpan.starter.database.mybatis.plus.enums.QueryConditionsEnum;
 import com.izpan.starter.database.mybatis.plus.handler.IDataScopeHandler;
-import com.izpan.starter.database.mybatis.plus.resolver.DataScopeVariableResolver;
+import com.izpan.starter.database.mybatis.plus.template.DataScopeConditionPlan;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.springframework.beans.factory.ObjectProvider;
@@ -54,8 +52,9 @@ import java.util.*;
  * 1. 与 DataScopeInterceptor 配合，负责获取权限信息和缓存管理
  * 2. 根据用户角色和权限配置，动态生成数据权限SQL条件
  * 3. 支持多种权限类型：全部、本人、本组织、本组织及下级、本人及下级、自定义
- * 4. 提供高效的缓存机制，避免重复计算权限
- * 5. 支持自定义权限规则的变量替换和SQL格式化
+ * 4. 提供二级缓存机制（{@link DataScopeCache}），避免每次查询重复计算权限
+ * 5. 自定义权限规则预编译为条件计划（{@link DataScopeConditionPlan}），查询时仅绑定变量值
+ * 6. 权限用户数超过 IN 列表阈值时仅保存组织 ID 集合，由组织半连接谓词过滤
  * </p>
  *
  * @Author payne.zhuang <paynezhuang@gmail.com>
@@ -74,17 +73,32 @@ public class DataScopeHandlerImpl implements IDataScopeHandler {
      */
     private final ObjectProvider<ISysDataScopeService> dataScopeServiceProvider;
 
+    /**
+     * 数据权限计算结果二级缓存
+     */
+    private final DataScopeCache dataScopeCache;
+
+    /**
+     * 数据权限配置属性
+     */
+    private final DataScopeProperties dataScopeProperties;
+
     // ================================ 构造器和初始化 ================================
 
     /**
      * 构造器注入，初始化服务提供者
      *
      * @param dataScopeServiceObjectProvider 数据权限服务提供者
+     * @param dataScopeCache                 数据权限计算结果二级缓存
+     * @param dataScopeProperties            数据权限配置属性
      * @author payne.zhuang
      * @CreateTime 2025-05-12 - 11:25
      */
-    public DataScopeHandlerImpl(ObjectProvider<ISysDataScopeService> dataScopeServiceObjectProvider) {
+    public DataScopeHandlerImpl(ObjectProvider<ISysDataScopeService> dataScopeServiceObjectProvider, DataScopeCache dataScopeCache,
+                                DataScopeProperties dataScopeProperties) {
         this.dataScopeServiceProvider = dataScopeServiceObjectProvider;
+        this.dataScopeCache = dataScopeCache;
+        this.dataScopeProperties = dataScopeProperties;
     }
 
     // ================================ IDataScopeHandler 接口实现 ================================
@@ -117,7 +131,8 @@ public class DataScopeHandlerImpl implements IDataScopeHandler {
      * 获取数据权限，优先从缓存获取，未命中则计算
      * <p>
      * 核心方法：根据权限标识获取用户的数据权限配置，
-     * 支持缓存机制以提高性能，失败时返回默认权限
+     * 按 (用户 ID, 权限标识) 从二级缓存获取已解析的权限，未命中时计算并回填，
+     * 自定义条件的变量值在每次查询时绑定，失败时返回默认权限
      * </p>
      *
      * @param ms             MyBatis 映射语句对象
@@ -137,7 +152,11 @@ public class DataScopeHandlerImpl implements IDataScopeHandler {
         TimerUtil.Timer timer = TimerUtil.start();
 
         try {
-            return calculateDataScopeForUser(userId, permissionCode);
+            DataScope dataScope = dataScopeCache.get(userId, permissionCode, () -> calculateDataScopeForUser(userId, permissionCode));
+            if (null == dataScope) {
+                return createSafeUnknownDataScope(userId, permissionCode);
+            }
+            return bindCustomRules(dataScope);
         } catch (Exception e) {
             log.error("[DataScope] 用户 ID={}, 权限码={}, msId={} - 权限获取失败, 耗时={}ms, 错误={}",
                     userId, permissionCode, ms.getId(), timer.duration(), e.getMessage(), e);
@@ -153,14 +172,14 @@ public class DataScopeHandlerImpl implements IDataScopeHandler {
      * 核心逻辑：
      * 1. 查询用户的角色权限配置
      * 2. 过滤用户角色，确定基础权限类型
-     * 3. 根据权限类型获取用户ID集合
+     * 3. 根据权限类型获取用户ID集合，用户数超过阈值时改为获取组织ID集合
      * 4. 处理自定义权限条件
-     * 5. 构建最终的数据权限对象
+     * 5. 构建最终的数据权限对象（自定义条件未绑定变量值，便于缓存）
      * </p>
      *
      * @param userId         用户 ID
      * @param permissionCode 权限标识
-     * @return 数据权限对象
+     * @return 数据权限对象，计算失败时返回 null（不进行缓存）
      * @author payne.zhuang
      * @CreateTime 2025-05-12 - 11:37
      */
@@ -174,7 +193,7 @@ public class DataScopeHandlerImpl implements IDataScopeHandler {
             ISysDataScopeService service = dataScopeServiceProvider.getIfAvailable();
             if (service == null) {
                 log.error("[DataScope] 用户ID={} 权限码={} calculationId={} - 数据权限服务不可用, 返回安全降级", userId, permissionCode, calculationId);
-                return createSafeUnknownDataScope(permissionCode);
+                return null;
             }
 
             // 设置忽略数据权限，避免递归调用
@@ -208,11 +227,12 @@ public class DataScopeHandlerImpl implements IDataScopeHandler {
             log.debug("[DataScope] 用户ID={} 权限码={} calculationId={} - 确定权限类型完成, 权限类型={}",
                     userId, permissionCode, calculationId, scopeType);
 
-            // 根据权限类型获取用户 ID 集合
+            // 根据权限类型获取用户 ID 集合，超过阈值时仅获取组织 ID 集合
             TimerUtil.Timer userIdsTimer = TimerUtil.start();
-            Set<Long> scopeUserIds = service.getUserIdsByScopeType(userId, scopeType);
-            log.debug("[DataScope] 用户ID={} 权限码={} calculationId={} - 权限用户集合获取完成, 权限类型={}, 包含用户={}, 耗时={}ms",
-                    userId, permissionCode, calculationId, scopeType, GsonUtil.toJson(scopeUserIds), userIdsTimer.duration());
+            Set<Long> scopeOrgIds = resolveScopeOrgIds(service, userId, scopeType);
+            Set<Long> scopeUserIds = scopeOrgIds.isEmpty() ? service.getUserIdsByScopeType(userId, scopeType) : Collections.emptySet();
+            log.debug("[DataScope] 用户ID={} 权限码={} calculationId={} - 权限范围获取完成, 权限类型={}, 包含用户={}, 包含组织={}, 耗时={}ms",
+                    userId, permissionCode, calculationId, scopeType, GsonUtil.toJson(scopeUserIds), GsonUtil.toJson(scopeOrgIds), userIdsTimer.duration());
 
             // 自定义权限条件处理
             TimerUtil.Timer customTimer = TimerUtil.start();
@@ -222,7 +242,7 @@ public class DataScopeHandlerImpl implements IDataScopeHandler {
 
             // 构建权限对象
             TimerUtil.Timer buildTimer = TimerUtil.start();
-            DataScope dataScope = buildDataScope(service, scopeType, customConditions, userId, scopeUserIds, permissionCode);
+            DataScope dataScope = buildDataScope(scopeType, customConditions, userId, scopeUserIds, scopeOrgIds, permissionCode);
             log.debug("[DataScope] 用户ID={} 权限码={} calculationId={} - 权限对象构建完成, 耗时={}ms",
                     userId, permissionCode, calculationId, buildTimer.duration());
 
@@ -232,7 +252,7 @@ public class DataScopeHandlerImpl implements IDataScopeHandler {
         } catch (Exception e) {
             log.error("[DataScope] 用户ID={} 权限码={} calculationId={} - 权限计算失败, 总耗时={}ms, 错误={}",
                     userId, permissionCode, calculationId, totalTimer.duration(), e.getMessage(), e);
-            return createSafeUnknownDataScope(permissionCode);
+            return null;
         } finally {
             // 关闭忽略策略
             InterceptorIgnoreHelper.clearIgnoreStrategy();
@@ -240,6 +260,37 @@ public class DataScopeHandlerImpl implements IDataScopeHandler {
     }
 
 
+    /**
+     * 解析组织半连接的组织 ID 集合
+     * <p>
+     * 仅当启用组织半连接且组织内用户数超过 IN 列表阈值时返回组织 ID 集合，
+     * 否则返回空集合，由调用方获取用户 ID 集合生成 IN 列表
+     * </p>
+     *
+     * @param service   数据权限服务
+     * @param userId    用户 ID
+     * @param scopeType 权限类型
+     * @return {@link Set}<{@link Long}> 组织 ID 集合
+     * @author payne.zhuang
+     * @CreateTime 2025-12-24 - 15:02:44
+     */
+    Set<Long> resolveScopeOrgIds(ISysDataScopeService service, Long userId, DataScopeTypeEnum scopeType) {
+        if (!dataScopeProperties.isSemiJoinEnabled()) {
+            return Collections.emptySet();
+        }
+        Set<Long> orgIds = service.getOrgIdsByScopeType(userId, scopeType);
+        if (orgIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        long userCount = service.countUserIdsByOrgIds(orgIds);
+        if (userCount <= dataScopeProperties.getInListMaxSize()) {
+            return Collections.emptySet();
+        }
+        log.debug("[DataScope] 用户ID={} 权限类型={} - 权限用户数={} 超过阈值={}, 使用组织半连接, 组织数={}",
+                userId, scopeType, userCount, dataScopeProperties.getInListMaxSize(), orgIds.size());
+        return orgIds;
+    }
+
     /**
      * 确定基础权限类型，异常时则会返回 UN_KNOWN 类型
      * <p>
@@ -294,9 +345,7 @@ public class DataScopeHandlerImpl implements IDataScopeHandler {
             return Collections.emptyList();
         }
         try {
-            List<DataScopeCondition> conditions = new Gson()
-                    .fromJson(scope.getCustomRules(), new TypeToken<List<DataScopeCondition>>() {
-                    }.getType());
+            List<DataScopeCondition> conditions = GsonUtil.fromJsonList(scope.getCustomRules(), DataScopeCondition.class);
             if (conditions == null || conditions.isEmpty()) {
                 log.error("[DataScope] 自定义规则解析为空, customRules={}", scope.getCustomRules());
                 return Collections.emptyList();
@@ -313,170 +362,73 @@ public class DataScopeHandlerImpl implements IDataScopeHandler {
     /**
      * 构建数据权限对象
      * <p>
-     * 支持自定义条件中的变量占位符（如#{currentUserId}）自动替换为实际值，根据操作符正确格式化SQL，构建失败时保持基础权限类型
+     * 自定义条件保存原始条件（含变量占位符，如#{currentUserId}）并预编译为条件计划，
+     * 在查询时由 {@link #bindCustomRules(DataScope)} 绑定变量实际值，保证缓存结果不随时间类变量失效
      * </p>
      *
-     * @param service          数据权限服务
      * @param baseScopeType    基础权限类型
      * @param customConditions 自定义条件列表
      * @param userId           用户 ID
      * @param scopeUserIds     权限用户 ID 列表
+     * @param scopeOrgIds      权限组织 ID 列表，非空时按组织半连接过滤
      * @param permissionCode   权限编码
      * @return {@link DataScope} 数据权限对象
      * @author payne.zhuang
      * @CreateTime 2025-05-13 - 21:50
      */
-    private DataScope buildDataScope(ISysDataScopeService service, DataScopeTypeEnum baseScopeType,
-                                     List<DataScopeCondition> customConditions, Long userId,
-                                     Set<Long> scopeUserIds, String permissionCode) {
-        // 构建基础数据权限对象
-        DataScope dataScope = DataScope.builder()
+    private DataScope buildDataScope(DataScopeTypeEnum baseScopeType, List<DataScopeCondition> customConditions,
+                                     Long userId, Set<Long> scopeUserIds, Set<Long> scopeOrgIds, String permissionCode) {
+        return DataScope.builder()
                 .scopeType(baseScopeType)
                 .currentUserId(userId)
                 .scopeUserIds(scopeUserIds)
+                .scopeOrgIds(CollectionUtil.isNotEmpty(scopeOrgIds) ? scopeOrgIds : null)
                 .permissionCode(permissionCode)
+                .customConditions(CollectionUtil.isNotEmpty(customConditions) ? new ArrayList<>(customConditions) : null)
+                .customConditionPlan(CollectionUtil.isNotEmpty(customConditions) ? DataScopeConditionPlan.compile(customConditions) : null)
                 .build();
-
-        // 处理自定义条件
-        if (CollectionUtil.isNotEmpty(customConditions)) {
-            String customRules = buildCustomRules(service, customConditions, userId);
-            if (StringUtils.hasText(customRules)) {
-                dataScope.setScopeType(DataScopeTypeEnum.CUSTOM);
-                dataScope.setCustomRules(customRules);
-            }
-        }
-        return dataScope;
     }
 
     /**
-     * 构建自定义规则 SQL
+     * 绑定自定义条件变量值
      * <p>
-     * 核心功能：<br>
-     * 1. 构建数据权限变量上下文，获取变量的实际值 <br>
-     * 2. 遍历条件列表，为每个条件添加逻辑连接符 <br>
-     * 3. 使用 DataScopeVariableResolver 进行变量替换和格式化 <br>
-     * 4. 根据操作符类型决定是否添加条件值 <br>
-     * 5. 构建完整的 SQL WHERE 条件，自动处理 AND/OR 混合情况
-     * </p>
-     * <p>
-     * 核心逻辑： <br>
-     * 1. 只要有 OR，必须用括号包裹所有自定义条件，确保安全 <br>
-     * 原因：如果没有括号，SQL 会是 WHERE is_deleted = 0 AND A OR B <br>
-     * 由于 AND 优先级高于 OR，实际执行是 WHERE (is_deleted = 0 AND A) OR B <br>
-     * 这会包含 is_deleted = 1 的数据，不安全！ <br>
-     * 正确应该是：WHERE is_deleted = 0 AND (A OR B) <br>
-     * 2. 如果只有 AND，直接拼接（不需要括号）
+     * 缓存中的数据权限对象为共享对象，存在自定义条件时基于副本绑定变量值，
+     * 由预编译的条件计划生成带参数的 SQL 条件片段，编译或绑定失败时保持基础权限类型
      * </p>
      *
-     * @param service          数据权限服务
-     * @param customConditions 自定义条件列表
-     * @param userId           用户 ID
-     * @return {@linkplain String} 自定义规则 SQL 字符串
+     * @param dataScope 缓存的数据权限对象
+     * @return {@link DataScope} 绑定变量值后的数据权限对象
      * @author payne.zhuang
-     * @CreateTime 2025-05-13 - 21:51
+     * @CreateTime 2025-12-22 - 10:48:12
      */
-    private String buildCustomRules(ISysDataScopeService service, List<DataScopeCondition> customConditions, Long userId) {
-        try {
-            // 构建数据权限上下文，获取变量值
-            List<DataScopeConditionContext> conditionContexts = service.buildDataScopeVariableValue(userId, customConditions);
-
-            if (conditionContexts.isEmpty()) {
-                return StringPools.EMPTY;
-            }
-
-            // 使用 StringBuilder 构建 SQL，便于打印测试
-            StringBuilder sqlBuilder = new StringBuilder();
-
-            // 如果只有一个条件，直接构建（不需要括号）
-            if (conditionContexts.size() == 1) {
-                buildSingleCondition(sqlBuilder, conditionContexts.getFirst(), userId);
-                String customRules = sqlBuilder.toString();
-                log.debug("[DataScope] 用户ID={} - 自定义规则构建成功, 条件数量={}, 规则={}", userId, conditionContexts.size(), customRules);
-                return customRules;
-            }
-
-            // 检测是否有 OR（从第二个条件开始检查，因为第一个条件没有 logic）
-            // 只要有 OR，就必须用括号包裹所有自定义条件，确保安全
-            boolean hasOr = conditionContexts.stream()
-                    .skip(1)
-                    .anyMatch(ctx -> "OR".equalsIgnoreCase(ctx.getLogic()));
-
-            if (hasOr) {
-                // 有 OR，用括号包裹所有条件
-                // 确保最终 SQL 是：WHERE is_deleted = 0 AND (自定义条件)
-                // 而不是：WHERE is_deleted = 0 AND 自定义条件（可能不安全）
-                sqlBuilder.append(StringPools.LEFT_BRACKET);
-                buildSimpleConditions(sqlBuilder, conditionContexts, userId);
-                sqlBuilder.append(StringPools.RIGHT_BRACKET);
-            } else {
-                // 只有 AND，直接拼接（不需要括号）
-                // 最终 SQL 是：WHERE is_deleted = 0 AND A AND B
-                buildSimpleConditions(sqlBuilder, conditionContexts, userId);
-            }
-
-            String customRules = sqlBuilder.toString();
-            log.debug("[DataScope] 用户ID={} - 自定义规则构建成功, 条件数量={}, 规则={}", userId, conditionContexts.size(), customRules);
-            return customRules;
-        } catch (Exception e) {
-            log.error("[DataScope] 用户ID={} - 自定义规则构建失败, 错误={}", userId, e.getMessage(), e);
-            // 构建失败时返回空字符串
-            return StringPools.EMPTY;
+    private DataScope bindCustomRules(DataScope dataScope) {
+        List<DataScopeCondition> customConditions = dataScope.getCustomConditions();
+        if (ObjectUtils.isEmpty(customConditions)) {
+            return dataScope;
         }
-    }
-
-    // ================================ 构建自定义条件 ================================
-
-    /**
-     * 构建单个条件，追加到 StringBuilder
-     * <p>
-     * 格式：字段名 + 操作符 + 值
-     * 示例：create_user_id = 1928267764836782081
-     * </p>
-     *
-     * @param sqlBuilder StringBuilder 对象
-     * @param context    条件上下文
-     * @param userId     用户 ID
-     */
-    private void buildSingleCondition(StringBuilder sqlBuilder, DataScopeConditionContext context, Long userId) {
-        QueryConditionsEnum operator = context.getConditionsEnum();
-        String resolvedValue = DataScopeVariableResolver.resolveVariables(
-                userId, context.getValue(), context.getVariableValue(), operator);
-
-        sqlBuilder.append(context.getField())
-                .append(StringPools.SPACE)
-                .append(operator.getSqlOperator());
-
-        // IS_NULL 和 IS_NOT_NULL 不需要值
-        if (!QueryConditionsEnum.IS_NULL.equals(operator) &&
-                !QueryConditionsEnum.IS_NOT_NULL.equals(operator)) {
-            sqlBuilder.append(StringPools.SPACE).append(resolvedValue);
+        ISysDataScopeService service = dataScopeServiceProvider.getIfAvailable();
+        if (service == null) {
+            return dataScope;
         }
-    }
-
-    /**
-     * 构建简单条件（按顺序拼接所有条件），追加到 StringBuilder
-     * <p>
-     * 格式：条件1 [逻辑连接符] 条件2 [逻辑连接符] 条件3 ...
-     * 示例：create_user_id = 1 AND create_time BETWEEN ... OR status = 1
-     * </p>
-     *
-     * @param sqlBuilder        StringBuilder 对象
-     * @param conditionContexts 条件上下文列表
-     * @param userId            用户 ID
-     */
-    private void buildSimpleConditions(StringBuilder sqlBuilder, List<DataScopeConditionContext> conditionContexts, Long userId) {
-        for (int i = 0; i < conditionContexts.size(); i++) {
-            DataScopeConditionContext context = conditionContexts.get(i);
-
-            // 添加逻辑连接符（第一个条件不需要）
-            if (i > 0) {
-                sqlBuilder.append(StringPools.SPACE)
-                        .append(context.getLogic())
-                        .append(StringPools.SPACE);
-            }
-
-            // 构建单个条件
-            buildSingleCondition(sqlBuilder, context, userId);
+        // 编译计划在放入缓存时已生成，缓存对象只读，缺失时仅本次编译使用
+        DataScopeConditionPlan plan = dataScope.getCustomConditionPlan();
+        if (plan == null) {
+            plan = DataScopeConditionPlan.compile(customConditions);
+        }
+        if (!plan.isValid()) {
+            return dataScope;
+        }
+        Long userId = dataScope.getCurrentUserId();
+        try {
+            DataScopeSqlFragment customFragment = plan.bind((variable, operator) -> service.getVariableValue(userId, variable, operator));
+            log.debug("[DataScope] 用户ID={} - 自定义条件绑定完成, 条件={}, 参数={}", userId, customFragment.sql(), customFragment.values());
+            return dataScope.toBuilder()
+                    .scopeType(DataScopeTypeEnum.CUSTOM)
+                    .customFragment(customFragment)
+                    .build();
+        } catch (Exception e) {
+            log.error("[DataScope] 用户ID={} - 自定义条件绑定失败, 错误={}", userId, e.getMessage(), e);
+            return dataScope;
         }
     }
 
@@ -0,0 +1,138 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.modules.system.listener;
+
+import com.izpan.common.constants.SystemCacheConstant;
+import com.izpan.infrastructure.event.DataScopeCacheInvalidateEvent;
+import com.izpan.infrastructure.util.TimerUtil;
+import com.izpan.modules.system.cache.DataScopeCache;
+import com.izpan.modules.system.service.ISysUserRoleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.CollectionUtils;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 数据权限缓存清理事件监听器
+ * <p>
+ * 监听 {@link DataScopeCacheInvalidateEvent}，按清理维度精确失效 {@link DataScopeCache} 中的计算结果：<br>
+ * 1. BY_USER_ID：清理指定用户的全部权限缓存 <br>
+ * 2. BY_PERMISSION_CODE：清理指定权限码的角色配置缓存及所有用户对应的计算结果 <br>
+ * 3. BY_ROLE_ID：清理角色配置缓存，并清理拥有该角色的用户的计算结果 <br>
+ * 4. ALL：清理全部数据权限缓存
+ * </p>
+ * <p>
+ * 在事务中发布时，于事务提交后执行，避免清理后被未提交的旧数据回填；
+ * 角色配置缓存通过 {@link CacheManager} 清理，同时失效各节点的本地缓存
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.modules.system.listener.DataScopeCacheInvalidateListener
+ * @CreateTime 2025-12-22 - 11:05:37
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DataScopeCacheInvalidateListener {
+
+    private final DataScopeCache dataScopeCache;
+
+    private final ISysUserRoleService sysUserRoleService;
+
+    private final CacheManager cacheManager;
+
+    /**
+     * 处理数据权限缓存清理事件
+     *
+     * @param event 数据权限缓存清理事件
+     * @author payne.zhuang
+     * @CreateTime 2025-12-22 - 11:08:14
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataScopeCacheInvalidate(DataScopeCacheInvalidateEvent event) {
+        TimerUtil.Timer timer = TimerUtil.start();
+        try {
+            switch (event.getInvalidateType()) {
+                case BY_USER_ID -> dataScopeCache.evictByUserIds(event.getUserIds());
+                case BY_PERMISSION_CODE -> invalidateByPermissionCodes(event.getPermissionCodes());
+                case BY_ROLE_ID -> invalidateByRoleIds(event.getRoleIds());
+                case ALL -> invalidateAll();
+            }
+            log.info("[DataScope] 缓存清理完成, 耗时={}ms, event={}", timer.duration(), event);
+        } catch (Exception e) {
+            log.error("[DataScope] 缓存清理失败, event={}, 错误={}", event, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 按权限码清理：角色配置缓存 + 用户计算结果
+     *
+     * @param permissionCodes 权限码集合
+     */
+    private void invalidateByPermissionCodes(Set<String> permissionCodes) {
+        if (CollectionUtils.isEmpty(permissionCodes)) {
+            return;
+        }
+        Cache cache = cacheManager.getCache(SystemCacheConstant.SYSTEM_DATA_SCOPE);
+        if (cache != null) {
+            permissionCodes.forEach(cache::evict);
+        }
+        dataScopeCache.evictByPermissionCodes(permissionCodes);
+    }
+
+    /**
+     * 按角色清理：角色变更涉及的权限码未知，清理全部角色配置缓存，并清理拥有该角色的用户计算结果
+     *
+     * @param roleIds 角色 ID 集合
+     */
+    private void invalidateByRoleIds(Set<Long> roleIds) {
+        if (CollectionUtils.isEmpty(roleIds)) {
+            return;
+        }
+        deletePermissionResourceCache();
+        List<Long> userIds = sysUserRoleService.listUserIdsByRoleIds(roleIds);
+        dataScopeCache.evictByUserIds(userIds);
+    }
+
+    /**
+     * 全量清理
+     */
+    private void invalidateAll() {
+        deletePermissionResourceCache();
+        dataScopeCache.evictAll();
+    }
+
+    /**
+     * 清理全部权限码对应的角色配置缓存
+     */
+    private void deletePermissionResourceCache() {
+        Cache cache = cacheManager.getCache(SystemCacheConstant.SYSTEM_DATA_SCOPE);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.modules.system.repository.mapper;
+
+import com.izpan.modules.system.domain.entity.SysOrgClosure;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 组织/部门/子部门闭包表 Mapper 接口层
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.modules.system.repository.mapper.SysOrgClosureMapper
+ * @CreateTime 2025-12-26 - 09:24:15
+ */
+
+public interface SysOrgClosureMapper {
+
+    /**
+     * 统计闭包表记录数
+     *
+     * @return 记录数
+     * @author payne.zhuang
+     * @CreateTime 2025-12-26 - 09:25:41
+     */
+    long countAll();
+
+    /**
+     * 清空闭包表
+     *
+     * @author payne.zhuang
+     * @CreateTime 2025-12-26 - 09:26:10
+     */
+    void deleteAll();
+
+    /**
+     * 批量写入闭包关系
+     *
+     * @param list 闭包关系列表
+     * @return 写入行数
+     * @author payne.zhuang
+     * @CreateTime 2025-12-26 - 09:26:52
+     */
+    int insertBatch(@Param("list") List<SysOrgClosure> list);
+
+    /**
+     * 新增组织：复制父组织的全部祖先关系并追加自身关系
+     *
+     * @param id       组织ID
+     * @param parentId 父组织ID
+     * @return 写入行数
+     * @author payne.zhuang
+     * @CreateTime 2025-12-26 - 09:27:38
+     */
+    int insertNode(@Param("id") Long id, @Param("parentId") Long parentId);
+
+    /**
+     * 判断 ancestorId 是否为 descendantId 的祖先或自身
+     *
+     * @param ancestorId   祖先组织ID
+     * @param descendantId 后代组织ID
+     * @return true 是，false 否
+     * @author payne.zhuang
+     * @CreateTime 2025-12-26 - 09:28:20
+     */
+    boolean existsRelation(@Param("ancestorId") Long ancestorId, @Param("descendantId") Long descendantId);
+
+    /**
+     * 移动组织第一步：断开子树与原祖先的关系，子树内部关系保留
+     *
+     * @param id 被移动的组织ID
+     * @return 删除行数
+     * @author payne.zhuang
+     * @CreateTime 2025-12-26 - 09:29:06
+     */
+    int detachSubtree(@Param("id") Long id);
+
+    /**
+     * 移动组织第二步：将子树挂接到新父组织的全部祖先下
+     *
+     * @param id       被移动的组织ID
+     * @param parentId 新父组织ID
+     * @return 写入行数
+     * @author payne.zhuang
+     * @CreateTime 2025-12-26 - 09:29:47
+     */
+    int attachSubtree(@Param("id") Long id, @Param("parentId") Long parentId);
+
+    /**
+     * 删除组织：删除路径经过被删除组织的全部闭包关系，被删除组织的下级与其上级之间的关系一并断开
+     *
+     * @param orgIds 组织ID集合
+     * @return 删除行数
+     * @author payne.zhuang
+     * @CreateTime 2025-12-26 - 09:30:25
+     */
+    int deleteByOrgIds(@Param("orgIds") Collection<Long> orgIds);
+}
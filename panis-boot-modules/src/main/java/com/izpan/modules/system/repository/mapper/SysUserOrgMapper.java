@@ -23,6 +23,7 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.izpan.modules.system.domain.entity.SysUserOrg;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -109,4 +110,24 @@ public interface SysUserOrgMapper extends BaseMapper<SysUserOrg> {
      * @CreateTime 2025-05-29 22:58:50
      */
     List<Long> getUserIdsBySelfAndChildWithPrincipal(@Param("userId") Long userId);
+
+    /**
+     * 查询用户担任负责人的组织的下级组织ID（数据权限专用）
+     *
+     * @param userId 用户ID
+     * @return {@link List }<{@link Long }> 下级组织ID列表
+     * @author payne.zhuang
+     * @CreateTime 2025-12-24 - 14:32:18
+     */
+    List<Long> getChildOrgIdsByPrincipal(@Param("userId") Long userId);
+
+    /**
+     * 统计组织内的有效用户数（数据权限专用）
+     *
+     * @param orgIds 组织ID集合
+     * @return {@link Long } 用户数
+     * @author payne.zhuang
+     * @CreateTime 2025-12-24 - 14:33:05
+     */
+    long countUserIdsByOrgIds(@Param("orgIds") Collection<Long> orgIds);
 }
\ No newline at end of file
@@ -28,7 +28,9 @@ import com.izpan.modules.system.domain.bo.SysRoleDataScopeQueryBO;
 import com.izpan.modules.system.domain.entity.SysDataScope;
 import com.izpan.starter.database.mybatis.plus.domain.DataScopeCondition;
 import com.izpan.starter.database.mybatis.plus.enums.DataScopeTypeEnum;
+import com.izpan.starter.database.mybatis.plus.enums.QueryConditionsEnum;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -105,6 +107,27 @@ public interface ISysDataScopeService extends IService<SysDataScope> {
      */
     Set<Long> getUserIdsByScopeType(Long userId, DataScopeTypeEnum scopeType);
 
+    /**
+     * 根据权限类型获取组织 ID 集合，用于按组织半连接过滤
+     *
+     * @param userId    当前用户 ID
+     * @param scopeType 权限类型
+     * @return {@link Set}<{@link Long }> 组织ID集合，不适用组织过滤时返回空集合
+     * @author payne.zhuang
+     * @CreateTime 2025-12-24 - 14:40:12
+     */
+    Set<Long> getOrgIdsByScopeType(Long userId, DataScopeTypeEnum scopeType);
+
+    /**
+     * 统计组织内的有效用户数
+     *
+     * @param orgIds 组织ID集合
+     * @return 用户数
+     * @author payne.zhuang
+     * @CreateTime 2025-12-24 - 14:40:47
+     */
+    long countUserIdsByOrgIds(Collection<Long> orgIds);
+
     /**
      * 获取本组织数据权限用户 ID 列表
      *
@@ -136,4 +159,16 @@ public interface ISysDataScopeService extends IService<SysDataScope> {
     Set<Long> getUserIdsBySelfAndChildScope(Long userId);
 
     List<DataScopeConditionContext> buildDataScopeVariableValue(Long userId, List<DataScopeCondition> customConditions);
+
+    /**
+     * 获取数据权限变量的实际值，用于绑定预编译的自定义条件
+     *
+     * @param userId         用户 ID
+     * @param variable       变量名
+     * @param conditionsEnum 查询条件枚举
+     * @return 变量的实际值，无效变量名时返回 null
+     * @author payne.zhuang
+     * @CreateTime 2025-12-25 - 10:48:20
+     */
+    Object getVariableValue(Long userId, String variable, QueryConditionsEnum conditionsEnum);
 }
@@ -69,4 +69,43 @@ public interface ISysOrgUnitsService extends IService<SysOrgUnits> {
      */
     List<SysOrgUnits> querySysOrgUnitsListWithStatus(String status);
 
+    /**
+     * 新增组织/部门/子部门，并写入闭包关系
+     *
+     * @param sysOrgUnitsBO 组织/部门/子部门 BO 对象
+     * @return {@link Boolean} 结果
+     * @author payne.zhuang
+     * @CreateTime 2025-12-26 - 09:52:18
+     */
+    boolean add(SysOrgUnitsBO sysOrgUnitsBO);
+
+    /**
+     * 更新组织/部门/子部门，父组织变更时移动闭包关系
+     *
+     * @param sysOrgUnitsBO 组织/部门/子部门 BO 对象
+     * @return {@link Boolean} 结果
+     * @author payne.zhuang
+     * @CreateTime 2025-12-26 - 09:53:04
+     */
+    boolean update(SysOrgUnitsBO sysOrgUnitsBO);
+
+    /**
+     * 批量删除组织/部门/子部门，并删除闭包关系
+     *
+     * @param ids 组织/部门/子部门ID集合
+     * @return {@link Boolean} 结果
+     * @author payne.zhuang
+     * @CreateTime 2025-12-26 - 09:53:47
+     */
+    boolean batchDelete(List<Long> ids);
+
+    /**
+     * 闭包表为空时按 ancestors 字段回填全部闭包关系
+     *
+     * @return 回填的闭包关系数量，闭包表已有数据时返回 0
+     * @author payne.zhuang
+     * @CreateTime 2025-12-26 - 09:54:32
+     */
+    int initOrgClosure();
+
 }
@@ -92,7 +92,7 @@ public interface ISysRoleMenuService extends IService<SysRoleMenu> {
     List<SysRoleMenuBO> queryMenuListWithRoleIds(List<Long> roleIds);
 
     /**
-     * 删除角色菜单缓存
+     * 失效角色菜单缓存，菜单信息变更时调用
      *
      * @param menuId 菜单 ID
      * @author payne.zhuang
@@ -101,7 +101,7 @@ public interface ISysRoleMenuService extends IService<SysRoleMenu> {
     void deleteRoleMenuCacheWithMenuId(Long menuId);
 
     /**
-     * 删除角色菜单缓存
+     * 失效角色菜单缓存，菜单信息变更时调用
      *
      * @param menuIds 菜单 ID 集合
      * @author payne.zhuang
@@ -81,7 +81,7 @@ public interface ISysRolePermissionService extends IService<SysRolePermission> {
     List<SysPermissionBO> queryPermissionListWithRoleId(Long roleId);
 
     /**
-     * 删除角色权限缓存
+     * 失效角色权限缓存，按钮权限信息变更时调用
      *
      * @param permissionId 按钮权限ID
      * @author payne.zhuang
@@ -37,6 +37,27 @@ public interface ISysRoleService extends IService<SysRole> {
      */
     List<SysRoleBO> queryAllRoleList();
 
+    /**
+     * 按页获取角色信息，用于流式导出（不查询总数）
+     *
+     * @param pageNo   页码，从 1 开始
+     * @param pageSize 每页条数
+     * @return {@link List }<{@link SysRoleBO }> 角色集合
+     * @author payne.zhuang
+     * @CreateTime 2025-12-26 - 14:32:08
+     */
+    List<SysRoleBO> queryRoleListPage(int pageNo, int pageSize);
+
+    /**
+     * 批量导入角色，同批次内及已存在的角色编码跳过
+     *
+     * @param roles 角色集合
+     * @return 实际写入条数
+     * @author payne.zhuang
+     * @CreateTime 2025-12-28 - 10:36:14
+     */
+    int importRoles(List<SysRoleBO> roles);
+
     /**
      * 根据用户ID查询角色代码列表
      *
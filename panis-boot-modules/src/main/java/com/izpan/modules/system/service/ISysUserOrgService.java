@@ -25,6 +25,7 @@ import com.izpan.infrastructure.page.PageQuery;
 import com.izpan.modules.system.domain.bo.SysUserOrgBO;
 import com.izpan.modules.system.domain.entity.SysUserOrg;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -144,4 +145,24 @@ public interface ISysUserOrgService extends IService<SysUserOrg> {
      */
     List<Long> getUserIdsBySelfAndChildWithPrincipal(Long userId);
 
+    /**
+     * 查询用户担任负责人的组织的下级组织ID（数据权限专用）
+     *
+     * @param userId 用户ID
+     * @return {@link List }<{@link Long }> 下级组织ID列表
+     * @author payne.zhuang
+     * @CreateTime 2025-12-24 - 14:34:27
+     */
+    List<Long> getChildOrgIdsByPrincipal(Long userId);
+
+    /**
+     * 统计组织内的有效用户数（数据权限专用）
+     *
+     * @param orgIds 组织ID集合
+     * @return {@link Long } 用户数
+     * @author payne.zhuang
+     * @CreateTime 2025-12-24 - 14:34:52
+     */
+    long countUserIdsByOrgIds(Collection<Long> orgIds);
+
 }
@@ -73,13 +73,4 @@ public interface ISysUserRoleService extends IService<SysUserRole> {
      * @CreateTime 2025-06-02 - 23:50:00
      */
     List<Long> listUserIdsByRoleIds(Set<Long> roleIds);
-
-    /**
-     * 根据角色 ID 集合删除关联用户的用户角色缓存
-     *
-     * @param roleIds 角色 ID 集合
-     * @author payne.zhuang
-     * @CreateTime 2025-12-23 - 12:11:56
-     */
-    void deleteUserRoleCacheWithRoleIds(Set<Long> roleIds);
 }
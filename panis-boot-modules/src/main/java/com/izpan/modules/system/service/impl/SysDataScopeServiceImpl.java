@@ -29,10 +29,10 @@ import com.izpan.common.exception.BizException;
 import com.izpan.common.pool.StringPools;
 import com.izpan.infrastructure.context.DataScopeConditionContext;
 import com.izpan.infrastructure.enums.DataScopeVariableEnum;
+import com.izpan.infrastructure.event.DataScopeCacheInvalidateEvent;
 import com.izpan.infrastructure.holder.GlobalUserHolder;
 import com.izpan.infrastructure.page.PageQuery;
 import com.izpan.infrastructure.util.DateTimeUtil;
-import com.izpan.infrastructure.util.RedisUtil;
 import com.izpan.modules.system.domain.bo.SysDataScopeBO;
 import com.izpan.modules.system.domain.bo.SysRoleDataScopeQueryBO;
 import com.izpan.modules.system.domain.entity.SysDataScope;
@@ -48,11 +48,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ObjectUtils;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * 数据权限管理 Service 服务接口实现层
@@ -81,6 +84,9 @@ public class SysDataScopeServiceImpl extends ServiceImpl<SysDataScopeMapper, Sys
     @NonNull
     private ISysUserOrgService sysUserOrgService;
 
+    @NonNull
+    private ApplicationEventPublisher applicationEventPublisher;
+
     /**
      * 分页查询数据权限列表
      *
@@ -146,14 +152,41 @@ public class SysDataScopeServiceImpl extends ServiceImpl<SysDataScopeMapper, Sys
     public boolean update(SysDataScopeBO sysDataScopeBO) {
         boolean result = super.updateById(sysDataScopeBO);
 
-        // 数据权限配置变更，异步清理相关权限的缓存
+        // 数据权限配置变更，清理相关权限的缓存
         if (result && sysDataScopeBO.getPermissionResource() != null) {
-            RedisUtil.del(SystemCacheConstant.dataScopeKey(sysDataScopeBO.getPermissionResource()));
+            applicationEventPublisher.publishEvent(DataScopeCacheInvalidateEvent.forPermission(
+                    this, sysDataScopeBO.getPermissionResource(), "数据权限配置变更"));
         }
 
         return result;
     }
 
+    /**
+     * 批量删除数据权限
+     * <p>
+     * 删除成功后清理被删除数据权限对应权限码的缓存
+     * </p>
+     *
+     * @param list    数据权限 ID 集合
+     * @param useFill 是否填充删除人信息
+     * @return 是否删除成功
+     * @author payne.zhuang
+     * @CreateTime 2025-12-22 - 11:21:40
+     */
+    @Override
+    public boolean removeBatchByIds(Collection<?> list, boolean useFill) {
+        Set<String> permissionResources = super.listByIds(list.stream().map(Long.class::cast).toList()).stream()
+                .map(SysDataScope::getPermissionResource)
+                .filter(org.springframework.util.StringUtils::hasText)
+                .collect(Collectors.toSet());
+        boolean result = super.removeBatchByIds(list, useFill);
+        if (result && !permissionResources.isEmpty()) {
+            applicationEventPublisher.publishEvent(DataScopeCacheInvalidateEvent.forPermissions(
+                    this, permissionResources, "数据权限配置删除"));
+        }
+        return result;
+    }
+
     // ================================ 权限查询相关方法 ================================
 
     /**
@@ -165,7 +198,7 @@ public class SysDataScopeServiceImpl extends ServiceImpl<SysDataScopeMapper, Sys
      * @CreateTime 2025-05-10 - 21:43
      */
     @Override
-    @Cacheable(value = SystemCacheConstant.SYSTEM_DATA_SCOPE, key = "#permissionResource")
+    @Cacheable(value = SystemCacheConstant.SYSTEM_DATA_SCOPE, key = "#permissionResource", sync = true)
     public List<SysRoleDataScopeQueryBO> listByPermissionResource(String permissionResource) {
         return sysRoleDataScopeService.listByPermissionResource(permissionResource);
     }
@@ -207,6 +240,50 @@ public class SysDataScopeServiceImpl extends ServiceImpl<SysDataScopeMapper, Sys
         };
     }
 
+    /**
+     * 根据权限类型获取组织 ID集合
+     * <p>
+     * 组织范围与对应的用户 ID集合查询保持一致：
+     * - UNIT: 用户所属组织
+     * - UNIT_AND_CHILD: 用户所属组织 + 负责组织的下级组织，非负责人降级为本组织
+     * - SELF_AND_CHILD: 负责组织的下级组织（本人由谓词单独处理），非负责人返回空集合
+     * - 其他类型及异常时返回空集合，由调用方使用用户 ID集合
+     * </p>
+     *
+     * @param userId    用户 ID
+     * @param scopeType 权限类型
+     * @return 组织 ID集合
+     * @author payne.zhuang
+     * @CreateTime 2025-12-24 - 14:42:36
+     */
+    @Override
+    public Set<Long> getOrgIdsByScopeType(Long userId, DataScopeTypeEnum scopeType) {
+        try {
+            return switch (scopeType) {
+                case UNIT -> Sets.newHashSet(sysUserOrgService.getUserOrgIds(userId));
+                case UNIT_AND_CHILD -> {
+                    Set<Long> orgIds = Sets.newHashSet(sysUserOrgService.getUserOrgIds(userId));
+                    if (!sysUserOrgService.getPrincipalOrgIds(userId).isEmpty()) {
+                        orgIds.addAll(sysUserOrgService.getChildOrgIdsByPrincipal(userId));
+                    }
+                    yield orgIds;
+                }
+                case SELF_AND_CHILD -> sysUserOrgService.getPrincipalOrgIds(userId).isEmpty()
+                        ? Collections.emptySet()
+                        : Sets.newHashSet(sysUserOrgService.getChildOrgIdsByPrincipal(userId));
+                default -> Collections.emptySet();
+            };
+        } catch (Exception e) {
+            log.error("[DataScope] 权限组织查询失败: userId={}, scopeType={}", userId, scopeType, e);
+            return Collections.emptySet();
+        }
+    }
+
+    @Override
+    public long countUserIdsByOrgIds(Collection<Long> orgIds) {
+        return sysUserOrgService.countUserIdsByOrgIds(orgIds);
+    }
+
     /**
      * 获取本组织权限的用户 ID集合
      * <p>
@@ -375,6 +452,17 @@ public class SysDataScopeServiceImpl extends ServiceImpl<SysDataScopeMapper, Sys
         return conditionContexts;
     }
 
+    @Override
+    public Object getVariableValue(Long userId, String variable, QueryConditionsEnum conditionsEnum) {
+        try {
+            return getVariableValue(userId, DataScopeVariableEnum.of(variable), conditionsEnum);
+        } catch (IllegalArgumentException e) {
+            // 无效变量名，与构建变量上下文时一致视为空值
+            log.debug("[DataScope] 无效变量名，视为空值: variable={}", variable);
+            return null;
+        }
+    }
+
     /**
      * 获取变量的实际值
      * <p>
@@ -30,6 +30,7 @@ import com.izpan.common.pool.StringPools;
 import com.izpan.common.util.CglibUtil;
 import com.izpan.common.util.CollectionUtil;
 import com.izpan.infrastructure.holder.ContextHolder;
+import com.izpan.infrastructure.holder.DictIndexHolder;
 import com.izpan.infrastructure.page.PageQuery;
 import com.izpan.infrastructure.util.RedisUtil;
 import com.izpan.modules.system.domain.bo.SysDictItemBO;
@@ -39,9 +40,11 @@ import com.izpan.modules.system.repository.mapper.SysDictItemMapper;
 import com.izpan.modules.system.service.ISysDictItemService;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -54,7 +57,23 @@ import java.util.stream.Collectors;
  */
 
 @Service
-public class SysDictItemServiceImpl extends ServiceImpl<SysDictItemMapper, SysDictItem> implements ISysDictItemService {
+public class SysDictItemServiceImpl extends ServiceImpl<SysDictItemMapper, SysDictItem> implements ISysDictItemService, InitializingBean {
+
+    /**
+     * 字典项缓存过期时间（秒），与角色权限缓存保持一致为 30 天
+     */
+    private static final long DICT_ITEM_EXPIRE_SECONDS = TimeUnit.DAYS.toSeconds(30);
+
+    /**
+     * 注册字典本地索引的回源逻辑，Redis 缓存过期后按编码从数据库重新加载
+     *
+     * @author payne.zhuang
+     * @CreateTime 2026-10-17 - 13:08:41
+     */
+    @Override
+    public void afterPropertiesSet() {
+        DictIndexHolder.registerMissLoader(this::loadDictItemToCache);
+    }
 
     @Override
     public IPage<SysDictItem> listSysDictItemPage(PageQuery pageQuery, SysDictItemBO sysDictItemBO) {
@@ -97,10 +116,11 @@ public class SysDictItemServiceImpl extends ServiceImpl<SysDictItemMapper, SysDi
         List<SysDictItem> sysDictItems = baseMapper.selectByIds(ids);
         boolean removed = super.removeBatchByIds(list, useFill);
         if (removed) {
-            Set<String> keys = sysDictItems.stream()
-                    .map(item -> SystemCacheConstant.dictItemKey(item.getDictCode()))
+            Set<String> dictCodes = sysDictItems.stream()
+                    .map(SysDictItem::getDictCode)
                     .collect(Collectors.toSet());
-            RedisUtil.del(keys);
+            RedisUtil.del(dictCodes.stream().map(SystemCacheConstant::dictItemKey).toList());
+            DictIndexHolder.remove(dictCodes);
         }
         return removed;
     }
@@ -163,10 +183,10 @@ public class SysDictItemServiceImpl extends ServiceImpl<SysDictItemMapper, SysDi
         LambdaQueryWrapper<SysDictItem> lambdaQueryWrapper = new LambdaQueryWrapper<SysDictItem>()
                 .eq(StringUtils.isNotBlank(dictCode), SysDictItem::getDictCode, dictCode);
         List<SysDictItem> sysDictItems = baseMapper.selectList(lambdaQueryWrapper);
-        // 按字典编码分组并排序，直接构建用于批量存储的 Map
-        Map<String, Object> dictCacheMap = sysDictItems.stream()
+        // 按字典编码分组并排序
+        Map<String, List<DictItem>> dictItemsMap = sysDictItems.stream()
                 .collect(Collectors.groupingBy(
-                        item -> SystemCacheConstant.dictItemKey(item.getDictCode()),
+                        SysDictItem::getDictCode,
                         Collectors.collectingAndThen(
                                 Collectors.toList(),
                                 items -> {
@@ -177,9 +197,23 @@ public class SysDictItemServiceImpl extends ServiceImpl<SysDictItemMapper, SysDi
                         )
                 ));
 
-        // 批量存入缓存
-        if (!dictCacheMap.isEmpty()) {
-            RedisUtil.multiSet(dictCacheMap);
+        // 批量存入缓存（管道 SET EX 覆盖写入，重新加载时替换旧数据）
+        if (!dictItemsMap.isEmpty()) {
+            Map<String, Object> dictCacheMap = HashMap.newHashMap(dictItemsMap.size());
+            dictItemsMap.forEach((code, items) -> dictCacheMap.put(SystemCacheConstant.dictItemKey(code), items));
+            RedisUtil.multiSetAndTime(dictCacheMap, DICT_ITEM_EXPIRE_SECONDS);
+        } else if (StringUtils.isNotBlank(dictCode)) {
+            // 字典项已全部删除或停用，移除旧缓存
+            RedisUtil.unlink(List.of(SystemCacheConstant.dictItemKey(dictCode)));
+        }
+
+        // 原子替换本地字典索引：全量加载时整体替换，按编码加载时只替换该编码
+        if (StringUtils.isBlank(dictCode)) {
+            DictIndexHolder.replaceAll(dictItemsMap);
+        } else if (dictItemsMap.isEmpty()) {
+            DictIndexHolder.remove(List.of(dictCode));
+        } else {
+            DictIndexHolder.replace(dictItemsMap);
         }
     }
 }
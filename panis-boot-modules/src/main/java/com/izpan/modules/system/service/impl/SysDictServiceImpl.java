@@ -24,6 +24,7 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.izpan.common.constants.SystemCacheConstant;
 import com.izpan.common.util.CollectionUtil;
+import com.izpan.infrastructure.holder.DictIndexHolder;
 import com.izpan.infrastructure.page.PageQuery;
 import com.izpan.infrastructure.util.RedisUtil;
 import com.izpan.modules.system.domain.bo.SysDictBO;
@@ -80,10 +81,11 @@ public class SysDictServiceImpl extends ServiceImpl<SysDictMapper, SysDict> impl
         List<SysDict> sysDictList = baseMapper.selectByIds(ids);
         boolean removed = super.removeBatchByIds(list, useFill);
         if (removed) {
-            Set<String> keys = sysDictList.stream()
-                    .map(item -> SystemCacheConstant.dictItemKey(item.getCode()))
+            Set<String> dictCodes = sysDictList.stream()
+                    .map(SysDict::getCode)
                     .collect(Collectors.toSet());
-            RedisUtil.del(keys);
+            RedisUtil.del(dictCodes.stream().map(SystemCacheConstant::dictItemKey).toList());
+            DictIndexHolder.remove(dictCodes);
         }
         return removed;
     }
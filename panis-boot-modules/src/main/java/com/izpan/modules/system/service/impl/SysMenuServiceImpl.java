@@ -10,6 +10,7 @@ import com.izpan.common.util.CglibUtil;
 import com.izpan.infrastructure.enums.MenuTypeEnum;
 import com.izpan.infrastructure.page.PageQuery;
 import com.izpan.infrastructure.util.RedisUtil;
+import com.izpan.modules.system.cache.RbacCacheVersion;
 import com.izpan.modules.system.domain.bo.SysMenuBO;
 import com.izpan.modules.system.domain.entity.SysMenu;
 import com.izpan.modules.system.repository.mapper.SysMenuMapper;
@@ -47,6 +48,9 @@ public class SysMenuServiceImpl extends ServiceImpl<SysMenuMapper, SysMenu> impl
     @NonNull
     private ISysPermissionService sysPermissionService;
 
+    @NonNull
+    private RbacCacheVersion rbacCacheVersion;
+
     @Override
     public IPage<SysMenu> listSysMenuPage(PageQuery pageQuery, SysMenuBO sysMenuBO) {
         LambdaQueryWrapper<SysMenu> queryWrapper = new LambdaQueryWrapper<SysMenu>()
@@ -71,9 +75,9 @@ public class SysMenuServiceImpl extends ServiceImpl<SysMenuMapper, SysMenu> impl
                 SysMenu byId = super.getById(menuId);
                 throw new BizException("菜单[%s]已被授权角色权限,不允许被删除,请撤销后再进行操作删除".formatted(byId.getName()));
             }
-            // 删除角色缓存
-            sysRoleMenuService.deleteRoleMenuCacheWithMenuId(menuId);
         });
+        // 失效角色菜单缓存
+        sysRoleMenuService.deleteRoleMenuCacheWithMenuIds(Set.copyOf(menuIds));
         // 删除权限按钮数据
         sysPermissionService.deletePermissionWithMenuIds(menuIds);
         // 删除菜单
@@ -145,7 +149,7 @@ public class SysMenuServiceImpl extends ServiceImpl<SysMenuMapper, SysMenu> impl
 
     @Override
     public void saveRoleMenuToCache(Long roleId, Set<Long> menuIds) {
-        String roleMenuListKey = SystemCacheConstant.roleMenuListKey(roleId);
+        String roleMenuListKey = SystemCacheConstant.roleMenuListKey(rbacCacheVersion.roleCacheKey(roleId));
         if (CollectionUtils.isEmpty(menuIds)) {
             RedisUtil.del(roleMenuListKey);
             return;
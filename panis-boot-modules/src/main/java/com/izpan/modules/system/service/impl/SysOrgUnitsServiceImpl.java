@@ -22,15 +22,28 @@ package com.izpan.modules.system.service.impl;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.google.common.collect.Lists;
+import com.izpan.common.exception.BizException;
+import com.izpan.common.pool.StringPools;
 import com.izpan.infrastructure.page.PageQuery;
 import com.izpan.modules.system.domain.bo.SysOrgUnitsBO;
+import com.izpan.modules.system.domain.entity.SysOrgClosure;
 import com.izpan.modules.system.domain.entity.SysOrgUnits;
+import com.izpan.modules.system.repository.mapper.SysOrgClosureMapper;
 import com.izpan.modules.system.repository.mapper.SysOrgUnitsMapper;
 import com.izpan.modules.system.service.ISysOrgUnitsService;
+import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * 组织/部门/子部门管理 Service 服务接口实现层
@@ -45,6 +58,14 @@ import java.util.List;
 @Service
 public class SysOrgUnitsServiceImpl extends ServiceImpl<SysOrgUnitsMapper, SysOrgUnits> implements ISysOrgUnitsService {
 
+    /**
+     * 闭包关系回填时单条 INSERT 的最大行数
+     */
+    private static final int CLOSURE_BATCH_SIZE = 1000;
+
+    @Resource
+    private SysOrgClosureMapper sysOrgClosureMapper;
+
     @Override
     public IPage<SysOrgUnits> listSysOrgUnitsPage(PageQuery pageQuery, SysOrgUnitsBO sysOrgUnitsBO) {
         return baseMapper.listSysOrgUnitsPage(pageQuery.buildPage(), sysOrgUnitsBO);
@@ -62,5 +83,106 @@ public class SysOrgUnitsServiceImpl extends ServiceImpl<SysOrgUnitsMapper, SysOr
         return baseMapper.selectList(queryWrapper);
     }
 
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean add(SysOrgUnitsBO sysOrgUnitsBO) {
+        boolean result = save(sysOrgUnitsBO);
+        sysOrgClosureMapper.insertNode(sysOrgUnitsBO.getId(), sysOrgUnitsBO.getParentId());
+        return result;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean update(SysOrgUnitsBO sysOrgUnitsBO) {
+        Long id = sysOrgUnitsBO.getId();
+        Long parentId = sysOrgUnitsBO.getParentId();
+        SysOrgUnits original = getById(id);
+        boolean moved = original != null && parentId != null && !Objects.equals(original.getParentId(), parentId);
+        // 不允许移动到自身或其下级组织下，否则闭包关系成环
+        if (moved && sysOrgClosureMapper.existsRelation(id, parentId)) {
+            throw new BizException("不能将组织移动到自身或其下级组织下");
+        }
+        boolean result = updateById(sysOrgUnitsBO);
+        if (moved) {
+            sysOrgClosureMapper.detachSubtree(id);
+            sysOrgClosureMapper.attachSubtree(id, parentId);
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean batchDelete(List<Long> ids) {
+        boolean result = removeBatchByIds(ids, true);
+        if (!CollectionUtils.isEmpty(ids)) {
+            sysOrgClosureMapper.deleteByOrgIds(ids);
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int initOrgClosure() {
+        if (sysOrgClosureMapper.countAll() > 0) {
+            return 0;
+        }
+        LambdaQueryWrapper<SysOrgUnits> queryWrapper = new LambdaQueryWrapper<SysOrgUnits>()
+                .select(SysOrgUnits::getId, SysOrgUnits::getParentId, SysOrgUnits::getAncestors);
+        List<SysOrgUnits> orgUnitsList = baseMapper.selectList(queryWrapper);
+        Set<Long> orgIds = orgUnitsList.stream().map(SysOrgUnits::getId).collect(Collectors.toSet());
+        List<SysOrgClosure> closures = new ArrayList<>();
+        orgUnitsList.forEach(orgUnits -> closures.addAll(buildClosures(orgUnits, orgIds)));
+        Lists.partition(closures, CLOSURE_BATCH_SIZE).forEach(sysOrgClosureMapper::insertBatch);
+        return closures.size();
+    }
+
+    /**
+     * 按 ancestors（根在前，逗号分隔）构建组织的全部闭包关系
+     * <p>
+     * 从直接父组织向上，遇到已删除的祖先即停止，已删除组织的下级不再归属其上级组织，与删除组织时断开的关系一致
+     * </p>
+     *
+     * @param orgUnits 组织
+     * @param orgIds   未删除的全部组织ID
+     * @return {@link List }<{@link SysOrgClosure }> 闭包关系
+     * @author payne.zhuang
+     * @CreateTime 2025-12-26 - 10:06:51
+     */
+    private static List<SysOrgClosure> buildClosures(SysOrgUnits orgUnits, Set<Long> orgIds) {
+        Long id = orgUnits.getId();
+        List<Long> ancestorIds = new ArrayList<>();
+        if (StringUtils.hasText(orgUnits.getAncestors())) {
+            for (String ancestor : orgUnits.getAncestors().split(StringPools.COMMA)) {
+                String trimmed = ancestor.trim();
+                // 0 为虚拟根节点，不写入闭包表
+                if (!StringUtils.hasText(trimmed) || StringPools.ZERO.equals(trimmed)) {
+                    continue;
+                }
+                Long ancestorId = Long.valueOf(trimmed);
+                if (!id.equals(ancestorId) && !ancestorIds.contains(ancestorId)) {
+                    ancestorIds.add(ancestorId);
+                }
+            }
+        }
+        // 兼容未包含直接父组织的 ancestors
+        Long parentId = orgUnits.getParentId();
+        if (parentId != null && parentId != 0L && !ancestorIds.contains(parentId)) {
+            ancestorIds.add(parentId);
+        }
+        for (int i = ancestorIds.size() - 1; i >= 0; i--) {
+            if (!orgIds.contains(ancestorIds.get(i))) {
+                ancestorIds = ancestorIds.subList(i + 1, ancestorIds.size());
+                break;
+            }
+        }
+        List<SysOrgClosure> closures = new ArrayList<>(ancestorIds.size() + 1);
+        int size = ancestorIds.size();
+        for (int i = 0; i < size; i++) {
+            closures.add(new SysOrgClosure(ancestorIds.get(i), id, size - i));
+        }
+        closures.add(new SysOrgClosure(id, id, 0));
+        return closures;
+    }
+
 }
 
@@ -2,9 +2,9 @@ package com.izpan.modules.system.service.impl;
 
 
 import cn.dev33.satoken.stp.StpInterface;
-import com.google.common.collect.Lists;
 import com.izpan.common.exception.BizException;
 import com.izpan.infrastructure.holder.GlobalUserHolder;
+import com.izpan.modules.system.cache.PermissionSetCache;
 import com.izpan.modules.system.service.ISysRolePermissionService;
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
@@ -30,16 +30,16 @@ public class SysPermissionInterfaceImpl implements StpInterface {
     @NonNull
     private ISysRolePermissionService sysRolePermissionService;
 
+    @NonNull
+    private PermissionSetCache permissionSetCache;
+
     @Override
     public List<String> getPermissionList(Object loginId, String loginType) {
         if (GlobalUserHolder.getRoleIds().isEmpty()) {
             throw new BizException("当前用户角色为空，请联系管理员");
         }
-        List<String> permissionList = Lists.newArrayList();
-        GlobalUserHolder.getRoleIds().stream()
-                .map(sysRolePermissionService::queryPermissionResourcesWithRoleId)
-                .forEach(permissionList::addAll);
-        return permissionList;
+        // 返回编译后的权限集合，权限校验为本地查找，仅在角色权限变更后才重新加载
+        return permissionSetCache.get(GlobalUserHolder.getRoleIds(), sysRolePermissionService::queryPermissionResourcesWithRoleId);
     }
 
     @Override
@@ -13,10 +13,12 @@ import com.izpan.common.pool.StringPools;
 import com.izpan.common.util.CglibUtil;
 import com.izpan.infrastructure.page.PageQuery;
 import com.izpan.infrastructure.util.RedisUtil;
+import com.izpan.modules.system.cache.RbacCacheVersion;
 import com.izpan.modules.system.domain.bo.SysPermissionBO;
 import com.izpan.modules.system.domain.entity.SysPermission;
 import com.izpan.modules.system.repository.mapper.SysPermissionMapper;
 import com.izpan.modules.system.service.ISysPermissionService;
+import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ObjectUtils;
@@ -25,6 +27,7 @@ import org.springframework.util.CollectionUtils;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -40,6 +43,9 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class SysPermissionServiceImpl extends ServiceImpl<SysPermissionMapper, SysPermission> implements ISysPermissionService {
 
+    @NonNull
+    private RbacCacheVersion rbacCacheVersion;
+
     @Override
     public IPage<SysPermission> listSysPermissionPage(PageQuery pageQuery, SysPermissionBO sysPermissionBO) {
         LambdaQueryWrapper<SysPermission> queryWrapper = new LambdaQueryWrapper<SysPermission>()
@@ -93,9 +99,6 @@ public class SysPermissionServiceImpl extends ServiceImpl<SysPermissionMapper, S
                 .eq(SysPermission::getStatus, StringPools.ONE)
                 .in(SysPermission::getId, permissionIds);
         List<SysPermission> sysPermissions = baseMapper.selectList(queryWrapper);
-        // 保存权限对象集合至缓存
-        String rolePermissionListKey = SystemCacheConstant.rolePermissionListKey(roleId);
-        RedisUtil.set(rolePermissionListKey, CglibUtil.convertList(sysPermissions, SysPermissionBO::new), 30L, TimeUnit.DAYS);
         // 提取角色权限资源
         List<String> permissionResources = Lists.newArrayList(sysPermissions.stream()
                 .map(SysPermission::getResource)
@@ -103,9 +106,12 @@ public class SysPermissionServiceImpl extends ServiceImpl<SysPermissionMapper, S
                         .trimResults().omitEmptyStrings().split(resource)))
                 .distinct().toList());
         permissionResources.sort(String::compareTo);
-        // 保存角色权限到缓存
-        String rolePermissionKey = SystemCacheConstant.rolePermissionResourcesKey(roleId);
-        RedisUtil.set(rolePermissionKey, permissionResources, 30L, TimeUnit.DAYS);
+        // 权限对象集合与权限资源通过管道一次写入缓存
+        String roleCacheKey = rbacCacheVersion.roleCacheKey(roleId);
+        RedisUtil.multiSetAndTime(Map.of(
+                SystemCacheConstant.rolePermissionListKey(roleCacheKey), CglibUtil.convertList(sysPermissions, SysPermissionBO::new),
+                SystemCacheConstant.rolePermissionResourcesKey(roleCacheKey), permissionResources
+        ), TimeUnit.DAYS.toSeconds(30));
     }
 
     @Override
@@ -25,6 +25,7 @@ import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.baomidou.mybatisplus.extension.toolkit.Db;
 import com.google.common.collect.Sets;
 import com.izpan.common.util.CollectionUtil;
+import com.izpan.infrastructure.event.DataScopeCacheInvalidateEvent;
 import com.izpan.infrastructure.holder.GlobalUserHolder;
 import com.izpan.infrastructure.page.PageQuery;
 import com.izpan.modules.system.domain.bo.SysRoleDataScopeBO;
@@ -34,6 +35,7 @@ import com.izpan.modules.system.repository.mapper.SysRoleDataScopeMapper;
 import com.izpan.modules.system.service.ISysRoleDataScopeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
@@ -57,6 +59,8 @@ import java.util.stream.Collectors;
 @Slf4j
 public class SysRoleDataScopeServiceImpl extends ServiceImpl<SysRoleDataScopeMapper, SysRoleDataScope> implements ISysRoleDataScopeService {
 
+    private final ApplicationEventPublisher applicationEventPublisher;
+
     @Override
     public IPage<SysRoleDataScope> listSysRoleDataScopePage(PageQuery pageQuery, SysRoleDataScopeBO sysRoleDataScopeBO) {
         LambdaQueryWrapper<SysRoleDataScope> queryWrapper = new LambdaQueryWrapper<>();
@@ -145,6 +149,8 @@ public class SysRoleDataScopeServiceImpl extends ServiceImpl<SysRoleDataScopeMap
                 }
         );
 
+        // 角色数据权限变更，清理该角色关联用户的数据权限缓存
+        applicationEventPublisher.publishEvent(DataScopeCacheInvalidateEvent.forRole(this, roleId, "角色数据权限变更"));
         return saveBatch.get();
     }
 }
@@ -8,17 +8,14 @@ import com.google.common.collect.Sets;
 import com.izpan.common.constants.SystemCacheConstant;
 import com.izpan.common.util.CglibUtil;
 import com.izpan.common.util.CollectionUtil;
-import com.izpan.infrastructure.enums.MenuTypeEnum;
 import com.izpan.infrastructure.page.PageQuery;
-import com.izpan.infrastructure.util.RedisUtil;
+import com.izpan.modules.system.cache.RbacCacheVersion;
 import com.izpan.modules.system.domain.bo.SysMenuBO;
 import com.izpan.modules.system.domain.bo.SysRoleMenuBO;
-import com.izpan.modules.system.domain.entity.SysMenu;
 import com.izpan.modules.system.domain.entity.SysRoleMenu;
 import com.izpan.modules.system.repository.mapper.SysRoleMenuMapper;
 import com.izpan.modules.system.service.ISysMenuService;
 import com.izpan.modules.system.service.ISysRoleMenuService;
-import com.izpan.modules.system.service.ISysUserRoleService;
 import jakarta.annotation.Resource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -52,7 +49,7 @@ public class SysRoleMenuServiceImpl extends ServiceImpl<SysRoleMenuMapper, SysRo
     private ISysMenuService sysMenuService;
 
     @Resource
-    private ISysUserRoleService sysUserRoleService;
+    private RbacCacheVersion rbacCacheVersion;
 
     @Override
     public IPage<SysRoleMenu> listSysRoleMenuPage(PageQuery pageQuery, SysRoleMenuBO sysRoleMenuBO) {
@@ -107,16 +104,16 @@ public class SysRoleMenuServiceImpl extends ServiceImpl<SysRoleMenuMapper, SysRo
                     }
                     // 所有传值过来的菜单 ID 进行移除目录 ID
                     menuIdSet.removeAll(directoryIds);
-                    sysMenuService.saveRoleMenuToCache(roleId, menuIdSet);
+                    // 事务提交后先递增角色缓存版本号（同时失效用户路由），再写入新版本的角色菜单缓存
+                    rbacCacheVersion.bumpRoles(Set.of(roleId));
+                    rbacCacheVersion.afterCommit(() -> sysMenuService.saveRoleMenuToCache(roleId, menuIdSet));
                 }
         );
-        // 用户路由缓存删除
-        sysUserRoleService.deleteUserRoleCacheWithRoleIds(Set.of(roleId));
         return saveBath.get();
     }
 
     @Override
-    @Cacheable(value = SystemCacheConstant.SYSTEM_ROLE_MENU_LIST, key = "#roleId")
+    @Cacheable(value = SystemCacheConstant.SYSTEM_ROLE_MENU_LIST, key = "@rbacCacheVersion.roleCacheKey(#roleId)", sync = true)
     public List<SysMenuBO> queryMenuListWithRoleId(Long roleId) {
         return sysMenuService.queryMenuListWithRoleId(roleId);
     }
@@ -163,34 +160,15 @@ public class SysRoleMenuServiceImpl extends ServiceImpl<SysRoleMenuMapper, SysRo
 
     @Override
     public void deleteRoleMenuCacheWithMenuId(Long menuId) {
-        SysMenu sysMenu = sysMenuService.getById(menuId);
-        // 初始化成 ID 集合，方便后续目录时方便 IN 查找
-        Set<Long> menuIds = Sets.newHashSet(menuId);
-        // 如果当前菜单是目录，则需要找出目录下所有菜单
-        if (MenuTypeEnum.DIRECTORY.getValue().equalsIgnoreCase(sysMenu.getType())) {
-            // 删除目录 ID
-            menuIds.clear();
-            // 查找目录下所有菜单
-            LambdaQueryWrapper<SysMenu> inQueryWrapper = new LambdaQueryWrapper<SysMenu>()
-                    .eq(SysMenu::getParentId, menuId);
-            List<SysMenu> sysMenus = sysMenuService.list(inQueryWrapper);
-            menuIds.addAll(sysMenus.stream().map(SysMenu::getId).toList());
-        }
-        if (CollectionUtils.isEmpty(menuIds)) return;
-        // 删除角色菜单缓存
-        deleteRoleMenuCacheWithMenuIds(menuIds);
+        deleteRoleMenuCacheWithMenuIds(Set.of(menuId));
     }
 
     @Override
     public void deleteRoleMenuCacheWithMenuIds(Set<Long> menuIds) {
-        // 找出所有关于此菜单的角色
-        LambdaQueryWrapper<SysRoleMenu> inQueryWrapper = new LambdaQueryWrapper<SysRoleMenu>()
-                .in(SysRoleMenu::getMenuId, menuIds);
-        List<SysRoleMenu> sysRoleMenus = baseMapper.selectList(inQueryWrapper);
-        // 删除角色菜单缓存
-        sysRoleMenus.stream()
-                .map(SysRoleMenu::getRoleId)
-                .filter(roleId -> RedisUtil.exists(SystemCacheConstant.roleMenuListKey(roleId)))
-                .forEach(roleId -> RedisUtil.del(SystemCacheConstant.roleMenuListKey(roleId)));
+        if (CollectionUtils.isEmpty(menuIds)) {
+            return;
+        }
+        // 菜单（含目录）信息变更会影响所有引用它的角色菜单及用户路由，递增全局版本号一次性失效，无需逐个角色查找删除
+        rbacCacheVersion.bumpAll();
     }
 }
@@ -12,7 +12,7 @@ import com.izpan.common.constants.SystemCacheConstant;
 import com.izpan.common.pool.StringPools;
 import com.izpan.common.util.CollectionUtil;
 import com.izpan.infrastructure.page.PageQuery;
-import com.izpan.infrastructure.util.RedisUtil;
+import com.izpan.modules.system.cache.RbacCacheVersion;
 import com.izpan.modules.system.domain.bo.SysPermissionBO;
 import com.izpan.modules.system.domain.bo.SysRolePermissionBO;
 import com.izpan.modules.system.domain.entity.SysPermission;
@@ -48,6 +48,9 @@ public class SysRolePermissionServiceImpl extends ServiceImpl<SysRolePermissionM
     @NonNull
     private ISysPermissionService sysPermissionService;
 
+    @NonNull
+    private RbacCacheVersion rbacCacheVersion;
+
     @Override
     public IPage<SysRolePermission> listSysRolePermissionPage(PageQuery pageQuery, SysRolePermissionBO sysRolePermissionBO) {
         return baseMapper.selectPage(pageQuery.buildPage(), new LambdaQueryWrapper<>());
@@ -92,8 +95,9 @@ public class SysRolePermissionServiceImpl extends ServiceImpl<SysRolePermissionM
                         // 进行新增数据
                         saveBath.set(Db.saveBatch(addRolePermissionList));
                     }
-                    // 保存角色权限到缓存
-                    sysPermissionService.saveRolePermissionToCache(roleId, permissionIds);
+                    // 事务提交后先递增角色缓存版本号（用户路由中包含按钮权限，一并失效），再写入新版本的角色权限缓存
+                    rbacCacheVersion.bumpRoles(Set.of(roleId));
+                    rbacCacheVersion.afterCommit(() -> sysPermissionService.saveRolePermissionToCache(roleId, permissionIds));
                 }
         );
         return saveBath.get();
@@ -108,7 +112,7 @@ public class SysRolePermissionServiceImpl extends ServiceImpl<SysRolePermissionM
     }
 
     @Override
-    @Cacheable(value = SystemCacheConstant.SYSTEM_ROLE_PERMISSION_RESOURCES, key = "#roleId")
+    @Cacheable(value = SystemCacheConstant.SYSTEM_ROLE_PERMISSION_RESOURCES, key = "@rbacCacheVersion.roleCacheKey(#roleId)", sync = true)
     public List<String> queryPermissionResourcesWithRoleId(Long roleId) {
         List<SysPermissionBO> sysPermissionBOS = sysPermissionService.queryPermissionListWithRoleId(roleId);
         // https://github.com/spring-projects/spring-data-redis/issues/2697
@@ -121,21 +125,14 @@ public class SysRolePermissionServiceImpl extends ServiceImpl<SysRolePermissionM
     }
 
     @Override
-    @Cacheable(value = SystemCacheConstant.SYSTEM_ROLE_PERMISSION_LIST, key = "#roleId")
+    @Cacheable(value = SystemCacheConstant.SYSTEM_ROLE_PERMISSION_LIST, key = "@rbacCacheVersion.roleCacheKey(#roleId)", sync = true)
     public List<SysPermissionBO> queryPermissionListWithRoleId(Long roleId) {
         return sysPermissionService.queryPermissionListWithRoleId(roleId);
     }
 
     @Override
     public void deleteRolePermissionCacheWithRoleId(Long permissionId) {
-        // 找出所有关于此按钮权限的角色
-        LambdaQueryWrapper<SysRolePermission> inQueryWrapper = new LambdaQueryWrapper<SysRolePermission>()
-                .eq(SysRolePermission::getPermissionId, permissionId);
-        List<SysRolePermission> sysRolePermissions = baseMapper.selectList(inQueryWrapper);
-        sysRolePermissions.stream().map(SysRolePermission::getRoleId).toList()
-                .forEach(roleId -> {
-                    RedisUtil.del(SystemCacheConstant.rolePermissionListKey(roleId));
-                    RedisUtil.del(SystemCacheConstant.rolePermissionResourcesKey(roleId));
-                });
+        // 按钮权限定义变更会影响所有引用它的角色，递增全局版本号一次性失效，无需逐个角色查找删除
+        rbacCacheVersion.bumpAll();
     }
 }
@@ -2,6 +2,7 @@ package com.izpan.modules.system.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.izpan.common.exception.BizException;
 import com.izpan.common.pool.StringPools;
@@ -20,7 +21,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 角色管理 Service 服务接口实现层
@@ -96,6 +99,32 @@ public class SysRoleServiceImpl extends ServiceImpl<SysRoleMapper, SysRole> impl
         return CglibUtil.convertList(baseMapper.selectList(queryWrapper), SysRoleBO::new);
     }
 
+    @Override
+    public List<SysRoleBO> queryRoleListPage(int pageNo, int pageSize) {
+        // 追加 ID 排序保证分页顺序稳定
+        var queryWrapper = new LambdaQueryWrapper<SysRole>()
+                .orderByAsc(SysRole::getSort)
+                .orderByAsc(SysRole::getId);
+        IPage<SysRole> page = baseMapper.selectPage(new Page<>(pageNo, pageSize, false), queryWrapper);
+        return CglibUtil.convertList(page.getRecords(), SysRoleBO::new);
+    }
+
+    @Override
+    public int importRoles(List<SysRoleBO> roles) {
+        // 按角色编码去重，保留同批次内首次出现的记录，再剔除库中已存在的编码
+        Map<String, SysRole> roleMap = LinkedHashMap.newLinkedHashMap(roles.size());
+        roles.forEach(role -> roleMap.putIfAbsent(role.getRoleCode(), role));
+        var queryWrapper = new LambdaQueryWrapper<SysRole>()
+                .select(SysRole::getRoleCode)
+                .in(SysRole::getRoleCode, roleMap.keySet());
+        baseMapper.<String>selectObjs(queryWrapper).forEach(roleMap::remove);
+        if (roleMap.isEmpty()) {
+            return 0;
+        }
+        saveBatch(roleMap.values(), roleMap.size());
+        return roleMap.size();
+    }
+
     @Override
     public List<String> queryRoleCodesWithUserId(Long userId) {
         List<SysRole> sysRoles = baseMapper.queryRoleListWithUserId(userId);
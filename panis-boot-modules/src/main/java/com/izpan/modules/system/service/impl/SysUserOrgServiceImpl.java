@@ -28,15 +28,20 @@ import com.izpan.common.pool.StringPools;
 import com.izpan.common.util.CglibUtil;
 import com.izpan.common.util.CollectionUtil;
 import com.izpan.common.util.StringUtil;
+import com.izpan.infrastructure.event.DataScopeCacheInvalidateEvent;
 import com.izpan.infrastructure.page.PageQuery;
 import com.izpan.modules.system.domain.bo.SysUserOrgBO;
 import com.izpan.modules.system.domain.entity.SysUserOrg;
 import com.izpan.modules.system.repository.mapper.SysUserOrgMapper;
 import com.izpan.modules.system.service.ISysUserOrgService;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -53,8 +58,12 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class SysUserOrgServiceImpl extends ServiceImpl<SysUserOrgMapper, SysUserOrg> implements ISysUserOrgService {
 
+    @NonNull
+    private ApplicationEventPublisher applicationEventPublisher;
+
     @Override
     public IPage<SysUserOrg> listSysUserOrgPage(PageQuery pageQuery, SysUserOrgBO sysUserOrgBO) {
         return baseMapper.selectPage(pageQuery.buildPage(), new LambdaQueryWrapper<>());
@@ -110,6 +119,8 @@ public class SysUserOrgServiceImpl extends ServiceImpl<SysUserOrgMapper, SysUser
                 }
         );
         baseMapper.updatePrincipal(userId, principalSet);
+        // 组织成员及负责人变更会影响同组织、上级组织用户的数据权限范围，清理全部数据权限缓存
+        applicationEventPublisher.publishEvent(DataScopeCacheInvalidateEvent.forAll(this, "用户组织变更"));
         return saveResult.get();
     }
 
@@ -141,5 +152,18 @@ public class SysUserOrgServiceImpl extends ServiceImpl<SysUserOrgMapper, SysUser
         return baseMapper.getUserIdsBySelfAndChildWithPrincipal(userId);
     }
 
+    @Override
+    public List<Long> getChildOrgIdsByPrincipal(Long userId) {
+        return baseMapper.getChildOrgIdsByPrincipal(userId);
+    }
+
+    @Override
+    public long countUserIdsByOrgIds(Collection<Long> orgIds) {
+        if (orgIds.isEmpty()) {
+            return 0L;
+        }
+        return baseMapper.countUserIdsByOrgIds(orgIds);
+    }
+
 }
 
@@ -5,10 +5,9 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.baomidou.mybatisplus.extension.toolkit.Db;
 import com.google.common.collect.Sets;
-import com.izpan.common.constants.SystemCacheConstant;
 import com.izpan.common.util.CollectionUtil;
+import com.izpan.infrastructure.event.DataScopeCacheInvalidateEvent;
 import com.izpan.infrastructure.page.PageQuery;
-import com.izpan.infrastructure.util.RedisUtil;
 import com.izpan.modules.system.domain.bo.SysUserRoleBO;
 import com.izpan.modules.system.domain.entity.SysUserRole;
 import com.izpan.modules.system.repository.mapper.SysUserRoleMapper;
@@ -16,6 +15,7 @@ import com.izpan.modules.system.service.ISysRoleService;
 import com.izpan.modules.system.service.ISysUserRoleService;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
@@ -38,6 +38,9 @@ public class SysUserRoleServiceImpl extends ServiceImpl<SysUserRoleMapper, SysUs
     @NonNull
     private ISysRoleService sysRoleService;
 
+    @NonNull
+    private ApplicationEventPublisher applicationEventPublisher;
+
     @Override
     public IPage<SysUserRole> listSysUserRolePage(PageQuery pageQuery, SysUserRoleBO sysUserRoleBO) {
         return baseMapper.selectPage(pageQuery.buildPage(), new LambdaQueryWrapper<>());
@@ -83,6 +86,8 @@ public class SysUserRoleServiceImpl extends ServiceImpl<SysUserRoleMapper, SysUs
                 }
         );
 
+        // 用户角色变更，清理该用户的数据权限缓存
+        applicationEventPublisher.publishEvent(DataScopeCacheInvalidateEvent.forUser(this, userId, "用户角色变更"));
         return saveResult.get();
     }
 
@@ -103,14 +108,4 @@ public class SysUserRoleServiceImpl extends ServiceImpl<SysUserRoleMapper, SysUs
                 .distinct()
                 .toList();
     }
-
-    @Override
-    public void deleteUserRoleCacheWithRoleIds(Set<Long> roleIds) {
-        // 根据角色 Ids 找出关联用户 Ids，进行用户路由缓存删除
-        List<Long> userIds = listUserIdsByRoleIds(roleIds);
-        // 删除用户路由缓存
-        userIds.stream()
-                .filter(userId -> RedisUtil.exists(SystemCacheConstant.userRouteKey(userId)))
-                .forEach(userId -> RedisUtil.del(SystemCacheConstant.userRouteKey(userId)));
-    }
 }
@@ -94,6 +94,7 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
         boolean updateById = super.updateById(sysUserBO);
         // 用户管理修改用户，则退出用户，要求重登
         StpUtil.logout(sysUserBO.getId());
+        GlobalUserHolder.clearUser();
         return updateById;
     }
 
@@ -184,16 +185,24 @@ public class SysUserServiceImpl extends ServiceImpl<SysUserMapper, SysUser> impl
         if (needCheck) {
             sysUser = super.getById(sysUser.getId());
         }
-        // 用户转换
-        LoginUser loginUser = CglibUtil.convertObj(sysUser, LoginUser::new);
         // 获取用户角色
         List<SysRoleBO> sysRoleBOS = sysRoleService.queryRoleListWithUserId(sysUser.getId());
-        loginUser.setRoleIds(sysRoleBOS.stream().map(SysRoleBO::getId).collect(Collectors.toSet()));
-        loginUser.setRoleCodes(sysRoleBOS.stream().map(SysRoleBO::getRoleCode).collect(Collectors.toSet()));
         Set<Long> userOrgIds = sysUserOrgService.queryOrgUnitsIdsWithUserId(sysUser.getId());
-        loginUser.setOrgIds(userOrgIds);
+        // 用户转换
+        LoginUser loginUser = LoginUser.builder()
+                .id(sysUser.getId())
+                .userName(sysUser.getUserName())
+                .nickName(sysUser.getNickName())
+                .realName(sysUser.getRealName())
+                .email(sysUser.getEmail())
+                .phone(sysUser.getPhone())
+                .roleIds(sysRoleBOS.stream().map(SysRoleBO::getId).collect(Collectors.toSet()))
+                .roleCodes(sysRoleBOS.stream().map(SysRoleBO::getRoleCode).collect(Collectors.toSet()))
+                .orgIds(userOrgIds)
+                .build();
         // Session 放入用户对象
-        StpUtil.getSessionByLoginId(sysUser.getId()).set("user", loginUser);
+        StpUtil.getSessionByLoginId(sysUser.getId()).set(GlobalUserHolder.SESSION_USER_KEY, loginUser);
+        GlobalUserHolder.clearUser();
     }
 
     @Override
@@ -0,0 +1,86 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.izpan.modules.system.strategy;
+
+import com.izpan.starter.database.mybatis.plus.domain.DataScope;
+import com.izpan.starter.database.mybatis.plus.domain.DataScopeSqlFragment;
+import com.izpan.starter.database.mybatis.plus.enums.DataScopeTypeEnum;
+import com.izpan.starter.database.mybatis.plus.strategy.IDataScopePredicateStrategy;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 组织半连接谓词策略
+ * <p>
+ * 权限用户数超过 IN 列表阈值时，数据权限仅保存组织 ID 集合，
+ * 按组织成员子查询过滤，用户 ID 集合不在 Java 中物化：<br>
+ * create_user_id IN (SELECT uo.user_id FROM sys_user_org uo ... WHERE uo.org_id IN (?, ...)) <br>
+ * SELF_AND_CHILD 类型额外包含本人：(create_user_id = ? OR create_user_id IN (...))
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.modules.system.strategy.OrgSemiJoinPredicateStrategy
+ * @CreateTime 2025-12-24 - 14:50:19
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class OrgSemiJoinPredicateStrategy implements IDataScopePredicateStrategy {
+
+    /**
+     * 组织有效用户子查询，与 getUserIdsByOrgIds 的用户过滤条件一致
+     */
+    private static final String ORG_USER_SUBQUERY = "SELECT uo.user_id FROM sys_user_org uo"
+            + " INNER JOIN sys_user u ON uo.user_id = u.id AND u.status = '1' AND u.is_deleted = 0"
+            + " WHERE uo.is_deleted = 0 AND uo.org_id IN (";
+
+    @Override
+    public boolean supports(DataScope dataScope) {
+        return !CollectionUtils.isEmpty(dataScope.getScopeOrgIds());
+    }
+
+    @Override
+    public DataScopeSqlFragment build(DataScope dataScope, String userIdColumn) {
+        Set<Long> scopeOrgIds = dataScope.getScopeOrgIds();
+        boolean includeSelf = DataScopeTypeEnum.SELF_AND_CHILD == dataScope.getScopeType();
+        List<Object> values = new ArrayList<>(scopeOrgIds.size() + 1);
+
+        StringBuilder sqlBuilder = new StringBuilder(ORG_USER_SUBQUERY.length() + scopeOrgIds.size() * 3 + 64);
+        if (includeSelf) {
+            sqlBuilder.append('(').append(userIdColumn).append(" = ? OR ");
+            values.add(dataScope.getCurrentUserId());
+        }
+        sqlBuilder.append(userIdColumn).append(" IN (").append(ORG_USER_SUBQUERY);
+        for (int i = 0; i < scopeOrgIds.size(); i++) {
+            sqlBuilder.append(i == 0 ? "?" : ", ?");
+        }
+        sqlBuilder.append("))");
+        if (includeSelf) {
+            sqlBuilder.append(')');
+        }
+        values.addAll(scopeOrgIds);
+        return new DataScopeSqlFragment(sqlBuilder.toString(), values);
+    }
+}
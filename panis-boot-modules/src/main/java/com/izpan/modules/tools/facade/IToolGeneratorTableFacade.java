@@ -27,6 +27,9 @@ import com.izpan.modules.tools.domain.dto.generator.table.ToolGeneratorTableSear
 import com.izpan.modules.tools.domain.dto.generator.table.ToolGeneratorTableUpdateDTO;
 import com.izpan.modules.tools.domain.vo.ToolGeneratorTableVO;
 
+import java.io.OutputStream;
+import java.util.List;
+
 /**
  * 代码生成表管理 门面接口层
  *
@@ -90,13 +93,13 @@ public interface IToolGeneratorTableFacade {
     boolean batchDelete(ToolGeneratorTableDeleteDTO toolGeneratorTableDeleteDTO);
 
     /**
-     * 代码生成后生成压缩包返回文件流
+     * 代码生成后将压缩包写入输出流
      *
-     * @param tableId 表id
-     * @return {@link byte[] } 文件流数组
+     * @param tableIds     表id集合
+     * @param outputStream 输出流
      * @author payne.zhuang
      * @CreateTime 2024-09-05 - 11:38:43
      */
-    byte[] zipCodeGenerate(Long tableId);
+    void zipCodeGenerate(List<Long> tableIds, OutputStream outputStream);
 
 }
\ No newline at end of file
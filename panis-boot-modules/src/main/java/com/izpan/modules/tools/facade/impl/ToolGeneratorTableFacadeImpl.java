@@ -38,7 +38,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.List;
 
 /**
  * 代码生成表管理 门面接口实现层
@@ -98,9 +99,8 @@ public class ToolGeneratorTableFacadeImpl implements IToolGeneratorTableFacade {
     }
 
     @Override
-    public byte[] zipCodeGenerate(Long tableId) {
-        ByteArrayOutputStream byteArrayOutputStream = toolGeneratorTableService.zipCodeGenerator(tableId);
-        return byteArrayOutputStream.toByteArray();
+    public void zipCodeGenerate(List<Long> tableIds, OutputStream outputStream) {
+        toolGeneratorTableService.zipCodeGenerator(tableIds, outputStream);
     }
 
 }
\ No newline at end of file
@@ -25,7 +25,8 @@ import com.izpan.infrastructure.page.PageQuery;
 import com.izpan.modules.tools.domain.bo.ToolGeneratorTableBO;
 import com.izpan.modules.tools.domain.entity.ToolGeneratorTable;
 
-import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.Collection;
 
 /**
  * 代码生成表管理 Service 服务接口层
@@ -50,13 +51,13 @@ public interface IToolGeneratorTableService extends IService<ToolGeneratorTable>
     IPage<ToolGeneratorTable> listToolGeneratorTablePage(PageQuery pageQuery, ToolGeneratorTableBO toolGeneratorTableBO);
 
     /**
-     * 代码生成，返回zip文件流
+     * 代码生成，多表并行渲染，zip 压缩包直接写入输出流
      *
-     * @param tableId 表id
-     * @return {@link ByteArrayOutputStream } zip 压缩包文件流
+     * @param tableIds     表id集合
+     * @param outputStream 输出流，不会被关闭
      * @author payne.zhuang
      * @CreateTime 2024-09-05 - 12:06:09
      */
-    ByteArrayOutputStream zipCodeGenerator(Long tableId);
+    void zipCodeGenerator(Collection<Long> tableIds, OutputStream outputStream);
 
 }
@@ -42,9 +42,16 @@ import org.apache.commons.lang3.ObjectUtils;
 import org.springframework.stereotype.Service;
 
 import javax.sql.DataSource;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipOutputStream;
 
 /**
  * 代码生成表管理 Service 服务接口实现层
@@ -59,6 +66,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ToolGeneratorTableServiceImpl extends ServiceImpl<ToolGeneratorTableMapper, ToolGeneratorTable> implements IToolGeneratorTableService {
 
+    /**
+     * 多表并行生成的最大并发数，每张表生成时占用一个数据库连接读取表结构
+     */
+    private static final int GENERATE_PARALLELISM = 4;
+
     @Resource
     private DataSource dataSource;
 
@@ -73,26 +85,49 @@ public class ToolGeneratorTableServiceImpl extends ServiceImpl<ToolGeneratorTabl
     }
 
     @Override
-    public ByteArrayOutputStream zipCodeGenerator(Long tableId) {
-        // 去生成代码
-        GeneratorConfig config = codeGeneratorById(tableId);
-        // 进行压缩，返回流
-        try (ByteArrayOutputStream zipFileAsStream = ZipUtil.createZipFileAsStream(config.getOutPutDir())) {
-            return zipFileAsStream;
+    public void zipCodeGenerator(Collection<Long> tableIds, OutputStream outputStream) {
+        if (tableIds == null || tableIds.isEmpty()) {
+            throw new BizException("生成失败，请选择需要生成的表");
+        }
+        // 在当前线程查询生成配置，只有模板渲染并行执行
+        List<GeneratorConfig> configs = tableIds.stream().distinct().map(this::generatorConfigById).toList();
+        // 多表生成时按表名分目录，避免前端公共文件路径冲突
+        boolean multiple = configs.size() > 1;
+        try (ExecutorService executor = Executors.newFixedThreadPool(Math.min(configs.size(), GENERATE_PARALLELISM),
+                Thread.ofVirtual().name("code-generator-", 0).factory())) {
+            List<Future<Map<String, byte[]>>> futures = configs.stream()
+                    .map(config -> executor.submit(() -> CodeGeneratorService.create(dataSource, config)))
+                    .toList();
+            // 按顺序写入压缩包，先完成的表无需等待后续表渲染
+            ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream);
+            for (int i = 0; i < configs.size(); i++) {
+                String directory = multiple ? configs.get(i).getStrategyConfig().getTableName() : null;
+                ZipUtil.addEntries(zipOutputStream, directory, futures.get(i).get());
+            }
+            // 只结束压缩包，不关闭调用方的输出流
+            zipOutputStream.finish();
         } catch (IOException e) {
             throw new BizException("生成失败，压缩文件失败，请核实");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BizException("生成失败，生成任务被中断");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof BizException bizException) {
+                throw bizException;
+            }
+            throw new BizException("生成失败，%s".formatted(e.getCause().getMessage()));
         }
     }
 
     /**
-     * 根据生成表 ID 进行代码生成
+     * 根据生成表 ID 构建生成配置
      *
      * @param tableId 生成表ID
      * @return {@link GeneratorConfig } 生成配置
      * @author payne.zhuang
      * @CreateTime 2024-09-05 - 12:06:42
      */
-    private GeneratorConfig codeGeneratorById(Long tableId) {
+    private GeneratorConfig generatorConfigById(Long tableId) {
         // 查找表数据
         ToolGeneratorTable toolGeneratorTable = baseMapper.selectById(tableId);
         // 查找表列数据
@@ -105,7 +140,7 @@ public class ToolGeneratorTableServiceImpl extends ServiceImpl<ToolGeneratorTabl
         List<TableColumn> tableColumnList = CglibUtil.convertList(toolGeneratorTableColumns, TableColumn::new);
 
         // 初始化配置
-        GeneratorConfig config = GeneratorConfig.builder()
+        return GeneratorConfig.builder()
                 .parentPackage(toolGeneratorTable.getParentPackage())
                 .author(toolGeneratorTable.getAuthor())
                 .tableColumnList(tableColumnList)
@@ -118,10 +153,6 @@ public class ToolGeneratorTableServiceImpl extends ServiceImpl<ToolGeneratorTabl
                         .build())
                 .injectionConfig(GeneratorConfig.Injection.builder().build())
                 .build();
-
-        // 生成代码
-        CodeGeneratorService.create(dataSource, config);
-        return config;
     }
 
 }
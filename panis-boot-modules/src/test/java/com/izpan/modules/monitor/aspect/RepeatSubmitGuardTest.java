@@ -0,0 +1,136 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.modules.monitor.aspect;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 防重复提交校验测试，Redis 使用内存实现的 SET NX PX 代替
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.modules.monitor.aspect.RepeatSubmitGuardTest
+ * @CreateTime 2026-10-17 - 16:32:40
+ */
+class RepeatSubmitGuardTest {
+
+    private static final int CONCURRENCY = 200;
+
+    @Test
+    void concurrentSubmitsHaveExactlyOneWinner() throws Exception {
+        assertEquals(1, countWinners(guard(Duration.ZERO)));
+        assertEquals(1, countWinners(guard(Duration.ofSeconds(1))));
+    }
+
+    @Test
+    void differentParamsAreIndependent() {
+        RepeatSubmitGuard guard = guard(Duration.ofSeconds(1));
+
+        assertTrue(guard.tryAcquire("user:1", "save", "{\"id\":1}", 5));
+        assertTrue(guard.tryAcquire("user:1", "save", "{\"id\":2}", 5));
+        assertTrue(guard.tryAcquire("user:2", "save", "{\"id\":1}", 5));
+        assertFalse(guard.tryAcquire("user:1", "save", "{\"id\":1}", 5));
+    }
+
+    @Test
+    void localWindowIsCappedByInterval() throws Exception {
+        // 本地窗口大于提交间隔时，间隔之后的提交仍可通过
+        RepeatSubmitGuard guard = guard(Duration.ofSeconds(10));
+
+        assertTrue(guard.tryAcquire("user:1", "save", "{}", 1));
+        assertFalse(guard.tryAcquire("user:1", "save", "{}", 1));
+        TimeUnit.MILLISECONDS.sleep(1_100);
+        assertTrue(guard.tryAcquire("user:1", "save", "{}", 1));
+    }
+
+    private static int countWinners(RepeatSubmitGuard guard) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>(CONCURRENCY);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return guard.tryAcquire("user:1", "com.izpan.Demo.save", "{\"name\":\"panis\"}", 5);
+                }));
+            }
+            start.countDown();
+            int winners = 0;
+            for (Future<Boolean> result : results) {
+                if (Boolean.TRUE.equals(result.get(5, TimeUnit.SECONDS))) {
+                    winners++;
+                }
+            }
+            return winners;
+        }
+    }
+
+    private static RepeatSubmitGuard guard(Duration localWindow) {
+        RepeatSubmitProperties properties = new RepeatSubmitProperties();
+        properties.setLocalWindow(localWindow);
+        return new RepeatSubmitGuard(properties, new InMemoryStringRedisTemplate());
+    }
+
+    /**
+     * 只实现 SET NX PX 的内存 StringRedisTemplate
+     */
+    private static class InMemoryStringRedisTemplate extends StringRedisTemplate {
+
+        private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public ValueOperations<String, String> opsForValue() {
+            return (ValueOperations<String, String>) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{ValueOperations.class}, (proxy, method, args) -> {
+                        if (!"setIfAbsent".equals(method.getName()) || args.length != 3 || !(args[2] instanceof Duration timeout)) {
+                            throw new UnsupportedOperationException(method.getName());
+                        }
+                        return setIfAbsent((String) args[0], timeout);
+                    });
+        }
+
+        private boolean setIfAbsent(String key, Duration timeout) {
+            long now = System.nanoTime();
+            Entry entry = new Entry(now + timeout.toNanos());
+            return entries.compute(key, (k, existing) -> existing != null && existing.expireAtNanos() - now > 0 ? existing : entry) == entry;
+        }
+
+        private record Entry(long expireAtNanos) {
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.modules.monitor.cache;
+
+import com.izpan.starter.oss.config.OssProperties;
+import com.izpan.starter.oss.manage.OssManager;
+import com.izpan.starter.oss.service.OssService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * 文件外链链接本地缓存测试，使用可控时钟校验过期与批量获取
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.modules.monitor.cache.FilePreviewCacheTest
+ * @CreateTime 2026-10-17 - 20:31:44
+ */
+class FilePreviewCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final List<String> signed = new CopyOnWriteArrayList<>();
+
+    private OssProperties properties;
+
+    private FilePreviewCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OssProperties();
+        properties.setExpiry(100);
+        OssService service = (OssService) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{OssService.class},
+                (proxy, method, args) -> {
+                    if (!"preview".equals(method.getName()) || args.length != 2) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    signed.add((String) args[0]);
+                    return "url:%s:%s:%d".formatted(args[0], args[1], signed.size());
+                });
+        OssManager ossManager = new OssManager(properties) {
+            @Override
+            public OssService service() {
+                return service;
+            }
+        };
+        cache = new FilePreviewCache(ossManager, properties, nanos::get);
+    }
+
+    @Test
+    void cachedUntilNinetyPercentOfExpiry() {
+        String url = cache.get("a.png");
+
+        advance(Duration.ofSeconds(89));
+        assertEquals(url, cache.get("a.png"));
+        assertEquals(1, signed.size());
+
+        advance(Duration.ofSeconds(1));
+        String renewed = cache.get("a.png");
+        assertEquals("url:a.png:100:2", renewed);
+        assertEquals(2, signed.size());
+    }
+
+    @Test
+    void shortExpiryIsNotCached() {
+        properties.setExpiry(5);
+
+        cache.get("a.png");
+        cache.get("a.png");
+
+        assertEquals(List.of("a.png", "a.png"), signed);
+    }
+
+    @Test
+    void changedExpiryUsesNewEntry() {
+        cache.get("a.png");
+        properties.setExpiry(200);
+
+        assertEquals("url:a.png:200:2", cache.get("a.png"));
+    }
+
+    @Test
+    void batchSignsOnlyMissesAndDeduplicates() {
+        String cached = cache.get("a.png");
+        signed.clear();
+
+        Map<String, String> urls = cache.getAll(List.of("a.png", "b.png", "c.png", "b.png"));
+
+        assertEquals(3, urls.size());
+        assertEquals(cached, urls.get("a.png"));
+        assertEquals(List.of("b.png", "c.png"), signed.stream().sorted().toList());
+        // 批量结果写入缓存，单个获取不再签名
+        assertEquals(urls.get("b.png"), cache.get("b.png"));
+        assertEquals(2, signed.size());
+    }
+
+    @Test
+    void batchRespectsExpiry() {
+        Map<String, String> first = cache.getAll(List.of("a.png", "b.png"));
+
+        advance(Duration.ofSeconds(90));
+        Map<String, String> second = cache.getAll(List.of("a.png", "b.png"));
+
+        assertEquals(4, signed.size());
+        assertNotEquals(first.get("a.png"), second.get("a.png"));
+    }
+
+    @Test
+    void batchWithShortExpiryDeduplicates() {
+        properties.setExpiry(5);
+
+        Map<String, String> urls = cache.getAll(List.of("a.png", "a.png", "b.png"));
+
+        assertEquals(2, urls.size());
+        assertEquals(List.of("a.png", "b.png"), signed);
+        assertEquals(Map.of(), cache.getAll(List.of()));
+    }
+
+    @Test
+    void invalidateForcesResign() {
+        cache.getAll(List.of("a.png", "b.png"));
+
+        cache.invalidate(List.of("a.png"));
+        cache.get("a.png");
+        cache.get("b.png");
+
+        assertEquals(3, signed.size());
+        assertEquals("a.png", signed.get(2));
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
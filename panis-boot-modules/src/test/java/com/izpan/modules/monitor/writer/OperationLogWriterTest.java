@@ -0,0 +1,146 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.modules.monitor.writer;
+
+import com.izpan.modules.monitor.domain.entity.MonLogsError;
+import com.izpan.modules.monitor.domain.entity.MonLogsOperation;
+import com.izpan.modules.monitor.repository.mapper.MonLogsErrorMapper;
+import com.izpan.modules.monitor.repository.mapper.MonLogsOperationMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 日志异步写入器指标测试，校验队列深度、写入计数及批量写入耗时统计
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.modules.monitor.writer.OperationLogWriterTest
+ * @CreateTime 2026-10-17 - 15:20:52
+ */
+class OperationLogWriterTest {
+
+    private final List<Object> inserted = new CopyOnWriteArrayList<>();
+
+    private OperationLogWriterProperties properties;
+
+    private volatile boolean failErrors;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OperationLogWriterProperties();
+        properties.setQueueCapacity(100);
+        properties.setBatchSize(10);
+        properties.setLinger(Duration.ofMillis(20));
+    }
+
+    @Test
+    void metricsCountSynchronousWritesBeforeStart() {
+        OperationLogWriter writer = newWriter();
+        writer.write(new MonLogsOperation());
+        writer.write(new MonLogsError());
+
+        OperationLogWriter.Metrics metrics = writer.metrics();
+        assertEquals(0, metrics.queueDepth());
+        assertEquals(100, metrics.queueCapacity());
+        // 未启动时逐条同步写入，不经过队列
+        assertEquals(0, metrics.enqueued());
+        assertEquals(2, metrics.flushed());
+        assertEquals(2, metrics.flushBatches());
+        assertEquals(2, inserted.size());
+    }
+
+    @Test
+    void metricsCountFailedBatches() {
+        failErrors = true;
+        OperationLogWriter writer = newWriter();
+        writer.write(new MonLogsOperation());
+        writer.write(new MonLogsError());
+
+        OperationLogWriter.Metrics metrics = writer.metrics();
+        assertEquals(1, metrics.flushed());
+        assertEquals(1, metrics.failed());
+        // 失败的批次同样计入写入次数与耗时
+        assertEquals(2, metrics.flushBatches());
+    }
+
+    @Test
+    void metricsTrackQueueAndFlushLatencyWhileRunning() throws InterruptedException {
+        OperationLogWriter writer = newWriter();
+        writer.start();
+        try {
+            for (int i = 0; i < 25; i++) {
+                writer.write(new MonLogsOperation());
+            }
+            // 等待写入线程按 batchSize / linger 写完队列
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (writer.metrics().flushed() < 25 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            writer.stop();
+        }
+
+        OperationLogWriter.Metrics metrics = writer.metrics();
+        assertEquals(0, metrics.queueDepth());
+        assertEquals(25, metrics.enqueued());
+        assertEquals(25, metrics.flushed());
+        assertEquals(0, metrics.dropped());
+        assertTrue(metrics.flushBatches() >= 3, "25 条日志按 10 条一批至少写入 3 次");
+        assertTrue(metrics.maxFlushMillis() >= metrics.lastFlushMillis());
+        assertEquals((double) metrics.totalFlushMillis() / metrics.flushBatches(), metrics.avgFlushMillis());
+    }
+
+    @Test
+    void avgFlushMillisIsZeroWithoutFlush() {
+        assertEquals(0d, newWriter().metrics().avgFlushMillis());
+    }
+
+    private OperationLogWriter newWriter() {
+        MonLogsOperationMapper operationMapper = mapper(MonLogsOperationMapper.class, false);
+        MonLogsErrorMapper errorMapper = mapper(MonLogsErrorMapper.class, true);
+        return new OperationLogWriter(properties, operationMapper, errorMapper);
+    }
+
+    /**
+     * 只实现 insertBatch 的 Mapper 代理
+     */
+    @SuppressWarnings("unchecked")
+    private <M> M mapper(Class<M> type, boolean errorMapper) {
+        return (M) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (!"insertBatch".equals(method.getName())) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            if (errorMapper && failErrors) {
+                throw new IllegalStateException("insert failed");
+            }
+            List<?> list = (List<?>) args[0];
+            inserted.addAll(list);
+            return list.size();
+        });
+    }
+}
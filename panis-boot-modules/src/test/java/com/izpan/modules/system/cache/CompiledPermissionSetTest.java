@@ -0,0 +1,139 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.modules.system.cache;
+
+import cn.dev33.satoken.util.SaFoxUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 编译后的用户权限集合测试，校验结果与 Sa-Token 默认的 list.contains + 模糊匹配保持一致
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.modules.system.cache.CompiledPermissionSetTest
+ * @CreateTime 2026-10-17 - 16:52:08
+ */
+class CompiledPermissionSetTest {
+
+    private static final List<String> PROBES = List.of(
+            "sys:user:list", "sys:user:add", "sys:user", "sys:user:", "sys:users:list", "sys:role:list",
+            "sys:role:edit", "mon:file:list", "mon:file:upload:chunk", "mon:log:export", "mon:cache:stats",
+            "sys:dict:item:list", "sys:dict:list", "a", "", "*", "sys:*", "sys:user:*");
+
+    @Test
+    void exactCodes() {
+        CompiledPermissionSet set = CompiledPermissionSet.compile(List.of("sys:user:list", "sys:user:add", "sys:user:list"));
+
+        assertEquals(2, set.size());
+        assertTrue(set.has("sys:user:list"));
+        assertFalse(set.has("sys:user:edit"));
+        assertFalse(set.has("sys:user"));
+        assertFalse(set.has(null));
+        assertMatchesSaToken(List.of("sys:user:list", "sys:user:add"));
+    }
+
+    @Test
+    void globalWildcard() {
+        CompiledPermissionSet set = CompiledPermissionSet.compile(List.of("*"));
+
+        assertTrue(set.has("sys:user:list"));
+        assertTrue(set.has(""));
+        assertMatchesSaToken(List.of("*"));
+    }
+
+    @Test
+    void trailingWildcard() {
+        CompiledPermissionSet set = CompiledPermissionSet.compile(List.of("sys:user:*", "mon:*"));
+
+        assertTrue(set.has("sys:user:list"));
+        assertTrue(set.has("sys:user:"));
+        assertFalse(set.has("sys:users:list"));
+        assertTrue(set.has("mon:file:upload:chunk"));
+        assertMatchesSaToken(List.of("sys:user:*", "mon:*"));
+        assertMatchesSaToken(List.of("sys:user:*", "sys:*", "sys:user:list"));
+    }
+
+    @Test
+    void midStringWildcard() {
+        CompiledPermissionSet set = CompiledPermissionSet.compile(List.of("sys:*:list", "mon:*:upload:*"));
+
+        assertTrue(set.has("sys:role:list"));
+        assertTrue(set.has("sys:dict:item:list"));
+        assertFalse(set.has("sys:role:edit"));
+        assertTrue(set.has("mon:file:upload:chunk"));
+        assertMatchesSaToken(List.of("sys:*:list", "mon:*:upload:*"));
+        assertMatchesSaToken(List.of("*:list", "sys:user:*", "mon:*:export", "sys:role:edit"));
+    }
+
+    @Test
+    void matchesSaTokenForGeneratedRoles() {
+        // 1、10、50 个角色合并后的权限集合，随机权限编码逐一比对
+        Random random = new Random(20261017L);
+        for (int roles : new int[]{1, 10, 50}) {
+            List<String> permissions = new ArrayList<>();
+            for (int i = 0; i < roles * 40; i++) {
+                permissions.add(randomCode(random, random.nextInt(20) == 0));
+            }
+            CompiledPermissionSet set = CompiledPermissionSet.compile(permissions);
+            for (int i = 0; i < 2_000; i++) {
+                String probe = randomCode(random, false);
+                assertEquals(saTokenHas(permissions, probe), set.has(probe), "roles=" + roles + ", permission=" + probe);
+            }
+        }
+    }
+
+    private static void assertMatchesSaToken(List<String> permissions) {
+        CompiledPermissionSet set = CompiledPermissionSet.compile(permissions);
+        for (String probe : PROBES) {
+            assertEquals(saTokenHas(permissions, probe), set.has(probe), "permissions=" + permissions + ", permission=" + probe);
+        }
+    }
+
+    /**
+     * Sa-Token 默认的权限校验逻辑
+     */
+    private static boolean saTokenHas(List<String> permissions, String permission) {
+        return permissions.contains(permission) || permissions.stream().anyMatch(pattern -> SaFoxUtil.vagueMatch(pattern, permission));
+    }
+
+    private static String randomCode(Random random, boolean wildcard) {
+        String[] modules = {"sys", "mon", "tool"};
+        String[] resources = {"user", "role", "menu", "dict", "file", "log", "cache"};
+        String[] actions = {"list", "add", "edit", "delete", "export", "import"};
+        String code = modules[random.nextInt(modules.length)] + ":" + resources[random.nextInt(resources.length)]
+                + ":" + actions[random.nextInt(actions.length)];
+        if (!wildcard) {
+            return code;
+        }
+        return switch (random.nextInt(3)) {
+            case 0 -> code.substring(0, code.lastIndexOf(':') + 1) + "*";
+            case 1 -> code.substring(0, code.indexOf(':') + 1) + "*" + code.substring(code.lastIndexOf(':'));
+            default -> code.substring(0, code.indexOf(':') + 1) + "*";
+        };
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.modules.system.handler;
+
+import com.izpan.modules.system.service.ISysDataScopeService;
+import com.izpan.modules.system.strategy.OrgSemiJoinPredicateStrategy;
+import com.izpan.starter.database.mybatis.plus.config.DataScopeProperties;
+import com.izpan.starter.database.mybatis.plus.domain.DataScope;
+import com.izpan.starter.database.mybatis.plus.domain.DataScopeSqlFragment;
+import com.izpan.starter.database.mybatis.plus.enums.DataScopeTypeEnum;
+import com.izpan.starter.database.mybatis.plus.strategy.IDataScopePredicateStrategy;
+import com.izpan.starter.database.mybatis.plus.strategy.InListPredicateStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 数据权限处理器测试，校验 IN 列表与组织半连接在 in-list-max-size 阈值处的切换
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.modules.system.handler.DataScopeHandlerImplTest
+ * @CreateTime 2026-10-17 - 17:41:05
+ */
+class DataScopeHandlerImplTest {
+
+    private static final Long USER_ID = 1L;
+
+    private static final Set<Long> ORG_IDS = new LinkedHashSet<>(List.of(10L, 11L, 12L));
+
+    private static final int IN_LIST_MAX_SIZE = 3;
+
+    private final AtomicInteger countCalls = new AtomicInteger();
+
+    private DataScopeProperties properties;
+
+    private long userCount;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DataScopeProperties();
+        properties.setInListMaxSize(IN_LIST_MAX_SIZE);
+        countCalls.set(0);
+    }
+
+    @Test
+    void userCountAtThresholdUsesInList() {
+        userCount = IN_LIST_MAX_SIZE;
+
+        assertTrue(resolve(DataScopeTypeEnum.UNIT_AND_CHILD).isEmpty());
+        assertEquals(1, countCalls.get());
+    }
+
+    @Test
+    void userCountAboveThresholdUsesSemiJoin() {
+        userCount = IN_LIST_MAX_SIZE + 1L;
+
+        assertEquals(ORG_IDS, resolve(DataScopeTypeEnum.UNIT_AND_CHILD));
+    }
+
+    @Test
+    void semiJoinDisabledAlwaysUsesInList() {
+        properties.setSemiJoinEnabled(false);
+        userCount = Long.MAX_VALUE;
+
+        assertTrue(resolve(DataScopeTypeEnum.UNIT_AND_CHILD).isEmpty());
+        // 关闭时不查询组织用户数
+        assertEquals(0, countCalls.get());
+    }
+
+    @Test
+    void scopeWithoutOrgsUsesInList() {
+        userCount = Long.MAX_VALUE;
+
+        // SELF 类型不返回组织 ID，无需统计用户数
+        assertTrue(resolve(DataScopeTypeEnum.SELF).isEmpty());
+        assertEquals(0, countCalls.get());
+    }
+
+    @Test
+    void strategySelectionFollowsResolvedScope() {
+        List<IDataScopePredicateStrategy> strategies = List.of(new OrgSemiJoinPredicateStrategy(), new InListPredicateStrategy());
+
+        userCount = IN_LIST_MAX_SIZE;
+        DataScope inList = dataScope(DataScopeTypeEnum.UNIT, resolve(DataScopeTypeEnum.UNIT), Set.of(1L, 2L, 3L));
+        DataScopeSqlFragment inListFragment = select(strategies, inList);
+        assertEquals("create_user_id IN (?, ?, ?)", inListFragment.sql());
+        assertEquals(3, inListFragment.values().size());
+
+        userCount = IN_LIST_MAX_SIZE + 1L;
+        DataScope semiJoin = dataScope(DataScopeTypeEnum.SELF_AND_CHILD, resolve(DataScopeTypeEnum.SELF_AND_CHILD), Collections.emptySet());
+        DataScopeSqlFragment semiJoinFragment = select(strategies, semiJoin);
+        assertTrue(semiJoinFragment.sql().startsWith("(create_user_id = ? OR create_user_id IN (SELECT uo.user_id FROM sys_user_org uo"),
+                semiJoinFragment.sql());
+        assertTrue(semiJoinFragment.sql().endsWith("uo.org_id IN (?, ?, ?)))"), semiJoinFragment.sql());
+        assertEquals(List.of(USER_ID, 10L, 11L, 12L), semiJoinFragment.values());
+    }
+
+    private Set<Long> resolve(DataScopeTypeEnum scopeType) {
+        return new DataScopeHandlerImpl(null, null, properties).resolveScopeOrgIds(service(), USER_ID, scopeType);
+    }
+
+    private static DataScope dataScope(DataScopeTypeEnum scopeType, Set<Long> scopeOrgIds, Set<Long> scopeUserIds) {
+        // 与 DataScopeHandlerImpl 一致：超过阈值时仅保存组织 ID，否则保存用户 ID
+        return DataScope.builder()
+                .scopeType(scopeType)
+                .currentUserId(USER_ID)
+                .scopeOrgIds(scopeOrgIds.isEmpty() ? null : scopeOrgIds)
+                .scopeUserIds(scopeOrgIds.isEmpty() ? scopeUserIds : Collections.emptySet())
+                .build();
+    }
+
+    private static DataScopeSqlFragment select(List<IDataScopePredicateStrategy> strategies, DataScope dataScope) {
+        return strategies.stream()
+                .filter(strategy -> strategy.supports(dataScope))
+                .findFirst()
+                .map(strategy -> strategy.build(dataScope, "create_user_id"))
+                .orElseThrow();
+    }
+
+    private ISysDataScopeService service() {
+        return (ISysDataScopeService) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ISysDataScopeService.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getOrgIdsByScopeType" -> args[1] == DataScopeTypeEnum.SELF ? Collections.emptySet() : ORG_IDS;
+                    case "countUserIdsByOrgIds" -> {
+                        countCalls.incrementAndGet();
+                        yield userCount;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -52,7 +52,7 @@ public class GeneratorConfig {
     private String author;
 
     /**
-     * 输出目录
+     * 输出目录，生成结果不写入磁盘，仅用于计算文件的相对路径
      */
     private String outPutDir;
 
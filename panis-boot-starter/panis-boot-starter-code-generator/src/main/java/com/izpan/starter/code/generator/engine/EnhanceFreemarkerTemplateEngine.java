@@ -25,16 +25,30 @@ import com.baomidou.mybatisplus.generator.config.builder.ConfigBuilder;
 import com.baomidou.mybatisplus.generator.config.builder.CustomFile;
 import com.baomidou.mybatisplus.generator.config.po.TableInfo;
 import com.baomidou.mybatisplus.generator.engine.FreemarkerTemplateEngine;
+import freemarker.template.Configuration;
+import freemarker.template.Template;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Mybatis Plus 自定义代码生成引擎
+ * <p>
+ * 模板渲染结果保存在本次生成的内存中，不写入磁盘，多个生成任务之间没有共享的文件系统状态，可以并行执行：<br>
+ * 1. 每次生成创建一个引擎实例，渲染结果通过 {@link #getOutputs()} 获取，Key 为相对输出目录的路径 <br>
+ * 2. Freemarker 配置全局共享，模板只解析一次
+ * </p>
  *
  * @Author payne.zhuang <paynezhuang@gmail.com>
  * @ProjectName panis-boot
@@ -45,6 +59,39 @@ import java.util.Map;
 @Slf4j
 public class EnhanceFreemarkerTemplateEngine extends FreemarkerTemplateEngine {
 
+    /**
+     * 共享的 Freemarker 配置，配置完成后线程安全，并缓存已解析的模板
+     */
+    private static final Configuration CONFIGURATION = createConfiguration();
+
+    /**
+     * 输出目录，仅用于计算文件的相对路径
+     */
+    private final Path outputDir;
+
+    /**
+     * 渲染结果，相对路径 -> 文件内容
+     */
+    private final Map<String, byte[]> outputs = new LinkedHashMap<>();
+
+    public EnhanceFreemarkerTemplateEngine(String outputDir) {
+        this.outputDir = Paths.get(outputDir);
+    }
+
+    /**
+     * 创建 Freemarker 配置，与 {@link FreemarkerTemplateEngine#init(ConfigBuilder)} 一致
+     *
+     * @return {@link Configuration} Freemarker 配置
+     * @author payne.zhuang
+     * @CreateTime 2026-01-06 - 09:18:20
+     */
+    private static Configuration createConfiguration() {
+        Configuration configuration = new Configuration(Configuration.DEFAULT_INCOMPATIBLE_IMPROVEMENTS);
+        configuration.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        configuration.setClassForTemplateLoading(EnhanceFreemarkerTemplateEngine.class, "/");
+        return configuration;
+    }
+
     /**
      * 获取包名
      *
@@ -145,4 +192,59 @@ public class EnhanceFreemarkerTemplateEngine extends FreemarkerTemplateEngine {
         return filePath;
     }
 
+    @Override
+    public EnhanceFreemarkerTemplateEngine init(ConfigBuilder configBuilder) {
+        // 使用共享的 Freemarker 配置，无需每次生成重新创建
+        return this;
+    }
+
+    /**
+     * 输出文件，不检查、不创建目录，直接渲染到内存
+     *
+     * @param file         输出文件
+     * @param objectMap    渲染参数
+     * @param templatePath 模板路径
+     * @param fileOverride 是否覆盖，内存输出始终覆盖
+     * @author payne.zhuang
+     * @CreateTime 2026-01-06 - 09:21:47
+     */
+    @Override
+    protected void outputFile(File file, Map<String, Object> objectMap, String templatePath, boolean fileOverride) {
+        try {
+            writer(objectMap, templatePath, file);
+        } catch (Exception e) {
+            throw new IllegalStateException("渲染模板失败: " + templatePath, e);
+        }
+    }
+
+    /**
+     * 渲染模板，结果按相对输出目录的路径保存到内存
+     *
+     * @param objectMap    渲染参数
+     * @param templatePath 模板路径
+     * @param outputFile   输出文件
+     * @author payne.zhuang
+     * @CreateTime 2026-01-06 - 09:24:05
+     */
+    @Override
+    public void writer(Map<String, Object> objectMap, String templatePath, File outputFile) throws Exception {
+        Template template = CONFIGURATION.getTemplate(templatePath);
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(content, StandardCharsets.UTF_8)) {
+            template.process(objectMap, writer);
+        }
+        String path = outputDir.relativize(outputFile.toPath()).toString().replace(File.separatorChar, '/');
+        outputs.put(path, content.toByteArray());
+    }
+
+    /**
+     * 获取本次生成的渲染结果
+     *
+     * @return {@link Map} 相对路径 -> 文件内容
+     * @author payne.zhuang
+     * @CreateTime 2026-01-06 - 09:26:32
+     */
+    public Map<String, byte[]> getOutputs() {
+        return outputs;
+    }
 }
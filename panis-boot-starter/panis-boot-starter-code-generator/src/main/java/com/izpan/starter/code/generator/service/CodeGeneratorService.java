@@ -19,7 +19,6 @@
 
 package com.izpan.starter.code.generator.service;
 
-import cn.hutool.core.io.FileUtil;
 import com.baomidou.mybatisplus.generator.AutoGenerator;
 import com.baomidou.mybatisplus.generator.config.*;
 import com.baomidou.mybatisplus.generator.config.builder.CustomFile;
@@ -39,7 +38,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.sql.DataSource;
-import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -60,20 +58,23 @@ public class CodeGeneratorService {
     private static final String BACKEND = "/templates/backend/";
     // 前端模板路径
     private static final String FRONTEND = "/templates/frontend/";
+    // 默认输出目录，生成结果只保存在内存中，仅用于计算文件相对路径
+    private static final String DEFAULT_OUTPUT_DIR = "code-generator";
 
     private CodeGeneratorService() {
 
     }
 
     /**
-     * 生成代码
+     * 生成代码，结果保存在内存中，不写入磁盘，可在多个线程中同时调用
      *
      * @param dataSource      数据源
      * @param generatorConfig 生成器配置
+     * @return {@link Map} 生成的文件，相对输出目录的路径 -> 文件内容
      * @author payne.zhuang
      * @CreateTime 2024-09-05 - 11:35:12
      */
-    public static void create(DataSource dataSource, GeneratorConfig generatorConfig) {
+    public static Map<String, byte[]> create(DataSource dataSource, GeneratorConfig generatorConfig) {
         // 数据源配置
         DataSourceConfig dataSourceConfig = new DataSourceConfig.Builder(dataSource)
                 .databaseQueryClass(SQLQuery.class)
@@ -97,8 +98,9 @@ public class CodeGeneratorService {
         buildInjectionConfig(autoGenerator, generatorConfig);
 
         // 执行生成
-        autoGenerator.execute(new EnhanceFreemarkerTemplateEngine());
-
+        EnhanceFreemarkerTemplateEngine templateEngine = new EnhanceFreemarkerTemplateEngine(generatorConfig.getOutPutDir());
+        autoGenerator.execute(templateEngine);
+        return templateEngine.getOutputs();
     }
 
     /**
@@ -111,9 +113,7 @@ public class CodeGeneratorService {
      */
     private static void buildGlobalConfig(AutoGenerator autoGenerator, GeneratorConfig generatorConfig) {
         // 定义输出路径，如有传入则使用传入的路径，否则使用默认路径
-        generatorConfig.setOutPutDir(StringUtils.defaultIfEmpty(generatorConfig.getOutPutDir(),
-                Paths.get(System.getProperty("user.dir")) + "/target/code-generator"));
-        FileUtil.clean(generatorConfig.getOutPutDir());
+        generatorConfig.setOutPutDir(StringUtils.defaultIfEmpty(generatorConfig.getOutPutDir(), DEFAULT_OUTPUT_DIR));
         // 设置作者
         GlobalConfig globalConfig = new GlobalConfig.Builder()
                 .author(generatorConfig.getAuthor())
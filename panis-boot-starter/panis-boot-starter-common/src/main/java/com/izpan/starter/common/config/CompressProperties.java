@@ -0,0 +1,153 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.starter.common.config;
+
+import com.izpan.starter.common.util.CompressUtil;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * 数据压缩配置属性
+ * <p>
+ * 分别控制 RedisTemplate 值、Spring Cache 缓存值及 Sa-Token Session 的压缩方式与阈值，缓存可按缓存名称单独覆盖。<br>
+ * 读取时根据压缩数据头判断是否需要解压，调整或关闭压缩后已写入的数据仍可正常读取
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.starter.common.config.CompressProperties
+ * @CreateTime 2026-10-17 - 10:05:26
+ */
+
+@Data
+@ConfigurationProperties(prefix = "compress")
+public class CompressProperties {
+
+    /**
+     * RedisTemplate 值压缩配置
+     */
+    private Spec redis = new Spec();
+
+    /**
+     * Spring Cache 缓存值默认压缩配置，默认不压缩
+     */
+    private Spec cache = Spec.none();
+
+    /**
+     * 按缓存名称覆盖的压缩配置，未配置的缓存使用 {@link #cache}
+     */
+    private Map<String, Spec> caches = new HashMap<>();
+
+    /**
+     * Sa-Token Session 等对象的压缩配置
+     */
+    private Spec session = new Spec();
+
+    /**
+     * 获取指定缓存的压缩配置
+     *
+     * @param cacheName 缓存名称
+     * @return 压缩配置
+     * @author payne.zhuang
+     * @CreateTime 2026-10-17 - 10:07:40
+     */
+    public Spec cache(String cacheName) {
+        return caches.getOrDefault(cacheName, cache);
+    }
+
+    /**
+     * 压缩算法
+     */
+    public enum Codec {
+        /**
+         * 不压缩
+         */
+        NONE,
+
+        /**
+         * JDK Deflate（raw 格式）
+         */
+        DEFLATE
+    }
+
+    @Data
+    public static class Spec {
+
+        /**
+         * 压缩算法，默认 DEFLATE
+         */
+        private Codec codec = Codec.DEFLATE;
+
+        /**
+         * 压缩阈值，序列化后达到该大小的值才压缩，默认 1KB
+         */
+        private DataSize threshold = DataSize.ofKilobytes(1);
+
+        /**
+         * 压缩级别，1（最快）~ 9（最小），默认 1
+         */
+        private int level = Deflater.BEST_SPEED;
+
+        /**
+         * 创建不压缩的配置
+         *
+         * @return 压缩配置
+         * @author payne.zhuang
+         * @CreateTime 2026-10-17 - 10:08:52
+         */
+        public static Spec none() {
+            Spec spec = new Spec();
+            spec.setCodec(Codec.NONE);
+            return spec;
+        }
+
+        /**
+         * 判断指定大小的值是否需要压缩
+         *
+         * @param length 值大小
+         * @return true 需要压缩
+         * @author payne.zhuang
+         * @CreateTime 2026-10-17 - 10:09:31
+         */
+        public boolean shouldCompress(long length) {
+            return codec != Codec.NONE && length >= threshold.toBytes();
+        }
+
+        /**
+         * 按配置压缩数据，无需压缩或压缩后未变小时返回原始数据
+         *
+         * @param data 原始数据
+         * @return 压缩数据或原始数据
+         * @author payne.zhuang
+         * @CreateTime 2026-10-17 - 10:10:15
+         */
+        public byte[] compress(byte[] data) {
+            if (data == null || !shouldCompress(data.length)) {
+                return data;
+            }
+            return CompressUtil.compress(data, level);
+        }
+    }
+}
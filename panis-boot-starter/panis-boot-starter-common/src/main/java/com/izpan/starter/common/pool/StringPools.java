@@ -52,4 +52,5 @@ public final class StringPools {
     public static final String QUESTION_MARK = "?";
     public static final String AND_PATTERN = "? AND ?";
     public static final String COMMA = ",";
+    public static final String SPACE = " ";
 }
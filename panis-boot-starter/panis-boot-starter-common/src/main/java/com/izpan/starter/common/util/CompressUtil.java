@@ -0,0 +1,135 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.starter.common.util;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 数据压缩工具类
+ * <p>
+ * 使用 JDK 自带的 Deflate（raw 格式，默认最快压缩级别），用于缓存值、会话等小块数据的压缩： <br>
+ * 压缩后的数据以 {@link #MAGIC} 开头，读取时据此判断是否需要解压，未压缩的旧数据可直接兼容读取
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.starter.common.util.CompressUtil
+ * @CreateTime 2026-01-04 - 09:15:42
+ */
+public class CompressUtil {
+
+    /**
+     * 压缩数据头：0x00 不会出现在 JSON 文本开头，后跟 'P' 'Z' 及格式版本 1（Deflate）
+     */
+    private static final byte[] MAGIC = {0x00, 'P', 'Z', 0x01};
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private CompressUtil() {
+
+    }
+
+    /**
+     * 压缩数据并加上压缩数据头
+     *
+     * @param data 原始数据
+     * @return 压缩数据，压缩后未变小时返回原始数据
+     * @author payne.zhuang
+     * @CreateTime 2026-01-04 - 09:17:25
+     */
+    public static byte[] compress(byte[] data) {
+        return compress(data, Deflater.BEST_SPEED);
+    }
+
+    /**
+     * 按指定压缩级别压缩数据并加上压缩数据头
+     *
+     * @param data  原始数据
+     * @param level 压缩级别，1（最快）~ 9（最小）
+     * @return 压缩数据，压缩后未变小时返回原始数据
+     * @author payne.zhuang
+     * @CreateTime 2026-10-17 - 10:12:08
+     */
+    public static byte[] compress(byte[] data, int level) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(data.length / 2 + MAGIC.length);
+            output.writeBytes(MAGIC);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.size() < data.length ? output.toByteArray() : data;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * 判断数据是否为 {@link #compress(byte[])} 压缩后的数据
+     *
+     * @param data 数据
+     * @return true 是压缩数据
+     * @author payne.zhuang
+     * @CreateTime 2026-01-04 - 09:18:50
+     */
+    public static boolean isCompressed(byte[] data) {
+        return data != null && data.length >= MAGIC.length
+                && Arrays.equals(data, 0, MAGIC.length, MAGIC, 0, MAGIC.length);
+    }
+
+    /**
+     * 解压数据，非压缩数据原样返回
+     *
+     * @param data 数据
+     * @return 原始数据
+     * @author payne.zhuang
+     * @CreateTime 2026-01-04 - 09:19:36
+     */
+    public static byte[] decompress(byte[] data) {
+        if (!isCompressed(data)) {
+            return data;
+        }
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(data, MAGIC.length, data.length - MAGIC.length);
+            ByteArrayOutputStream output = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Compressed data is truncated");
+                }
+                output.write(buffer, 0, count);
+            }
+            return output.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Compressed data is corrupted", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
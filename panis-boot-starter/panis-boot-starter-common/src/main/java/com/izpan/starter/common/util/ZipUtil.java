@@ -26,6 +26,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Map;
 import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
@@ -104,4 +105,22 @@ public class ZipUtil {
                     });
         }
     }
+
+    /**
+     * 将内存中的文件写入 zip 输出流，调用方负责 finish/close 输出流
+     *
+     * @param zipOutputStream zip 输出流
+     * @param directory       压缩包内的目录，为空时写入根目录
+     * @param entries         文件，相对路径 -> 文件内容
+     * @author payne.zhuang
+     * @CreateTime 2026-01-06 - 09:32:18
+     */
+    public static void addEntries(ZipOutputStream zipOutputStream, String directory, Map<String, byte[]> entries) throws IOException {
+        String prefix = directory == null || directory.isEmpty() ? "" : directory + "/";
+        for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+            zipOutputStream.putNextEntry(new ZipEntry(prefix + entry.getKey()));
+            zipOutputStream.write(entry.getValue());
+            zipOutputStream.closeEntry();
+        }
+    }
 }
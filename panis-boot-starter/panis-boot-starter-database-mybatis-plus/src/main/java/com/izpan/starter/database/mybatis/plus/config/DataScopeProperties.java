@@ -0,0 +1,45 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.izpan.starter.database.mybatis.plus.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 数据权限配置属性
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.starter.database.mybatis.plus.config.DataScopeProperties
+ * @CreateTime 2025-12-24 - 14:10:25
+ */
+@Data
+@ConfigurationProperties(prefix = "data-scope")
+public class DataScopeProperties {
+
+    /**
+     * IN 列表最大用户数，权限用户数超过该值时改用组织半连接子查询
+     */
+    private int inListMaxSize = 500;
+
+    /**
+     * 是否启用组织半连接子查询，关闭时始终使用 IN 列表
+     */
+    private boolean semiJoinEnabled = true;
+}
@@ -6,8 +6,11 @@ import com.baomidou.mybatisplus.extension.plugins.inner.BlockAttackInnerIntercep
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
 import com.izpan.starter.database.mybatis.plus.handler.IDataScopeHandler;
 import com.izpan.starter.database.mybatis.plus.interceptor.DataScopeInterceptor;
+import com.izpan.starter.database.mybatis.plus.strategy.IDataScopePredicateStrategy;
 import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -21,14 +24,16 @@ import org.springframework.context.annotation.Configuration;
  */
 @Configuration
 @AllArgsConstructor
+@EnableConfigurationProperties(DataScopeProperties.class)
 public class MyBatisPlusConfig {
 
     @Bean
     @ConditionalOnBean(IDataScopeHandler.class)
-    public MybatisPlusInterceptor mybatisPlusInterceptor(IDataScopeHandler dataScopeHandler) {
+    public MybatisPlusInterceptor mybatisPlusInterceptor(IDataScopeHandler dataScopeHandler,
+                                                         ObjectProvider<IDataScopePredicateStrategy> predicateStrategies) {
         MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
         // 数据权限
-        interceptor.addInnerInterceptor(new DataScopeInterceptor(dataScopeHandler));
+        interceptor.addInnerInterceptor(new DataScopeInterceptor(dataScopeHandler, predicateStrategies.orderedStream().toList()));
         // 分页插件
         interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.MYSQL));
         // 防止全表更新与删除
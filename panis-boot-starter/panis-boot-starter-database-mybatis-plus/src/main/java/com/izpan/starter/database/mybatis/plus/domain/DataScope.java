@@ -19,12 +19,19 @@
 
 package com.izpan.starter.database.mybatis.plus.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.izpan.starter.database.mybatis.plus.enums.DataScopeTypeEnum;
+import com.izpan.starter.database.mybatis.plus.template.DataScopeConditionPlan;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -38,7 +45,9 @@ import java.util.Set;
  */
 
 @Data
-@Builder
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
 public class DataScope implements Serializable {
 
     @Serial
@@ -59,6 +68,12 @@ public class DataScope implements Serializable {
      */
     private Set<Long> scopeUserIds;
 
+    /**
+     * 权限组织 IDs
+     * 权限用户数超过 IN 列表阈值时使用，按组织成员子查询过滤，不再保存用户 ID 集合
+     */
+    private Set<Long> scopeOrgIds;
+
     /**
      * 权限编码
      * 用于存储权限编码
@@ -76,4 +91,26 @@ public class DataScope implements Serializable {
      * 当数据权限类型为自定义时使用
      */
     private String customRules;
+
+    /**
+     * 自定义条件列表（未绑定变量值）
+     * 缓存时保存，查询时根据当前上下文绑定变量值后生成 customRules
+     */
+    private List<DataScopeCondition> customConditions;
+
+    /**
+     * 自定义条件编译计划（不序列化）
+     * 由 customConditions 编译生成，从 Redis 加载后放入本地缓存前重新编译，仅可通过 builder 设置
+     */
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private transient DataScopeConditionPlan customConditionPlan;
+
+    /**
+     * 已绑定变量值的自定义条件片段（不序列化）
+     * 查询时由 customConditionPlan 绑定生成，存在时优先于 customRules，仅可通过 builder 设置
+     */
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private transient DataScopeSqlFragment customFragment;
 }
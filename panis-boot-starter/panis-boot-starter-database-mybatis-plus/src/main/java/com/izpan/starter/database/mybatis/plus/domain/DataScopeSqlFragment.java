@@ -0,0 +1,91 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.starter.database.mybatis.plus.domain;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * 数据权限 SQL 条件片段
+ * <p>
+ * 条件文本中的值均以 JDBC 占位符 {@code ?} 表示，实际值按顺序保存在 values 中，
+ * 保证相同形状的条件生成相同的 SQL 文本，便于数据库复用执行计划
+ * </p>
+ *
+ * @param sql    条件 SQL 文本，如 create_user_id = ?
+ * @param values 占位符对应的参数值，顺序与 sql 中 ? 出现顺序一致
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.starter.database.mybatis.plus.domain.DataScopeSqlFragment
+ * @CreateTime 2025-12-24 - 09:42:18
+ */
+public record DataScopeSqlFragment(String sql, List<Object> values) {
+
+    /**
+     * 内联时间值格式化器：yyyy-MM-dd HH:mm:ss
+     */
+    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * 创建不含参数的条件片段
+     *
+     * @param sql 条件 SQL 文本
+     * @return {@link DataScopeSqlFragment} 条件片段
+     * @author payne.zhuang
+     * @CreateTime 2025-12-24 - 09:43:02
+     */
+    public static DataScopeSqlFragment of(String sql) {
+        return new DataScopeSqlFragment(sql, List.of());
+    }
+
+    /**
+     * 将参数值内联到条件文本中，用于无法参数绑定的 SQL
+     *
+     * @return {@link String} 内联值后的条件 SQL 文本
+     * @author payne.zhuang
+     * @CreateTime 2025-12-24 - 09:45:36
+     */
+    public String toInlineSql() {
+        if (values.isEmpty()) {
+            return sql;
+        }
+        StringBuilder sqlBuilder = new StringBuilder(sql.length() + values.size() * 20);
+        int index = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '?' && index < values.size()) {
+                Object value = values.get(index++);
+                if (value == null) {
+                    sqlBuilder.append("NULL");
+                } else if (value instanceof Number) {
+                    sqlBuilder.append(value);
+                } else if (value instanceof LocalDateTime dateTime) {
+                    sqlBuilder.append('\'').append(dateTime.format(DATETIME_FORMATTER)).append('\'');
+                } else {
+                    sqlBuilder.append('\'').append(String.valueOf(value).replace("'", "''")).append('\'');
+                }
+            } else {
+                sqlBuilder.append(c);
+            }
+        }
+        return sqlBuilder.toString();
+    }
+}
@@ -22,38 +22,45 @@ package com.izpan.starter.database.mybatis.plus.interceptor;
 import com.baomidou.mybatisplus.core.plugins.InterceptorIgnoreHelper;
 import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
 import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.izpan.starter.database.mybatis.plus.domain.DataScope;
+import com.izpan.starter.database.mybatis.plus.domain.DataScopeSqlFragment;
 import com.izpan.starter.database.mybatis.plus.enums.DataScopeTypeEnum;
 import com.izpan.starter.database.mybatis.plus.handler.IDataScopeHandler;
-import lombok.RequiredArgsConstructor;
+import com.izpan.starter.database.mybatis.plus.strategy.IDataScopePredicateStrategy;
+import com.izpan.starter.database.mybatis.plus.strategy.InListPredicateStrategy;
+import com.izpan.starter.database.mybatis.plus.template.DataScopeSqlTemplate;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.jsqlparser.JSQLParserException;
 import net.sf.jsqlparser.expression.Expression;
-import net.sf.jsqlparser.expression.LongValue;
-import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
-import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
-import net.sf.jsqlparser.expression.operators.relational.InExpression;
-import net.sf.jsqlparser.expression.operators.relational.ParenthesedExpressionList;
+import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
+import net.sf.jsqlparser.expression.operators.conditional.XorExpression;
 import net.sf.jsqlparser.parser.CCJSqlParserUtil;
-import net.sf.jsqlparser.schema.Column;
-import net.sf.jsqlparser.statement.select.PlainSelect;
-import net.sf.jsqlparser.statement.select.Select;
-import net.sf.jsqlparser.statement.select.SetOperationList;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
-import org.springframework.util.CollectionUtils;
+import org.apache.ibatis.type.JdbcType;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 
 /**
  * 数据权限拦截器
  * 用于拦截SQL并添加数据权限条件
+ * <p>
+ * 按 (msId, 原始 SQL) 缓存预解析的 {@link DataScopeSqlTemplate}，同一 SQL 仅解析一次；
+ * 数据权限值以 JDBC 参数追加到 {@link BoundSql}，改写后的 SQL 文本保持稳定，便于数据库复用执行计划
+ * </p>
+ * <p>
+ * 用户范围条件由 {@link IDataScopePredicateStrategy} 按顺序匹配生成，内置 {@link InListPredicateStrategy} 兜底
+ * </p>
  *
  * @Author payne.zhuang <paynezhuang@gmail.com>
  * @ProjectName panis-boot
@@ -61,15 +68,39 @@ import java.util.Set;
  * @CreateTime 2025/5/12 - 11:26
  */
 @Slf4j
-@RequiredArgsConstructor
 public class DataScopeInterceptor implements InnerInterceptor {
 
     // 用户ID列名，用于权限过滤
     private static final String USER_ID_COLUMN = "create_user_id";
 
+    // 数据权限参数名前缀，写入 BoundSql 附加参数
+    private static final String PARAMETER_PREFIX = "__dataScope_";
+
+    // SQL 模板缓存最大条目数
+    private static final long TEMPLATE_MAXIMUM_SIZE = 1024L;
+
     // 数据权限处理器，负责获取权限信息和缓存 SQL
     private final IDataScopeHandler dataScopeHandler;
 
+    // 用户范围谓词策略，按顺序匹配
+    private final List<IDataScopePredicateStrategy> predicateStrategies;
+
+    // SQL 改写模板缓存
+    private final Cache<TemplateKey, DataScopeSqlTemplate> templateCache = Caffeine.newBuilder()
+            .maximumSize(TEMPLATE_MAXIMUM_SIZE)
+            .build();
+
+    public DataScopeInterceptor(IDataScopeHandler dataScopeHandler) {
+        this(dataScopeHandler, List.of());
+    }
+
+    public DataScopeInterceptor(IDataScopeHandler dataScopeHandler, List<IDataScopePredicateStrategy> predicateStrategies) {
+        this.dataScopeHandler = dataScopeHandler;
+        List<IDataScopePredicateStrategy> strategies = new ArrayList<>(predicateStrategies);
+        strategies.add(new InListPredicateStrategy());
+        this.predicateStrategies = List.copyOf(strategies);
+    }
+
     /**
      * 拦截 SQL 查询，添加数据权限条件
      *
@@ -121,11 +152,29 @@ public class DataScopeInterceptor implements InnerInterceptor {
                 return;
             }
 
-            // 构建带权限条件的 SQL（移除SQL缓存，因为不同查询参数会导致缓存错误）
+            // 构建数据权限条件片段
+            DataScopeSqlFragment fragment = buildScopeFragment(dataScope);
+            if (fragment == null) {
+                log.debug("[DataScope] 用户ID={} 权限码={} msId={} - 无数据权限条件, 跳过处理", userId, permissionCode, ms.getId());
+                return;
+            }
+
+            // 获取 SQL 改写模板（同一 msId + SQL 仅解析一次）
             PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
             String originalSql = mpBs.sql();
-            String processedSql = buildDataScopeSql(originalSql, dataScope);
-            mpBs.sql(processedSql);
+            DataScopeSqlTemplate template = templateCache.get(new TemplateKey(ms.getId(), originalSql),
+                    key -> DataScopeSqlTemplate.compile(key.sql(), mpBs.parameterMappings().size()));
+            if (!template.isSupported()) {
+                return;
+            }
+
+            if (template.isParameterizable()) {
+                mpBs.sql(template.render(fragment.sql()));
+                mpBs.parameterMappings(template.bindParameterMappings(mpBs.parameterMappings(),
+                        bindScopeParameters(ms.getConfiguration(), boundSql, fragment.values())));
+            } else {
+                mpBs.sql(template.render(fragment.toInlineSql()));
+            }
 
             // 记录 SQL 处理日志
             log.info("[DataScope] 用户ID={} 权限码={}, 权限类型={}, msId={} - SQL 处理完成",
@@ -137,97 +186,67 @@ public class DataScopeInterceptor implements InnerInterceptor {
     }
 
     /**
-     * 构建带权限条件的 SQL
+     * 将数据权限参数值写入 BoundSql 附加参数，并构建对应的参数映射
      *
-     * @param originalSql 原始 SQL
-     * @param dataScope   数据权限信息
-     * @return {@link String} 处理后的 SQL，若无需处理则返回原 SQL
-     */
-    private String buildDataScopeSql(String originalSql, DataScope dataScope) {
-        try {
-            Select select = (Select) CCJSqlParserUtil.parse(originalSql);
-            processSelect(select, dataScope);
-            return select.toString();
-        } catch (JSQLParserException e) {
-            log.error("[DataScope] 用户ID={} 权限码={} - SQL 解析失败, sql={}, 错误={}",
-                    dataScope.getCurrentUserId(), dataScope.getPermissionCode(), originalSql, e.getMessage(), e);
-            // 解析失败返回原 SQL
-            return originalSql;
-        }
-    }
-
-    /**
-     * 处理 SELECT 语句，注入权限条件
-     *
-     * @param select    解析后的 SELECT 语句
-     * @param dataScope 数据权限信息
+     * @param configuration MyBatis 配置
+     * @param boundSql      绑定 SQL
+     * @param values        数据权限参数值
+     * @return {@link List} 数据权限参数映射
      * @author payne.zhuang
-     * @CreateTime 2025-05-29 - 13:48:38
+     * @CreateTime 2025-12-24 - 10:21:53
      */
-    private void processSelect(Select select, DataScope dataScope) {
-        if (select.getPlainSelect() != null) {
-            setWhere(select.getPlainSelect(), dataScope);
-        } else if (select.getSetOperationList() != null) {
-            SetOperationList setOperationList = select.getSetOperationList();
-            setOperationList.getSelects().forEach(s -> {
-                if (s instanceof PlainSelect plainSelect) {
-                    setWhere(plainSelect, dataScope);
-                } else {
-                    log.warn("[DataScope] 用户ID={} 权限码={} 权限类型={} - 复杂查询包含非 PlainSelect 类型, 跳过处理",
-                            dataScope.getCurrentUserId(), dataScope.getPermissionCode(), dataScope.getScopeType());
-                }
-            });
+    private List<ParameterMapping> bindScopeParameters(Configuration configuration, BoundSql boundSql, List<Object> values) {
+        List<ParameterMapping> mappings = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            String name = PARAMETER_PREFIX + i;
+            Object value = values.get(i);
+            boundSql.setAdditionalParameter(name, value);
+            // 空值无法推断 Java 类型，显式声明 JDBC NULL 交由驱动绑定
+            mappings.add(value == null
+                    ? new ParameterMapping.Builder(configuration, name, Object.class).jdbcType(JdbcType.NULL).build()
+                    : new ParameterMapping.Builder(configuration, name, value.getClass()).build());
         }
+        return mappings;
     }
 
     /**
-     * 为 PlainSelect 注入 WHERE 条件
-     *
-     * @param plainSelect 简单 SELECT 语句
-     * @param dataScope   数据权限信息
-     * @author payne.zhuang
-     * @CreateTime 2025-05-29 - 12:17:37
-     */
-    private void setWhere(PlainSelect plainSelect, DataScope dataScope) {
-        Expression whereExpression = plainSelect.getWhere();
-        Expression dataScopeExpression = buildScopeExpression(dataScope);
-        if (dataScopeExpression != null) {
-            if (whereExpression != null) {
-                plainSelect.setWhere(new AndExpression(whereExpression, dataScopeExpression));
-            } else {
-                plainSelect.setWhere(dataScopeExpression);
-            }
-            log.debug("[DataScope] 用户ID={} 权限码={} scopeType={} - WHERE 条件注入完成", dataScope.getCurrentUserId(), dataScope.getPermissionCode(), dataScope.getScopeType());
-        }
-    }
-
-    /**
-     * 构建数据权限的 SQL 表达式
+     * 构建数据权限条件片段，值以 JDBC 占位符表示
      *
      * @param dataScope 数据权限信息
-     * @return {@link Expression} 权限表达式，若无权限条件则返回 null
+     * @return {@link DataScopeSqlFragment} 条件片段，若无权限条件则返回 null
      * @author payne.zhuang
      * @CreateTime 2025-05-29 - 12:17:44
      */
-    private Expression buildScopeExpression(DataScope dataScope) {
+    private DataScopeSqlFragment buildScopeFragment(DataScope dataScope) {
         DataScopeTypeEnum scope = dataScope.getScopeType();
 
         Long userId = dataScope.getCurrentUserId();
         // 未知类型：返回恒假表达式 1 = 0，避免访问表字段并且不返回数据
         if (scope == DataScopeTypeEnum.UN_KNOWN) {
             log.warn("[DataScope] 用户ID={} 权限码={} - 未知权限类型, 权限类型={}, 返回恒假条件", userId, dataScope.getPermissionCode(), scope);
-            return new EqualsTo(new LongValue(1), new LongValue(0));
+            return DataScopeSqlFragment.of("1 = 0");
         }
 
         // 处理 SELF 类型（当前用户）
         if (scope == DataScopeTypeEnum.SELF) {
-            return new EqualsTo(new Column(USER_ID_COLUMN), new LongValue(userId));
+            if (userId == null) {
+                log.warn("[DataScope] 权限码={} - 当前用户ID为空, 返回恒假条件", dataScope.getPermissionCode());
+                return DataScopeSqlFragment.of("1 = 0");
+            }
+            return new DataScopeSqlFragment(USER_ID_COLUMN + " = ?", List.of(userId));
         }
 
-        // 处理 CUSTOM 类型（自定义规则）
+        // 处理 CUSTOM 类型（预编译的自定义条件），已在编译时校验，直接使用
+        if (scope == DataScopeTypeEnum.CUSTOM && dataScope.getCustomFragment() != null) {
+            return dataScope.getCustomFragment();
+        }
+
+        // 处理 CUSTOM 类型（自定义规则），解析校验后作为条件文本拼接
         if (scope == DataScopeTypeEnum.CUSTOM && StringUtils.hasLength(dataScope.getCustomRules())) {
             try {
-                return CCJSqlParserUtil.parseCondExpression(dataScope.getCustomRules());
+                Expression expression = CCJSqlParserUtil.parseCondExpression(dataScope.getCustomRules());
+                boolean needParentheses = expression instanceof OrExpression || expression instanceof XorExpression;
+                return DataScopeSqlFragment.of(needParentheses ? "(" + expression + ")" : expression.toString());
             } catch (JSQLParserException e) {
                 log.error("[DataScope] 用户ID={} 权限码={} 权限类型={} - 自定义规则解析失败, customRules={}, 错误={}",
                         userId, dataScope.getPermissionCode(), dataScope.getScopeType(),
@@ -236,14 +255,22 @@ public class DataScopeInterceptor implements InnerInterceptor {
             }
         }
 
-        // 处理用户 ID 集合
-        Set<Long> scopeUserIds = dataScope.getScopeUserIds();
-        if (!CollectionUtils.isEmpty(scopeUserIds)) {
-            Column column = new Column(USER_ID_COLUMN);
-            List<Expression> expressions = scopeUserIds.stream().map(id -> (Expression) new LongValue(id)).toList();
-            return new InExpression(column, new ParenthesedExpressionList<>(expressions));
+        // 处理用户范围，按顺序选择第一个支持的谓词策略
+        for (IDataScopePredicateStrategy strategy : predicateStrategies) {
+            if (strategy.supports(dataScope)) {
+                return strategy.build(dataScope, USER_ID_COLUMN);
+            }
         }
 
         return null;
     }
+
+    /**
+     * SQL 模板缓存 Key
+     *
+     * @param msId MappedStatement ID
+     * @param sql  原始 SQL
+     */
+    private record TemplateKey(String msId, String sql) {
+    }
 }
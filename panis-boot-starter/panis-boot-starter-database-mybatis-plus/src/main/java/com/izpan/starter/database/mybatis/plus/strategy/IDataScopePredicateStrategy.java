@@ -0,0 +1,58 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.izpan.starter.database.mybatis.plus.strategy;
+
+import com.izpan.starter.database.mybatis.plus.domain.DataScope;
+import com.izpan.starter.database.mybatis.plus.domain.DataScopeSqlFragment;
+
+/**
+ * 数据权限用户范围谓词策略
+ * <p>
+ * 将数据权限的用户范围转换为 SQL 条件片段，由 {@link com.izpan.starter.database.mybatis.plus.interceptor.DataScopeInterceptor}
+ * 按顺序选择第一个支持的策略，未匹配时使用内置的 {@link InListPredicateStrategy}
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.starter.database.mybatis.plus.strategy.IDataScopePredicateStrategy
+ * @CreateTime 2025-12-24 - 14:15:08
+ */
+public interface IDataScopePredicateStrategy {
+
+    /**
+     * 是否支持该数据权限
+     *
+     * @param dataScope 数据权限信息
+     * @return true 支持，false 不支持
+     * @author payne.zhuang
+     * @CreateTime 2025-12-24 - 14:16:33
+     */
+    boolean supports(DataScope dataScope);
+
+    /**
+     * 构建用户范围条件片段
+     *
+     * @param dataScope    数据权限信息
+     * @param userIdColumn 用户 ID 列名
+     * @return {@link DataScopeSqlFragment} 条件片段，无条件时返回 null
+     * @author payne.zhuang
+     * @CreateTime 2025-12-24 - 14:17:41
+     */
+    DataScopeSqlFragment build(DataScope dataScope, String userIdColumn);
+}
@@ -0,0 +1,58 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.izpan.starter.database.mybatis.plus.strategy;
+
+import com.izpan.starter.database.mybatis.plus.domain.DataScope;
+import com.izpan.starter.database.mybatis.plus.domain.DataScopeSqlFragment;
+import org.springframework.util.CollectionUtils;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * IN 列表谓词策略
+ * <p>
+ * 按已计算的权限用户 ID 集合生成 {@code create_user_id IN (?, ?, ...)}，适用于用户数较少的场景
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.starter.database.mybatis.plus.strategy.InListPredicateStrategy
+ * @CreateTime 2025-12-24 - 14:20:16
+ */
+public class InListPredicateStrategy implements IDataScopePredicateStrategy {
+
+    @Override
+    public boolean supports(DataScope dataScope) {
+        return !CollectionUtils.isEmpty(dataScope.getScopeUserIds());
+    }
+
+    @Override
+    public DataScopeSqlFragment build(DataScope dataScope, String userIdColumn) {
+        Set<Long> scopeUserIds = dataScope.getScopeUserIds();
+        if (CollectionUtils.isEmpty(scopeUserIds)) {
+            return null;
+        }
+        StringBuilder sqlBuilder = new StringBuilder(userIdColumn).append(" IN (");
+        for (int i = 0; i < scopeUserIds.size(); i++) {
+            sqlBuilder.append(i == 0 ? "?" : ", ?");
+        }
+        return new DataScopeSqlFragment(sqlBuilder.append(')').toString(), List.copyOf(scopeUserIds));
+    }
+}
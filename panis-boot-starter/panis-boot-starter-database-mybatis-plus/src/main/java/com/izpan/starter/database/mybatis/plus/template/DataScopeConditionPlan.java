@@ -0,0 +1,328 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.izpan.starter.database.mybatis.plus.template;
+
+import com.izpan.starter.common.pool.StringPools;
+import com.izpan.starter.database.mybatis.plus.domain.DataScopeCondition;
+import com.izpan.starter.database.mybatis.plus.domain.DataScopeSqlFragment;
+import com.izpan.starter.database.mybatis.plus.enums.QueryConditionsEnum;
+import com.izpan.starter.database.mybatis.plus.resolver.DataScopeVariableResolver;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+/**
+ * 自定义数据权限条件编译计划
+ * <p>
+ * 自定义条件在加载时编译一次，得到不可变的条件计划：<br>
+ * 1. 字段、操作符、逻辑连接符及固定值预先格式化为 SQL 文本 <br>
+ * 2. 变量占位符 #{variable} 编译为类型化参数槽位，按操作符参数类型（单值、集合、区间）展开为 JDBC 占位符 <br>
+ * 3. 编译时校验条件语法，查询时仅需绑定变量值，无需 JSON 解析、正则替换及 SQL 解析
+ * </p>
+ * <p>
+ * 与原拼接逻辑保持一致：存在 OR 连接时用括号包裹全部条件；变量值为空时渲染为 NULL
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.starter.database.mybatis.plus.template.DataScopeConditionPlan
+ * @CreateTime 2025-12-25 - 10:12:08
+ */
+@Slf4j
+public final class DataScopeConditionPlan {
+
+    /**
+     * 无效的条件计划（编译失败或无条件）
+     */
+    private static final DataScopeConditionPlan INVALID = new DataScopeConditionPlan(List.of(), null);
+
+    /**
+     * 条件计划片段，按顺序由 SQL 文本和参数槽位组成
+     */
+    private final List<Part> parts;
+
+    /**
+     * 不含参数槽位时预先生成的条件片段
+     */
+    private final DataScopeSqlFragment constantFragment;
+
+    private DataScopeConditionPlan(List<Part> parts, DataScopeSqlFragment constantFragment) {
+        this.parts = parts;
+        this.constantFragment = constantFragment;
+    }
+
+    /**
+     * 编译自定义条件
+     *
+     * @param conditions 自定义条件列表
+     * @return {@link DataScopeConditionPlan} 条件计划，编译失败时 {@link #isValid()} 返回 false
+     * @author payne.zhuang
+     * @CreateTime 2025-12-25 - 10:18:36
+     */
+    public static DataScopeConditionPlan compile(List<DataScopeCondition> conditions) {
+        if (conditions == null || conditions.isEmpty()) {
+            return INVALID;
+        }
+        try {
+            List<Part> parts = new ArrayList<>();
+            StringBuilder text = new StringBuilder();
+
+            // 只要有 OR，必须用括号包裹所有自定义条件，避免与原 WHERE 条件的优先级混淆
+            boolean hasOr = conditions.stream().skip(1).anyMatch(condition -> "OR".equalsIgnoreCase(condition.getLogic()));
+            if (hasOr) {
+                text.append(StringPools.LEFT_BRACKET);
+            }
+            for (int i = 0; i < conditions.size(); i++) {
+                DataScopeCondition condition = conditions.get(i);
+                if (i > 0) {
+                    text.append(StringPools.SPACE).append(condition.getLogic()).append(StringPools.SPACE);
+                }
+                compileCondition(condition, text, parts);
+            }
+            if (hasOr) {
+                text.append(StringPools.RIGHT_BRACKET);
+            }
+            flushText(text, parts);
+
+            // 以占位形式渲染并校验语法
+            StringBuilder validateSql = new StringBuilder();
+            parts.forEach(part -> validateSql.append(part.placeholderSql()));
+            CCJSqlParserUtil.parseCondExpression(validateSql.toString());
+
+            boolean constant = parts.stream().allMatch(Text.class::isInstance);
+            DataScopeSqlFragment constantFragment = constant ? DataScopeSqlFragment.of(validateSql.toString()) : null;
+            return new DataScopeConditionPlan(List.copyOf(parts), constantFragment);
+        } catch (JSQLParserException | IllegalArgumentException e) {
+            log.error("[DataScope] 自定义条件编译失败, conditions={}, 错误={}", conditions, e.getMessage(), e);
+            return INVALID;
+        }
+    }
+
+    /**
+     * 是否有效
+     *
+     * @return true 有效，false 编译失败或无条件
+     */
+    public boolean isValid() {
+        return !parts.isEmpty();
+    }
+
+    /**
+     * 绑定变量值，生成条件片段
+     *
+     * @param variableValueFunction 变量值获取函数，入参为变量名和操作符
+     * @return {@link DataScopeSqlFragment} 条件片段，计划无效时返回 null
+     * @author payne.zhuang
+     * @CreateTime 2025-12-25 - 10:26:51
+     */
+    public DataScopeSqlFragment bind(BiFunction<String, QueryConditionsEnum, Object> variableValueFunction) {
+        if (!isValid()) {
+            return null;
+        }
+        if (constantFragment != null) {
+            return constantFragment;
+        }
+        StringBuilder sqlBuilder = new StringBuilder();
+        List<Object> values = new ArrayList<>();
+        for (Part part : parts) {
+            switch (part) {
+                case Text textPart -> sqlBuilder.append(textPart.sql());
+                case Slot slot -> slot.bind(variableValueFunction.apply(slot.variable(), slot.operator()), sqlBuilder, values);
+                case EmbeddedSlot slot -> sqlBuilder.append(DataScopeVariableResolver.resolveVariables(null, slot.value(),
+                        variableValueFunction.apply(slot.variable(), slot.operator()), slot.operator()));
+            }
+        }
+        return new DataScopeSqlFragment(sqlBuilder.toString(), Collections.unmodifiableList(values));
+    }
+
+    /**
+     * 编译单个条件：字段 + 操作符 + 值
+     *
+     * @param condition 自定义条件
+     * @param text      当前 SQL 文本
+     * @param parts     条件计划片段
+     */
+    private static void compileCondition(DataScopeCondition condition, StringBuilder text, List<Part> parts) {
+        QueryConditionsEnum operator = QueryConditionsEnum.of(condition.getOperator());
+        text.append(condition.getField()).append(StringPools.SPACE).append(operator.getSqlOperator());
+
+        // IS_NULL 和 IS_NOT_NULL 不需要值
+        if (QueryConditionsEnum.IS_NULL.equals(operator) || QueryConditionsEnum.IS_NOT_NULL.equals(operator)) {
+            return;
+        }
+        text.append(StringPools.SPACE);
+
+        String value = condition.getValue();
+        String variable = condition.getVariable();
+        if (!StringUtils.hasText(variable) || value == null || !value.contains("#{")) {
+            // 固定值：编译时格式化
+            text.append(DataScopeVariableResolver.resolveVariables(null, value, null, operator));
+            return;
+        }
+
+        flushText(text, parts);
+        String trimmed = value.trim();
+        boolean singlePlaceholder = trimmed.startsWith("#{") && trimmed.indexOf('}') == trimmed.length() - 1;
+        // 值仅为变量占位符时编译为参数槽位，否则保留文本替换
+        parts.add(singlePlaceholder ? new Slot(variable, operator) : new EmbeddedSlot(value, variable, operator));
+    }
+
+    /**
+     * 将当前 SQL 文本追加为文本片段
+     *
+     * @param text  当前 SQL 文本
+     * @param parts 条件计划片段
+     */
+    private static void flushText(StringBuilder text, List<Part> parts) {
+        if (!text.isEmpty()) {
+            parts.add(new Text(text.toString()));
+            text.setLength(0);
+        }
+    }
+
+    /**
+     * 将变量值展开为元素列表，忽略空元素
+     *
+     * @param value 变量值
+     * @return 元素列表
+     */
+    private static List<Object> toElements(Object value) {
+        List<Object> elements = switch (value) {
+            case null -> List.of();
+            case Object[] array -> Arrays.asList(array);
+            case Iterable<?> iterable -> {
+                List<Object> list = new ArrayList<>();
+                iterable.forEach(list::add);
+                yield list;
+            }
+            default -> List.of(value);
+        };
+        return elements.stream().filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * 条件计划片段
+     */
+    private sealed interface Part permits Text, Slot, EmbeddedSlot {
+
+        /**
+         * 以占位形式渲染，用于编译时语法校验
+         *
+         * @return SQL 文本
+         */
+        String placeholderSql();
+    }
+
+    /**
+     * SQL 文本片段
+     *
+     * @param sql SQL 文本
+     */
+    private record Text(String sql) implements Part {
+
+        @Override
+        public String placeholderSql() {
+            return sql;
+        }
+    }
+
+    /**
+     * 类型化参数槽位，按操作符参数类型展开为 JDBC 占位符
+     *
+     * @param variable 变量名
+     * @param operator 操作符
+     */
+    private record Slot(String variable, QueryConditionsEnum operator) implements Part {
+
+        @Override
+        public String placeholderSql() {
+            return switch (operator.getParameterType()) {
+                case LIST -> "(?)";
+                case RANGE -> StringPools.AND_PATTERN;
+                default -> operator.getValuePattern();
+            };
+        }
+
+        /**
+         * 绑定变量值
+         *
+         * @param value      变量值
+         * @param sqlBuilder SQL 文本
+         * @param values     参数值
+         */
+        private void bind(Object value, StringBuilder sqlBuilder, List<Object> values) {
+            List<Object> elements = toElements(value);
+            switch (operator.getParameterType()) {
+                case LIST -> {
+                    if (elements.isEmpty()) {
+                        sqlBuilder.append("(NULL)");
+                        return;
+                    }
+                    sqlBuilder.append(StringPools.LEFT_BRACKET);
+                    for (int i = 0; i < elements.size(); i++) {
+                        sqlBuilder.append(i == 0 ? "?" : ", ?");
+                    }
+                    sqlBuilder.append(StringPools.RIGHT_BRACKET);
+                    values.addAll(elements);
+                }
+                case RANGE -> {
+                    if (elements.size() < 2) {
+                        sqlBuilder.append("NULL AND NULL");
+                        return;
+                    }
+                    sqlBuilder.append(StringPools.AND_PATTERN);
+                    values.add(elements.get(0));
+                    values.add(elements.get(1));
+                }
+                default -> {
+                    // 单值操作符：多值变量取第一个元素
+                    if (elements.isEmpty()) {
+                        sqlBuilder.append(operator.getValuePattern().replace(StringPools.QUESTION_MARK, StringPools.NULL));
+                        return;
+                    }
+                    sqlBuilder.append(operator.getValuePattern());
+                    values.add(elements.getFirst());
+                }
+            }
+        }
+    }
+
+    /**
+     * 值中嵌入变量占位符的槽位，绑定时按原逻辑进行文本替换
+     *
+     * @param value    包含变量占位符的值
+     * @param variable 变量名
+     * @param operator 操作符
+     */
+    private record EmbeddedSlot(String value, String variable, QueryConditionsEnum operator) implements Part {
+
+        @Override
+        public String placeholderSql() {
+            return DataScopeVariableResolver.resolveVariables(null, value, null, operator);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.starter.database.mybatis.plus.template;
+
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
+import net.sf.jsqlparser.expression.operators.conditional.XorExpression;
+import net.sf.jsqlparser.expression.operators.relational.ParenthesedExpressionList;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.select.SetOperationList;
+import org.apache.ibatis.mapping.ParameterMapping;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 数据权限 SQL 改写模板
+ * <p>
+ * 对同一 MappedStatement 的同一原始 SQL 仅解析一次：<br>
+ * 1. 解析 SELECT 并在每个 WHERE 注入点放置占位列，序列化后按占位列切分为 SQL 片段 <br>
+ * 2. 记录每个片段中原始 JDBC 占位符 {@code ?} 的数量，用于按位置插入数据权限参数映射 <br>
+ * 3. 查询时仅需将条件文本拼接到注入点，无需再次解析和序列化 AST
+ * </p>
+ * <p>
+ * 若序列化后的占位符数量与原始参数映射不一致（如引号内存在特殊写法），模板标记为不可参数化，
+ * 由调用方以内联值的方式渲染条件
+ * </p>
+ * <p>
+ * 原 WHERE 为 OR/XOR 表达式时会加上括号，保证数据权限条件对全部结果生效
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.starter.database.mybatis.plus.template.DataScopeSqlTemplate
+ * @CreateTime 2025-12-24 - 09:51:36
+ */
+@Slf4j
+public final class DataScopeSqlTemplate {
+
+    /**
+     * 注入点占位列名
+     */
+    private static final String PLACEHOLDER = "__DATA_SCOPE_CONDITION__";
+
+    /**
+     * 不可改写的模板（解析失败或占位符数量不一致）
+     */
+    private static final DataScopeSqlTemplate UNSUPPORTED = new DataScopeSqlTemplate(new String[0], new int[0], false);
+
+    /**
+     * 按注入点切分的 SQL 片段，长度为注入点数量 + 1
+     */
+    private final String[] segments;
+
+    /**
+     * 每个 SQL 片段中原始 JDBC 占位符数量
+     */
+    private final int[] segmentParameterCounts;
+
+    /**
+     * 是否可通过 JDBC 参数绑定数据权限值
+     */
+    private final boolean parameterizable;
+
+    private DataScopeSqlTemplate(String[] segments, int[] segmentParameterCounts, boolean parameterizable) {
+        this.segments = segments;
+        this.segmentParameterCounts = segmentParameterCounts;
+        this.parameterizable = parameterizable;
+    }
+
+    /**
+     * 编译数据权限 SQL 模板
+     *
+     * @param originalSql    原始 SQL
+     * @param parameterCount 原始参数映射数量，用于校验占位符位置
+     * @return {@link DataScopeSqlTemplate} SQL 模板，无法改写时 {@link #isSupported()} 返回 false
+     * @author payne.zhuang
+     * @CreateTime 2025-12-24 - 09:58:44
+     */
+    public static DataScopeSqlTemplate compile(String originalSql, int parameterCount) {
+        try {
+            Select select = (Select) CCJSqlParserUtil.parse(originalSql);
+            if (injectPlaceholder(select) == 0) {
+                return UNSUPPORTED;
+            }
+            String[] segments = select.toString().split(PLACEHOLDER, -1);
+            int[] counts = new int[segments.length];
+            int total = 0;
+            for (int i = 0; i < segments.length; i++) {
+                counts[i] = countParameters(segments[i]);
+                total += counts[i];
+            }
+            boolean parameterizable = total == parameterCount;
+            if (!parameterizable) {
+                log.warn("[DataScope] SQL 模板占位符数量不一致, 降级为内联值, 期望={}, 实际={}, sql={}", parameterCount, total, originalSql);
+            }
+            return new DataScopeSqlTemplate(segments, counts, parameterizable);
+        } catch (JSQLParserException | ClassCastException e) {
+            log.error("[DataScope] SQL 模板解析失败, sql={}, 错误={}", originalSql, e.getMessage(), e);
+            return UNSUPPORTED;
+        }
+    }
+
+    /**
+     * 是否可改写
+     *
+     * @return true 可改写，false 不可改写
+     */
+    public boolean isSupported() {
+        return segments.length > 1;
+    }
+
+    /**
+     * 是否可通过 JDBC 参数绑定数据权限值
+     *
+     * @return true 参数绑定，false 需内联值
+     */
+    public boolean isParameterizable() {
+        return parameterizable;
+    }
+
+    /**
+     * 将数据权限条件渲染到全部注入点
+     *
+     * @param condition 数据权限条件 SQL 文本
+     * @return {@link String} 改写后的 SQL
+     * @author payne.zhuang
+     * @CreateTime 2025-12-24 - 10:04:10
+     */
+    public String render(String condition) {
+        StringBuilder sqlBuilder = new StringBuilder(segments[0]);
+        for (int i = 1; i < segments.length; i++) {
+            sqlBuilder.append(condition).append(segments[i]);
+        }
+        return sqlBuilder.toString();
+    }
+
+    /**
+     * 按注入点位置合并原始参数映射与数据权限参数映射
+     *
+     * @param originalMappings 原始参数映射
+     * @param scopeMappings    数据权限参数映射（每个注入点相同）
+     * @return {@link List} 合并后的参数映射
+     * @author payne.zhuang
+     * @CreateTime 2025-12-24 - 10:06:27
+     */
+    public List<ParameterMapping> bindParameterMappings(List<ParameterMapping> originalMappings, List<ParameterMapping> scopeMappings) {
+        if (scopeMappings.isEmpty()) {
+            return originalMappings;
+        }
+        List<ParameterMapping> mappings = new ArrayList<>(originalMappings.size() + scopeMappings.size() * (segments.length - 1));
+        int position = 0;
+        for (int i = 0; i < segments.length; i++) {
+            mappings.addAll(originalMappings.subList(position, position + segmentParameterCounts[i]));
+            position += segmentParameterCounts[i];
+            if (i < segments.length - 1) {
+                mappings.addAll(scopeMappings);
+            }
+        }
+        return mappings;
+    }
+
+    /**
+     * 在全部注入点放置占位列
+     *
+     * @param select SELECT 语句
+     * @return 注入点数量
+     */
+    private static int injectPlaceholder(Select select) {
+        // getPlainSelect()/getSetOperationList() 为强制类型转换，需先判断具体类型
+        if (select instanceof PlainSelect plainSelect) {
+            injectPlaceholder(plainSelect);
+            return 1;
+        }
+        if (!(select instanceof SetOperationList setOperationList)) {
+            return 0;
+        }
+        int count = 0;
+        for (Select s : setOperationList.getSelects()) {
+            if (s instanceof PlainSelect plainSelect) {
+                injectPlaceholder(plainSelect);
+                count++;
+            } else {
+                log.warn("[DataScope] 复杂查询包含非 PlainSelect 类型, 跳过处理");
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 为 PlainSelect 的 WHERE 条件追加占位列
+     *
+     * @param plainSelect 简单 SELECT 语句
+     */
+    private static void injectPlaceholder(PlainSelect plainSelect) {
+        Column placeholder = new Column(PLACEHOLDER);
+        Expression where = plainSelect.getWhere();
+        if (where == null) {
+            plainSelect.setWhere(placeholder);
+            return;
+        }
+        if (where instanceof OrExpression || where instanceof XorExpression) {
+            where = new ParenthesedExpressionList<>(where);
+        }
+        plainSelect.setWhere(new AndExpression(where, placeholder));
+    }
+
+    /**
+     * 统计 SQL 片段中的 JDBC 占位符数量，忽略引号内的内容
+     *
+     * @param sql SQL 片段
+     * @return 占位符数量
+     */
+    private static int countParameters(String sql) {
+        int count = 0;
+        char quote = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (c == '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.starter.database.mybatis.plus.template;
+
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 数据权限 SQL 改写模板测试，校验各类语句改写后的 SQL 与参数映射顺序
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.starter.database.mybatis.plus.template.DataScopeSqlTemplateTest
+ * @CreateTime 2026-10-17 - 17:20:36
+ */
+class DataScopeSqlTemplateTest {
+
+    private static final Configuration CONFIGURATION = new Configuration();
+
+    private static final String CONDITION = "create_user_id IN (?, ?)";
+
+    private static final List<ParameterMapping> SCOPE_MAPPINGS = mappings("scope0", "scope1");
+
+    @Test
+    void simpleSelectWithoutWhere() {
+        DataScopeSqlTemplate template = DataScopeSqlTemplate.compile("SELECT id, name FROM sys_user", 0);
+
+        assertTrue(template.isSupported());
+        assertTrue(template.isParameterizable());
+        assertEquals("SELECT id, name FROM sys_user WHERE create_user_id IN (?, ?)", template.render(CONDITION));
+        assertEquals(List.of("scope0", "scope1"), properties(template.bindParameterMappings(List.of(), SCOPE_MAPPINGS)));
+    }
+
+    @Test
+    void simpleSelectAppendsAfterOriginalParameters() {
+        DataScopeSqlTemplate template = DataScopeSqlTemplate.compile("SELECT id FROM sys_user WHERE status = ? AND name LIKE ?", 2);
+
+        assertTrue(template.isParameterizable());
+        assertEquals("SELECT id FROM sys_user WHERE status = ? AND name LIKE ? AND create_user_id IN (?, ?)", template.render(CONDITION));
+        assertEquals(List.of("status", "name", "scope0", "scope1"),
+                properties(template.bindParameterMappings(mappings("status", "name"), SCOPE_MAPPINGS)));
+    }
+
+    @Test
+    void orWhereIsParenthesized() {
+        DataScopeSqlTemplate template = DataScopeSqlTemplate.compile("SELECT id FROM sys_user WHERE status = ? OR name = ?", 2);
+
+        assertEquals("SELECT id FROM sys_user WHERE (status = ? OR name = ?) AND create_user_id IN (?, ?)", template.render(CONDITION));
+        assertEquals(List.of("status", "name", "scope0", "scope1"),
+                properties(template.bindParameterMappings(mappings("status", "name"), SCOPE_MAPPINGS)));
+    }
+
+    @Test
+    void joinedSelect() {
+        DataScopeSqlTemplate template = DataScopeSqlTemplate.compile(
+                "SELECT u.id FROM sys_user u LEFT JOIN sys_user_org uo ON uo.user_id = u.id AND uo.status = ? WHERE u.status = ?", 2);
+
+        assertTrue(template.isParameterizable());
+        assertEquals("SELECT u.id FROM sys_user u LEFT JOIN sys_user_org uo ON uo.user_id = u.id AND uo.status = ? "
+                + "WHERE u.status = ? AND create_user_id IN (?, ?)", template.render(CONDITION));
+        assertEquals(List.of("joinStatus", "status", "scope0", "scope1"),
+                properties(template.bindParameterMappings(mappings("joinStatus", "status"), SCOPE_MAPPINGS)));
+    }
+
+    @Test
+    void subSelectParametersAfterInjectionPointStayInPlace() {
+        // 注入点位于 WHERE 末尾，ORDER BY / LIMIT 中的原始参数需排在数据权限参数之后
+        DataScopeSqlTemplate template = DataScopeSqlTemplate.compile(
+                "SELECT t.id FROM (SELECT id FROM sys_user WHERE status = ?) t WHERE t.id > ? LIMIT ?", 3);
+
+        assertTrue(template.isParameterizable());
+        assertEquals("SELECT t.id FROM (SELECT id FROM sys_user WHERE status = ?) t WHERE t.id > ? AND create_user_id IN (?, ?) LIMIT ?",
+                template.render(CONDITION));
+        assertEquals(List.of("status", "id", "scope0", "scope1", "limit"),
+                properties(template.bindParameterMappings(mappings("status", "id", "limit"), SCOPE_MAPPINGS)));
+    }
+
+    @Test
+    void unionInjectsIntoEachBranch() {
+        DataScopeSqlTemplate template = DataScopeSqlTemplate.compile(
+                "SELECT id FROM sys_user WHERE status = ? UNION ALL SELECT id FROM sys_user_history WHERE status = ?", 2);
+
+        assertTrue(template.isParameterizable());
+        assertEquals("SELECT id FROM sys_user WHERE status = ? AND create_user_id IN (?, ?) "
+                + "UNION ALL SELECT id FROM sys_user_history WHERE status = ? AND create_user_id IN (?, ?)", template.render(CONDITION));
+        assertEquals(List.of("status", "scope0", "scope1", "historyStatus", "scope0", "scope1"),
+                properties(template.bindParameterMappings(mappings("status", "historyStatus"), SCOPE_MAPPINGS)));
+    }
+
+    @Test
+    void quotedQuestionMarksAreNotParameters() {
+        DataScopeSqlTemplate template = DataScopeSqlTemplate.compile("SELECT id FROM sys_user WHERE remark = '?' AND status = ?", 1);
+
+        assertTrue(template.isParameterizable());
+        assertEquals(List.of("status", "scope0", "scope1"),
+                properties(template.bindParameterMappings(mappings("status"), SCOPE_MAPPINGS)));
+    }
+
+    @Test
+    void parameterCountMismatchFallsBackToInlineValues() {
+        // 原始参数映射数量与 SQL 中的占位符数量不一致时，模板仍可改写但不可参数化
+        DataScopeSqlTemplate template = DataScopeSqlTemplate.compile("SELECT id FROM sys_user WHERE status = ?", 2);
+
+        assertTrue(template.isSupported());
+        assertFalse(template.isParameterizable());
+        assertEquals("SELECT id FROM sys_user WHERE status = ? AND create_user_id IN (1, 2)", template.render("create_user_id IN (1, 2)"));
+    }
+
+    @Test
+    void emptyScopeMappingsKeepOriginalMappings() {
+        DataScopeSqlTemplate template = DataScopeSqlTemplate.compile("SELECT id FROM sys_user WHERE status = ?", 1);
+        List<ParameterMapping> original = mappings("status");
+
+        assertEquals(original, template.bindParameterMappings(original, List.of()));
+    }
+
+    @Test
+    void unparsableOrNonSelectIsUnsupported() {
+        assertFalse(DataScopeSqlTemplate.compile("UPDATE sys_user SET status = ? WHERE id = ?", 2).isSupported());
+        assertFalse(DataScopeSqlTemplate.compile("SELECT FROM WHERE", 0).isSupported());
+    }
+
+    private static List<ParameterMapping> mappings(String... properties) {
+        return Arrays.stream(properties)
+                .map(property -> new ParameterMapping.Builder(CONFIGURATION, property, Object.class).build())
+                .toList();
+    }
+
+    private static List<String> properties(List<ParameterMapping> mappings) {
+        return mappings.stream().map(ParameterMapping::getProperty).toList();
+    }
+}
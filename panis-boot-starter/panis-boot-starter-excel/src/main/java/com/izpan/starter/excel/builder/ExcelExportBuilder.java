@@ -19,9 +19,11 @@
 
 package com.izpan.starter.excel.builder;
 
+import cn.idev.excel.ExcelWriter;
 import cn.idev.excel.FastExcelFactory;
 import cn.idev.excel.write.builder.ExcelWriterBuilder;
 import cn.idev.excel.write.handler.WriteHandler;
+import cn.idev.excel.write.metadata.WriteSheet;
 import com.izpan.starter.common.pool.StringPools;
 import com.izpan.starter.excel.exception.ExcelException;
 import jakarta.servlet.http.HttpServletResponse;
@@ -31,10 +33,18 @@ import org.apache.commons.lang3.StringUtils;
 import java.io.OutputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.IntFunction;
 
 /**
  * Excel导出构建器
+ * <p>
+ * 除一次性传入的 {@link #data(List)} 外，支持两种流式数据源，按批写入并在达到单 sheet 行数上限时自动新建 sheet，
+ * 内存占用只与批大小有关：<br>
+ * 1. {@link #stream(Iterable)}：逐行迭代的数据源，如 MyBatis {@code Cursor}（需在事务内导出），实现 {@link AutoCloseable} 时导出后自动关闭 <br>
+ * 2. {@link #pages(int, IntFunction)}：按页码（从 1 开始）加载数据，返回空或不足一页时结束
+ * </p>
  *
  * @Author payne.zhuang <paynezhuang@gmail.com>
  * @ProjectName panis-boot
@@ -44,6 +54,18 @@ import java.util.List;
 
 @Slf4j
 public class ExcelExportBuilder<T> {
+    /**
+     * 流式导出默认批大小
+     */
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    /**
+     * xlsx 单 sheet 默认最大数据行数（格式上限 1048576 行，预留表头）
+     */
+    private static final int XLSX_SHEET_MAX_ROWS = 1_000_000;
+    /**
+     * xls 单 sheet 最大数据行数（格式上限 65536 行，预留表头）
+     */
+    private static final int XLS_SHEET_MAX_ROWS = 65_000;
     /**
      * 导出文件名
      */
@@ -60,6 +82,22 @@ public class ExcelExportBuilder<T> {
      * 导出数据模型类
      */
     private final Class<T> pojoClass;
+    /**
+     * 流式导出数据源
+     */
+    private Iterable<T> source;
+    /**
+     * 分页导出数据加载器，参数为页码（从 1 开始）
+     */
+    private IntFunction<List<T>> pageLoader;
+    /**
+     * 流式导出批大小（分页导出时为每页条数）
+     */
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    /**
+     * 单 sheet 最大数据行数，未设置时按文件格式取默认值
+     */
+    private int sheetMaxRows;
     /**
      * 自定义写处理器
      */
@@ -84,6 +122,50 @@ public class ExcelExportBuilder<T> {
         return this;
     }
 
+    /**
+     * 设置流式导出数据源，逐行迭代并按批写入
+     *
+     * @param source 数据源，如 MyBatis Cursor
+     * @return 构建器
+     * @author payne.zhuang
+     * @CreateTime 2025-12-26 - 14:08:35
+     */
+    public ExcelExportBuilder<T> stream(Iterable<T> source) {
+        this.source = source;
+        return this;
+    }
+
+    /**
+     * 设置分页导出数据加载器，逐页加载并写入
+     *
+     * @param pageSize   每页条数
+     * @param pageLoader 数据加载器，参数为页码（从 1 开始）
+     * @return 构建器
+     * @author payne.zhuang
+     * @CreateTime 2025-12-26 - 14:10:12
+     */
+    public ExcelExportBuilder<T> pages(int pageSize, IntFunction<List<T>> pageLoader) {
+        if (pageSize <= 0) {
+            throw new ExcelException("Export page size must be greater than 0");
+        }
+        this.batchSize = pageSize;
+        this.pageLoader = pageLoader;
+        return this;
+    }
+
+    /**
+     * 设置单 sheet 最大数据行数，超过后自动新建 sheet
+     *
+     * @param sheetMaxRows 单 sheet 最大数据行数
+     * @return 构建器
+     * @author payne.zhuang
+     * @CreateTime 2025-12-26 - 14:11:40
+     */
+    public ExcelExportBuilder<T> sheetMaxRows(int sheetMaxRows) {
+        this.sheetMaxRows = sheetMaxRows;
+        return this;
+    }
+
     public ExcelExportBuilder<T> writeHandler(WriteHandler writeHandler) {
         this.writeHandler = writeHandler;
         return this;
@@ -110,7 +192,8 @@ public class ExcelExportBuilder<T> {
         try {
             // 创建导出对象
             ExcelWriterBuilder writer = createWriter(filePath, pojoClass, writeHandler);
-            writer.sheet(sheetName).doWrite(data);
+            boolean xls = StringUtils.endsWithIgnoreCase(filePath, StringPools.XLS_SUFFIX);
+            doWrite(writer, xls ? XLS_SHEET_MAX_ROWS : XLSX_SHEET_MAX_ROWS);
         } catch (Exception e) {
             handleExportException(e, "Failed to export Excel to file");
         }
@@ -131,7 +214,7 @@ public class ExcelExportBuilder<T> {
         try {
             // 创建导出对象
             ExcelWriterBuilder writer = createWriter(outputStream, pojoClass, writeHandler);
-            writer.sheet(sheetName).doWrite(data);
+            doWrite(writer, XLSX_SHEET_MAX_ROWS);
         } catch (Exception e) {
             handleExportException(e, "Failed to export Excel to output stream");
         }
@@ -158,12 +241,78 @@ public class ExcelExportBuilder<T> {
 
             // 导出Excel
             ExcelWriterBuilder writer = createWriter(response.getOutputStream(), pojoClass, writeHandler);
-            writer.sheet(sheetName).doWrite(data);
+            doWrite(writer, XLSX_SHEET_MAX_ROWS);
         } catch (Exception e) {
             handleExportException(e, "Failed to export Excel to response stream");
         }
     }
 
+    /**
+     * 写入数据：一次性数据直接写入，流式数据源按批写入
+     *
+     * @param writerBuilder Excel写入器构建器
+     * @param formatMaxRows 文件格式对应的单 sheet 最大数据行数
+     * @throws Exception 写入或关闭数据源异常
+     */
+    private void doWrite(ExcelWriterBuilder writerBuilder, int formatMaxRows) throws Exception {
+        if (null == source && null == pageLoader) {
+            writerBuilder.sheet(sheetName).doWrite(data);
+            return;
+        }
+        int maxRows = sheetMaxRows > 0 ? Math.min(sheetMaxRows, formatMaxRows) : formatMaxRows;
+        try (ExcelWriter excelWriter = writerBuilder.build()) {
+            RollingSheetWriter sheetWriter = new RollingSheetWriter(excelWriter, maxRows);
+            if (null != source) {
+                writeSource(sheetWriter);
+            } else {
+                writePages(sheetWriter);
+            }
+            sheetWriter.finish();
+            log.info("Streaming export finished, rows: {}, sheets: {}", sheetWriter.totalRows, sheetWriter.sheetCount);
+        } finally {
+            if (source instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * 迭代数据源，攒满一批后写入
+     *
+     * @param sheetWriter 分 sheet 写入器
+     */
+    private void writeSource(RollingSheetWriter sheetWriter) {
+        List<T> batch = new ArrayList<>(batchSize);
+        for (T row : source) {
+            batch.add(row);
+            if (batch.size() >= batchSize) {
+                sheetWriter.write(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            sheetWriter.write(batch);
+        }
+    }
+
+    /**
+     * 逐页加载并写入，返回空或不足一页时结束
+     *
+     * @param sheetWriter 分 sheet 写入器
+     */
+    private void writePages(RollingSheetWriter sheetWriter) {
+        for (int pageNo = 1; ; pageNo++) {
+            List<T> page = pageLoader.apply(pageNo);
+            if (null == page || page.isEmpty()) {
+                return;
+            }
+            sheetWriter.write(page);
+            if (page.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
     /**
      * 获取有效的文件名
      *
@@ -236,4 +385,58 @@ public class ExcelExportBuilder<T> {
         log.error("{}: {}", message, e.getMessage(), e);
         throw new ExcelException("%s: %s".formatted(message, e.getMessage()), e);
     }
+
+    /**
+     * 分 sheet 写入器，当前 sheet 达到行数上限时自动新建 sheet（名称依次为 sheetName、sheetName_2 ...）
+     */
+    private final class RollingSheetWriter {
+
+        private final ExcelWriter excelWriter;
+
+        private final int maxRows;
+
+        private WriteSheet writeSheet;
+
+        private int sheetCount;
+
+        private int sheetRows;
+
+        private long totalRows;
+
+        private RollingSheetWriter(ExcelWriter excelWriter, int maxRows) {
+            this.excelWriter = excelWriter;
+            this.maxRows = maxRows;
+        }
+
+        private void write(List<T> rows) {
+            int offset = 0;
+            while (offset < rows.size()) {
+                if (null == writeSheet || sheetRows >= maxRows) {
+                    nextSheet();
+                }
+                int end = Math.min(rows.size(), offset + maxRows - sheetRows);
+                excelWriter.write(rows.subList(offset, end), writeSheet);
+                sheetRows += end - offset;
+                totalRows += end - offset;
+                offset = end;
+            }
+        }
+
+        /**
+         * 无数据时仍输出只有表头的 sheet
+         */
+        private void finish() {
+            if (null == writeSheet) {
+                nextSheet();
+                excelWriter.write(List.of(), writeSheet);
+            }
+        }
+
+        private void nextSheet() {
+            String name = sheetCount == 0 ? sheetName : sheetName + StringPools.UNDERSCORE + (sheetCount + 1);
+            writeSheet = FastExcelFactory.writerSheet(sheetCount, name).build();
+            sheetCount++;
+            sheetRows = 0;
+        }
+    }
 }
@@ -42,6 +42,7 @@ import java.util.List;
  * <p>
  * 异步模式通常配合自定义监听器使用，适合处理大数据量Excel或需要特殊处理逻辑的情况。<p>
  * 如需在异步模式下获取所有数据，可自定义监听器收集数据。<p>
+ * 大数据量导入建议使用 {@link com.izpan.starter.excel.listener.BatchDataListener} 分批校验并写入，避免整份数据驻留内存。<p>
  *
  * @Author payne.zhuang <paynezhuang@gmail.com>
  * @ProjectName panis-boot
@@ -0,0 +1,268 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.starter.excel.listener;
+
+import cn.idev.excel.context.AnalysisContext;
+import cn.idev.excel.event.AnalysisEventListener;
+import cn.idev.excel.exception.ExcelDataConvertException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * FastExcel 分批写入读取监听器
+ * <p>
+ * 适用于大数据量导入，内存中只保留一个批次的数据：<br>
+ * 1. 每行先经过调用方提供的校验器，校验失败的行记录行号与原因后跳过 <br>
+ * 2. 通过校验的行攒满 batchSize 后交给调用方提供的批量写入方法（如 saveBatch），读取结束时写入剩余数据 <br>
+ * 3. 单元格转换失败、批量写入失败均记录错误并继续读取，错误明细最多保留 maxErrors 条
+ * </p>
+ * <p>
+ * 监听器有状态，每次读取需创建新实例
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.starter.excel.listener.BatchDataListener
+ * @CreateTime 2025-12-28 - 10:12:36
+ */
+@Slf4j
+public class BatchDataListener<T> extends AnalysisEventListener<T> {
+
+    /**
+     * 默认批次大小
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /**
+     * 默认保留的错误明细条数
+     */
+    public static final int DEFAULT_MAX_ERRORS = 1000;
+
+    /**
+     * 批次大小
+     */
+    private final int batchSize;
+
+    /**
+     * 批量写入方法
+     */
+    private final Consumer<List<T>> sink;
+
+    /**
+     * 行校验器，返回错误信息，校验通过返回 null
+     */
+    private Function<T, String> validator = row -> null;
+
+    /**
+     * 保留的错误明细条数上限
+     */
+    private int maxErrors = DEFAULT_MAX_ERRORS;
+
+    /**
+     * 当前批次数据
+     */
+    private List<T> buffer;
+
+    /**
+     * 当前批次首行行号
+     */
+    private int bufferFirstRow;
+
+    /**
+     * 当前批次末行行号
+     */
+    private int bufferLastRow;
+
+    /**
+     * 错误明细
+     */
+    private final List<RowError> errors = new ArrayList<>();
+
+    private long totalRows;
+
+    private long successRows;
+
+    private long failedRows;
+
+    public BatchDataListener(Consumer<List<T>> sink) {
+        this(DEFAULT_BATCH_SIZE, sink);
+    }
+
+    public BatchDataListener(int batchSize, Consumer<List<T>> sink) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be greater than 0");
+        }
+        this.batchSize = batchSize;
+        this.sink = Objects.requireNonNull(sink, "sink cannot be null");
+        this.buffer = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * 设置行校验器
+     *
+     * @param validator 行校验器，返回错误信息，校验通过返回 null
+     * @return 当前监听器
+     * @author payne.zhuang
+     * @CreateTime 2025-12-28 - 10:16:05
+     */
+    public BatchDataListener<T> validator(Function<T, String> validator) {
+        this.validator = null == validator ? row -> null : validator;
+        return this;
+    }
+
+    /**
+     * 设置保留的错误明细条数上限，超出后只计数
+     *
+     * @param maxErrors 错误明细条数上限
+     * @return 当前监听器
+     * @author payne.zhuang
+     * @CreateTime 2025-12-28 - 10:16:48
+     */
+    public BatchDataListener<T> maxErrors(int maxErrors) {
+        this.maxErrors = Math.max(maxErrors, 0);
+        return this;
+    }
+
+    /**
+     * 读取excel数据操作：校验后加入当前批次，攒满后写入
+     *
+     * @param object  对象
+     * @param context 文件上下文
+     * @author payne.zhuang
+     * @CreateTime 2025-12-28 - 10:18:20
+     */
+    @Override
+    public void invoke(T object, AnalysisContext context) {
+        totalRows++;
+        int rowNum = context.readRowHolder().getRowIndex() + 1;
+        String message;
+        try {
+            message = validator.apply(object);
+        } catch (RuntimeException e) {
+            message = e.getMessage();
+        }
+        if (null != message) {
+            failedRows++;
+            addError(rowNum, message);
+            return;
+        }
+        if (buffer.isEmpty()) {
+            bufferFirstRow = rowNum;
+        }
+        bufferLastRow = rowNum;
+        buffer.add(object);
+        if (buffer.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * 读取完excel数据后的操作：写入剩余数据
+     *
+     * @param context 文件上下文
+     * @author payne.zhuang
+     * @CreateTime 2025-12-28 - 10:19:02
+     */
+    @Override
+    public void doAfterAllAnalysed(AnalysisContext context) {
+        flush();
+        log.info("[Excel分批导入完成]共读取[{}]行, 成功[{}]行, 失败[{}]行", totalRows, successRows, failedRows);
+    }
+
+    /**
+     * 单元格转换失败时记录错误并继续读取下一行，其他异常抛出停止读取
+     *
+     * @param exception 异常信息
+     * @param context   文件上下文
+     * @author payne.zhuang
+     * @CreateTime 2025-12-28 - 10:19:45
+     */
+    @Override
+    public void onException(Exception exception, AnalysisContext context) throws Exception {
+        if (exception instanceof ExcelDataConvertException ex) {
+            totalRows++;
+            failedRows++;
+            addError(ex.getRowIndex() + 1, "第%d列数据格式错误: %s".formatted(ex.getColumnIndex() + 1, ex.getMessage()));
+            return;
+        }
+        throw exception;
+    }
+
+    /**
+     * 获取导入结果
+     *
+     * @return {@link ImportResult} 导入结果
+     * @author payne.zhuang
+     * @CreateTime 2025-12-28 - 10:20:31
+     */
+    public ImportResult result() {
+        return new ImportResult(totalRows, successRows, failedRows, List.copyOf(errors));
+    }
+
+    /**
+     * 写入当前批次，失败时整批记为失败，写入后重新分配批次容器，避免写入方法持有引用
+     */
+    private void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        int size = buffer.size();
+        try {
+            sink.accept(buffer);
+            successRows += size;
+        } catch (RuntimeException e) {
+            failedRows += size;
+            addError(bufferFirstRow, "第%d-%d行批量写入失败: %s".formatted(bufferFirstRow, bufferLastRow, e.getMessage()));
+            log.error("[Excel分批导入]第{}-{}行批量写入失败", bufferFirstRow, bufferLastRow, e);
+        }
+        buffer = new ArrayList<>(batchSize);
+    }
+
+    private void addError(int rowNum, String message) {
+        if (errors.size() < maxErrors) {
+            errors.add(new RowError(rowNum, message));
+        }
+    }
+
+    /**
+     * 行错误
+     *
+     * @param rowNum  Excel 行号，从 1 开始（含表头）
+     * @param message 错误信息
+     */
+    public record RowError(int rowNum, String message) {
+    }
+
+    /**
+     * 导入结果
+     *
+     * @param totalRows   读取的数据行数
+     * @param successRows 写入成功行数
+     * @param failedRows  校验、转换或写入失败行数
+     * @param errors      错误明细，最多保留 maxErrors 条
+     */
+    public record ImportResult(long totalRows, long successRows, long failedRows, List<RowError> errors) {
+    }
+}
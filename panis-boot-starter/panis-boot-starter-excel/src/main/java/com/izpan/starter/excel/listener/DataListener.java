@@ -33,6 +33,9 @@ import java.util.Map;
 
 /**
  * FastExcel 读取监听器
+ * <p>
+ * 缓存全部数据行，仅适用于小文件；大数据量导入请使用 {@link BatchDataListener}
+ * </p>
  *
  * @Author payne.zhuang <paynezhuang@gmail.com>
  * @ProjectName panis-boot
@@ -60,9 +63,9 @@ public class DataListener<T> extends AnalysisEventListener<T> {
      */
     @Override
     public void invokeHeadMap(Map<Integer, String> headMap, AnalysisContext context) {
-        log.info("======================================================");
-        log.info("[Excel 第一行数据]{}", new Gson().toJson(headMap));
-        log.info("======================================================");
+        if (log.isDebugEnabled()) {
+            log.debug("[Excel 第一行数据]{}", new Gson().toJson(headMap));
+        }
     }
 
     /**
@@ -76,7 +79,7 @@ public class DataListener<T> extends AnalysisEventListener<T> {
     @Override
     public void invoke(T object, AnalysisContext context) {
         rows.add(object);
-        log.info("[Excel [{}]行读取成功]{}", rows.size(), object);
+        log.debug("[Excel [{}]行读取成功]{}", rows.size(), object);
     }
 
     /**
@@ -0,0 +1,169 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.starter.excel.builder;
+
+import cn.idev.excel.ExcelReader;
+import cn.idev.excel.FastExcelFactory;
+import cn.idev.excel.annotation.ExcelProperty;
+import cn.idev.excel.context.AnalysisContext;
+import cn.idev.excel.event.AnalysisEventListener;
+import cn.idev.excel.read.metadata.ReadSheet;
+import com.izpan.starter.excel.util.ExcelUtil;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Excel 导出构建器测试，校验流式与分页导出在达到单 sheet 行数上限时自动新建 sheet
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.starter.excel.builder.ExcelExportBuilderTest
+ * @CreateTime 2026-10-17 - 18:02:47
+ */
+class ExcelExportBuilderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void pagesRollPastXlsxSheetLimit() {
+        // 超过 xlsx 默认的 1,000,000 行上限，且翻页边界不与 sheet 边界对齐
+        int pageSize = 30_000;
+        long totalRows = 1_000_500;
+        List<Integer> loadedPages = new ArrayList<>();
+        String file = tempDir.resolve("pages.xlsx").toString();
+
+        ExcelUtil.export(Row.class)
+                .sheetName("data")
+                .pages(pageSize, pageNo -> {
+                    loadedPages.add(pageNo);
+                    return rows((long) (pageNo - 1) * pageSize + 1, Math.min((long) pageNo * pageSize, totalRows));
+                })
+                .toFile(file);
+
+        // 34 页后返回不足一页，不再请求第 35 页
+        assertEquals(34, loadedPages.size());
+        assertEquals(List.of("data", "data_2"), sheetNames(file));
+        assertSheet(file, 0, 1_000_000, 1, 1_000_000);
+        assertSheet(file, 1, 500, 1_000_001, 1_000_500);
+    }
+
+    @Test
+    void streamRollsAtConfiguredSheetMaxRows() {
+        String file = tempDir.resolve("stream.xlsx").toString();
+
+        ExcelUtil.export(Row.class)
+                .sheetName("data")
+                .sheetMaxRows(4)
+                .stream(rows(1, 10))
+                .toFile(file);
+
+        assertEquals(List.of("data", "data_2", "data_3"), sheetNames(file));
+        assertSheet(file, 0, 4, 1, 4);
+        assertSheet(file, 1, 4, 5, 8);
+        assertSheet(file, 2, 2, 9, 10);
+    }
+
+    @Test
+    void exactMultipleDoesNotCreateEmptySheet() {
+        String file = tempDir.resolve("exact.xlsx").toString();
+
+        ExcelUtil.export(Row.class)
+                .sheetName("data")
+                .sheetMaxRows(5)
+                .pages(5, pageNo -> pageNo <= 2 ? rows(pageNo * 5L - 4, pageNo * 5L) : List.of())
+                .toFile(file);
+
+        assertEquals(List.of("data", "data_2"), sheetNames(file));
+        assertSheet(file, 1, 5, 6, 10);
+    }
+
+    @Test
+    void emptySourceWritesHeaderOnlySheet() {
+        String file = tempDir.resolve("empty.xlsx").toString();
+
+        ExcelUtil.export(Row.class).sheetName("data").pages(10, pageNo -> List.of()).toFile(file);
+
+        assertEquals(List.of("data"), sheetNames(file));
+        assertSheet(file, 0, 0, 0, 0);
+    }
+
+    private static List<Row> rows(long from, long to) {
+        return LongStream.rangeClosed(from, to).mapToObj(Row::new).toList();
+    }
+
+    private static List<String> sheetNames(String file) {
+        try (ExcelReader reader = FastExcelFactory.read(file).build()) {
+            return reader.excelExecutor().sheetList().stream().map(ReadSheet::getSheetName).toList();
+        }
+    }
+
+    private static void assertSheet(String file, int sheetNo, long expectedRows, long expectedFirstId, long expectedLastId) {
+        RowCounter counter = new RowCounter();
+        FastExcelFactory.read(file, Row.class, counter).sheet(sheetNo).doRead();
+        assertEquals(expectedRows, counter.rows, "sheet " + sheetNo + " rows");
+        assertEquals(expectedFirstId, counter.firstId, "sheet " + sheetNo + " first id");
+        assertEquals(expectedLastId, counter.lastId, "sheet " + sheetNo + " last id");
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Row {
+
+        @ExcelProperty("ID")
+        private Long id;
+    }
+
+    /**
+     * 只统计行数与首尾 ID，不缓存数据
+     */
+    private static class RowCounter extends AnalysisEventListener<Row> {
+
+        private long rows;
+
+        private long firstId;
+
+        private long lastId;
+
+        @Override
+        public void invoke(Row row, AnalysisContext context) {
+            if (rows++ == 0) {
+                firstId = row.getId();
+            }
+            lastId = row.getId();
+        }
+
+        @Override
+        public void doAfterAllAnalysed(AnalysisContext context) {
+            // 无需处理
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.starter.excel.listener;
+
+import cn.idev.excel.annotation.ExcelProperty;
+import com.izpan.starter.excel.util.ExcelUtil;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * FastExcel 分批写入读取监听器测试，校验分批、末批写入与各类错误的记录
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.starter.excel.listener.BatchDataListenerTest
+ * @CreateTime 2026-10-17 - 18:21:14
+ */
+class BatchDataListenerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void flushesFullBatchesAndRemainderAfterAnalysis() {
+        List<List<Row>> batches = new ArrayList<>();
+        BatchDataListener<Row> listener = new BatchDataListener<>(10, batches::add);
+
+        read(write("batch.xlsx", ids(1, 25)), listener);
+
+        assertEquals(List.of(10, 10, 5), batches.stream().map(List::size).toList());
+        // 每批写入后重新分配容器，已交给写入方法的批次内容不被后续行覆盖
+        assertEquals(List.of(1L, 11L, 21L), batches.stream().map(batch -> batch.getFirst().getId()).toList());
+        assertEquals(List.of(10L, 20L, 25L), batches.stream().map(batch -> batch.getLast().getId()).toList());
+        assertResult(listener, 25, 25, 0, 0);
+    }
+
+    @Test
+    void exactMultipleHasNoEmptyTrailingBatch() {
+        List<Integer> sizes = new ArrayList<>();
+        BatchDataListener<Row> listener = new BatchDataListener<>(5, batch -> sizes.add(batch.size()));
+
+        read(write("exact.xlsx", ids(1, 10)), listener);
+
+        assertEquals(List.of(5, 5), sizes);
+    }
+
+    @Test
+    void invalidRowsAreSkippedWithRowNumbers() {
+        List<Long> saved = new ArrayList<>();
+        BatchDataListener<Row> listener = new BatchDataListener<Row>(3, batch -> batch.forEach(row -> saved.add(row.getId())))
+                .validator(row -> row.getId() % 4 == 0 ? "ID 不能为 4 的倍数" : null);
+
+        read(write("invalid.xlsx", ids(1, 10)), listener);
+
+        assertEquals(List.of(1L, 2L, 3L, 5L, 6L, 7L, 9L, 10L), saved);
+        BatchDataListener.ImportResult result = assertResult(listener, 10, 8, 2, 2);
+        // 行号含表头：ID 4 位于第 5 行
+        assertEquals(new BatchDataListener.RowError(5, "ID 不能为 4 的倍数"), result.errors().get(0));
+        assertEquals(9, result.errors().get(1).rowNum());
+    }
+
+    @Test
+    void validatorExceptionCountsAsInvalidRow() {
+        BatchDataListener<Row> listener = new BatchDataListener<Row>(3, batch -> {
+        }).validator(row -> {
+            if (row.getId() == 2) {
+                throw new IllegalStateException("校验异常");
+            }
+            return null;
+        });
+
+        read(write("validator.xlsx", ids(1, 3)), listener);
+
+        BatchDataListener.ImportResult result = assertResult(listener, 3, 2, 1, 1);
+        assertEquals("校验异常", result.errors().get(0).message());
+    }
+
+    @Test
+    void failedBatchIsRecordedAndReadingContinues() {
+        List<Integer> sizes = new ArrayList<>();
+        BatchDataListener<Row> listener = new BatchDataListener<>(4, batch -> {
+            if (batch.get(0).getId() == 5) {
+                throw new IllegalStateException("duplicate key");
+            }
+            sizes.add(batch.size());
+        });
+
+        read(write("sink.xlsx", ids(1, 10)), listener);
+
+        assertEquals(List.of(4, 2), sizes);
+        BatchDataListener.ImportResult result = assertResult(listener, 10, 6, 4, 1);
+        assertEquals(6, result.errors().get(0).rowNum());
+        assertTrue(result.errors().get(0).message().startsWith("第6-9行批量写入失败"), result.errors().get(0).message());
+    }
+
+    @Test
+    void convertErrorIsRecordedAndReadingContinues() {
+        List<Long> saved = new ArrayList<>();
+        BatchDataListener<Row> listener = new BatchDataListener<Row>(10, batch -> batch.forEach(row -> saved.add(row.getId())));
+
+        read(write("convert.xlsx", List.of("1", "abc", "3")), listener);
+
+        assertEquals(List.of(1L, 3L), saved);
+        BatchDataListener.ImportResult result = assertResult(listener, 3, 2, 1, 1);
+        assertEquals(3, result.errors().get(0).rowNum());
+        assertTrue(result.errors().get(0).message().startsWith("第1列数据格式错误"), result.errors().get(0).message());
+    }
+
+    @Test
+    void errorDetailsAreCappedButFailuresAreCounted() {
+        BatchDataListener<Row> listener = new BatchDataListener<Row>(10, batch -> {
+        }).validator(row -> "invalid").maxErrors(3);
+
+        read(write("cap.xlsx", ids(1, 20)), listener);
+
+        assertResult(listener, 20, 0, 20, 3);
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchDataListener<Row>(0, batch -> {
+        }));
+        assertThrows(NullPointerException.class, () -> new BatchDataListener<Row>(10, null));
+    }
+
+    private static BatchDataListener.ImportResult assertResult(BatchDataListener<Row> listener, long total, long success, long failed,
+                                                               int errors) {
+        BatchDataListener.ImportResult result = listener.result();
+        assertEquals(total, result.totalRows(), "totalRows");
+        assertEquals(success, result.successRows(), "successRows");
+        assertEquals(failed, result.failedRows(), "failedRows");
+        assertEquals(errors, result.errors().size(), "errors");
+        return result;
+    }
+
+    private static List<String> ids(int from, int to) {
+        return IntStream.rangeClosed(from, to).mapToObj(String::valueOf).toList();
+    }
+
+    private String write(String fileName, List<String> ids) {
+        String file = tempDir.resolve(fileName).toString();
+        ExcelUtil.export(Cell.class).data(ids.stream().map(Cell::new).toList()).toFile(file);
+        return file;
+    }
+
+    private static void read(String file, BatchDataListener<Row> listener) {
+        ExcelUtil.read(Row.class).listener(listener).fromFile(file);
+    }
+
+    /**
+     * 读取模型，ID 列为数值
+     */
+    @Data
+    @NoArgsConstructor
+    public static class Row {
+
+        @ExcelProperty("ID")
+        private Long id;
+    }
+
+    /**
+     * 写入模型，ID 列为文本，用于构造格式错误的单元格
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Cell {
+
+        @ExcelProperty("ID")
+        private String id;
+    }
+}
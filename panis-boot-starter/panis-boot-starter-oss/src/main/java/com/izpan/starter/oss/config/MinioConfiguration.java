@@ -20,6 +20,7 @@
 package com.izpan.starter.oss.config;
 
 import com.izpan.starter.oss.service.minio.MinioServiceImpl;
+import io.minio.MinioAsyncClient;
 import io.minio.MinioClient;
 import lombok.AllArgsConstructor;
 import lombok.SneakyThrows;
@@ -58,11 +59,21 @@ public class MinioConfiguration {
                 .build();
     }
 
+    @Bean
+    @SneakyThrows
+    @ConditionalOnMissingBean(MinioAsyncClient.class)
+    public MinioAsyncClient minioAsyncClient() {
+        return MinioAsyncClient.builder()
+                .endpoint(ossProperties.getEndpoint())
+                .credentials(ossProperties.getAccessKey(), ossProperties.getSecretKey())
+                .build();
+    }
+
     @Bean
     @SneakyThrows
     @ConditionalOnMissingBean(MinioServiceImpl.class)
-    public MinioServiceImpl minioService(MinioClient minioClient) {
-        return new MinioServiceImpl(minioClient, ossProperties);
+    public MinioServiceImpl minioService(MinioClient minioClient, MinioAsyncClient minioAsyncClient) {
+        return new MinioServiceImpl(minioClient, minioAsyncClient, ossProperties);
     }
 
 }
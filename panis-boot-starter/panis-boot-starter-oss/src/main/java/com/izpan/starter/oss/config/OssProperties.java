@@ -22,6 +22,7 @@ package com.izpan.starter.oss.config;
 
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * OSS 配置属性
@@ -47,7 +48,7 @@ public class OssProperties {
     private String bucketName;
 
     /**
-     * 服务端点
+     * 服务端点，本地存储时为对象访问地址前缀，为空时使用 /oss/local
      */
     private String endpoint;
 
@@ -70,4 +71,58 @@ public class OssProperties {
      * 预览有效期(单位：秒，最大期限为 7 天)
      */
     private int expiry;
+
+    /**
+     * 分片上传配置
+     */
+    private Multipart multipart = new Multipart();
+
+    /**
+     * 本地存储配置
+     */
+    private Local local = new Local();
+
+    /**
+     * 分片上传配置属性
+     */
+    @Data
+    public static class Multipart {
+
+        /**
+         * 分片上传阈值，大小已知且不小于该值的文件使用并行分片上传
+         */
+        private DataSize threshold = DataSize.ofMegabytes(64);
+
+        /**
+         * 分片大小，最小 5MB
+         */
+        private DataSize partSize = DataSize.ofMegabytes(16);
+
+        /**
+         * 并行上传的分片数，同时也是缓冲在内存中的分片数上限
+         */
+        private int concurrency = 4;
+    }
+
+    /**
+     * 本地存储配置属性
+     */
+    @Data
+    public static class Local {
+
+        /**
+         * 存储根目录
+         */
+        private String path = "oss-data";
+
+        /**
+         * 内存映射阈值，不超过该大小的文件读取时映射到内存并缓存，为 0 时关闭
+         */
+        private DataSize mmapThreshold = DataSize.ofBytes(0);
+
+        /**
+         * 内存映射缓存总大小
+         */
+        private DataSize mmapCacheSize = DataSize.ofMegabytes(64);
+    }
 }
\ No newline at end of file
@@ -20,9 +20,11 @@
 package com.izpan.starter.oss.service;
 
 import com.izpan.starter.oss.domain.OssFile;
+import com.izpan.starter.oss.domain.OssFileStat;
 
 import java.io.File;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -109,6 +111,31 @@ public interface OssService {
      */
     OssFile putFile(String bucketName, String fileName, InputStream stream);
 
+    /**
+     * 上传文件
+     *
+     * @param fileName 文件名
+     * @param stream   文件流
+     * @param size     文件大小，未知时为 -1
+     * @return {@link OssFile} 文件信息
+     * @author payne.zhuang
+     * @CreateTime 2026-01-09 - 09:12:36
+     */
+    OssFile putFile(String fileName, InputStream stream, long size);
+
+    /**
+     * 上传文件
+     *
+     * @param bucketName 存储桶名称
+     * @param fileName   文件名
+     * @param stream     文件流
+     * @param size       文件大小，未知时为 -1
+     * @return {@link OssFile} 文件信息
+     * @author payne.zhuang
+     * @CreateTime 2026-01-09 - 09:13:02
+     */
+    OssFile putFile(String bucketName, String fileName, InputStream stream, long size);
+
     /**
      * 删除文件
      *
@@ -188,4 +215,52 @@ public interface OssService {
      * @CreateTime 2024-11-26 - 21:59:02
      */
     String preview(String bucketName, String fileName, int expiry);
+
+    /**
+     * 获取文件元信息
+     *
+     * @param fileName 文件名
+     * @return {@link OssFileStat } 文件元信息
+     * @author payne.zhuang
+     * @CreateTime 2026-01-10 - 09:11:20
+     */
+    OssFileStat stat(String fileName);
+
+    /**
+     * 获取文件元信息
+     *
+     * @param bucketName 存储桶名称
+     * @param fileName   文件名
+     * @return {@link OssFileStat } 文件元信息
+     * @author payne.zhuang
+     * @CreateTime 2026-01-10 - 09:11:45
+     */
+    OssFileStat stat(String bucketName, String fileName);
+
+    /**
+     * 读取文件指定范围写入输出流，不关闭输出流
+     *
+     * @param fileName 文件名
+     * @param offset   起始位置
+     * @param length   读取长度，为 -1 时读取到文件末尾
+     * @param stream   输出流
+     * @return {@link long} 写入字节数
+     * @author payne.zhuang
+     * @CreateTime 2026-01-10 - 09:12:30
+     */
+    long getObject(String fileName, long offset, long length, OutputStream stream);
+
+    /**
+     * 读取文件指定范围写入输出流，不关闭输出流
+     *
+     * @param bucketName 存储桶名称
+     * @param fileName   文件名
+     * @param offset     起始位置
+     * @param length     读取长度，为 -1 时读取到文件末尾
+     * @param stream     输出流
+     * @return {@link long} 写入字节数
+     * @author payne.zhuang
+     * @CreateTime 2026-01-10 - 09:12:58
+     */
+    long getObject(String bucketName, String fileName, long offset, long length, OutputStream stream);
 }
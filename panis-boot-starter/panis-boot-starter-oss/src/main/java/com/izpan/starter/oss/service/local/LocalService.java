@@ -21,6 +21,8 @@ package com.izpan.starter.oss.service.local;
 
 import com.izpan.starter.oss.service.OssService;
 
+import java.nio.file.Path;
+
 /**
  * 本地服务接口
  *
@@ -32,4 +34,27 @@ import com.izpan.starter.oss.service.OssService;
 
 public interface LocalService extends OssService {
 
+    /**
+     * 获取对象的物理文件路径
+     *
+     * @param bucketName 存储桶名称
+     * @param fileName   文件名
+     * @return {@link Path } 物理文件路径，文件不一定存在
+     * @author payne.zhuang
+     * @CreateTime 2026-01-08 - 09:12:30
+     */
+    Path resolve(String bucketName, String fileName);
+
+    /**
+     * 校验外链链接签名
+     *
+     * @param bucketName 存储桶名称
+     * @param fileName   文件名
+     * @param expires    过期时间戳（单位：秒）
+     * @param signature  签名
+     * @return {@link boolean} 签名有效且未过期
+     * @author payne.zhuang
+     * @CreateTime 2026-01-08 - 09:13:05
+     */
+    boolean verify(String bucketName, String fileName, long expires, String signature);
 }
@@ -19,21 +19,60 @@
 
 package com.izpan.starter.oss.service.local;
 
+import cn.hutool.core.util.IdUtil;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.izpan.starter.common.pool.StringPools;
+import com.izpan.starter.common.util.FileUtil;
 import com.izpan.starter.oss.config.OssProperties;
 import com.izpan.starter.oss.domain.OssFile;
+import com.izpan.starter.oss.domain.OssFileStat;
 import com.izpan.starter.oss.enums.OssEnum;
 import com.izpan.starter.oss.exception.OSSException;
 import com.izpan.starter.oss.manage.OssManager;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.InitializingBean;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
 
 /**
  * 本地服务接口实现类
+ * <p>
+ * 基于 NIO 的本地对象存储：<br>
+ * 1. 对象按 Key 的 SHA-256 分两级目录存放（ab/cd/abcd...），避免单目录文件过多 <br>
+ * 2. 写入先落到存储桶下的临时目录，完成后原子移动到目标位置，读取方不会看到写了一半的文件 <br>
+ * 3. 读取通过 {@link FileChannel#transferTo} 按范围写入输出流，不超过内存映射阈值的热点小文件映射到内存并缓存 <br>
+ * 4. 外链链接为 {@code endpoint/存储桶/文件名?expires=&signature=}，签名为 HMAC-SHA256
+ * </p>
  *
  * @Author payne.zhuang <paynezhuang@gmail.com>
  * @ProjectName panis-boot
@@ -42,92 +81,369 @@ import java.util.List;
  */
 
 @Slf4j
-@AllArgsConstructor
 public class LocalServiceImpl implements LocalService, InitializingBean {
 
+    private static final String DEFAULT_ENDPOINT = "/oss/local";
+
+    private static final String TEMP_DIRECTORY = ".tmp";
+
+    /**
+     * 单次通道传输的最大字节数
+     */
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+
     /**
      * 配置类
      */
     private final OssProperties properties;
 
+    /**
+     * 存储根目录
+     */
+    private final Path root;
+
+    /**
+     * 外链签名函数
+     */
+    private final HashFunction signer;
+
+    /**
+     * 内存映射阈值（字节）
+     */
+    private final long mmapThreshold;
+
+    /**
+     * 热点小文件内存映射缓存，未开启时为 null
+     */
+    private final Cache<Path, ByteBuffer> mmapCache;
+
+    public LocalServiceImpl(OssProperties properties) {
+        this.properties = properties;
+        OssProperties.Local local = properties.getLocal();
+        this.root = Paths.get(local.getPath()).toAbsolutePath().normalize();
+        this.signer = Hashing.hmacSha256(signingKey(properties.getSecretKey()));
+        this.mmapThreshold = local.getMmapThreshold().toBytes();
+        this.mmapCache = mmapThreshold <= 0 ? null : CacheBuilder.newBuilder()
+                .maximumWeight(local.getMmapCacheSize().toBytes())
+                .weigher((Path path, ByteBuffer buffer) -> buffer.capacity())
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
     @Override
     public void afterPropertiesSet() {
         OssManager.registerService(OssEnum.LOCAL.getName(), this);
-        log.info("OSS Register Local Service success");
+        log.info("OSS Register Local Service success, root: {}", root);
     }
 
     @Override
     public void makeBucket(String bucketName) {
-        throw new OSSException("Local Service not support makeBucket");
+        try {
+            Files.createDirectories(bucket(bucketName).resolve(TEMP_DIRECTORY));
+        } catch (IOException e) {
+            throw new OSSException("Local create bucket error", e);
+        }
     }
 
     @Override
     public boolean bucketExists(String bucketName) {
-        return false;
+        return Files.isDirectory(bucket(bucketName));
     }
 
     @Override
     public void removeBucket(String bucketName) {
-        throw new OSSException("Local Service not support removeBucket");
+        Path bucket = bucket(bucketName);
+        if (!Files.isDirectory(bucket)) return;
+        Path temp = bucket.resolve(TEMP_DIRECTORY);
+        try (Stream<Path> paths = Files.walk(bucket)) {
+            if (paths.anyMatch(path -> Files.isRegularFile(path) && !path.startsWith(temp))) {
+                throw new OSSException("Local remove bucket error, bucket is not empty: " + bucketName);
+            }
+        } catch (IOException e) {
+            throw new OSSException("Local remove bucket error", e);
+        }
+        try (Stream<Path> paths = Files.walk(bucket)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        } catch (IOException e) {
+            throw new OSSException("Local remove bucket error", e);
+        }
     }
 
     @Override
     public OssFile putFile(File file) {
-        throw new OSSException("Local Service not support putFile");
+        return putFile(properties.getBucketName(), file);
     }
 
     @Override
     public OssFile putFile(String bucketName, File file) {
-        throw new OSSException("Local Service not support putFile");
+        try (InputStream stream = new FileInputStream(file)) {
+            return putFile(bucketName, file.getName(), stream);
+        } catch (IOException e) {
+            throw new OSSException("Local put file error", e);
+        }
     }
 
     @Override
     public OssFile putFile(String fileName, InputStream stream) {
-        throw new OSSException("Local Service not support putFile");
+        return putFile(properties.getBucketName(), fileName, stream);
     }
 
     @Override
     public OssFile putFile(String bucketName, String fileName, InputStream stream) {
-        throw new OSSException("Local Service not support putFile");
+        return putFile(bucketName, fileName, stream, -1);
+    }
+
+    @Override
+    public OssFile putFile(String fileName, InputStream stream, long size) {
+        return putFile(properties.getBucketName(), fileName, stream, size);
+    }
+
+    @Override
+    public OssFile putFile(String bucketName, String fileName, InputStream stream, long size) {
+        makeBucket(bucketName);
+        String uuid = IdUtil.fastSimpleUUID();
+        String path = FileUtil.path(fileName, uuid);
+        write(bucketName, path, stream);
+        return OssFile.builder()
+                .name(fileName)
+                .path(path)
+                .uuid(uuid)
+                .location(OssEnum.LOCAL.getCode())
+                .contentType(StringPools.OCTET_STREAM)
+                .build();
     }
 
     @Override
     public void removeFile(String fileName) {
-        throw new OSSException("Local Service not support removeFile");
+        removeFile(properties.getBucketName(), fileName);
     }
 
     @Override
     public void removeFile(String bucketName, String fileName) {
-        throw new OSSException("Local Service not support removeFile");
+        if (Boolean.FALSE.equals(properties.getSyncDelete())) return;
+        delete(bucketName, fileName);
     }
 
     @Override
     public void removeFiles(List<String> fileNames) {
-        throw new OSSException("Local Service not support removeFiles");
+        removeFiles(properties.getBucketName(), fileNames);
     }
 
     @Override
     public void removeFiles(String bucketName, List<String> fileNames) {
-        throw new OSSException("Local Service not support removeFiles");
+        if (Boolean.FALSE.equals(properties.getSyncDelete())) return;
+        fileNames.forEach(fileName -> delete(bucketName, fileName));
+        log.info("Local Files removed successfully from object name: {}", fileNames);
     }
 
     @Override
     public String preview(String fileName) {
-        throw new OSSException("Local Service not support preview");
+        return preview(properties.getBucketName(), fileName, properties.getExpiry());
     }
 
     @Override
     public String preview(String fileName, int expiry) {
-        throw new OSSException("Local Service not support preview");
+        return preview(properties.getBucketName(), fileName, expiry);
     }
 
     @Override
     public String preview(String bucketName, String fileName) {
-        throw new OSSException("Local Service not support preview");
+        return preview(bucketName, fileName, properties.getExpiry());
     }
 
     @Override
     public String preview(String bucketName, String fileName, int expiry) {
-        throw new OSSException("Local Service not support preview");
+        if (StringUtils.isAnyEmpty(bucketName, fileName)) return StringPools.EMPTY;
+        long expires = System.currentTimeMillis() / 1000 + expiry;
+        String endpoint = StringUtils.defaultIfBlank(properties.getEndpoint(), DEFAULT_ENDPOINT);
+        return StringUtils.removeEnd(endpoint, StringPools.SLASH) + StringPools.SLASH + encode(bucketName)
+                + StringPools.SLASH + encode(fileName).replace("%2F", StringPools.SLASH)
+                + StringPools.QUESTION_MARK + "expires=" + expires + "&signature=" + sign(bucketName, fileName, expires);
+    }
+
+    @Override
+    public Path resolve(String bucketName, String fileName) {
+        if (StringUtils.isEmpty(fileName)) {
+            throw new OSSException("Local file name must not be empty");
+        }
+        String hash = Hashing.sha256().hashString(fileName, StandardCharsets.UTF_8).toString();
+        return bucket(bucketName).resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    @Override
+    public boolean verify(String bucketName, String fileName, long expires, String signature) {
+        if (StringUtils.isAnyEmpty(bucketName, fileName, signature) || expires < System.currentTimeMillis() / 1000) {
+            return false;
+        }
+        return MessageDigest.isEqual(sign(bucketName, fileName, expires).getBytes(StandardCharsets.UTF_8),
+                signature.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public OssFileStat stat(String fileName) {
+        return stat(properties.getBucketName(), fileName);
+    }
+
+    @Override
+    public OssFileStat stat(String bucketName, String fileName) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(resolve(bucketName, fileName), BasicFileAttributes.class);
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            return OssFileStat.builder()
+                    .size(attributes.size())
+                    .etag("\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(attributes.size()) + "\"")
+                    .lastModified(lastModified)
+                    .build();
+        } catch (NoSuchFileException e) {
+            throw new OSSException("Local file not found: " + fileName, e);
+        } catch (IOException e) {
+            throw new OSSException("Local stat file error", e);
+        }
+    }
+
+    @Override
+    public long getObject(String fileName, long offset, long length, OutputStream stream) {
+        return getObject(properties.getBucketName(), fileName, offset, length, stream);
+    }
+
+    @Override
+    public long getObject(String bucketName, String fileName, long offset, long length, OutputStream stream) {
+        Path file = resolve(bucketName, fileName);
+        // 不关闭 target，否则会关闭调用方的输出流
+        WritableByteChannel target = Channels.newChannel(stream);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long end = length < 0 ? size : Math.min(size, offset + length);
+            if (offset >= end) return 0;
+            if (mmapCache != null && size <= mmapThreshold) {
+                ByteBuffer buffer = mmapCache.get(file, () -> channel.map(FileChannel.MapMode.READ_ONLY, 0, size)).duplicate();
+                buffer.limit((int) end).position((int) offset);
+                while (buffer.hasRemaining()) {
+                    target.write(buffer);
+                }
+                return end - offset;
+            }
+            long position = offset;
+            while (position < end) {
+                long transferred = channel.transferTo(position, Math.min(end - position, TRANSFER_CHUNK), target);
+                if (transferred <= 0) break;
+                position += transferred;
+            }
+            return position - offset;
+        } catch (NoSuchFileException e) {
+            throw new OSSException("Local file not found: " + fileName, e);
+        } catch (IOException | ExecutionException e) {
+            throw new OSSException("Local read file error", e);
+        }
+    }
+
+    /**
+     * 写入对象，先写入临时文件再原子移动到目标位置
+     *
+     * @param bucketName 存储桶名称
+     * @param fileName   文件名
+     * @param stream     文件流，不会被关闭
+     * @author payne.zhuang
+     * @CreateTime 2026-01-08 - 09:26:14
+     */
+    private void write(String bucketName, String fileName, InputStream stream) {
+        Path target = resolve(bucketName, fileName);
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(bucket(bucketName).resolve(TEMP_DIRECTORY), "upload-", ".tmp");
+            // 文件流直接取其通道，文件到文件的传输由内核完成；不关闭 source，否则会关闭调用方的文件流
+            ReadableByteChannel source = stream instanceof FileInputStream fileStream
+                    ? fileStream.getChannel() : Channels.newChannel(stream);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                long position = 0;
+                long transferred;
+                while ((transferred = channel.transferFrom(source, position, TRANSFER_CHUNK)) > 0) {
+                    position += transferred;
+                }
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            evict(target);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new OSSException("Local put file error", e);
+        }
+    }
+
+    /**
+     * 删除对象
+     *
+     * @param bucketName 存储桶名称
+     * @param fileName   文件名
+     * @author payne.zhuang
+     * @CreateTime 2026-01-08 - 09:29:47
+     */
+    private void delete(String bucketName, String fileName) {
+        Path file = resolve(bucketName, fileName);
+        try {
+            Files.deleteIfExists(file);
+            evict(file);
+        } catch (IOException e) {
+            throw new OSSException("Local remove file error", e);
+        }
+    }
+
+    /**
+     * 获取存储桶目录，存储桶名称不允许包含路径分隔符
+     *
+     * @param bucketName 存储桶名称
+     * @return {@link Path } 存储桶目录
+     * @author payne.zhuang
+     * @CreateTime 2026-01-08 - 09:31:02
+     */
+    private Path bucket(String bucketName) {
+        if (StringUtils.isBlank(bucketName) || StringUtils.containsAny(bucketName, '/', '\\')
+                || bucketName.startsWith(StringPools.DOT)) {
+            throw new OSSException("Local bucket name is invalid: " + bucketName);
+        }
+        return root.resolve(bucketName);
+    }
+
+    private String sign(String bucketName, String fileName, long expires) {
+        return signer.hashString(bucketName + StringPools.SLASH + fileName + ":" + expires,
+                StandardCharsets.UTF_8).toString();
+    }
+
+    private void evict(Path file) {
+        if (mmapCache != null) {
+            mmapCache.invalidate(file);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Local delete temp file error: {}", path, e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    /**
+     * 外链签名密钥，未配置安全密钥时使用随机密钥，重启后已生成的外链链接失效
+     */
+    private static byte[] signingKey(String secretKey) {
+        if (StringUtils.isNotEmpty(secretKey)) {
+            return secretKey.getBytes(StandardCharsets.UTF_8);
+        }
+        log.warn("OSS secret-key is empty, local preview urls will be signed with a random key");
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return key;
     }
 }
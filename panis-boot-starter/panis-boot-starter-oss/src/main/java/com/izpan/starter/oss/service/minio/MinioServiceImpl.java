@@ -26,6 +26,7 @@ import com.izpan.starter.common.pool.StringPools;
 import com.izpan.starter.common.util.FileUtil;
 import com.izpan.starter.oss.config.OssProperties;
 import com.izpan.starter.oss.domain.OssFile;
+import com.izpan.starter.oss.domain.OssFileStat;
 import com.izpan.starter.oss.enums.OssEnum;
 import com.izpan.starter.oss.enums.PolicyEnum;
 import com.izpan.starter.oss.exception.OSSException;
@@ -34,6 +35,7 @@ import io.minio.*;
 import io.minio.http.Method;
 import io.minio.messages.DeleteError;
 import io.minio.messages.DeleteObject;
+import io.minio.messages.Part;
 import lombok.AllArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -44,11 +46,26 @@ import org.springframework.beans.factory.InitializingBean;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
 /**
  * Minio 对象存储服务实现
+ * <p>
+ * 上传文件时：<br>
+ * 1. 已确认存在的存储桶缓存在本地，不再每次上传都查询存储桶是否存在 <br>
+ * 2. 大小已知的文件按实际大小上传；不小于分片上传阈值的文件读取为固定大小的分片并行上传，
+ * 内存中最多缓冲 并行数 个分片，与文件大小无关 <br>
+ * 3. 大小未知的文件按分片大小流式上传
+ * </p>
  *
  * @Author payne.zhuang <paynezhuang@gmail.com>
  * @ProjectName panis-boot
@@ -60,16 +77,41 @@ import java.util.stream.Stream;
 @AllArgsConstructor
 public class MinioServiceImpl implements MinioService, InitializingBean {
 
+    /**
+     * S3 单个对象最多分片数
+     */
+    private static final int MAX_PARTS = 10_000;
+
+    /**
+     * S3 最小分片大小（最后一个分片除外）
+     */
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    /**
+     * 读取文件时的缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     /**
      * Minio 客户端
      */
     private final MinioClient client;
 
+    /**
+     * Minio 异步客户端，用于并行分片上传
+     */
+    private final MinioAsyncClient asyncClient;
+
     /**
      * 配置类
      */
     private final OssProperties properties;
 
+    /**
+     * 已确认存在的存储桶
+     */
+    private final Set<String> buckets = ConcurrentHashMap.newKeySet();
+
     @Override
     public void afterPropertiesSet() {
         OssManager.registerService(OssEnum.MINIO.getName(), this);
@@ -79,6 +121,7 @@ public class MinioServiceImpl implements MinioService, InitializingBean {
     @Override
     @SneakyThrows
     public void makeBucket(String bucketName) {
+        if (buckets.contains(bucketName)) return;
         try {
             if (!bucketExists(bucketName)) {
                 // 创建存储桶
@@ -89,6 +132,7 @@ public class MinioServiceImpl implements MinioService, InitializingBean {
                         .config(policy(bucketName, PolicyEnum.WRITE_ONLY))
                         .build());
             }
+            buckets.add(bucketName);
         } catch (Exception e) {
             throw new OSSException("Minio create bucket error", e);
         }
@@ -106,6 +150,7 @@ public class MinioServiceImpl implements MinioService, InitializingBean {
     @Override
     public void removeBucket(String bucketName) {
         try {
+            buckets.remove(bucketName);
             client.removeBucket(RemoveBucketArgs.builder().bucket(bucketName).build());
         } catch (Exception e) {
             throw new OSSException("Minio remove bucket error", e);
@@ -120,7 +165,7 @@ public class MinioServiceImpl implements MinioService, InitializingBean {
     @Override
     public OssFile putFile(String bucketName, File file) {
         try (InputStream stream = new FileInputStream(file)) {
-            return putFile(bucketName, file.getName(), stream);
+            return putFile(bucketName, file.getName(), stream, file.length());
         } catch (Exception e) {
             throw new OSSException("Minio put file error", e);
         }
@@ -133,15 +178,30 @@ public class MinioServiceImpl implements MinioService, InitializingBean {
 
     @Override
     public OssFile putFile(String bucketName, String fileName, InputStream stream) {
+        return putFile(bucketName, fileName, stream, -1);
+    }
+
+    @Override
+    public OssFile putFile(String fileName, InputStream stream, long size) {
+        return putFile(properties.getBucketName(), fileName, stream, size);
+    }
+
+    @Override
+    public OssFile putFile(String bucketName, String fileName, InputStream stream, long size) {
         try {
             makeBucket(bucketName);
             String uuid = IdUtil.fastSimpleUUID();
             String path = FileUtil.path(fileName, uuid);
-            client.putObject(PutObjectArgs.builder().bucket(bucketName)
-                    .object(path)
-                    .stream(stream, stream.available(), -1)
-                    .contentType(StringPools.OCTET_STREAM)
-                    .build());
+            if (size >= 0 && size >= properties.getMultipart().getThreshold().toBytes()) {
+                putMultipart(bucketName, path, stream, size);
+            } else {
+                // 大小未知时按分片大小流式上传
+                client.putObject(PutObjectArgs.builder().bucket(bucketName)
+                        .object(path)
+                        .stream(stream, size, size < 0 ? partSize(size) : -1)
+                        .contentType(StringPools.OCTET_STREAM)
+                        .build());
+            }
             return OssFile.builder()
                     .name(fileName)
                     .path(path)
@@ -220,6 +280,139 @@ public class MinioServiceImpl implements MinioService, InitializingBean {
         }
     }
 
+    @Override
+    public OssFileStat stat(String fileName) {
+        return stat(properties.getBucketName(), fileName);
+    }
+
+    @Override
+    public OssFileStat stat(String bucketName, String fileName) {
+        try {
+            StatObjectResponse response = client.statObject(StatObjectArgs.builder().bucket(bucketName).object(fileName).build());
+            return OssFileStat.builder()
+                    .size(response.size())
+                    .etag("\"" + response.etag() + "\"")
+                    .lastModified(response.lastModified().toInstant().toEpochMilli())
+                    .build();
+        } catch (Exception e) {
+            throw new OSSException("Minio stat file error", e);
+        }
+    }
+
+    @Override
+    public long getObject(String fileName, long offset, long length, OutputStream stream) {
+        return getObject(properties.getBucketName(), fileName, offset, length, stream);
+    }
+
+    @Override
+    public long getObject(String bucketName, String fileName, long offset, long length, OutputStream stream) {
+        GetObjectArgs.Builder builder = GetObjectArgs.builder().bucket(bucketName).object(fileName).offset(offset);
+        if (length >= 0) {
+            builder.length(length);
+        }
+        // 按固定大小的缓冲区分块写出，内存占用与文件大小无关
+        try (InputStream object = client.getObject(builder.build())) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long total = 0;
+            int read;
+            while ((read = object.read(buffer)) != -1) {
+                stream.write(buffer, 0, read);
+                total += read;
+            }
+            return total;
+        } catch (Exception e) {
+            throw new OSSException("Minio get file error", e);
+        }
+    }
+
+    /**
+     * 并行分片上传，分片按顺序从文件流读取，同时上传的分片数不超过并行数，任一分片失败则中止上传
+     *
+     * @param bucketName 存储桶名称
+     * @param path       对象路径
+     * @param stream     文件流
+     * @param size       文件大小
+     * @author payne.zhuang
+     * @CreateTime 2026-01-09 - 09:26:41
+     */
+    private void putMultipart(String bucketName, String path, InputStream stream, long size) throws Exception {
+        long partSize = partSize(size);
+        int partCount = (int) ((size + partSize - 1) / partSize);
+        Semaphore permits = new Semaphore(Math.max(1, properties.getMultipart().getConcurrency()));
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Part[] parts = new Part[partCount];
+        List<CompletableFuture<Void>> futures = new ArrayList<>(partCount);
+        String uploadId = asyncClient.createMultipartUploadAsync(bucketName, null, path, null, null)
+                .get().result().uploadId();
+        try {
+            for (int i = 0; i < partCount && failure.get() == null; i++) {
+                int partNumber = i + 1;
+                int length = (int) Math.min(partSize, size - i * partSize);
+                permits.acquire();
+                // 等待许可期间已有分片失败时不再读取后续分片
+                if (failure.get() != null) {
+                    permits.release();
+                    break;
+                }
+                byte[] data = stream.readNBytes(length);
+                if (data.length != length) {
+                    permits.release();
+                    throw new OSSException("Minio multipart upload error, stream ended before " + size + " bytes");
+                }
+                futures.add(asyncClient.uploadPartAsync(bucketName, null, path, data, length, uploadId, partNumber, null, null)
+                        .whenComplete((response, e) -> {
+                            // 先记录失败再释放许可，保证被唤醒的读取线程能看到失败
+                            if (e != null) failure.compareAndSet(null, e);
+                            permits.release();
+                        })
+                        .thenAccept(response -> parts[partNumber - 1] = new Part(partNumber, response.etag())));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get();
+            asyncClient.completeMultipartUploadAsync(bucketName, null, path, uploadId, parts, null, null).get();
+            log.info("Minio multipart upload success, object: {}, size: {}, parts: {}", path, size, partCount);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            futures.forEach(future -> future.cancel(true));
+            abortMultipart(bucketName, path, uploadId);
+            throw e instanceof ExecutionException && e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    /**
+     * 中止分片上传，释放已上传的分片
+     *
+     * @param bucketName 存储桶名称
+     * @param path       对象路径
+     * @param uploadId   分片上传 ID
+     * @author payne.zhuang
+     * @CreateTime 2026-01-09 - 09:31:15
+     */
+    private void abortMultipart(String bucketName, String path, String uploadId) {
+        try {
+            asyncClient.abortMultipartUploadAsync(bucketName, null, path, uploadId, null, null).get();
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.error("Minio abort multipart upload error, object: {}, uploadId: {}", path, uploadId, e);
+        }
+    }
+
+    /**
+     * 计算分片大小，不小于 5MB，且分片数不超过 10000
+     *
+     * @param size 文件大小，未知时为 -1
+     * @return {@link long} 分片大小
+     * @author payne.zhuang
+     * @CreateTime 2026-01-09 - 09:33:08
+     */
+    private long partSize(long size) {
+        long partSize = Math.max(properties.getMultipart().getPartSize().toBytes(), MIN_PART_SIZE);
+        return size < 0 ? partSize : Math.max(partSize, (size + MAX_PARTS - 1) / MAX_PARTS);
+    }
+
     /**
      * 是否同步删除，false 为不删除
      *
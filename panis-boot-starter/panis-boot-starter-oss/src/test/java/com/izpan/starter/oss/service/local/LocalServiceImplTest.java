@@ -0,0 +1,241 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.starter.oss.service.local;
+
+import com.izpan.starter.oss.config.OssProperties;
+import com.izpan.starter.oss.domain.OssFile;
+import com.izpan.starter.oss.exception.OSSException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 本地文件存储测试，校验写入、读取、范围读取、预览签名与存储桶删除
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.starter.oss.service.local.LocalServiceImplTest
+ * @CreateTime 2026-10-17 - 19:41:53
+ */
+class LocalServiceImplTest {
+
+    private static final String BUCKET = "panis";
+
+    private static final Pattern PREVIEW_URL = Pattern.compile("^/oss/local/panis/(.+)\\?expires=(\\d+)&signature=([0-9a-f]+)$");
+
+    @TempDir
+    Path tempDir;
+
+    private OssProperties properties;
+
+    @Test
+    void putAndReadBack() {
+        LocalServiceImpl service = service(0);
+        byte[] content = content(100_000);
+
+        OssFile ossFile = service.putFile(BUCKET, "报告 2026.pdf", new ByteArrayInputStream(content));
+
+        assertTrue(ossFile.getPath().endsWith("_报告 2026.pdf"), ossFile.getPath());
+        assertEquals(content.length, service.stat(BUCKET, ossFile.getPath()).getSize());
+        assertArrayEquals(content, read(service, ossFile.getPath(), 0, -1));
+        // 写入通过临时文件原子移动，完成后不残留临时文件
+        assertEquals(List.of(), list(tempDir.resolve("oss").resolve(BUCKET).resolve(".tmp")));
+    }
+
+    @Test
+    void putFromFileStreamKeepsCallerStreamOpen() throws Exception {
+        LocalServiceImpl service = service(0);
+        byte[] content = content(50_000);
+        Path source = Files.write(tempDir.resolve("source.bin"), content);
+
+        try (FileInputStream stream = new FileInputStream(source.toFile())) {
+            OssFile ossFile = service.putFile(BUCKET, "source.bin", stream);
+            assertArrayEquals(content, read(service, ossFile.getPath(), 0, -1));
+            assertTrue(stream.getChannel().isOpen());
+        }
+    }
+
+    @Test
+    void rangeReadsWithFileChannel() {
+        assertRangeReads(service(0));
+    }
+
+    @Test
+    void rangeReadsWithMemoryMapping() {
+        assertRangeReads(service(1024 * 1024));
+    }
+
+    @Test
+    void removedFileCannotBeRead() {
+        LocalServiceImpl service = service(1024 * 1024);
+        OssFile ossFile = service.putFile(BUCKET, "a.txt", new ByteArrayInputStream(content(10)));
+        // 先读取一次使映射进入缓存，删除后不能再读到旧内容
+        read(service, ossFile.getPath(), 0, -1);
+
+        service.removeFile(BUCKET, ossFile.getPath());
+
+        assertFalse(Files.exists(service.resolve(BUCKET, ossFile.getPath())));
+        assertThrows(OSSException.class, () -> read(service, ossFile.getPath(), 0, -1));
+    }
+
+    @Test
+    void syncDeleteDisabledKeepsFile() {
+        LocalServiceImpl service = service(0);
+        OssFile ossFile = service.putFile(BUCKET, "a.txt", new ByteArrayInputStream(content(10)));
+        properties.setSyncDelete(false);
+
+        service.removeFiles(BUCKET, List.of(ossFile.getPath()));
+
+        assertTrue(Files.exists(service.resolve(BUCKET, ossFile.getPath())));
+    }
+
+    @Test
+    void previewSignatureVerifies() {
+        LocalServiceImpl service = service(0);
+        String fileName = "upload/2026/10/17/uuid_报告 2026.pdf";
+
+        Matcher matcher = matchPreview(service.preview(BUCKET, fileName, 60));
+
+        // 路径分隔符保留，空格与中文编码
+        assertEquals("upload/2026/10/17/uuid_%E6%8A%A5%E5%91%8A%202026.pdf", matcher.group(1));
+        long expires = Long.parseLong(matcher.group(2));
+        String signature = matcher.group(3);
+        assertTrue(service.verify(BUCKET, fileName, expires, signature));
+        assertFalse(service.verify(BUCKET, fileName + "x", expires, signature));
+        assertFalse(service.verify("other", fileName, expires, signature));
+        assertFalse(service.verify(BUCKET, fileName, expires + 1, signature));
+        assertFalse(service.verify(BUCKET, fileName, expires, flipLast(signature)));
+        assertFalse(service.verify(BUCKET, fileName, expires, ""));
+        // 不同密钥签发的链接无效
+        assertFalse(service(0, "another-secret").verify(BUCKET, fileName, expires, signature));
+    }
+
+    @Test
+    void expiredPreviewIsRejected() {
+        LocalServiceImpl service = service(0);
+        Matcher matcher = matchPreview(service.preview(BUCKET, "a.txt", -10));
+
+        assertFalse(service.verify(BUCKET, "a.txt", Long.parseLong(matcher.group(2)), matcher.group(3)));
+    }
+
+    @Test
+    void bucketRemovalRequiresEmptyBucket() throws Exception {
+        LocalServiceImpl service = service(0);
+        OssFile ossFile = service.putFile(BUCKET, "a.txt", new ByteArrayInputStream(content(10)));
+        // 残留的临时文件不影响删除
+        Files.write(tempDir.resolve("oss").resolve(BUCKET).resolve(".tmp").resolve("upload-1.tmp"), content(10));
+
+        assertThrows(OSSException.class, () -> service.removeBucket(BUCKET));
+        assertTrue(service.bucketExists(BUCKET));
+
+        service.removeFile(BUCKET, ossFile.getPath());
+        service.removeBucket(BUCKET);
+
+        assertFalse(service.bucketExists(BUCKET));
+        // 不存在的存储桶直接返回
+        service.removeBucket(BUCKET);
+    }
+
+    @Test
+    void invalidBucketNamesAreRejected() {
+        LocalServiceImpl service = service(0);
+
+        for (String bucketName : List.of("", "../panis", "a/b", "a\\b", ".tmp")) {
+            assertThrows(OSSException.class, () -> service.makeBucket(bucketName), bucketName);
+        }
+        assertThrows(OSSException.class, () -> service.resolve(BUCKET, ""));
+    }
+
+    private LocalServiceImpl service(long mmapThreshold) {
+        return service(mmapThreshold, "local-secret");
+    }
+
+    private LocalServiceImpl service(long mmapThreshold, String secretKey) {
+        properties = new OssProperties();
+        properties.setSecretKey(secretKey);
+        properties.getLocal().setPath(tempDir.resolve("oss").toString());
+        properties.getLocal().setMmapThreshold(DataSize.ofBytes(mmapThreshold));
+        return new LocalServiceImpl(properties);
+    }
+
+    private static void assertRangeReads(LocalServiceImpl service) {
+        byte[] content = content(10_000);
+        String path = service.putFile(BUCKET, "range.bin", new ByteArrayInputStream(content)).getPath();
+
+        assertArrayEquals(Arrays.copyOfRange(content, 0, 100), read(service, path, 0, 100));
+        assertArrayEquals(Arrays.copyOfRange(content, 5_000, 5_100), read(service, path, 5_000, 100));
+        // 超出文件末尾时截断
+        assertArrayEquals(Arrays.copyOfRange(content, 9_990, 10_000), read(service, path, 9_990, 100));
+        assertArrayEquals(Arrays.copyOfRange(content, 9_000, 10_000), read(service, path, 9_000, -1));
+        assertArrayEquals(new byte[0], read(service, path, 10_000, 100));
+        assertArrayEquals(new byte[0], read(service, path, 20_000, -1));
+    }
+
+    private static byte[] read(LocalServiceImpl service, String path, long offset, long length) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long read = service.getObject(BUCKET, path, offset, length, output);
+        assertEquals(output.size(), read);
+        return output.toByteArray();
+    }
+
+    private static String flipLast(String signature) {
+        char last = signature.charAt(signature.length() - 1);
+        return signature.substring(0, signature.length() - 1) + (last == '0' ? '1' : '0');
+    }
+
+    private static Matcher matchPreview(String url) {
+        Matcher matcher = PREVIEW_URL.matcher(url);
+        assertTrue(matcher.matches(), url);
+        return matcher;
+    }
+
+    private static byte[] content(int size) {
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        return content;
+    }
+
+    private static List<Path> list(Path directory) {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.toList();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.starter.oss.service.minio;
+
+import com.google.common.collect.Multimap;
+import com.izpan.starter.oss.config.OssProperties;
+import com.izpan.starter.oss.exception.OSSException;
+import io.minio.*;
+import io.minio.messages.InitiateMultipartUploadResult;
+import io.minio.messages.Part;
+import okhttp3.Headers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MinIO 分片上传测试，异步客户端替换为内存实现，分片以随机延迟乱序完成
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.starter.oss.service.minio.MinioServiceImplTest
+ * @CreateTime 2026-10-17 - 20:03:27
+ */
+class MinioServiceImplTest {
+
+    private static final String BUCKET = "panis";
+
+    private static final String UPLOAD_ID = "upload-1";
+
+    private static final int PART_SIZE = 5 * 1024 * 1024;
+
+    private OssProperties properties;
+
+    private StubAsyncClient asyncClient;
+
+    private StubClient client;
+
+    private MinioServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OssProperties();
+        properties.setBucketName(BUCKET);
+        properties.getMultipart().setThreshold(DataSize.ofBytes(PART_SIZE));
+        properties.getMultipart().setPartSize(DataSize.ofBytes(PART_SIZE));
+        properties.getMultipart().setConcurrency(3);
+        asyncClient = new StubAsyncClient();
+        client = new StubClient();
+        service = new MinioServiceImpl(client, asyncClient, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncClient.executor.shutdownNow();
+    }
+
+    @Test
+    void partsAreCompletedInPartNumberOrder() {
+        byte[] content = content(PART_SIZE * 7 + 123);
+
+        String path = service.putFile(BUCKET, "video.mp4", new ByteArrayInputStream(content), content.length).getPath();
+
+        assertEquals(8, asyncClient.uploaded.size());
+        Part[] parts = asyncClient.completedParts;
+        assertEquals(8, parts.length);
+        for (int i = 0; i < parts.length; i++) {
+            assertEquals(i + 1, parts[i].partNumber());
+            assertEquals("etag-" + (i + 1), parts[i].etag());
+        }
+        // 按分片号拼接后与原始内容一致
+        assertArrayEquals(content, asyncClient.assemble());
+        assertEquals(path, asyncClient.object);
+        assertEquals(0, asyncClient.aborts.get());
+        assertTrue(client.putObjects.isEmpty());
+    }
+
+    @Test
+    void inFlightPartsAreBoundedByConcurrency() {
+        byte[] content = content(PART_SIZE * 10);
+
+        service.putFile(BUCKET, "large.bin", new ByteArrayInputStream(content), content.length);
+
+        assertEquals(3, asyncClient.maxInFlight.get());
+        assertEquals(10, asyncClient.uploaded.size());
+    }
+
+    @Test
+    void failedPartAbortsUpload() {
+        // 串行上传时失败的分片释放许可前已记录失败，后续分片不会再读取和上传
+        properties.getMultipart().setConcurrency(1);
+        asyncClient.failingPart = 3;
+        byte[] content = content(PART_SIZE * 10);
+
+        OSSException exception = assertThrows(OSSException.class,
+                () -> service.putFile(BUCKET, "large.bin", new ByteArrayInputStream(content), content.length));
+
+        assertEquals("part 3 failed", rootCause(exception).getMessage());
+        assertEquals(1, asyncClient.aborts.get());
+        assertNull(asyncClient.completedParts);
+        assertEquals(3, asyncClient.started.get());
+    }
+
+    @Test
+    void shortStreamAbortsUpload() {
+        byte[] content = content(PART_SIZE * 2);
+
+        assertThrows(OSSException.class,
+                () -> service.putFile(BUCKET, "short.bin", new ByteArrayInputStream(content), PART_SIZE * 3L));
+
+        assertEquals(1, asyncClient.aborts.get());
+        assertNull(asyncClient.completedParts);
+    }
+
+    @Test
+    void smallOrUnknownSizeUsesSinglePut() {
+        service.putFile(BUCKET, "small.txt", new ByteArrayInputStream(content(1024)), 1024);
+        service.putFile(BUCKET, "unknown.txt", new ByteArrayInputStream(content(1024)), -1);
+
+        assertEquals(2, client.putObjects.size());
+        assertEquals(0, asyncClient.started.get());
+    }
+
+    private static Throwable rootCause(Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static byte[] content(int size) {
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        return content;
+    }
+
+    /**
+     * 同步客户端，存储桶视为已存在，单次上传只记录对象名
+     */
+    private static final class StubClient extends MinioClient {
+
+        private final List<String> putObjects = new CopyOnWriteArrayList<>();
+
+        private StubClient() {
+            super(MinioClient.builder().endpoint("http://localhost:9000").credentials("access", "secret").build());
+        }
+
+        @Override
+        public boolean bucketExists(BucketExistsArgs args) {
+            return true;
+        }
+
+        @Override
+        public ObjectWriteResponse putObject(PutObjectArgs args) {
+            putObjects.add(args.object());
+            return new ObjectWriteResponse(Headers.of(), args.bucket(), null, args.object(), "etag", null);
+        }
+    }
+
+    /**
+     * 异步客户端，分片在线程池中以随机延迟完成，记录在途分片数与分片内容
+     */
+    private static final class StubAsyncClient extends MinioAsyncClient {
+
+        private final ExecutorService executor = Executors.newCachedThreadPool();
+
+        private final Map<Integer, byte[]> uploaded = new ConcurrentHashMap<>();
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        private final AtomicInteger started = new AtomicInteger();
+
+        private final AtomicInteger aborts = new AtomicInteger();
+
+        private final Random random = new Random(20261017);
+
+        private volatile int failingPart = -1;
+
+        private volatile Part[] completedParts;
+
+        private volatile String object;
+
+        private StubAsyncClient() {
+            super(MinioAsyncClient.builder().endpoint("http://localhost:9000").credentials("access", "secret").build());
+        }
+
+        @Override
+        public CompletableFuture<CreateMultipartUploadResponse> createMultipartUploadAsync(String bucketName, String region, String objectName,
+                                                                                           Multimap<String, String> headers,
+                                                                                           Multimap<String, String> extraQueryParams) {
+            object = objectName;
+            InitiateMultipartUploadResult result = new InitiateMultipartUploadResult() {
+                @Override
+                public String uploadId() {
+                    return UPLOAD_ID;
+                }
+            };
+            return CompletableFuture.completedFuture(new CreateMultipartUploadResponse(Headers.of(), bucketName, region, objectName, result));
+        }
+
+        @Override
+        public CompletableFuture<UploadPartResponse> uploadPartAsync(String bucketName, String region, String objectName, Object data,
+                                                                     long length, String uploadId, int partNumber,
+                                                                     Multimap<String, String> extraHeaders,
+                                                                     Multimap<String, String> extraQueryParams) {
+            started.incrementAndGet();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            long delay;
+            synchronized (random) {
+                delay = random.nextInt(30);
+            }
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                // 先减少在途数再完成，与 SDK 回调完成后释放许可的顺序一致
+                inFlight.decrementAndGet();
+                if (partNumber == failingPart) {
+                    throw new CompletionException(new IllegalStateException("part " + partNumber + " failed"));
+                }
+                uploaded.put(partNumber, (byte[]) data);
+                return new UploadPartResponse(Headers.of(), bucketName, region, objectName, uploadId, partNumber, "etag-" + partNumber);
+            }, executor);
+        }
+
+        @Override
+        public CompletableFuture<ObjectWriteResponse> completeMultipartUploadAsync(String bucketName, String region, String objectName,
+                                                                                   String uploadId, Part[] parts,
+                                                                                   Multimap<String, String> extraHeaders,
+                                                                                   Multimap<String, String> extraQueryParams) {
+            completedParts = parts.clone();
+            return CompletableFuture.completedFuture(new ObjectWriteResponse(Headers.of(), bucketName, region, objectName, "etag", null));
+        }
+
+        @Override
+        public CompletableFuture<AbortMultipartUploadResponse> abortMultipartUploadAsync(String bucketName, String region, String objectName,
+                                                                                         String uploadId,
+                                                                                         Multimap<String, String> extraHeaders,
+                                                                                         Multimap<String, String> extraQueryParams) {
+            assertEquals(UPLOAD_ID, uploadId);
+            aborts.incrementAndGet();
+            return CompletableFuture.completedFuture(new AbortMultipartUploadResponse(Headers.of(), bucketName, region, objectName, uploadId));
+        }
+
+        private byte[] assemble() {
+            int total = uploaded.values().stream().mapToInt(part -> part.length).sum();
+            byte[] content = new byte[total];
+            int offset = 0;
+            for (int partNumber = 1; partNumber <= uploaded.size(); partNumber++) {
+                byte[] part = uploaded.get(partNumber);
+                System.arraycopy(part, 0, content, offset, part.length);
+                offset += part.length;
+            }
+            return content;
+        }
+    }
+}
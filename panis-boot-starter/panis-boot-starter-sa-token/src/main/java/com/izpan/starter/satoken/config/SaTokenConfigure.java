@@ -2,7 +2,11 @@ package com.izpan.starter.satoken.config;
 
 import cn.dev33.satoken.config.SaTokenConfig;
 import cn.dev33.satoken.jwt.StpLogicJwtForSimple;
+import cn.dev33.satoken.serializer.SaSerializerTemplate;
 import cn.dev33.satoken.stp.StpLogic;
+import com.izpan.starter.common.config.CompressProperties;
+import com.izpan.starter.satoken.serializer.CompressingSaSerializerTemplate;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -17,6 +21,7 @@ import org.springframework.context.annotation.Primary;
  */
 
 @Configuration
+@EnableConfigurationProperties(CompressProperties.class)
 public class SaTokenConfigure {
 
     /**
@@ -60,4 +65,12 @@ public class SaTokenConfigure {
     public StpLogic getStpLogicJwt() {
         return new StpLogicJwtForSimple();
     }
+
+    /**
+     * Sa-Token 序列化模板，Session 等对象按 compress.session 配置压缩存储，兼容读取未压缩的 JSON
+     */
+    @Bean
+    public SaSerializerTemplate getSaSerializerTemplate(CompressProperties compressProperties) {
+        return new CompressingSaSerializerTemplate(compressProperties.getSession());
+    }
 }
@@ -0,0 +1,115 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.starter.satoken.serializer;
+
+import cn.dev33.satoken.exception.SaJsonConvertException;
+import cn.dev33.satoken.serializer.SaSerializerTemplate;
+import cn.dev33.satoken.serializer.impl.SaSerializerTemplateForJson;
+import com.izpan.starter.common.config.CompressProperties;
+import com.izpan.starter.common.util.CompressUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Sa-Token 压缩序列化模板
+ * <p>
+ * Session 等对象默认序列化为 JSON 字符串存入 Redis，按 {@link CompressProperties#getSession()} 配置压缩并 Base64 编码后加上 {@link #PREFIX} 写入：<br>
+ * 1. 小于阈值或关闭压缩时不压缩，与默认 JSON 序列化结果完全一致 <br>
+ * 2. 读取时无前缀的值按原 JSON 反序列化，已登录用户的 Session 不受影响 <br>
+ * 3. 压缩数据损坏时抛出 {@link SaJsonConvertException}，与 JSON 解析失败一致
+ * </p>
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.starter.satoken.serializer.CompressingSaSerializerTemplate
+ * @CreateTime 2026-01-04 - 10:05:36
+ */
+public class CompressingSaSerializerTemplate implements SaSerializerTemplate {
+
+    /**
+     * 压缩值前缀，不会出现在 JSON 文本开头
+     */
+    private static final String PREFIX = "PZ1:";
+
+    private final SaSerializerTemplate delegate;
+
+    /**
+     * 压缩配置
+     */
+    private final CompressProperties.Spec spec;
+
+    public CompressingSaSerializerTemplate(CompressProperties.Spec spec) {
+        this(new SaSerializerTemplateForJson(), spec);
+    }
+
+    public CompressingSaSerializerTemplate(SaSerializerTemplate delegate, CompressProperties.Spec spec) {
+        this.delegate = delegate;
+        this.spec = spec;
+    }
+
+    @Override
+    public String objectToString(Object obj) {
+        String value = delegate.objectToString(obj);
+        // 按字符数预判，避免小对象额外编码一次
+        if (value == null || !spec.shouldCompress(value.length())) {
+            return value;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = spec.compress(bytes);
+        // Base64 编码后长度增加约 1/3，编码后未变小时保持原 JSON
+        if (compressed == bytes || PREFIX.length() + 4 * ((compressed.length + 2) / 3) >= bytes.length) {
+            return value;
+        }
+        return PREFIX + Base64.getEncoder().encodeToString(compressed);
+    }
+
+    @Override
+    public Object stringToObject(String str) {
+        return delegate.stringToObject(decompress(str));
+    }
+
+    @Override
+    public <T> T stringToObject(String str, Class<T> type) {
+        return delegate.stringToObject(decompress(str), type);
+    }
+
+    @Override
+    public byte[] objectToBytes(Object obj) {
+        return delegate.objectToBytes(obj);
+    }
+
+    @Override
+    public Object bytesToObject(byte[] bytes) {
+        return delegate.bytesToObject(bytes);
+    }
+
+    private static String decompress(String str) {
+        if (str == null || !str.startsWith(PREFIX)) {
+            return str;
+        }
+        try {
+            byte[] compressed = Base64.getDecoder().decode(str.substring(PREFIX.length()));
+            return new String(CompressUtil.decompress(compressed), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new SaJsonConvertException(e);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * All Rights Reserved: Copyright [2025] [Zhuang Pan (paynezhuang@gmail.com)]
+ * Open Source Agreement: Apache License, Version 2.0
+ * For educational purposes only, commercial use shall comply with the author's copyright information.
+ * The author does not guarantee or assume any responsibility for the risks of using software.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.izpan.starter.satoken.serializer;
+
+import cn.dev33.satoken.SaManager;
+import cn.dev33.satoken.exception.SaJsonConvertException;
+import cn.dev33.satoken.json.SaJsonTemplateForJackson;
+import cn.dev33.satoken.serializer.impl.SaSerializerTemplateForJson;
+import cn.dev33.satoken.session.SaSession;
+import com.izpan.starter.common.config.CompressProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sa-Token 压缩序列化模板测试，校验阈值前后的写入格式、旧 Session 兼容与损坏数据的处理
+ *
+ * @Author payne.zhuang <paynezhuang@gmail.com>
+ * @ProjectName panis-boot
+ * @ClassName com.izpan.starter.satoken.serializer.CompressingSaSerializerTemplateTest
+ * @CreateTime 2026-10-17 - 19:18:40
+ */
+class CompressingSaSerializerTemplateTest {
+
+    private static final String PREFIX = "PZ1:";
+
+    private final SaSerializerTemplateForJson json = new SaSerializerTemplateForJson();
+
+    private CompressingSaSerializerTemplate template;
+
+    @BeforeEach
+    void setUp() {
+        SaManager.setSaJsonTemplate(new SaJsonTemplateForJackson());
+        CompressProperties.Spec spec = new CompressProperties.Spec();
+        spec.setThreshold(DataSize.ofBytes(1024));
+        template = new CompressingSaSerializerTemplate(json, spec);
+    }
+
+    @Test
+    void belowThresholdIsPlainJson() {
+        SaSession session = session(10);
+
+        String value = template.objectToString(session);
+
+        assertEquals(json.objectToString(session), value);
+        assertSession(session, template.stringToObject(value));
+    }
+
+    @Test
+    void aboveThresholdIsCompressedAndRoundTrips() {
+        SaSession session = session(500);
+        String plain = json.objectToString(session);
+
+        String value = template.objectToString(session);
+
+        assertTrue(plain.length() >= 1024);
+        assertTrue(value.startsWith(PREFIX), value);
+        assertTrue(value.length() < plain.length(), value.length() + " >= " + plain.length());
+        assertSession(session, template.stringToObject(value));
+        assertSession(session, template.stringToObject(value, SaSession.class));
+    }
+
+    @Test
+    void incompressibleValueStaysPlain() {
+        // Base64 编码后未变小时保持原 JSON
+        SaSession session = new SaSession("session-random");
+        byte[] random = new byte[4096];
+        new Random(20261017).nextBytes(random);
+        session.set("token", Base64.getEncoder().encodeToString(random));
+
+        String value = template.objectToString(session);
+
+        assertFalse(value.startsWith(PREFIX));
+        assertEquals(json.objectToString(session), value);
+    }
+
+    @Test
+    void legacyUncompressedJsonIsReadable() {
+        SaSession session = session(500);
+
+        assertSession(session, template.stringToObject(json.objectToString(session)));
+    }
+
+    @Test
+    void corruptBase64IsRejected() {
+        assertThrows(SaJsonConvertException.class, () -> template.stringToObject(PREFIX + "not base64!"));
+    }
+
+    @Test
+    void corruptHeaderIsRejected() {
+        // Base64 合法，但解码后不是压缩数据，按原 JSON 解析失败
+        String value = PREFIX + Base64.getEncoder().encodeToString(new byte[]{0x01, 0x02, 0x03, 0x04, 0x05});
+
+        assertThrows(SaJsonConvertException.class, () -> template.stringToObject(value));
+    }
+
+    @Test
+    void corruptCompressedPayloadIsRejected() {
+        byte[] compressed = Base64.getDecoder().decode(template.objectToString(session(500)).substring(PREFIX.length()));
+        for (int i = 4; i < compressed.length; i++) {
+            compressed[i] = (byte) 0xFF;
+        }
+        String value = PREFIX + Base64.getEncoder().encodeToString(compressed);
+
+        assertThrows(SaJsonConvertException.class, () -> template.stringToObject(value));
+    }
+
+    private static SaSession session(int attributes) {
+        SaSession session = new SaSession("session-" + attributes);
+        for (int i = 0; i < attributes; i++) {
+            session.set("attribute" + i, "value-" + i);
+        }
+        return session;
+    }
+
+    private static void assertSession(SaSession expected, Object actual) {
+        SaSession session = assertInstanceOf(SaSession.class, actual);
+        assertEquals(expected.getId(), session.getId());
+        assertEquals(expected.getDataMap(), session.getDataMap());
+    }
+}
@@ -0,0 +1,13 @@
+-- ----------------------------------------------------------------------------
+-- 组织闭包表 sys_org_closure
+-- 主键 (ancestor_id, descendant_id) 支撑按祖先查下级，idx_descendant 支撑按后代查祖先
+-- 数据回填：应用启动时检测到闭包表为空，按 sys_org_units.ancestors 自动回填，无需手工执行
+-- ----------------------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS sys_org_closure
+(
+    ancestor_id   BIGINT NOT NULL COMMENT '祖先组织ID',
+    descendant_id BIGINT NOT NULL COMMENT '后代组织ID',
+    depth         INT    NOT NULL COMMENT '层级距离(0:自身)',
+    PRIMARY KEY (ancestor_id, descendant_id),
+    KEY idx_descendant (descendant_id, depth)
+) COMMENT '组织/部门/子部门闭包表';
@@ -0,0 +1,8 @@
+-- ----------------------------------------------------------------------------
+-- 文件表 mon_file 增加内容哈希 content_hash
+-- 上传时按 SHA-256 + 文件大小查找同一存储位置下的已有对象，命中则复用，idx_mon_file_content_hash 支撑该查询
+-- 数据回填：历史数据 content_hash 为 NULL，不参与去重，删除时按原逻辑直接删除对象，无需手工回填
+-- ----------------------------------------------------------------------------
+ALTER TABLE mon_file
+    ADD COLUMN content_hash CHAR(64) NULL COMMENT '文件内容 SHA-256' AFTER uuid,
+    ADD INDEX idx_mon_file_content_hash (content_hash);